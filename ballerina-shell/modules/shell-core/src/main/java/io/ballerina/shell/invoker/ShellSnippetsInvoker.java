@@ -97,6 +97,12 @@ public abstract class ShellSnippetsInvoker extends DiagnosticReporter {
      * or a temp file.
      */
     private File bufferFile;
+    /**
+     * Project that is reused to compile the sources which are only
+     * type checked and never executed. Updating the source of this
+     * project avoids loading a new project and resolving its dependencies.
+     */
+    private Project typeCheckProject;
 
     protected ShellSnippetsInvoker() {
         this.scheduler = new Scheduler(false);
@@ -192,6 +198,39 @@ public abstract class ShellSnippetsInvoker extends DiagnosticReporter {
         }
     }
 
+    /**
+     * Get the project with the context data, to be compiled without executing.
+     * The same project is updated with the new source in each call,
+     * so the dependencies resolved by previous compilations are reused.
+     * Projects that are executed should be created using
+     * {@link #getProject(Object, String)}, since the generated code
+     * of a project is written to the same location in each compilation.
+     *
+     * @param context      Context to create the ballerina file.
+     * @param templateFile Template file to load.
+     * @return Ballerina project with the updated source.
+     * @throws InvokerException If file writing failed.
+     */
+    protected Project getTypeCheckProject(Object context, String templateFile) throws InvokerException {
+        Mustache template = getTemplate(templateFile);
+        try (StringWriter stringWriter = new StringWriter()) {
+            template.execute(stringWriter, context);
+            String source = stringWriter.toString();
+            if (typeCheckProject == null) {
+                typeCheckProject = getProject(source, true);
+                return typeCheckProject;
+            }
+
+            Module module = typeCheckProject.currentPackage().getDefaultModule();
+            Document document = module.document(module.documentIds().iterator().next());
+            document.modify().withContent(source).apply();
+            return typeCheckProject;
+        } catch (IOException e) {
+            addErrorDiagnostic("File generation failed: " + e.getMessage());
+            throw new InvokerException(e);
+        }
+    }
+
     /**
      * Get the project with the context data.
      *
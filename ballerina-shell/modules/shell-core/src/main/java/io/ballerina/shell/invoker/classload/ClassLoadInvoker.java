@@ -140,7 +140,7 @@ public class ClassLoadInvoker extends ShellSnippetsInvoker {
     @Override
     public void initialize() throws InvokerException {
         ClassLoadContext emptyContext = new ClassLoadContext(contextId, importsManager.getUsedImports(List.of()));
-        Project project = getProject(emptyContext, DECLARATION_TEMPLATE_FILE);
+        Project project = getTypeCheckProject(emptyContext, DECLARATION_TEMPLATE_FILE);
         PackageCompilation compilation = compile(project);
         // Remember all the visible var symbols
         // Also use this to cache ANY type symbol
@@ -234,7 +234,7 @@ public class ClassLoadInvoker extends ShellSnippetsInvoker {
         // Compile declaration template if there were declarations
         ClassLoadContext context = createDeclarationContext(variableDeclarations.keySet(), variableNames,
                 moduleDeclarations);
-        Project project = getProject(context, DECLARATION_TEMPLATE_FILE);
+        Project project = getTypeCheckProject(context, DECLARATION_TEMPLATE_FILE);
         PackageCompilation compilation = compile(project);
 
         // Compilation was successful, so we can add the declarations
@@ -351,7 +351,7 @@ public class ClassLoadInvoker extends ShellSnippetsInvoker {
         Set<String> importStrings = getRequiredImportStatements();
         ClassLoadContext context = new ClassLoadContext(this.contextId, importStrings,
                 moduleDclns.values(), globalVariableContexts().values(), null, null);
-        Project project = getProject(context, DECLARATION_TEMPLATE_FILE);
+        Project project = getTypeCheckProject(context, DECLARATION_TEMPLATE_FILE);
         compile(project);
     }
 
@@ -18,10 +18,13 @@
 
 package io.ballerina.shell.test.evaluator;
 
+import io.ballerina.shell.Diagnostic;
+import io.ballerina.shell.DiagnosticKind;
 import io.ballerina.shell.Evaluator;
 import io.ballerina.shell.EvaluatorBuilder;
 import io.ballerina.shell.exceptions.BallerinaShellException;
 import io.ballerina.shell.test.TestUtils;
+import io.ballerina.shell.test.evaluator.base.FreshProjectTestInvoker;
 import io.ballerina.shell.test.evaluator.base.TestCase;
 import io.ballerina.shell.test.evaluator.base.TestInvoker;
 import io.ballerina.shell.test.evaluator.base.TestSession;
@@ -29,6 +32,7 @@ import org.testng.Assert;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * Base class for evaluator tests.
@@ -39,6 +43,8 @@ import java.util.List;
  */
 public abstract class AbstractEvaluatorTest {
     private static final String TEST_HEADER = "test.bal";
+    private static final Pattern CONTEXT_ID_PATTERN =
+            Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
 
     /**
      * Tests a json file containing test case session.
@@ -49,15 +55,7 @@ public abstract class AbstractEvaluatorTest {
     protected void testEvaluate(String fileName) throws BallerinaShellException {
         // Create evaluator
         TestInvoker invoker = new TestInvoker();
-        Evaluator evaluator = new EvaluatorBuilder()
-                .treeParser(TestUtils.getTestTreeParser())
-                .invoker(invoker).build();
-        try {
-            evaluator.initialize();
-            evaluator.evaluateDeclarationFile(TestUtils.getPath(TEST_HEADER));
-        } catch (Exception e) {
-            Assert.fail(evaluator.diagnostics().toString(), e);
-        }
+        Evaluator evaluator = createEvaluator(invoker);
 
         TestSession testSession = TestUtils.loadTestCases(fileName, TestSession.class);
         for (TestCase testCase : testSession) {
@@ -73,8 +71,7 @@ public abstract class AbstractEvaluatorTest {
                 // Removing declarations
                 if (testCode.startsWith("/remove")) {
                     List<String> names = Arrays.asList(testCode.split("\\s"));
-                    names.remove(0);
-                    evaluator.delete(names);
+                    evaluator.delete(names.subList(1, names.size()));
                     continue;
                 }
 
@@ -99,4 +96,63 @@ public abstract class AbstractEvaluatorTest {
             }
         }
     }
+
+    /**
+     * Tests a json file containing test case session against an evaluator
+     * which type checks each snippet with a freshly loaded project.
+     * The results, outputs and error diagnostics of each snippet must be the same
+     * as the ones of the evaluator reusing the type checking project.
+     *
+     * @param fileName File containing test cases.
+     */
+    protected void testEvaluateWithFreshProjects(String fileName) throws BallerinaShellException {
+        TestInvoker invoker = new TestInvoker();
+        Evaluator evaluator = createEvaluator(invoker);
+        TestInvoker freshInvoker = new FreshProjectTestInvoker();
+        Evaluator freshEvaluator = createEvaluator(freshInvoker);
+
+        TestSession testSession = TestUtils.loadTestCases(fileName, TestSession.class);
+        for (TestCase testCase : testSession) {
+            String result = evaluateSnippet(evaluator, invoker, testCase.getCode());
+            String freshResult = evaluateSnippet(freshEvaluator, freshInvoker, testCase.getCode());
+            Assert.assertEquals(result, freshResult, testCase.getDescription());
+        }
+    }
+
+    private Evaluator createEvaluator(TestInvoker invoker) {
+        Evaluator evaluator = new EvaluatorBuilder()
+                .treeParser(TestUtils.getTestTreeParser())
+                .invoker(invoker).build();
+        try {
+            evaluator.initialize();
+            evaluator.evaluateDeclarationFile(TestUtils.getPath(TEST_HEADER));
+        } catch (Exception e) {
+            Assert.fail(evaluator.diagnostics().toString(), e);
+        }
+        return evaluator;
+    }
+
+    private String evaluateSnippet(Evaluator evaluator, TestInvoker invoker, String code) {
+        StringBuilder result = new StringBuilder();
+        try {
+            if (code.startsWith("/remove")) {
+                List<String> names = Arrays.asList(code.split("\\s"));
+                evaluator.delete(names.subList(1, names.size()));
+            } else {
+                result.append("expr: ").append(evaluator.evaluate(code));
+            }
+        } catch (BallerinaShellException e) {
+            result.append("error: ").append(e.getClass().getSimpleName());
+        }
+        result.append("\nstdout: ").append(invoker.getStdOut());
+        for (Diagnostic diagnostic : evaluator.diagnostics()) {
+            if (diagnostic.getKind() == DiagnosticKind.ERROR) {
+                result.append("\ndiagnostic: ").append(diagnostic);
+            }
+        }
+        evaluator.resetDiagnostics();
+        invoker.reset();
+        // Each invoker refers to its own context in the generated sources
+        return CONTEXT_ID_PATTERN.matcher(result).replaceAll("<context>");
+    }
 }
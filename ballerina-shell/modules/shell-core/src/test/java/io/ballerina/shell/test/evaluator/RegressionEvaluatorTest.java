@@ -33,6 +33,7 @@ public class RegressionEvaluatorTest extends AbstractEvaluatorTest {
     private static final String PANIC_SAVE_STATE_TESTCASE = "testcases/evaluator/regression.panic.save.state.json";
     private static final String QUALIFIERS_TESTCASE = "testcases/evaluator/regression.qualifiers.json";
     private static final String IMPORT_CYCLIC_TYPE_TESTCASE = "testcases/evaluator/regression.cyclic.type.json";
+    private static final String PROJECT_REUSE_TESTCASE = "testcases/evaluator/regression.project.reuse.json";
 
     @Test
     public void testEvaluateFunctionName() throws BallerinaShellException {
@@ -69,4 +70,16 @@ public class RegressionEvaluatorTest extends AbstractEvaluatorTest {
         // Cyclic types use.
         testEvaluate(IMPORT_CYCLIC_TYPE_TESTCASE);
     }
+
+    @Test
+    public void testEvaluateProjectReuse() throws BallerinaShellException {
+        // Redefinitions, removals and imports across snippets type checked with the same project.
+        testEvaluate(PROJECT_REUSE_TESTCASE);
+    }
+
+    @Test
+    public void testEvaluateProjectReuseWithFreshProjects() throws BallerinaShellException {
+        // Reusing the type checking project must behave the same as loading a new project for each snippet.
+        testEvaluateWithFreshProjects(PROJECT_REUSE_TESTCASE);
+    }
 }
@@ -47,6 +47,11 @@ import javax.xml.stream.XMLStreamWriter;
 
 /**
  * XML Serializer for Ballerina XML value trees.
+ * <p>
+ * The runtime writes XML values with {@link XmlWriter}, which produces the same output without a
+ * {@code XMLStreamWriter}. This serializer is kept for compatibility with the callers that create it, or pass it as
+ * the output stream to serialize a XML value to, and as the reference output of the {@code XmlWriter} tests. Hence a
+ * change to the namespace declarations or escaping written here has to be made in {@link XmlWriter} as well.
  *
  * @since 1.2.0
  */
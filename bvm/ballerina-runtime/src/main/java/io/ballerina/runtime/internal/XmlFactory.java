@@ -49,7 +49,9 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
@@ -139,6 +141,38 @@ public class XmlFactory {
         }
     }
 
+    /**
+     * Create an iterator over the elements at the given depth of a XML document read from a reader. The document is
+     * parsed as the iterator advances and an element is built only when it is requested, hence the elements which are
+     * not retained by the caller do not occupy memory.
+     *
+     * @param reader XML reader
+     * @param depth depth of the elements, where the root element is at depth zero
+     * @return iterator over the elements
+     */
+    public static Iterator<BXml> parseElements(Reader reader, int depth) {
+        try {
+            return new XmlElementIterator(new XmlTreeBuilder(reader), depth);
+        } catch (Throwable e) {
+            throw ErrorCreator.createError(StringUtils.fromString("failed to create xml: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Create an iterator over the elements at the given depth of a XML content string, which is parsed the same way as
+     * {@code lang.xml:fromString}. The content is parsed as the iterator advances.
+     *
+     * @param xmlStr String representation of the XML content
+     * @param depth depth of the elements, where the top level elements of the content are at depth zero
+     * @return iterator over the elements
+     */
+    public static Iterator<BXml> parseContentElements(String xmlStr, int depth) {
+        // Wraps the content in a root element, without copying the content
+        Reader reader = new SequenceReader(new StringReader("<root>"), new StringReader(xmlStr),
+                                           new StringReader("</root>"));
+        return parseElements(reader, depth + 1);
+    }
+
     /**
      * Concatenate two XML sequences and produce a single sequence.
      *
@@ -485,6 +519,81 @@ public class XmlFactory {
                 : null;
     }
 
+    /**
+     * Iterator which parses the next element of a {@link XmlTreeBuilder} when it is requested.
+     */
+    private static class XmlElementIterator implements Iterator<BXml> {
+
+        private final XmlTreeBuilder treeBuilder;
+        private final int depth;
+        private BXml nextElement;
+        private boolean completed;
+
+        XmlElementIterator(XmlTreeBuilder treeBuilder, int depth) {
+            this.treeBuilder = treeBuilder;
+            this.depth = depth;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextElement == null && !completed) {
+                try {
+                    nextElement = treeBuilder.parseNextElement(depth);
+                } catch (BError e) {
+                    completed = true;
+                    throw e;
+                } catch (Throwable e) {
+                    completed = true;
+                    throw ErrorCreator.createError(StringUtils.fromString("failed to parse xml: " + e.getMessage()));
+                }
+                completed = nextElement == null;
+            }
+            return nextElement != null;
+        }
+
+        @Override
+        public BXml next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            BXml element = nextElement;
+            nextElement = null;
+            return element;
+        }
+    }
+
+    /**
+     * Reader which reads a list of readers one after the other.
+     */
+    private static class SequenceReader extends Reader {
+
+        private final Reader[] readers;
+        private int current;
+
+        SequenceReader(Reader... readers) {
+            this.readers = readers;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            while (current < readers.length) {
+                int count = readers[current].read(cbuf, off, len);
+                if (count != -1) {
+                    return count;
+                }
+                current++;
+            }
+            return -1;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (Reader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
     /**
      * Replace xml text escape sequences with appropriate character.
      *
@@ -22,11 +22,9 @@ import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BXml;
 import io.ballerina.runtime.api.values.BXmlSequence;
 import io.ballerina.runtime.internal.util.exceptions.BallerinaException;
-import io.ballerina.runtime.internal.values.MapValue;
 import io.ballerina.runtime.internal.values.XmlComment;
 import io.ballerina.runtime.internal.values.XmlItem;
 import io.ballerina.runtime.internal.values.XmlPi;
-import io.ballerina.runtime.internal.values.XmlQName;
 import io.ballerina.runtime.internal.values.XmlSequence;
 
 import java.io.Reader;
@@ -73,6 +71,10 @@ public class XmlTreeBuilder {
     private Map<String, String> namespaces; // xml ns declarations from Bal source [xmlns "http://ns.com" as ns]
     private Deque<BXmlSequence> seqDeque;
     private Deque<List<BXml>> siblingDeque;
+    private int currentDepth; // depth of the elements skipped by parseNextElement
+    private final Map<QName, QName> internedQNames = new HashMap<>();
+    private final Map<QName, BString> attributeKeys = new HashMap<>();
+    private final Map<String, BString> namespaceDeclarationKeys = new HashMap<>();
 
     public XmlTreeBuilder(String str) {
         this(new StringReader(str));
@@ -103,31 +105,10 @@ public class XmlTreeBuilder {
         try {
             while (xmlStreamReader.hasNext()) {
                 int next = xmlStreamReader.next();
-                switch (next) {
-                    case START_ELEMENT:
-                        readElement(xmlStreamReader);
-                        break;
-                    case END_ELEMENT:
-                        endElement();
-                        break;
-                    case PROCESSING_INSTRUCTION:
-                        readPI(xmlStreamReader);
-                        break;
-                    case COMMENT:
-                        readComment(xmlStreamReader);
-                        break;
-                    case CDATA:
-                    case CHARACTERS:
-                        readText(xmlStreamReader);
-                        break;
-                    case END_DOCUMENT:
-                        return buildDocument();
-                    case DTD:
-                        handleDTD(xmlStreamReader);
-                        break;
-                    default:
-                        assert false;
+                if (next == END_DOCUMENT) {
+                    return buildDocument();
                 }
+                readEvent(next);
             }
         } catch (Exception e) {
             handleXMLStreamException(e);
@@ -136,6 +117,82 @@ public class XmlTreeBuilder {
         return null;
     }
 
+    /**
+     * Parses the source up to the end of the next element at the given depth and returns it. Enclosing elements and
+     * the items which are not elements at that depth are skipped without being built, so that only one element is
+     * held in memory at a time.
+     *
+     * @param depth depth of the elements, where the root elements are at depth zero
+     * @return the next element, or null if there are no more elements at the given depth
+     */
+    public BXml parseNextElement(int depth) {
+        try {
+            while (xmlStreamReader.hasNext()) {
+                int next = xmlStreamReader.next();
+                if (next == START_ELEMENT) {
+                    if (currentDepth == depth) {
+                        return readSubtree();
+                    }
+                    currentDepth++;
+                } else if (next == END_ELEMENT) {
+                    currentDepth--;
+                }
+            }
+        } catch (Exception e) {
+            handleXMLStreamException(e);
+        }
+
+        return null;
+    }
+
+    private BXml readSubtree() throws XMLStreamException {
+        List<BXml> siblings = new ArrayList<>(1);
+        siblingDeque.push(siblings);
+        seqDeque.push(new XmlSequence(siblings));
+
+        readElement(xmlStreamReader);
+        int subtreeDepth = 1;
+        while (subtreeDepth > 0) {
+            int next = xmlStreamReader.next();
+            if (next == START_ELEMENT) {
+                subtreeDepth++;
+            } else if (next == END_ELEMENT) {
+                subtreeDepth--;
+            }
+            readEvent(next);
+        }
+
+        siblingDeque.pop();
+        seqDeque.pop();
+        return siblings.get(0);
+    }
+
+    private void readEvent(int next) {
+        switch (next) {
+            case START_ELEMENT:
+                readElement(xmlStreamReader);
+                break;
+            case END_ELEMENT:
+                endElement();
+                break;
+            case PROCESSING_INSTRUCTION:
+                readPI(xmlStreamReader);
+                break;
+            case COMMENT:
+                readComment(xmlStreamReader);
+                break;
+            case CDATA:
+            case CHARACTERS:
+                readText(xmlStreamReader);
+                break;
+            case DTD:
+                handleDTD(xmlStreamReader);
+                break;
+            default:
+                assert false;
+        }
+    }
+
     private void handleDTD(XMLStreamReader xmlStreamReader) {
         // ignore
     }
@@ -167,9 +224,8 @@ public class XmlTreeBuilder {
 
     private void readElement(XMLStreamReader xmlStreamReader) {
         QName elemName = xmlStreamReader.getName();
-        XmlQName name = new XmlQName(elemName.getLocalPart(),
-                                     elemName.getNamespaceURI(), elemName.getPrefix());
-        XmlItem xmlItem = (XmlItem) XmlFactory.createXMLElement(name, name, null);
+        // Names are validated by the XMLStreamReader
+        XmlItem xmlItem = new XmlItem(internQName(elemName), false);
 
         seqDeque.push(xmlItem.getChildrenSeq());
 
@@ -177,18 +233,43 @@ public class XmlTreeBuilder {
         populateAttributeMap(xmlStreamReader, xmlItem, elemName);
         siblingDeque.push(xmlItem.getChildrenSeq().getChildrenList());
     }
+
+    /**
+     * Returns the same {@code QName} instance for the elements of the same name and prefix, which saves memory and
+     * lets the element name index reuse the expanded name computed for the first of them.
+     */
+    private QName internQName(QName name) {
+        // QName equality does not consider the prefix
+        QName internedName = internedQNames.putIfAbsent(name, name);
+        if (internedName == null || !internedName.getPrefix().equals(name.getPrefix())) {
+            return name;
+        }
+        return internedName;
+    }
+
+    /**
+     * Returns the same attribute key instance for the attributes of the same expanded name.
+     */
+    private BString getAttributeKey(QName attributeName) {
+        return attributeKeys.computeIfAbsent(attributeName, name -> StringUtils.fromString(name.toString()));
+    }
+
+    private BString getNamespaceDeclarationKey(String prefix) {
+        return namespaceDeclarationKeys.computeIfAbsent(prefix, p ->
+                StringUtils.fromString(XmlItem.XMLNS_NS_URI_PREFIX + p));
+    }
+
     // need to duplicate the same in xmlItem.setAttribute
 
     // todo: need to write a comment explaining each step
     private void populateAttributeMap(XMLStreamReader xmlStreamReader, XmlItem xmlItem, QName elemName) {
-        MapValue<BString, BString> attributesMap = xmlItem.getAttributesMap();
         Set<QName> usedNS = new HashSet<>(); // Track namespace prefixes found in this element.
 
         int count = xmlStreamReader.getAttributeCount();
         for (int i = 0; i < count; i++) {
             QName attributeName = xmlStreamReader.getAttributeName(i);
-            attributesMap.put(StringUtils.fromString(attributeName.toString()),
-                              StringUtils.fromString(xmlStreamReader.getAttributeValue(i)));
+            xmlItem.populateAttribute(getAttributeKey(attributeName),
+                                      StringUtils.fromString(xmlStreamReader.getAttributeValue(i)));
             if (!attributeName.getPrefix().isEmpty()) {
                 usedNS.add(attributeName);
             }
@@ -204,8 +285,7 @@ public class XmlTreeBuilder {
                 namespaceURI = namespaces.getOrDefault(prefix, "");
             }
 
-            BString xmlnsPrefix = StringUtils.fromString(XmlItem.XMLNS_NS_URI_PREFIX + prefix);
-            attributesMap.put(xmlnsPrefix, StringUtils.fromString(namespaceURI));
+            xmlItem.populateAttribute(getNamespaceDeclarationKey(prefix), StringUtils.fromString(namespaceURI));
         }
 
         int namespaceCount = xmlStreamReader.getNamespaceCount();
@@ -213,11 +293,9 @@ public class XmlTreeBuilder {
             String uri = xmlStreamReader.getNamespaceURI(i);
             String prefix = xmlStreamReader.getNamespacePrefix(i);
             if (prefix == null || prefix.isEmpty()) {
-                attributesMap.put(StringUtils.fromString(XmlItem.XMLNS_NS_URI_PREFIX + "xmlns"),
-                                  StringUtils.fromString(uri));
+                xmlItem.populateAttribute(getNamespaceDeclarationKey("xmlns"), StringUtils.fromString(uri));
             } else {
-                attributesMap.put(StringUtils.fromString(XmlItem.XMLNS_NS_URI_PREFIX + prefix),
-                                  StringUtils.fromString(uri));
+                xmlItem.populateAttribute(getNamespaceDeclarationKey(prefix), StringUtils.fromString(uri));
             }
         }
     }
@@ -0,0 +1,751 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal;
+
+import io.ballerina.runtime.api.values.BXml;
+import io.ballerina.runtime.internal.util.exceptions.BLangExceptionHelper;
+import io.ballerina.runtime.internal.values.XmlComment;
+import io.ballerina.runtime.internal.values.XmlItem;
+import io.ballerina.runtime.internal.values.XmlPi;
+import io.ballerina.runtime.internal.values.XmlSequence;
+import io.ballerina.runtime.internal.values.XmlText;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * XML writer for Ballerina XML value trees, which writes the markup directly either as UTF-8 encoded bytes to an
+ * output stream or as characters to a string builder.
+ * <p>
+ * The output is the same as that of {@link BallerinaXmlSerializer}. The namespace declarations are resolved the same
+ * way, but without a {@code XMLStreamWriter}, and the namespace declarations in scope are shared with the enclosing
+ * element until an element declares a namespace. The byte buffer is reused by the writers of a thread.
+ *
+ * @since 2.0.0
+ */
+public class XmlWriter implements Closeable {
+    private static final String XMLNS = "xmlns";
+    private static final String EMPTY_STR = "";
+    private static final String PARSE_XML_OP = "parse xml";
+    private static final String XML = "xml";
+    private static final String XML_NS_URI_PREFIX = "{" + XMLConstants.XML_NS_URI + "}";
+    private static final int BUFFER_SIZE = 8192;
+    private static final ThreadLocal<byte[]> BUFFERS = new ThreadLocal<>();
+
+    private final OutputStream outputStream;
+    private final StringBuilder stringBuilder;
+    private byte[] buffer;
+    private int bufferPosition;
+
+    private final Deque<QName> openElements = new ArrayDeque<>();
+    private NamespaceScope namespaceScope = new NamespaceScope(null);
+    private NamespaceDeclarations parentNSDeclarations;
+    private int nsNumber;
+    private boolean withinElement;
+    private boolean startTagOpen;
+
+    public XmlWriter(OutputStream outputStream) {
+        this.outputStream = outputStream;
+        this.stringBuilder = null;
+        this.buffer = BUFFERS.get();
+        if (this.buffer == null) {
+            this.buffer = new byte[BUFFER_SIZE];
+        } else {
+            // Not available to another writer of this thread until this writer is closed
+            BUFFERS.remove();
+        }
+    }
+
+    public XmlWriter(StringBuilder stringBuilder) {
+        this.outputStream = null;
+        this.stringBuilder = stringBuilder;
+    }
+
+    /**
+     * Returns the string representation of a XML value.
+     *
+     * @param xmlValue XML value
+     * @return string representation
+     */
+    public static String toString(BXml xmlValue) {
+        StringBuilder stringBuilder = new StringBuilder();
+        new XmlWriter(stringBuilder).write(xmlValue);
+        return stringBuilder.toString();
+    }
+
+    public void flush() throws IOException {
+        if (outputStream != null) {
+            flushBuffer();
+            outputStream.flush();
+        }
+    }
+
+    /**
+     * Flushes the writer and releases its buffer. The underlying output stream is not closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (outputStream == null || buffer == null) {
+            return;
+        }
+        flushBuffer();
+        BUFFERS.set(buffer);
+        buffer = null;
+    }
+
+    public void write(BXml xmlValue) {
+        if (xmlValue == null) {
+            return;
+        }
+        try {
+            switch (xmlValue.getNodeType()) {
+                case SEQUENCE:
+                    writeSeq((XmlSequence) xmlValue);
+                    break;
+                case ELEMENT:
+                    writeElement((XmlItem) xmlValue);
+                    break;
+                case TEXT:
+                    writeXMLText((XmlText) xmlValue);
+                    break;
+                case COMMENT:
+                    writeXMLComment((XmlComment) xmlValue);
+                    break;
+                case PI:
+                    writeXMLPI((XmlPi) xmlValue);
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected value: " + xmlValue.getNodeType());
+            }
+        } catch (XMLStreamException | IOException e) {
+            BLangExceptionHelper.handleXMLException(PARSE_XML_OP, e);
+        }
+    }
+
+    private void writeSeq(XmlSequence xmlValue) {
+        for (BXml value : xmlValue.getChildrenList()) {
+            this.write(value);
+        }
+    }
+
+    private void writeXMLPI(XmlPi xmlValue) throws IOException {
+        closeStartTag();
+        append("<?");
+        append(xmlValue.getTarget());
+        String data = xmlValue.getData();
+        if (data != null && !data.isEmpty()) {
+            append(' ');
+            append(data);
+        }
+        append("?>");
+    }
+
+    private void writeXMLComment(XmlComment xmlValue) throws IOException {
+        closeStartTag();
+        append("<!--");
+        append(xmlValue.getTextValue());
+        append("-->");
+    }
+
+    private void writeXMLText(XmlText xmlValue) throws XMLStreamException, IOException {
+        String textValue = xmlValue.getTextValue();
+        if (textValue.isEmpty()) {
+            return;
+        }
+        if (this.withinElement) {
+            closeStartTag();
+            writeEscapedText(textValue);
+        } else {
+            // Text outside of elements is escaped the same way, except for '>' and carriage returns
+            writeEscapedCharacters(textValue);
+        }
+    }
+
+    private void writeEscapedCharacters(String textValue) throws IOException {
+        int start = 0;
+        int length = textValue.length();
+        for (int i = 0; i < length; i++) {
+            String entity;
+            switch (textValue.charAt(i)) {
+                case '<':
+                    entity = "&lt;";
+                    break;
+                case '&':
+                    entity = "&amp;";
+                    break;
+                case '>':
+                    entity = "&gt;";
+                    break;
+                default:
+                    continue;
+            }
+            append(textValue, start, i);
+            append(entity);
+            start = i + 1;
+        }
+        append(textValue, start, length);
+    }
+
+    private void writeEscapedText(String text) throws XMLStreamException, IOException {
+        int start = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            String entity;
+            if (c == '<') {
+                entity = "&lt;";
+            } else if (c == '&') {
+                entity = "&amp;";
+            } else if (c == '>') {
+                // Only where it might be a part of "]]>"
+                if (i > 0 && text.charAt(i - 1) != ']') {
+                    continue;
+                }
+                entity = "&gt;";
+            } else if (c == '\r') {
+                entity = "&#xd;";
+            } else if (c < 0x20 && c != '\n' && c != '\t') {
+                throw createInvalidCharacterError(c);
+            } else {
+                continue;
+            }
+            append(text, start, i);
+            append(entity);
+            start = i + 1;
+        }
+        append(text, start, length);
+    }
+
+    private void writeEscapedAttributeValue(String value) throws XMLStreamException, IOException {
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            String entity;
+            if (c == '<') {
+                entity = "&lt;";
+            } else if (c == '&') {
+                entity = "&amp;";
+            } else if (c == '"') {
+                entity = "&quot;";
+            } else if (c == '\r') {
+                entity = "&#xd;";
+            } else if (c == '\n') {
+                entity = "&#xa;";
+            } else if (c == '\t') {
+                entity = "&#x9;";
+            } else if (c < 0x20) {
+                throw createInvalidCharacterError(c);
+            } else {
+                continue;
+            }
+            append(value, start, i);
+            append(entity);
+            start = i + 1;
+        }
+        append(value, start, length);
+    }
+
+    private XMLStreamException createInvalidCharacterError(char c) {
+        return new XMLStreamException("Invalid white space character (0x" + Integer.toHexString(c) +
+                                              ") in text to output");
+    }
+
+    private void writeElement(XmlItem xmlValue) throws XMLStreamException, IOException {
+        // Setup namespace hierarchy
+        NamespaceDeclarations currentNSLevel = new NamespaceDeclarations(this.parentNSDeclarations);
+        this.parentNSDeclarations = currentNSLevel;
+
+        Map<String, String> nsPrefixMap;
+        Map<String, String> attributeMap;
+        if (xmlValue.getAttributeCount() == 0) {
+            nsPrefixMap = Collections.emptyMap();
+            attributeMap = Collections.emptyMap();
+        } else {
+            nsPrefixMap = new LinkedHashMap<>();
+            attributeMap = new LinkedHashMap<>();
+            splitAttributesAndNSPrefixes(xmlValue, nsPrefixMap, attributeMap);
+        }
+
+        QName qName = xmlValue.getQName();
+        writeStartElement(qName, nsPrefixMap, currentNSLevel);
+        setMissingElementPrefix(nsPrefixMap, qName);
+
+        // Write namespaces
+        writeNamespaceAttributes(currentNSLevel, nsPrefixMap);
+
+        // Write attributes
+        writeAttributes(currentNSLevel, attributeMap);
+
+        // Track and override xml text escape when xml text is within an element.
+        boolean prevWithinElementFlag = this.withinElement;
+        this.withinElement = true;
+        writeSeq((XmlSequence) xmlValue.getChildrenSeq());
+        this.withinElement = prevWithinElementFlag;
+
+        writeEndElement();
+        // Reset namespace decl hierarchy for this node.
+        this.parentNSDeclarations = currentNSLevel.parent;
+    }
+
+    private String setDefaultNamespace(Map<String, String> nsPrefixMap, QName qName,
+                                       NamespaceDeclarations currentNSLevel) {
+        boolean elementNSUsageFoundInAttribute = false;
+        for (Map.Entry<String, String> entry : nsPrefixMap.entrySet()) {
+            if (entry.getValue().equals(qName.getNamespaceURI())) {
+                elementNSUsageFoundInAttribute = true;
+            }
+            if (entry.getKey().isEmpty()) {
+                namespaceScope.defaultNamespace = entry.getValue();
+                return entry.getValue();
+            }
+        }
+        if (!elementNSUsageFoundInAttribute && !qName.getNamespaceURI().isEmpty()) {
+            namespaceScope.defaultNamespace = qName.getNamespaceURI();
+            return qName.getNamespaceURI();
+        }
+
+        String defaultNsURI = nsPrefixMap.get(XMLNS);
+        if (defaultNsURI != null) {
+            namespaceScope.defaultNamespace = defaultNsURI;
+            return defaultNsURI;
+        }
+
+        // Undeclare default namespace for this element, if outer elements have redefined default ns and this
+        // element doesn't have NS URI in it's name.
+        if ((qName.getNamespaceURI() == null || qName.getNamespaceURI().isEmpty())
+                && currentNSLevel.hasPrefixStartingWith(XMLNS)) {
+            namespaceScope.defaultNamespace = EMPTY_STR;
+            return EMPTY_STR;
+        }
+
+        return null;
+    }
+
+    private void writeStartElement(QName qName, Map<String, String> nsPrefixMap,
+                                   NamespaceDeclarations currentNSLevel) throws XMLStreamException, IOException {
+        // Same as the XMLStreamWriter, the default namespace is set in the scope of the enclosing element
+        String defaultNamespaceUri = setDefaultNamespace(nsPrefixMap, qName, currentNSLevel);
+
+        closeStartTag();
+        append('<');
+        appendName(qName.getPrefix(), qName.getLocalPart());
+        openElements.push(qName);
+        namespaceScope = new NamespaceScope(namespaceScope);
+        startTagOpen = true;
+
+        if (defaultNamespaceUri == null) {
+            return;
+        }
+
+        if (!currentNSLevel.contains(EMPTY_STR, defaultNamespaceUri)) {
+            namespaceScope.defaultNamespace = defaultNamespaceUri;
+            writeAttribute(XMLNS, defaultNamespaceUri);
+            currentNSLevel.add(EMPTY_STR, defaultNamespaceUri);
+        }
+    }
+
+    private void writeEndElement() throws IOException {
+        QName qName = openElements.pop();
+        if (startTagOpen) {
+            append('>');
+            startTagOpen = false;
+        }
+        append("</");
+        appendName(qName.getPrefix(), qName.getLocalPart());
+        append('>');
+        namespaceScope = namespaceScope.parent;
+    }
+
+    private void closeStartTag() throws IOException {
+        if (startTagOpen) {
+            append('>');
+            startTagOpen = false;
+        }
+    }
+
+    private void writeAttributes(NamespaceDeclarations curNSSet, Map<String, String> attributeMap)
+            throws XMLStreamException, IOException {
+        for (Map.Entry<String, String> attributeEntry : attributeMap.entrySet()) {
+            String key = attributeEntry.getKey();
+            int closingCurlyPos = key.lastIndexOf('}');
+            // Attribute on elements default namespace
+            if (closingCurlyPos == -1) {
+                writeAttribute(key, attributeEntry.getValue());
+            } else {
+                String uri = key.substring(1, closingCurlyPos);
+
+                // Prefix for the namespace is not defined.
+                if (namespaceScope.getPrefix(uri) == null) {
+                    generateAndAddRandomNSPrefix(curNSSet, uri);
+                }
+                String localName = key.substring(closingCurlyPos + 1);
+                // The namespace URI bound to the `xmlns` prefix is that of the namespace declarations
+                if (uri.isEmpty() || uri.equals(XMLConstants.XMLNS_ATTRIBUTE_NS_URI)) {
+                    writeAttribute(localName, attributeEntry.getValue());
+                } else {
+                    String prefix = namespaceScope.getExplicitPrefix(uri);
+                    if (prefix == null) {
+                        throw new XMLStreamException("Unbound namespace URI '" + uri + "'");
+                    }
+                    append(' ');
+                    appendName(prefix, localName);
+                    append("=\"");
+                    writeEscapedAttributeValue(attributeEntry.getValue());
+                    append('"');
+                }
+            }
+        }
+    }
+
+    private void writeAttribute(String name, String value) throws XMLStreamException, IOException {
+        append(' ');
+        append(name);
+        append("=\"");
+        writeEscapedAttributeValue(value);
+        append('"');
+    }
+
+    private void writeNamespaceAttributes(NamespaceDeclarations curNSSet, Map<String, String> nsPrefixMap)
+            throws XMLStreamException, IOException {
+        for (Map.Entry<String, String> nsEntry : nsPrefixMap.entrySet()) {
+            String prefix = nsEntry.getKey();
+            if (!(prefix.isEmpty() || prefix.equals(XMLNS))) {
+                // Only write the namespace decl if not in the namespace hierarchy.
+                String nsUri = nsEntry.getValue();
+                if (!curNSSet.contains(prefix, nsUri)) {
+                    // We don't need to write the namespace prefix `xml` as it's predefined.
+                    // It's legal to write this, but it adds unwanted extra text.
+                    if (!prefix.equals(XML)) {
+                        writeAttribute(XMLNS + ":" + prefix, nsUri);
+                    }
+                    namespaceScope.bind(prefix, nsUri);
+                    curNSSet.add(prefix, nsUri);
+                }
+            }
+        }
+    }
+
+    private void setMissingElementPrefix(Map<String, String> nsPrefixMap, QName qName) {
+        String namespaceURI = qName.getNamespaceURI();
+        if (!namespaceURI.isEmpty() && qName.getPrefix().isEmpty() && alreadyDefinedNSPrefixNotFound(qName)) {
+            for (Map.Entry<String, String> entry : nsPrefixMap.entrySet()) {
+                if (entry.getValue().equals(namespaceURI) && !entry.getKey().equals(XMLNS)) {
+                    namespaceScope.bind(entry.getKey(), entry.getValue());
+                    break;
+                }
+            }
+        }
+    }
+
+    private boolean alreadyDefinedNSPrefixNotFound(QName qName) {
+        String prefix = namespaceScope.getPrefix(qName.getNamespaceURI());
+        return prefix == null || prefix.isEmpty();
+    }
+
+    private void generateAndAddRandomNSPrefix(NamespaceDeclarations curNSSet, String uri)
+            throws XMLStreamException, IOException {
+        // Namespace URI and the prefix `xml` is predefined, hence no need to generate a prefix for that
+        if (uri.isEmpty() || XMLConstants.XML_NS_URI.equals(uri)) {
+            return;
+        }
+        String randomNSPrefix = generateRandomPrefix(curNSSet, uri);
+        writeAttribute(XMLNS + ":" + randomNSPrefix, uri);
+        namespaceScope.bind(randomNSPrefix, uri);
+        curNSSet.add(randomNSPrefix, uri);
+    }
+
+    private String generateRandomPrefix(NamespaceDeclarations curNSSet, String uri) {
+        while (true) {
+            nsNumber++;
+            String generatedNs = "ns" + nsNumber;
+            if (!curNSSet.contains(generatedNs, uri) && !curNSSet.containsPrefix(generatedNs)) {
+                return generatedNs;
+            }
+        }
+    }
+
+    private void splitAttributesAndNSPrefixes(XmlItem xmlValue,
+                                              Map<String, String> nsPrefixMap,
+                                              Map<String, String> attributeMap) {
+        // Extract namespace entries, without creating the attribute map of the element
+        xmlValue.forEachAttribute((attributeKey, attributeValue) -> {
+            String key = attributeKey.getValue();
+            if (key.startsWith(XmlItem.XMLNS_NS_URI_PREFIX)) {
+                int closingCurly = key.indexOf('}');
+                String prefix = key.substring(closingCurly + 1);
+                if (!prefix.equals(XML)) {
+                    nsPrefixMap.put(prefix, attributeValue.getValue());
+                }
+            } else {
+                // If `xml` namespace URI is used, we need to add `xml` namespace prefix to prefixMap
+                if (key.startsWith(XML_NS_URI_PREFIX)) {
+                    nsPrefixMap.put(XML, XMLConstants.XML_NS_URI);
+                }
+                attributeMap.put(key, attributeValue.getValue());
+            }
+        });
+
+        // Remove NS prefixes which points to default NS URI
+        String defaultNs = nsPrefixMap.get(EMPTY_STR);
+        if (defaultNs != null) {
+            List<String> alternativePrefixes = new ArrayList<>();
+            for (Map.Entry<String, String> entry : nsPrefixMap.entrySet()) {
+                if (!entry.getKey().isEmpty() && entry.getValue().equals(defaultNs)) {
+                    alternativePrefixes.add(entry.getKey());
+                }
+            }
+            for (String prefix : alternativePrefixes) {
+                nsPrefixMap.remove(prefix);
+            }
+        }
+    }
+
+    private void appendName(String prefix, String localName) throws IOException {
+        if (prefix != null && !prefix.isEmpty()) {
+            append(prefix);
+            append(':');
+        }
+        append(localName);
+    }
+
+    private void append(String str) throws IOException {
+        append(str, 0, str.length());
+    }
+
+    private void append(String str, int start, int end) throws IOException {
+        if (stringBuilder != null) {
+            // Same as the UTF-8 output, unpaired surrogates are not written
+            for (int i = start; i < end; i++) {
+                char c = str.charAt(i);
+                if (Character.isSurrogate(c)) {
+                    i = checkSurrogatePair(str, i, end);
+                }
+            }
+            stringBuilder.append(str, start, end);
+            return;
+        }
+        for (int i = start; i < end; i++) {
+            char c = str.charAt(i);
+            if (c < 0x80) {
+                if (bufferPosition == buffer.length) {
+                    flushBuffer();
+                }
+                buffer[bufferPosition++] = (byte) c;
+            } else if (Character.isSurrogate(c)) {
+                i = checkSurrogatePair(str, i, end);
+                appendCodePoint(Character.toCodePoint(c, str.charAt(i)));
+            } else {
+                appendCodePoint(c);
+            }
+        }
+    }
+
+    // Returns the index of the low surrogate, if the surrogate at the given index is the high surrogate of a pair
+    private static int checkSurrogatePair(String str, int index, int end) throws IOException {
+        char c = str.charAt(index);
+        if (Character.isHighSurrogate(c) && index + 1 < end && Character.isLowSurrogate(str.charAt(index + 1))) {
+            return index + 1;
+        }
+        throw new IOException("Unpaired surrogate character (0x" + Integer.toHexString(c) + ")");
+    }
+
+    private void append(char c) throws IOException {
+        if (stringBuilder != null) {
+            stringBuilder.append(c);
+            return;
+        }
+        // Only used for ASCII characters
+        if (bufferPosition == buffer.length) {
+            flushBuffer();
+        }
+        buffer[bufferPosition++] = (byte) c;
+    }
+
+    private void appendCodePoint(int codePoint) throws IOException {
+        if (bufferPosition + 4 > buffer.length) {
+            flushBuffer();
+        }
+        if (codePoint < 0x80) {
+            buffer[bufferPosition++] = (byte) codePoint;
+        } else if (codePoint < 0x800) {
+            buffer[bufferPosition++] = (byte) (0xC0 | (codePoint >> 6));
+            buffer[bufferPosition++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else if (codePoint < 0x10000) {
+            buffer[bufferPosition++] = (byte) (0xE0 | (codePoint >> 12));
+            buffer[bufferPosition++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[bufferPosition++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else {
+            buffer[bufferPosition++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[bufferPosition++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[bufferPosition++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[bufferPosition++] = (byte) (0x80 | (codePoint & 0x3F));
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (bufferPosition > 0) {
+            outputStream.write(buffer, 0, bufferPosition);
+            bufferPosition = 0;
+        }
+    }
+
+    /**
+     * Namespace bindings in the scope of an element, as tracked by a {@code XMLStreamWriter}.
+     */
+    private static class NamespaceScope {
+        private final NamespaceScope parent;
+        private String defaultNamespace;
+        // Prefix and namespace URI pairs
+        private List<String> bindings;
+
+        private NamespaceScope(NamespaceScope parent) {
+            this.parent = parent;
+            this.defaultNamespace = parent == null ? EMPTY_STR : parent.defaultNamespace;
+        }
+
+        private void bind(String prefix, String uri) {
+            if (prefix.isEmpty()) {
+                defaultNamespace = uri;
+                return;
+            }
+            if (prefix.equals(XMLNS)) {
+                return;
+            }
+            if (bindings == null) {
+                bindings = new ArrayList<>(4);
+            }
+            bindings.add(prefix);
+            bindings.add(uri);
+        }
+
+        private String getPrefix(String uri) {
+            if (uri.equals(defaultNamespace)) {
+                return EMPTY_STR;
+            }
+            return getExplicitPrefix(uri);
+        }
+
+        private String getExplicitPrefix(String uri) {
+            if (XMLConstants.XML_NS_URI.equals(uri)) {
+                return XML;
+            }
+            if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(uri)) {
+                return XMLNS;
+            }
+            for (NamespaceScope scope = this; scope != null; scope = scope.parent) {
+                if (scope.bindings == null) {
+                    continue;
+                }
+                for (int i = scope.bindings.size() - 2; i >= 0; i -= 2) {
+                    String prefix = scope.bindings.get(i);
+                    // The prefix should not have been bound to another URI in an inner scope
+                    if (scope.bindings.get(i + 1).equals(uri) && uri.equals(getUri(prefix))) {
+                        return prefix;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private String getUri(String prefix) {
+            for (NamespaceScope scope = this; scope != null; scope = scope.parent) {
+                if (scope.bindings == null) {
+                    continue;
+                }
+                for (int i = scope.bindings.size() - 2; i >= 0; i -= 2) {
+                    if (scope.bindings.get(i).equals(prefix)) {
+                        return scope.bindings.get(i + 1);
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Namespace declarations written by an element and its enclosing elements. The declarations of the enclosing
+     * elements are shared instead of being copied to each element.
+     */
+    private static class NamespaceDeclarations {
+        private final NamespaceDeclarations parent;
+        // Prefix and namespace URI pairs
+        private List<String> declarations;
+
+        private NamespaceDeclarations(NamespaceDeclarations parent) {
+            this.parent = parent;
+        }
+
+        private void add(String prefix, String uri) {
+            if (declarations == null) {
+                declarations = new ArrayList<>(4);
+            }
+            declarations.add(prefix);
+            declarations.add(uri);
+        }
+
+        private boolean contains(String prefix, String uri) {
+            for (NamespaceDeclarations level = this; level != null; level = level.parent) {
+                if (level.declarations == null) {
+                    continue;
+                }
+                for (int i = 0; i < level.declarations.size(); i += 2) {
+                    if (level.declarations.get(i).equals(prefix) && level.declarations.get(i + 1).equals(uri)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean containsPrefix(String prefix) {
+            return hasPrefix(prefix, false);
+        }
+
+        private boolean hasPrefixStartingWith(String prefix) {
+            return hasPrefix(prefix, true);
+        }
+
+        private boolean hasPrefix(String prefix, boolean startsWith) {
+            for (NamespaceDeclarations level = this; level != null; level = level.parent) {
+                if (level.declarations == null) {
+                    continue;
+                }
+                for (int i = 0; i < level.declarations.size(); i += 2) {
+                    String declaredPrefix = level.declarations.get(i);
+                    if (startsWith ? declaredPrefix.startsWith(prefix) : declaredPrefix.equals(prefix)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the samples of the {@link StrandProfiler} as a profile in the pprof format, which is the protocol buffers
+ * encoding of the {@code Profile} message of
+ * <a href="https://github.com/google/pprof/blob/master/proto/profile.proto">profile.proto</a>. The few messages
+ * needed are encoded directly, as the runtime does not depend on protocol buffers.
+ *
+ * @since 2.0.0
+ */
+class PprofWriter {
+
+    // Field numbers of the Profile message
+    private static final int PROFILE_SAMPLE_TYPE = 1;
+    private static final int PROFILE_SAMPLE = 2;
+    private static final int PROFILE_LOCATION = 4;
+    private static final int PROFILE_FUNCTION = 5;
+    private static final int PROFILE_STRING_TABLE = 6;
+    private static final int PROFILE_TIME_NANOS = 9;
+    private static final int PROFILE_DURATION_NANOS = 10;
+    private static final int PROFILE_PERIOD_TYPE = 11;
+    private static final int PROFILE_PERIOD = 12;
+    private static final int PROFILE_DEFAULT_SAMPLE_TYPE = 14;
+    // Field numbers of the ValueType, Sample, Location, Line and Function messages
+    private static final int VALUE_TYPE_TYPE = 1;
+    private static final int VALUE_TYPE_UNIT = 2;
+    private static final int SAMPLE_LOCATION_ID = 1;
+    private static final int SAMPLE_VALUE = 2;
+    private static final int LOCATION_ID = 1;
+    private static final int LOCATION_LINE = 4;
+    private static final int LINE_FUNCTION_ID = 1;
+    private static final int LINE_LINE = 2;
+    private static final int FUNCTION_ID = 1;
+    private static final int FUNCTION_NAME = 2;
+    private static final int FUNCTION_SYSTEM_NAME = 3;
+    private static final int FUNCTION_FILENAME = 4;
+
+    private static final int WIRE_TYPE_VARINT = 0;
+    private static final int WIRE_TYPE_LENGTH_DELIMITED = 2;
+
+    private final ByteArrayOutputStream profile = new ByteArrayOutputStream();
+    private final Map<String, Long> strings = new HashMap<>();
+    private final Map<String, Long> functions = new HashMap<>();
+    private final Map<StackTraceElement, Long> locations = new HashMap<>();
+    private final long periodNanos;
+    private final long timeNanos;
+    private final long durationNanos;
+
+    PprofWriter(long periodNanos, long timeNanos, long durationNanos) {
+        this.periodNanos = periodNanos;
+        this.timeNanos = timeNanos;
+        this.durationNanos = durationNanos;
+        getStringIndex("");
+        writeValueType(PROFILE_SAMPLE_TYPE, "samples", "count");
+        writeValueType(PROFILE_SAMPLE_TYPE, "cpu", "nanoseconds");
+        writeValueType(PROFILE_SAMPLE_TYPE, "alloc_space", "bytes");
+        writeValueType(PROFILE_SAMPLE_TYPE, "wait", "nanoseconds");
+    }
+
+    void addSample(List<StackTraceElement> stack, StrandProfiler.ProfileCounters counters) {
+        ByteArrayOutputStream sample = new ByteArrayOutputStream();
+        // Location IDs of a sample start from the leaf
+        ByteArrayOutputStream locationIds = new ByteArrayOutputStream();
+        for (int i = stack.size() - 1; i >= 0; i--) {
+            writeVarint(locationIds, getLocationId(stack.get(i)));
+        }
+        writeBytes(sample, SAMPLE_LOCATION_ID, locationIds.toByteArray());
+        ByteArrayOutputStream values = new ByteArrayOutputStream();
+        writeVarint(values, counters.getSamples());
+        writeVarint(values, counters.getCpuNanos());
+        writeVarint(values, counters.getAllocatedBytes());
+        writeVarint(values, counters.getWaitNanos());
+        writeBytes(sample, SAMPLE_VALUE, values.toByteArray());
+        writeBytes(profile, PROFILE_SAMPLE, sample.toByteArray());
+    }
+
+    void write(OutputStream outputStream) throws IOException {
+        ByteArrayOutputStream periodType = new ByteArrayOutputStream();
+        writeVarintField(periodType, VALUE_TYPE_TYPE, getStringIndex("cpu"));
+        writeVarintField(periodType, VALUE_TYPE_UNIT, getStringIndex("nanoseconds"));
+        writeBytes(profile, PROFILE_PERIOD_TYPE, periodType.toByteArray());
+        writeVarintField(profile, PROFILE_PERIOD, periodNanos);
+        writeVarintField(profile, PROFILE_TIME_NANOS, timeNanos);
+        writeVarintField(profile, PROFILE_DURATION_NANOS, durationNanos);
+        writeVarintField(profile, PROFILE_DEFAULT_SAMPLE_TYPE, getStringIndex("cpu"));
+
+        // The string table is written last, as the other messages add strings to it
+        String[] stringTable = new String[strings.size()];
+        strings.forEach((string, index) -> stringTable[index.intValue()] = string);
+        for (String string : stringTable) {
+            writeBytes(profile, PROFILE_STRING_TABLE, string.getBytes(StandardCharsets.UTF_8));
+        }
+        profile.writeTo(outputStream);
+    }
+
+    private long getLocationId(StackTraceElement frame) {
+        Long locationId = locations.get(frame);
+        if (locationId != null) {
+            return locationId;
+        }
+        locationId = (long) locations.size() + 1;
+        locations.put(frame, locationId);
+
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        writeVarintField(line, LINE_FUNCTION_ID, getFunctionId(frame));
+        if (frame.getLineNumber() > 0) {
+            writeVarintField(line, LINE_LINE, frame.getLineNumber());
+        }
+        ByteArrayOutputStream location = new ByteArrayOutputStream();
+        writeVarintField(location, LOCATION_ID, locationId);
+        writeBytes(location, LOCATION_LINE, line.toByteArray());
+        writeBytes(profile, PROFILE_LOCATION, location.toByteArray());
+        return locationId;
+    }
+
+    private long getFunctionId(StackTraceElement frame) {
+        String name = StrandProfiler.getFunctionName(frame);
+        String fileName = frame.getFileName() != null ? frame.getFileName() : "";
+        String key = name + "\n" + fileName;
+        Long functionId = functions.get(key);
+        if (functionId != null) {
+            return functionId;
+        }
+        functionId = (long) functions.size() + 1;
+        functions.put(key, functionId);
+
+        ByteArrayOutputStream function = new ByteArrayOutputStream();
+        writeVarintField(function, FUNCTION_ID, functionId);
+        writeVarintField(function, FUNCTION_NAME, getStringIndex(name));
+        writeVarintField(function, FUNCTION_SYSTEM_NAME, getStringIndex(frame.getClassName() + "." +
+                frame.getMethodName()));
+        writeVarintField(function, FUNCTION_FILENAME, getStringIndex(fileName));
+        writeBytes(profile, PROFILE_FUNCTION, function.toByteArray());
+        return functionId;
+    }
+
+    private long getStringIndex(String string) {
+        return strings.computeIfAbsent(string, k -> (long) strings.size());
+    }
+
+    private void writeValueType(int fieldNumber, String type, String unit) {
+        ByteArrayOutputStream valueType = new ByteArrayOutputStream();
+        writeVarintField(valueType, VALUE_TYPE_TYPE, getStringIndex(type));
+        writeVarintField(valueType, VALUE_TYPE_UNIT, getStringIndex(unit));
+        writeBytes(profile, fieldNumber, valueType.toByteArray());
+    }
+
+    private static void writeVarintField(ByteArrayOutputStream outputStream, int fieldNumber, long value) {
+        writeVarint(outputStream, ((long) fieldNumber << 3) | WIRE_TYPE_VARINT);
+        writeVarint(outputStream, value);
+    }
+
+    private static void writeBytes(ByteArrayOutputStream outputStream, int fieldNumber, byte[] bytes) {
+        writeVarint(outputStream, ((long) fieldNumber << 3) | WIRE_TYPE_LENGTH_DELIMITED);
+        writeVarint(outputStream, bytes.length);
+        outputStream.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream outputStream, long value) {
+        while ((value & ~0x7FL) != 0) {
+            outputStream.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        outputStream.write((int) value);
+    }
+}
@@ -80,6 +80,8 @@ public class Scheduler {
 
     private static int poolSize = Runtime.getRuntime().availableProcessors() * 2;
 
+    private static final StrandProfiler profiler = StrandProfiler.getInstance();
+
     private Semaphore mainBlockSem;
     private ListenerRegistry listenerRegistry;
     private Map<BObject, ItemGroup> objectGroups = Collections.synchronizedMap(new WeakHashMap<>());
@@ -292,10 +294,17 @@ public class Scheduler {
      * Defensive programming to prevent unforeseen errors.
      */
     private void runSafely() {
+        if (profiler != null) {
+            profiler.registerThread(Thread.currentThread());
+        }
         try {
             run();
         } catch (Throwable t) {
             RuntimeUtils.printCrashLog(t);
+        } finally {
+            if (profiler != null) {
+                profiler.unregisterThread(Thread.currentThread());
+            }
         }
     }
 
@@ -323,6 +332,9 @@ public class Scheduler {
 
                 item = group.get();
 
+                if (profiler != null) {
+                    profiler.strandResumed(item.future.strand);
+                }
                 try {
                     strandHolder.get().strand = item.future.strand;
                     result = item.execute();
@@ -341,6 +353,9 @@ public class Scheduler {
                 } finally {
                     strandHolder.get().strand = null;
                 }
+                if (profiler != null && item.isYielded()) {
+                    profiler.strandYielded(item.future.strand);
+                }
                 postProcess(item, result, panic);
                 if (group.items.empty()) {
                     group.scheduled.set(false);
@@ -80,6 +80,10 @@ public class Strand {
     List<WaitContext> waitingContexts;
     WaitContext waitContext;
     ItemGroup strandGroup;
+    /**
+     * Time the strand last yielded at, recorded only when the {@link StrandProfiler} is enabled.
+     */
+    long yieldedAt;
 
     private Map<String, Object> globalProps;
     public TransactionLocalContext currentTrxContext;
@@ -0,0 +1,384 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+import io.ballerina.runtime.api.constants.RuntimeConstants;
+import io.ballerina.runtime.api.utils.IdentifierUtils;
+import io.ballerina.runtime.internal.values.ErrorValue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import static io.ballerina.runtime.api.constants.RuntimeConstants.BLANG_SRC_FILE_SUFFIX;
+
+/**
+ * Sampling profiler for the strands executed by the scheduler threads.
+ * <p>
+ * The profiler is enabled by setting the {@code BALLERINA_PROFILER_OUTPUT} environment variable to the path prefix of
+ * the profile files, and samples every {@code BALLERINA_PROFILER_INTERVAL} milliseconds (10 by default). At each
+ * sample, the stacks of the scheduler threads are mapped to Ballerina functions and lines, and the CPU time and the
+ * bytes allocated by each thread since the previous sample are attributed to its stack. The time each strand spends
+ * yielded is attributed to the Ballerina functions it yielded in, which are read from the frames of the strand.
+ * <p>
+ * When the program exits, the profile is written as collapsed stacks ({@code <prefix>-cpu.collapsed} and
+ * {@code <prefix>-wait.collapsed}), which can be rendered as flame graphs, and in the pprof format
+ * ({@code <prefix>.pb.gz}).
+ *
+ * @since 2.0.0
+ */
+public class StrandProfiler {
+
+    private static final String PROFILER_OUTPUT_ENV_VAR = "BALLERINA_PROFILER_OUTPUT";
+    private static final String PROFILER_INTERVAL_ENV_VAR = "BALLERINA_PROFILER_INTERVAL";
+    private static final long DEFAULT_INTERVAL_MILLIS = 10;
+    private static final String FRAME_CLASS_SUFFIX = "Frame";
+    private static final String WAIT_ROOT_FRAME = "[yielded]";
+    private static final String BLOCKED_ROOT_FRAME = "[blocked]";
+    private static final PrintStream errStream = System.err;
+
+    private static final StrandProfiler INSTANCE = createProfiler();
+
+    private final Path outputPrefix;
+    private final long intervalNanos;
+    private final ThreadMXBean threadMXBean;
+    private final com.sun.management.ThreadMXBean allocationMXBean;
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final Map<List<StackTraceElement>, ProfileCounters> cpuSamples = new ConcurrentHashMap<>();
+    private final Map<List<StackTraceElement>, ProfileCounters> waitSamples = new ConcurrentHashMap<>();
+    private final Map<Long, long[]> previousThreadCounters = new ConcurrentHashMap<>();
+    private final long startTimeNanos;
+    private final long startEpochNanos;
+
+    private StrandProfiler(Path outputPrefix, long intervalMillis) {
+        this.outputPrefix = outputPrefix;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean &&
+                ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()) {
+            this.allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+            this.allocationMXBean.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            this.allocationMXBean = null;
+        }
+        if (threadMXBean.isThreadCpuTimeSupported()) {
+            threadMXBean.setThreadCpuTimeEnabled(true);
+        }
+        this.startTimeNanos = System.nanoTime();
+        this.startEpochNanos = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+    }
+
+    private static StrandProfiler createProfiler() {
+        String output = System.getenv(PROFILER_OUTPUT_ENV_VAR);
+        if (output == null || output.isBlank()) {
+            return null;
+        }
+        long intervalMillis = DEFAULT_INTERVAL_MILLIS;
+        String interval = System.getenv(PROFILER_INTERVAL_ENV_VAR);
+        try {
+            if (interval != null) {
+                intervalMillis = Math.max(1, Long.parseLong(interval.trim()));
+            }
+        } catch (NumberFormatException e) {
+            // Log and continue with default
+            errStream.println("ballerina: invalid profiler sampling interval '" + interval + "' in " +
+                    PROFILER_INTERVAL_ENV_VAR + ", using " + DEFAULT_INTERVAL_MILLIS + "ms");
+        }
+
+        StrandProfiler profiler = new StrandProfiler(Paths.get(output), intervalMillis);
+        Thread samplerThread = new Thread(profiler::sampleUntilInterrupted, "jbal-strand-profiler");
+        samplerThread.setDaemon(true);
+        samplerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            samplerThread.interrupt();
+            profiler.writeProfiles();
+        }, "jbal-strand-profiler-writer"));
+        return profiler;
+    }
+
+    /**
+     * Returns the profiler if profiling is enabled.
+     *
+     * @return the profiler or null if profiling is not enabled
+     */
+    static StrandProfiler getInstance() {
+        return INSTANCE;
+    }
+
+    void registerThread(Thread thread) {
+        threads.add(thread);
+    }
+
+    void unregisterThread(Thread thread) {
+        threads.remove(thread);
+        previousThreadCounters.remove(thread.getId());
+    }
+
+    /**
+     * Records that a strand yielded, so that the time until it is resumed is attributed to the functions it yielded
+     * in. Called by the scheduler thread which executed the strand, after the strand yielded.
+     *
+     * @param strand the strand which yielded
+     */
+    void strandYielded(Strand strand) {
+        strand.yieldedAt = System.nanoTime();
+    }
+
+    /**
+     * Attributes the time a strand was yielded to the functions it yielded in. Called by the scheduler thread which
+     * resumes the strand, before the strand is resumed.
+     *
+     * @param strand the strand to be resumed
+     */
+    void strandResumed(Strand strand) {
+        long yieldedAt = strand.yieldedAt;
+        if (yieldedAt == 0) {
+            return;
+        }
+        strand.yieldedAt = 0;
+        long waitNanos = System.nanoTime() - yieldedAt;
+        waitSamples.computeIfAbsent(getYieldedStack(strand), k -> new ProfileCounters()).addWait(waitNanos);
+    }
+
+    private void sampleUntilInterrupted() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(intervalNanos);
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                sample();
+            } catch (Throwable t) {
+                // Sampling is best effort and must not affect the program
+                errStream.println("ballerina: strand profiler stopped: " + t.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void sample() {
+        List<Thread> sampledThreads = new ArrayList<>(threads);
+        if (sampledThreads.isEmpty()) {
+            return;
+        }
+        long[] threadIds = new long[sampledThreads.size()];
+        for (int i = 0; i < threadIds.length; i++) {
+            threadIds[i] = sampledThreads.get(i).getId();
+        }
+
+        // All the stacks are taken at a single safepoint
+        ThreadInfo[] threadInfos = threadMXBean.getThreadInfo(threadIds, Integer.MAX_VALUE);
+        long[] allocatedBytes = allocationMXBean != null ? allocationMXBean.getThreadAllocatedBytes(threadIds) : null;
+        for (int i = 0; i < threadIds.length; i++) {
+            ThreadInfo threadInfo = threadInfos[i];
+            if (threadInfo == null) {
+                continue;
+            }
+            long cpuTime = threadMXBean.isThreadCpuTimeEnabled() ? threadMXBean.getThreadCpuTime(threadIds[i]) : -1;
+            long allocated = allocatedBytes != null ? allocatedBytes[i] : -1;
+            long[] previous = previousThreadCounters.put(threadIds[i], new long[]{cpuTime, allocated});
+            List<StackTraceElement> stack = getBallerinaStack(threadInfo);
+            if (stack.isEmpty()) {
+                // The thread is idle or is executing code which does not belong to a Ballerina function
+                continue;
+            }
+            long cpuDelta = previous != null && cpuTime >= 0 ? Math.max(0, cpuTime - previous[0]) : 0;
+            long allocatedDelta = previous != null && allocated >= 0 ? Math.max(0, allocated - previous[1]) : 0;
+            cpuSamples.computeIfAbsent(stack, k -> new ProfileCounters()).addSample(cpuDelta, allocatedDelta);
+        }
+    }
+
+    /**
+     * Maps the stack of a thread to the Ballerina functions in it, ordered from the root.
+     *
+     * @param threadInfo the thread
+     * @return the Ballerina stack, which is empty if the thread is not executing a Ballerina function
+     */
+    private static List<StackTraceElement> getBallerinaStack(ThreadInfo threadInfo) {
+        StackTraceElement[] stackTrace = threadInfo.getStackTrace();
+        List<StackTraceElement> stack = new ArrayList<>();
+        for (int i = stackTrace.length - 1; i >= 0; i--) {
+            StackTraceElement stackFrame = stackTrace[i];
+            if (stackFrame.getFileName() == null) {
+                // Native and generated methods without a source file
+                continue;
+            }
+            Optional<StackTraceElement> ballerinaFrame = ErrorValue.filterStackTraceElement(stackFrame, i);
+            ballerinaFrame.ifPresent(stack::add);
+        }
+        if (!stack.isEmpty() && threadInfo.getThreadState() != Thread.State.RUNNABLE) {
+            // The strand is holding the thread while waiting, e.g. on a blocking extern function or a lock
+            stack.add(0, new StackTraceElement(BLOCKED_ROOT_FRAME, "", null, -1));
+        }
+        return stack;
+    }
+
+    /**
+     * Maps the frames a strand saved when it yielded to the Ballerina functions, ordered from the root. The frames
+     * are instances of the frame classes generated for the functions, which are named after the function.
+     *
+     * @param strand the yielded strand
+     * @return the functions the strand yielded in
+     */
+    private static List<StackTraceElement> getYieldedStack(Strand strand) {
+        List<StackTraceElement> stack = new ArrayList<>();
+        stack.add(new StackTraceElement(WAIT_ROOT_FRAME, "", null, -1));
+        Object[] frames = strand.frames;
+        if (frames == null) {
+            return stack;
+        }
+        // The innermost function saves its frame first
+        for (int i = Math.min(strand.resumeIndex, frames.length) - 1; i >= 0; i--) {
+            Object frame = frames[i];
+            if (frame == null) {
+                continue;
+            }
+            String frameClassName = frame.getClass().getName();
+            int separatorIndex = frameClassName.lastIndexOf('.');
+            String className = separatorIndex < 0 ? "" : frameClassName.substring(0, separatorIndex);
+            String functionName = frameClassName.substring(separatorIndex + 1);
+            if (functionName.endsWith(FRAME_CLASS_SUFFIX)) {
+                functionName = functionName.substring(0, functionName.length() - FRAME_CLASS_SUFFIX.length());
+            }
+            stack.add(new StackTraceElement(className, functionName, null, -1));
+        }
+        return stack;
+    }
+
+    static String getFunctionName(StackTraceElement frame) {
+        if (frame.getMethodName().isEmpty()) {
+            return frame.getClassName();
+        }
+        String moduleName = IdentifierUtils.decodeIdentifier(frame.getClassName());
+        String fileName = frame.getFileName();
+        if (fileName != null) {
+            // The functions of a source file are generated into a class named after the file
+            String fileClassName = fileName.replace(BLANG_SRC_FILE_SUFFIX, "").replace("/", "-");
+            int index = moduleName.lastIndexOf("." + fileClassName);
+            if (index != -1) {
+                moduleName = moduleName.substring(0, index);
+            }
+        }
+        String functionName = IdentifierUtils.decodeIdentifier(frame.getMethodName());
+        if (moduleName.equals(RuntimeConstants.MODULE_INIT_CLASS_NAME) || moduleName.isEmpty()) {
+            return functionName;
+        }
+        return moduleName + ":" + functionName;
+    }
+
+    private void writeProfiles() {
+        try {
+            Path parent = outputPrefix.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            writeCollapsedStacks(cpuSamples, Paths.get(outputPrefix + "-cpu.collapsed"), false);
+            writeCollapsedStacks(waitSamples, Paths.get(outputPrefix + "-wait.collapsed"), true);
+            try (OutputStream outputStream = new GZIPOutputStream(
+                    Files.newOutputStream(Paths.get(outputPrefix + ".pb.gz")))) {
+                PprofWriter pprofWriter = new PprofWriter(intervalNanos, startEpochNanos,
+                        System.nanoTime() - startTimeNanos);
+                cpuSamples.forEach(pprofWriter::addSample);
+                waitSamples.forEach(pprofWriter::addSample);
+                pprofWriter.write(outputStream);
+            }
+        } catch (IOException e) {
+            errStream.println("ballerina: failed to write the strand profile to '" + outputPrefix + "': " +
+                    e.getMessage());
+        }
+    }
+
+    private static void writeCollapsedStacks(Map<List<StackTraceElement>, ProfileCounters> samples, Path path,
+                                             boolean isWait) throws IOException {
+        List<String> lines = new ArrayList<>(samples.size());
+        samples.forEach((stack, counters) -> {
+            StringBuilder line = new StringBuilder();
+            for (StackTraceElement frame : stack) {
+                if (line.length() > 0) {
+                    line.append(';');
+                }
+                line.append(getFunctionName(frame));
+            }
+            // Wait time is written in microseconds and CPU time in samples
+            long value = isWait ? TimeUnit.NANOSECONDS.toMicros(counters.getWaitNanos()) : counters.getSamples();
+            lines.add(line.append(' ').append(value).toString());
+        });
+        Collections.sort(lines);
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Values recorded for a stack.
+     */
+    static class ProfileCounters {
+        private final AtomicLong samples = new AtomicLong();
+        private final AtomicLong cpuNanos = new AtomicLong();
+        private final AtomicLong allocatedBytes = new AtomicLong();
+        private final AtomicLong waitNanos = new AtomicLong();
+
+        void addSample(long cpuNanos, long allocatedBytes) {
+            this.samples.incrementAndGet();
+            this.cpuNanos.addAndGet(cpuNanos);
+            this.allocatedBytes.addAndGet(allocatedBytes);
+        }
+
+        void addWait(long waitNanos) {
+            this.waitNanos.addAndGet(waitNanos);
+        }
+
+        long getSamples() {
+            return samples.get();
+        }
+
+        long getCpuNanos() {
+            return cpuNanos.get();
+        }
+
+        long getAllocatedBytes() {
+            return allocatedBytes.get();
+        }
+
+        long getWaitNanos() {
+            return waitNanos.get();
+        }
+    }
+}
@@ -25,6 +25,8 @@ import io.ballerina.runtime.internal.XmlValidator;
 import io.ballerina.runtime.internal.types.BMapType;
 import io.ballerina.runtime.internal.util.exceptions.BLangExceptionHelper;
 
+import java.util.function.Function;
+
 import javax.xml.XMLConstants;
 
 import static io.ballerina.runtime.api.constants.RuntimeConstants.XML_LANG_LIB;
@@ -67,9 +69,27 @@ class AttributeMapValueImpl extends MapValueImpl<BString, BString> {
         insertValue(key, value, true);
     }
 
+    /**
+     * Populates an attribute of which the key is already validated and normalized.
+     *
+     * @param key   attribute key
+     * @param value attribute value
+     */
+    void populateValidatedValue(BString key, BString value) {
+        super.populateInitialValue(key, value);
+    }
+
     void setAttribute(String localName, String namespaceUri, String prefix, String value, boolean onInitialization) {
         PutAttributeFunction func = onInitialization ? super::populateInitialValue : super:: put;
+        setAttribute(localName, namespaceUri, prefix, value, this::get, func);
+    }
 
+    /**
+     * Sets an attribute in an attribute store, which is either an attribute map or the inline attributes of a
+     * {@link XmlItem}.
+     */
+    static void setAttribute(String localName, String namespaceUri, String prefix, String value,
+                             Function<BString, BString> getFunc, PutAttributeFunction func) {
         if (localName == null || localName.isEmpty()) {
             throw ErrorCreator.createError(StringUtils.fromString(("localname of the attribute cannot be empty")));
         }
@@ -89,7 +109,7 @@ class AttributeMapValueImpl extends MapValueImpl<BString, BString> {
             return;
         }
 
-        BString nsOfPrefix = get(StringUtils.fromString(XMLNS_NS_URI_PREFIX + prefix));
+        BString nsOfPrefix = getFunc.apply(StringUtils.fromString(XMLNS_NS_URI_PREFIX + prefix));
         if (namespaceUri != null && nsOfPrefix != null && !namespaceUri.equals(nsOfPrefix.getValue())) {
             String errorMsg = String.format(
                     "failed to add attribute '%s:%s'. prefix '%s' is already bound to namespace '%s'",
@@ -140,7 +160,7 @@ class AttributeMapValueImpl extends MapValueImpl<BString, BString> {
         return null;
     }
 
-    private interface PutAttributeFunction {
+    interface PutAttributeFunction {
         void put(BString key, BString value);
     }
 }
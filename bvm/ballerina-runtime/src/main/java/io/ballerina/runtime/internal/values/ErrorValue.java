@@ -364,7 +364,15 @@ public class ErrorValue extends BError implements RefValue {
         return (details instanceof MapValue) && ((MapValue<?, ?>) details).isEmpty();
     }
 
-    private Optional<StackTraceElement> filterStackTraceElement(StackTraceElement stackFrame, int currentIndex) {
+    /**
+     * Maps a JVM stack frame to the Ballerina function it belongs to.
+     *
+     * @param stackFrame   the JVM stack frame
+     * @param currentIndex the index of the frame in the stack, starting from the top
+     * @return the Ballerina stack frame, or empty if the frame does not belong to a Ballerina function
+     */
+    public static Optional<StackTraceElement> filterStackTraceElement(StackTraceElement stackFrame,
+                                                                      int currentIndex) {
         String fileName = stackFrame.getFileName();
         int lineNo = stackFrame.getLineNumber();
         if (lineNo < 0) {
@@ -402,7 +410,7 @@ public class ErrorValue extends BError implements RefValue {
                 new StackTraceElement(cleanupClassName(className), methodName, fileName, stackFrame.getLineNumber()));
     }
 
-    private String cleanupClassName(String className) {
+    private static String cleanupClassName(String className) {
         return className.replace(GENERATE_OBJECT_CLASS_PREFIX, ".");
     }
 }
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.types.XmlNodeType;
+import io.ballerina.runtime.api.values.BXml;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+/**
+ * Index of the descendant elements of an element by their expanded names, which makes the navigation to the
+ * descendants of a given name proportional to the number of matching elements instead of the size of the tree.
+ * <p>
+ * An index is built when the descendants of an element are queried for the second time, and is used until an element
+ * covered by it is mutated. Each covered element keeps the {@link Scope} of the indexes covering it, hence a mutation
+ * invalidates and drops only the indexes of the trees containing the mutated element. As elements can be shared
+ * between trees, an element may be covered by several indexes.
+ * <p>
+ * <i>Note: This is an internal API and may change in future versions.</i>
+ * </p>
+ *
+ * @since 2.0.0
+ */
+final class XmlElementIndex {
+
+    private final Scope scope;
+    private final Map<String, Entries> entriesByName = new HashMap<>();
+
+    private XmlElementIndex(XmlItem root) {
+        this.scope = new Scope(root);
+    }
+
+    /**
+     * Builds the index of the descendants of an element.
+     *
+     * @param root the element
+     * @return the index
+     */
+    static XmlElementIndex build(XmlItem root) {
+        XmlElementIndex index = new XmlElementIndex(root);
+        root.markIndexed(index.scope);
+        // Elements of the same document mostly share the same QName instances, see XmlTreeBuilder
+        Map<QName, String> names = new IdentityHashMap<>();
+        index.addDescendants(root, names, 0);
+        return index;
+    }
+
+    boolean isValid() {
+        return scope.valid;
+    }
+
+    Scope getScope() {
+        return scope;
+    }
+
+    /**
+     * Adds the descendants with one of the given expanded names to a list, in the document order.
+     *
+     * @param descendants list to add the descendants
+     * @param qnames      expanded names of the descendants
+     */
+    void addDescendants(List<BXml> descendants, List<String> qnames) {
+        if (qnames.size() == 1) {
+            Entries entries = entriesByName.get(qnames.get(0));
+            if (entries != null) {
+                descendants.addAll(entries.elements);
+            }
+            return;
+        }
+
+        // Merge the elements of each name by the document order
+        List<Entries> matches = new ArrayList<>(qnames.size());
+        for (String qname : qnames) {
+            Entries entries = entriesByName.get(qname);
+            if (entries != null && !matches.contains(entries)) {
+                matches.add(entries);
+            }
+        }
+        int[] next = new int[matches.size()];
+        while (true) {
+            int selected = -1;
+            for (int i = 0; i < matches.size(); i++) {
+                Entries entries = matches.get(i);
+                if (next[i] < entries.elements.size() && (selected < 0 ||
+                        entries.positions[next[i]] < matches.get(selected).positions[next[selected]])) {
+                    selected = i;
+                }
+            }
+            if (selected < 0) {
+                return;
+            }
+            descendants.add(matches.get(selected).elements.get(next[selected]++));
+        }
+    }
+
+    private int addDescendants(XmlItem element, Map<QName, String> names, int position) {
+        for (BXml child : element.getChildrenSeq().getChildrenList()) {
+            if (child.getNodeType() != XmlNodeType.ELEMENT) {
+                continue;
+            }
+            XmlItem childElement = (XmlItem) child;
+            childElement.markIndexed(scope);
+            String name = names.computeIfAbsent(childElement.getQName(), QName::toString);
+            entriesByName.computeIfAbsent(name, k -> new Entries()).add(childElement, position++);
+            position = addDescendants(childElement, names, position);
+        }
+        return position;
+    }
+
+    /**
+     * Validity of an index, which is kept by the elements covered by the index. Unlike the index, it does not refer to
+     * the covered elements, hence a subtree covered by the index of a discarded tree does not retain that tree.
+     */
+    static final class Scope {
+
+        private final WeakReference<XmlItem> root;
+        // The array of this scope alone, shared by the elements covered by no other index
+        private final Scope[] scopes = {this};
+        private volatile boolean valid = true;
+
+        private Scope(XmlItem root) {
+            this.root = new WeakReference<>(root);
+        }
+
+        /**
+         * Invalidates the index, and drops it from its root element. Called when an element covered by the index is
+         * mutated.
+         */
+        void invalidate() {
+            valid = false;
+            XmlItem rootElement = root.get();
+            if (rootElement != null) {
+                rootElement.dropDescendantIndex(this);
+            }
+        }
+
+        private boolean isLive() {
+            return valid && root.get() != null;
+        }
+
+        /**
+         * Adds this scope to the scopes of the indexes covering an element, leaving out the ones invalidated or
+         * discarded with their root element.
+         *
+         * @param coveringScopes scopes of the indexes covering the element, or null
+         * @return scopes of the indexes covering the element
+         */
+        Scope[] addTo(Scope[] coveringScopes) {
+            if (coveringScopes == null) {
+                return scopes;
+            }
+
+            // The scopes are copied in a single pass, as they may be invalidated concurrently
+            Scope[] newScopes = new Scope[coveringScopes.length + 1];
+            int count = 0;
+            for (Scope coveringScope : coveringScopes) {
+                if (coveringScope == this) {
+                    return coveringScopes;
+                }
+                if (coveringScope.isLive()) {
+                    newScopes[count++] = coveringScope;
+                }
+            }
+            if (count == 0) {
+                return scopes;
+            }
+            newScopes[count++] = this;
+            return count == newScopes.length ? newScopes : Arrays.copyOf(newScopes, count);
+        }
+    }
+
+    /**
+     * Elements of the same name in the document order, with their positions in the document.
+     */
+    private static class Entries {
+
+        private final List<XmlItem> elements = new ArrayList<>();
+        private int[] positions = new int[4];
+
+        private void add(XmlItem element, int position) {
+            if (elements.size() == positions.length) {
+                int[] newPositions = new int[positions.length * 2];
+                System.arraycopy(positions, 0, newPositions, 0, positions.length);
+                positions = newPositions;
+            }
+            positions[elements.size()] = position;
+            elements.add(element);
+        }
+    }
+}
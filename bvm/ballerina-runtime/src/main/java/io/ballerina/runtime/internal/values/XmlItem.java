@@ -26,18 +26,16 @@ import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BXml;
 import io.ballerina.runtime.api.values.BXmlItem;
 import io.ballerina.runtime.api.values.BXmlSequence;
-import io.ballerina.runtime.internal.BallerinaXmlSerializer;
 import io.ballerina.runtime.internal.XmlFactory;
 import io.ballerina.runtime.internal.XmlValidator;
+import io.ballerina.runtime.internal.XmlWriter;
 import io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons;
 import io.ballerina.runtime.internal.util.exceptions.BallerinaException;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMException;
 import org.apache.axiom.om.OMNode;
 
-import java.io.ByteArrayOutputStream;
 import java.lang.ref.WeakReference;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -46,6 +44,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.function.BiConsumer;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
@@ -65,11 +64,23 @@ import static io.ballerina.runtime.api.types.XmlNodeType.TEXT;
  */
 public final class XmlItem extends XmlValue implements BXmlItem {
 
+    private static final int MAX_INLINE_ATTRIBUTES = 8;
+    private static final BString[] NO_ATTRIBUTES = new BString[0];
+
     private QName name;
     private XmlSequence children;
-    private AttributeMapValueImpl attributes;
+    // Attributes are kept as key and value pairs in this array, until there are more than MAX_INLINE_ATTRIBUTES of
+    // them or until they are accessed as a map. From then on, they are kept only in the attribute map.
+    private BString[] inlineAttributes = NO_ATTRIBUTES;
+    private int inlineAttributeCount;
+    private volatile AttributeMapValueImpl attributes;
     // Keep track of probable parents of xml element to detect probable cycles in xml.
     private List<WeakReference<XmlItem>> probableParents;
+    // Index of the descendants by name, built on the second descendant query after a mutation
+    private volatile XmlElementIndex descendantIndex;
+    private volatile boolean descendantsQueried;
+    // Scopes of the descendant indexes covering this element, which are invalidated when this element is mutated
+    private volatile XmlElementIndex.Scope[] indexScopes;
 
     public XmlItem(QName name, XmlSequence children, boolean readonly) {
         this.name = name;
@@ -77,8 +88,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
         for (BXml child : children.children) {
             addParent(child, this);
         }
-        attributes = new AttributeMapValueImpl(false);
-        addDefaultNamespaceAttribute(name, attributes);
+        addDefaultNamespaceAttribute(name);
         probableParents = new ArrayList<>();
         this.type = PredefinedTypes.TYPE_ELEMENT;
         this.type = readonly ? PredefinedTypes.TYPE_READONLY_ELEMENT : PredefinedTypes.TYPE_ELEMENT;
@@ -105,13 +115,12 @@ public final class XmlItem extends XmlValue implements BXmlItem {
         for (BXml child : children.children) {
             addParent(child, this);
         }
-        attributes = new AttributeMapValueImpl(readonly);
-        addDefaultNamespaceAttribute(name, attributes);
+        addDefaultNamespaceAttribute(name);
         probableParents = new ArrayList<>();
 
         this.type = readonly ? PredefinedTypes.TYPE_READONLY_ELEMENT : PredefinedTypes.TYPE_ELEMENT;
     }
-    private void addDefaultNamespaceAttribute(QName name, AttributeMapValueImpl attributes) {
+    private void addDefaultNamespaceAttribute(QName name) {
         String namespace = name.getNamespaceURI();
         if (namespace == null || namespace.isEmpty()) {
             return;
@@ -122,8 +131,99 @@ public final class XmlItem extends XmlValue implements BXmlItem {
             prefix = XMLNS;
         }
 
-        attributes.populateInitialValue(StringUtils.fromString(XMLNS_NS_URI_PREFIX + prefix),
-                                        StringUtils.fromString(namespace));
+        putAttributeValue(StringUtils.fromString(XMLNS_NS_URI_PREFIX + prefix), StringUtils.fromString(namespace));
+    }
+
+    private BString getAttributeValue(BString key) {
+        AttributeMapValueImpl attributeMap = this.attributes;
+        if (attributeMap != null) {
+            return attributeMap.get(key);
+        }
+        for (int i = 0; i < inlineAttributeCount * 2; i += 2) {
+            if (inlineAttributes[i].equals(key)) {
+                return inlineAttributes[i + 1];
+            }
+        }
+        return null;
+    }
+
+    private void putAttributeValue(BString key, BString value) {
+        if (this.attributes != null) {
+            this.attributes.populateValidatedValue(key, value);
+            return;
+        }
+        for (int i = 0; i < inlineAttributeCount * 2; i += 2) {
+            if (inlineAttributes[i].equals(key)) {
+                inlineAttributes[i + 1] = value;
+                return;
+            }
+        }
+        if (inlineAttributeCount == MAX_INLINE_ATTRIBUTES) {
+            materializeAttributes().populateValidatedValue(key, value);
+            return;
+        }
+        if (inlineAttributeCount * 2 == inlineAttributes.length) {
+            inlineAttributes = Arrays.copyOf(inlineAttributes, Math.max(4, inlineAttributes.length * 2));
+        }
+        inlineAttributes[inlineAttributeCount * 2] = key;
+        inlineAttributes[inlineAttributeCount * 2 + 1] = value;
+        inlineAttributeCount++;
+    }
+
+    private synchronized AttributeMapValueImpl materializeAttributes() {
+        if (this.attributes != null) {
+            return this.attributes;
+        }
+        AttributeMapValueImpl attributeMap = new AttributeMapValueImpl();
+        for (int i = 0; i < inlineAttributeCount * 2; i += 2) {
+            attributeMap.populateValidatedValue(inlineAttributes[i], inlineAttributes[i + 1]);
+        }
+        if (this.type.isReadOnly()) {
+            attributeMap.freezeDirect();
+        }
+        // The inline attributes are left as they are, as they may still be read by another thread
+        this.attributes = attributeMap;
+        return attributeMap;
+    }
+
+    /**
+     * Adds an attribute to this element, without validating the attribute name. Used by the XML parser, which
+     * validates the names itself.
+     *
+     * @param key   attribute key, which is the expanded name of the attribute or the namespace declaration
+     * @param value attribute value
+     */
+    public void populateAttribute(BString key, BString value) {
+        putAttributeValue(key, value);
+    }
+
+    /**
+     * Returns the number of attributes of this element, including the namespace declarations.
+     *
+     * @return number of attributes
+     */
+    public int getAttributeCount() {
+        AttributeMapValueImpl attributeMap = this.attributes;
+        return attributeMap != null ? attributeMap.size() : inlineAttributeCount;
+    }
+
+    /**
+     * Performs an action for each attribute of this element, including the namespace declarations, without
+     * materializing the attribute map.
+     *
+     * @param action action to perform on the attribute key and value
+     */
+    public void forEachAttribute(BiConsumer<BString, BString> action) {
+        AttributeMapValueImpl attributeMap = this.attributes;
+        if (attributeMap != null) {
+            for (Map.Entry<BString, BString> entry : attributeMap.entrySet()) {
+                action.accept(entry.getKey(), entry.getValue());
+            }
+            return;
+        }
+        for (int i = 0; i < inlineAttributeCount * 2; i += 2) {
+            action.accept(inlineAttributes[i], inlineAttributes[i + 1]);
+        }
     }
 
     /**
@@ -171,6 +271,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
     }
 
     public void setQName(QName name) {
+        invalidateDescendantIndexes();
         this.name = name;
     }
 
@@ -196,16 +297,16 @@ public final class XmlItem extends XmlValue implements BXmlItem {
     @Override
     public BString getAttribute(String localName, String namespace, String prefix) {
         if (prefix != null && !prefix.isEmpty()) {
-            String ns = attributes.get(StringUtils.fromString(XMLNS_NS_URI_PREFIX + prefix)).getValue();
-            BString attrVal = attributes.get(StringUtils.fromString("{" + ns + "}" + localName));
+            String ns = getAttributeValue(StringUtils.fromString(XMLNS_NS_URI_PREFIX + prefix)).getValue();
+            BString attrVal = getAttributeValue(StringUtils.fromString("{" + ns + "}" + localName));
             if (attrVal != null) {
                 return attrVal;
             }
         }
         if (namespace != null && !namespace.isEmpty()) {
-            return attributes.get(StringUtils.fromString("{" + namespace + "}" + localName));
+            return getAttributeValue(StringUtils.fromString("{" + namespace + "}" + localName));
         }
-        return attributes.get(StringUtils.fromString(localName));
+        return getAttributeValue(StringUtils.fromString(localName));
     }
 
     /**
@@ -217,7 +318,17 @@ public final class XmlItem extends XmlValue implements BXmlItem {
             ReadOnlyUtils.handleInvalidUpdate(XML_LANG_LIB);
         }
 
-        attributes.setAttribute(localName, namespaceUri, prefix, value, false);
+        setAttribute(localName, namespaceUri, prefix, value, false);
+    }
+
+    private void setAttribute(String localName, String namespaceUri, String prefix, String value,
+                              boolean onInitialization) {
+        if (this.attributes != null) {
+            this.attributes.setAttribute(localName, namespaceUri, prefix, value, onInitialization);
+            return;
+        }
+        AttributeMapValueImpl.setAttribute(localName, namespaceUri, prefix, value, this::getAttributeValue,
+                                           this::putAttributeValue);
     }
 
     /**
@@ -225,7 +336,8 @@ public final class XmlItem extends XmlValue implements BXmlItem {
      */
     @Override
     public MapValue<BString, BString> getAttributesMap() {
-        return this.attributes;
+        AttributeMapValueImpl attributeMap = this.attributes;
+        return attributeMap != null ? attributeMap : materializeAttributes();
     }
 
     /**
@@ -292,6 +404,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
             return;
         }
 
+        invalidateDescendantIndexes();
         if (seq.getNodeType() == XmlNodeType.SEQUENCE) {
             children = (XmlSequence) seq;
             for (BXml child : children.children) {
@@ -318,6 +431,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
             return;
         }
 
+        invalidateDescendantIndexes();
         List<BXml> leftList = new ArrayList<>(children.children);
 
         if (seq.getNodeType() == XmlNodeType.SEQUENCE) {
@@ -407,12 +521,70 @@ public final class XmlItem extends XmlValue implements BXmlItem {
      */
     @Override
     public XmlValue descendants(List<String> qnames) {
+        List<BXml> descendants = new ArrayList<>();
+        addDescendantsOrSelf(descendants, qnames);
+        return new XmlSequence(descendants);
+    }
+
+    /**
+     * Adds this element if it has one of the given names and then its descendants with one of the given names, in
+     * the document order.
+     *
+     * @param descendants list to add the elements
+     * @param qnames      expanded names of the elements
+     */
+    void addDescendantsOrSelf(List<BXml> descendants, List<String> qnames) {
         if (qnames.contains(getQName().toString())) {
-            List<BXml> descendants = Arrays.asList(this);
+            descendants.add(this);
+        }
+
+        XmlElementIndex index = descendantIndex;
+        if (index == null && descendantsQueried) {
+            index = XmlElementIndex.build(this);
+            descendantIndex = index;
+        } else if (index == null || !index.isValid()) {
+            // Most of the elements are queried only once, or only once after being mutated, for which building an
+            // index does not pay off
+            descendantIndex = null;
+            descendantsQueried = true;
             addDescendants(descendants, this, qnames);
-            return new XmlSequence(descendants);
+            return;
+        }
+        index.addDescendants(descendants, qnames);
+    }
+
+    XmlElementIndex getDescendantIndex() {
+        return descendantIndex;
+    }
+
+    synchronized void markIndexed(XmlElementIndex.Scope scope) {
+        indexScopes = scope.addTo(indexScopes);
+    }
+
+    void dropDescendantIndex(XmlElementIndex.Scope scope) {
+        XmlElementIndex index = descendantIndex;
+        if (index != null && index.getScope() == scope) {
+            // The index is rebuilt on the second query after the mutation
+            descendantIndex = null;
+            descendantsQueried = false;
+        }
+    }
+
+    private void invalidateDescendantIndexes() {
+        if (indexScopes == null) {
+            return;
+        }
+
+        XmlElementIndex.Scope[] scopes;
+        synchronized (this) {
+            scopes = indexScopes;
+            indexScopes = null;
+        }
+        if (scopes != null) {
+            for (XmlElementIndex.Scope scope : scopes) {
+                scope.invalidate();
+            }
         }
-        return children.descendants(qnames);
     }
 
     @Override
@@ -457,13 +629,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
     @Deprecated
     public String stringValue(BLink parent) {
         try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            BallerinaXmlSerializer ballerinaXMLSerializer = new BallerinaXmlSerializer(outputStream);
-            ballerinaXMLSerializer.write(this);
-            ballerinaXMLSerializer.flush();
-            String xml = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
-            ballerinaXMLSerializer.close();
-            return xml;
+            return XmlWriter.toString(this);
         } catch (Throwable t) {
             handleXmlException("failed to get xml as string: ", t);
         }
@@ -492,6 +658,12 @@ public final class XmlItem extends XmlValue implements BXmlItem {
 
         QName elemName = new QName(this.name.getNamespaceURI(), this.name.getLocalPart(), this.name.getPrefix());
         XmlItem xmlItem = new XmlItem(elemName, (XmlSequence) children.copy(refs));
+        if (this.attributes == null) {
+            for (int i = 0; i < inlineAttributeCount * 2; i += 2) {
+                xmlItem.putAttributeValue(inlineAttributes[i], inlineAttributes[i + 1]);
+            }
+            return xmlItem;
+        }
 
         MapValue<BString, BString> attributesMap = xmlItem.getAttributesMap();
         MapValue<BString, BString> copy = (MapValue<BString, BString>) this.getAttributesMap().copy(refs);
@@ -544,7 +716,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
 
     @Override
     protected void setAttributeOnInitialization(String localName, String namespace, String prefix, String value) {
-        attributes.setAttribute(localName, namespace, prefix, value, true);
+        setAttribute(localName, namespace, prefix, value, true);
     }
 
     /**
@@ -556,7 +728,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
             ReadOnlyUtils.handleInvalidUpdate(XML_LANG_LIB);
         }
 
-        attributes.remove(qname);
+        getAttributesMap().remove(qname);
     }
 
     /**
@@ -577,6 +749,9 @@ public final class XmlItem extends XmlValue implements BXmlItem {
             }
         }
 
+        if (!toRemove.isEmpty()) {
+            invalidateDescendantIndexes();
+        }
         Collections.reverse(toRemove);
         for (Integer index : toRemove) {
             BXml removed = children.remove(index.intValue());
@@ -625,7 +800,9 @@ public final class XmlItem extends XmlValue implements BXmlItem {
     public void freezeDirect() {
         this.type = ReadOnlyUtils.setImmutableTypeAndGetEffectiveType(this.type);
         this.children.freezeDirect();
-        this.attributes.freezeDirect();
+        if (this.attributes != null) {
+            this.attributes.freezeDirect();
+        }
     }
 
     private QName getQName(String localName, String namespaceUri, String prefix) {
@@ -677,8 +854,7 @@ public final class XmlItem extends XmlValue implements BXmlItem {
                 return false;
             }
 
-            boolean attrMapEquals = that.attributes.entrySet().equals(this.attributes.entrySet());
-            if (!attrMapEquals) {
+            if (!attributesEqual(that)) {
                 return false;
             }
 
@@ -691,9 +867,30 @@ public final class XmlItem extends XmlValue implements BXmlItem {
         return false;
     }
 
+    private boolean attributesEqual(XmlItem that) {
+        AttributeMapValueImpl attributeMap = this.attributes;
+        AttributeMapValueImpl thatAttributeMap = that.attributes;
+        if (attributeMap != null && thatAttributeMap != null) {
+            return thatAttributeMap.entrySet().equals(attributeMap.entrySet());
+        }
+        if (attributeMap != null) {
+            return that.attributesEqual(this);
+        }
+        if (this.inlineAttributeCount != that.getAttributeCount()) {
+            return false;
+        }
+        for (int i = 0; i < inlineAttributeCount * 2; i += 2) {
+            if (!inlineAttributes[i + 1].equals(that.getAttributeValue(inlineAttributes[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(name, children, attributes, probableParents);
+        // The attributes are not a part of the hash code, as it should not change when the attribute map is created
+        return Objects.hash(name, children, probableParents);
     }
 
     private interface SetAttributeFunction {
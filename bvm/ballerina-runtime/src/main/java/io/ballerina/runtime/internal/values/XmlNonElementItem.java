@@ -24,11 +24,9 @@ import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BXml;
 import io.ballerina.runtime.api.values.BXmlNonElementItem;
-import io.ballerina.runtime.internal.BallerinaXmlSerializer;
+import io.ballerina.runtime.internal.XmlWriter;
 import org.apache.axiom.om.OMNode;
 
-import java.io.ByteArrayOutputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -183,13 +181,7 @@ public abstract class XmlNonElementItem extends XmlValue implements BXmlNonEleme
     @Override
     public String stringValue(BLink parent) {
         try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            BallerinaXmlSerializer ballerinaXMLSerializer = new BallerinaXmlSerializer(outputStream);
-            ballerinaXMLSerializer.write(this);
-            ballerinaXMLSerializer.flush();
-            String str = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
-            ballerinaXMLSerializer.close();
-            return str;
+            return XmlWriter.toString(this);
         } catch (Throwable t) {
             handleXmlException("failed to get xml as string: ", t);
         }
@@ -400,12 +400,7 @@ public final class XmlSequence extends XmlValue implements BXmlSequence {
         List<BXml> descendants = new ArrayList<>();
         for (BXml child : children) {
             if (child.getNodeType() == XmlNodeType.ELEMENT) {
-                XmlItem element = (XmlItem) child;
-                String name = element.getQName().toString();
-                if (qnames.contains(name)) {
-                    descendants.add(element);
-                }
-                addDescendants(descendants, element, qnames);
+                ((XmlItem) child).addDescendantsOrSelf(descendants, qnames);
             }
         }
 
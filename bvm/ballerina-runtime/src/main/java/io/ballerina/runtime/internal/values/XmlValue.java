@@ -25,6 +25,7 @@ import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BXml;
 import io.ballerina.runtime.api.values.BXmlQName;
 import io.ballerina.runtime.internal.BallerinaXmlSerializer;
+import io.ballerina.runtime.internal.XmlWriter;
 import io.ballerina.runtime.internal.util.exceptions.BallerinaException;
 
 import java.io.OutputStream;
@@ -229,10 +230,10 @@ public abstract class XmlValue implements RefValue, BXml, CollectionValue {
             if (outputStream instanceof BallerinaXmlSerializer) {
                 ((BallerinaXmlSerializer) outputStream).write(this);
             } else {
-                BallerinaXmlSerializer xmlSerializer = new BallerinaXmlSerializer(outputStream);
-                xmlSerializer.write(this);
-                xmlSerializer.flush();
-                xmlSerializer.close();
+                XmlWriter xmlWriter = new XmlWriter(outputStream);
+                xmlWriter.write(this);
+                xmlWriter.flush();
+                xmlWriter.close();
             }
         } catch (Throwable t) {
             handleXmlException("error occurred during writing the message to the output stream: ", t);
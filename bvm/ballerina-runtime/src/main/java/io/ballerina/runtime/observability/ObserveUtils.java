@@ -26,9 +26,16 @@ import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.internal.configurable.ConfigMap;
 import io.ballerina.runtime.internal.configurable.VariableKey;
 import io.ballerina.runtime.internal.values.ErrorValue;
+import io.ballerina.runtime.observability.ObserverContext.TagSlot;
+import io.ballerina.runtime.observability.metrics.Tag;
 import io.ballerina.runtime.observability.tracer.BSpan;
+import io.ballerina.runtime.observability.tracer.TailSamplingBuffer;
+import io.ballerina.runtime.observability.tracer.TraceSampler;
+import io.ballerina.runtime.observability.tracer.TracersStore;
+import io.ballerina.runtime.observability.tracer.TracingUtils;
 import io.opentelemetry.api.common.Attributes;
 
+import java.io.PrintStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -39,21 +46,8 @@ import static io.ballerina.runtime.api.constants.RuntimeConstants.BALLERINA_BUIL
 import static io.ballerina.runtime.observability.ObservabilityConstants.CHECKPOINT_EVENT_NAME;
 import static io.ballerina.runtime.observability.ObservabilityConstants.DEFAULT_SERVICE_NAME;
 import static io.ballerina.runtime.observability.ObservabilityConstants.KEY_OBSERVER_CONTEXT;
-import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_ENTRYPOINT_FUNCTION_MODULE;
-import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_ENTRYPOINT_FUNCTION_NAME;
-import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_ENTRYPOINT_RESOURCE_ACCESSOR;
-import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_ENTRYPOINT_SERVICE_NAME;
-import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_IS_SRC_CLIENT_REMOTE;
-import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_IS_SRC_MAIN_FUNCTION;
-import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_IS_SRC_SERVICE_REMOTE;
-import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_IS_SRC_SERVICE_RESOURCE;
-import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_IS_SRC_WORKER;
-import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_FUNCTION_NAME;
 import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_MODULE;
-import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_OBJECT_NAME;
 import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_POSITION;
-import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_RESOURCE_ACCESSOR;
-import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_RESOURCE_PATH;
 import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_TRUE_VALUE;
 
 /**
@@ -62,6 +56,7 @@ import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_TRUE
  * @since 0.985.0
  */
 public class ObserveUtils {
+    private static final PrintStream consoleError = System.err;
     private static final List<BallerinaObserver> observers = new CopyOnWriteArrayList<>();
     private static final boolean enabled;
     private static final boolean metricsEnabled;
@@ -70,7 +65,22 @@ public class ObserveUtils {
     private static final boolean tracingEnabled;
     private static final BString tracingProvider;
 
+    /**
+     * Whether the instrumented code notifies the observers. This can be switched at runtime, while the observability
+     * configuration decides whether the observations are ever notified.
+     */
+    private static volatile boolean observationActive = true;
+
+    /**
+     * Tags with the true value for each of the tag slots, which are shared by all the observer contexts.
+     */
+    private static final Tag[] TRUE_VALUE_TAGS = new Tag[TagSlot.VALUES.length];
+
     static {
+        for (TagSlot slot : TagSlot.VALUES) {
+            TRUE_VALUE_TAGS[slot.ordinal()] = Tag.of(slot.getKey(), TAG_TRUE_VALUE);
+        }
+
         // TODO: Move config initialization to ballerina level once checking config key is possible at ballerina level
         Module observeModule = new Module(BALLERINA_BUILTIN_PKG_PREFIX, "observe", "0.9.0");
         VariableKey enabledKey = new VariableKey(observeModule, "enabled");
@@ -80,6 +90,13 @@ public class ObserveUtils {
         VariableKey metricsReporterKey = new VariableKey(observeModule, "metricsReporter");
         VariableKey tracingEnabledKey = new VariableKey(observeModule, "tracingEnabled");
         VariableKey tracingProviderKey = new VariableKey(observeModule, "tracingProvider");
+        VariableKey tracingSamplerTypeKey = new VariableKey(observeModule, "tracingSamplerType");
+        VariableKey tracingSamplerParamKey = new VariableKey(observeModule, "tracingSamplerParam");
+        VariableKey tracingTailSamplingEnabledKey = new VariableKey(observeModule, "tracingTailSamplingEnabled");
+        VariableKey tracingTailSamplingLatencyThresholdKey = new VariableKey(observeModule,
+                "tracingTailSamplingLatencyThreshold");
+        VariableKey tracingTailSamplingBufferSizeKey = new VariableKey(observeModule,
+                "tracingTailSamplingBufferSize");
 
         metricsEnabled = readConfig(metricsEnabledKey, enabledKey, false);
         metricsProvider = readConfig(metricsProviderKey, null, StringUtils.fromString("default"));
@@ -87,6 +104,38 @@ public class ObserveUtils {
         tracingEnabled = readConfig(tracingEnabledKey, enabledKey, false);
         tracingProvider = readConfig(tracingProviderKey, providerKey, StringUtils.fromString("choreo"));
         enabled = metricsEnabled || tracingEnabled;
+
+        if (tracingEnabled) {
+            BString samplerType = readConfig(tracingSamplerTypeKey, null,
+                    StringUtils.fromString(TraceSampler.SAMPLER_TYPE_ALWAYS));
+            double samplerParam = readConfig(tracingSamplerParamKey, null, 1.0);
+            TailSamplingBuffer tailSamplingBuffer = null;
+            if (readConfig(tracingTailSamplingEnabledKey, null, false)) {
+                long latencyThreshold = readConfig(tracingTailSamplingLatencyThresholdKey, null, 1000L);
+                long bufferSize = readConfig(tracingTailSamplingBufferSizeKey, null, 1000L);
+                tailSamplingBuffer = createTailSamplingBuffer(latencyThreshold, bufferSize);
+            }
+            TracersStore.getInstance().setSampling(TraceSampler.create(samplerType.getValue(), samplerParam),
+                    tailSamplingBuffer);
+        }
+    }
+
+    private static TailSamplingBuffer createTailSamplingBuffer(long latencyThreshold, long bufferSize) {
+        if (latencyThreshold < 0) {
+            consoleError.println("error: invalid tail sampling latency threshold " + latencyThreshold
+                    + ", hence all the unsampled traces are kept");
+            latencyThreshold = 0;
+        }
+        if (bufferSize < 0) {
+            consoleError.println("error: invalid tail sampling buffer size " + bufferSize
+                    + ", hence no operations are buffered");
+            bufferSize = 0;
+        } else if (bufferSize > Integer.MAX_VALUE) {
+            consoleError.println("error: tail sampling buffer size " + bufferSize + " is too large, hence "
+                    + Integer.MAX_VALUE + " is used");
+            bufferSize = Integer.MAX_VALUE;
+        }
+        return new TailSamplingBuffer(latencyThreshold, (int) bufferSize);
     }
 
     private static <T> T readConfig(VariableKey specificKey, VariableKey inheritedKey, T defaultValue) {
@@ -125,6 +174,20 @@ public class ObserveUtils {
         return tracingProvider;
     }
 
+    public static boolean isObservationActive() {
+        return observationActive;
+    }
+
+    /**
+     * Switch the observations of the instrumented code on or off without restarting the program. The observations
+     * which were started before switching are completed as usual.
+     *
+     * @param active true if the instrumented code should notify the observers
+     */
+    public static void setObservationActive(boolean active) {
+        observationActive = active;
+    }
+
     /**
      * Add metrics and tracing observers.
      *
@@ -152,6 +215,33 @@ public class ObserveUtils {
         if (!enabled) {
             return;
         }
+        String operationName = isResource
+                ? resourceAccessor.getValue() + " " + resourcePathOrFunction.getValue()
+                : serviceName.getValue() + ":" + resourcePathOrFunction.getValue();
+        startResourceObservation(env, module, position, serviceName, resourcePathOrFunction, resourceAccessor,
+                StringUtils.fromString(operationName), isResource, isRemote);
+    }
+
+    /**
+     * Start observation of a resource invocation, of which the operation name was computed at compile time.
+     *
+     * @param env                    Ballerina environment
+     * @param module                 The module the resource belongs to
+     * @param position               The source code position the resource in defined in
+     * @param serviceName            Name of the service to which the observer context belongs
+     * @param resourcePathOrFunction Full path of the resource
+     * @param resourceAccessor       Accessor of the resource
+     * @param operationName          Name of the operation being observed
+     * @param isResource             True if this was a resource function invocation
+     * @param isRemote               True if this was a remote function invocation
+     */
+    public static void startResourceObservation(Environment env, BString module, BString position,
+                                                BString serviceName, BString resourcePathOrFunction,
+                                                BString resourceAccessor, BString operationName,
+                                                boolean isResource, boolean isRemote) {
+        if (!enabled) {
+            return;
+        }
 
         ObserverContext observerContext = getObserverContextOfCurrentFrame(env);
         if (observerContext == null) {  // No context created by listener
@@ -159,6 +249,7 @@ public class ObserveUtils {
             setObserverContextToCurrentFrame(env, observerContext);
         }
 
+        ObserverContext parentContext = null;
         if (observerContext.isStarted()) { // If a remote or resource was called by user code itself
             ObserverContext newObserverContext = new ObserverContext();
             setObserverContextToCurrentFrame(env, newObserverContext);
@@ -168,6 +259,7 @@ public class ObserveUtils {
             newObserverContext.setEntrypointFunctionName(observerContext.getEntrypointFunctionName());
             newObserverContext.setEntrypointResourceAccessor(observerContext.getEntrypointResourceAccessor());
             newObserverContext.setParent(observerContext);
+            parentContext = observerContext;
             observerContext = newObserverContext;
         } else {    // If created now or the listener created to add more tags
             observerContext.setEntrypointFunctionModule(module.getValue());
@@ -178,47 +270,38 @@ public class ObserveUtils {
             }
         }
         observerContext.setServiceName(serviceName.getValue());
-
-        if (isResource) {
-            observerContext.setOperationName(resourceAccessor.getValue() + " " + resourcePathOrFunction.getValue());
-
-            observerContext.addTag(TAG_KEY_IS_SRC_SERVICE_RESOURCE, TAG_TRUE_VALUE);
-            observerContext.addTag(TAG_KEY_SRC_RESOURCE_ACCESSOR, resourceAccessor.getValue());
-            observerContext.addTag(TAG_KEY_SRC_RESOURCE_PATH, resourcePathOrFunction.getValue());
-        } else if (isRemote) {
-            observerContext.setOperationName(serviceName.getValue() + ":" + resourcePathOrFunction.getValue());
-
-            observerContext.addTag(TAG_KEY_IS_SRC_SERVICE_REMOTE, TAG_TRUE_VALUE);
-            observerContext.addTag(TAG_KEY_SRC_FUNCTION_NAME, resourcePathOrFunction.getValue());
-        } else {
-            observerContext.setOperationName(serviceName.getValue() + ":" + resourcePathOrFunction.getValue());
-
-            observerContext.addTag(TAG_KEY_SRC_FUNCTION_NAME, resourcePathOrFunction.getValue());
+        observerContext.setServer();
+        if (!observationActive) {
+            // The context is still set, so that the stop observation call of this invocation can remove it
+            observerContext.setStarted();
+            return;
         }
-        observerContext.addTag(TAG_KEY_SRC_OBJECT_NAME, serviceName.getValue());
-
-        observerContext.addTag(TAG_KEY_SRC_MODULE, module.getValue());
-        observerContext.addTag(TAG_KEY_SRC_POSITION, position.getValue());
 
-        if (observerContext.getEntrypointFunctionModule() != null) {
-            observerContext.addTag(TAG_KEY_ENTRYPOINT_FUNCTION_MODULE,
-                    observerContext.getEntrypointFunctionModule());
-        }
-        if (observerContext.getEntrypointServiceName() != null) {
-            observerContext.addTag(TAG_KEY_ENTRYPOINT_SERVICE_NAME,
-                    observerContext.getEntrypointServiceName());
+        if (tracingEnabled) {
+            observerContext.setSampled(TracingUtils.isSampled(observerContext));
         }
-        if (observerContext.getEntrypointFunctionName() != null) {
-            observerContext.addTag(TAG_KEY_ENTRYPOINT_FUNCTION_NAME,
-                    observerContext.getEntrypointFunctionName());
-        }
-        if (observerContext.getEntrypointResourceAccessor() != null) {
-            observerContext.addTag(TAG_KEY_ENTRYPOINT_RESOURCE_ACCESSOR,
-                    observerContext.getEntrypointResourceAccessor());
+
+        // Tags of a context which is neither sampled nor measured are not used by any observer
+        if (isTagsRequired(observerContext)) {
+            observerContext.setOperationName(operationName.getValue());
+            if (isResource) {
+                addTrueValueTag(observerContext, TagSlot.IS_SRC_SERVICE_RESOURCE);
+                addTag(observerContext, TagSlot.SRC_RESOURCE_ACCESSOR, resourceAccessor.getValue());
+                addTag(observerContext, TagSlot.SRC_RESOURCE_PATH, resourcePathOrFunction.getValue());
+            } else if (isRemote) {
+                addTrueValueTag(observerContext, TagSlot.IS_SRC_SERVICE_REMOTE);
+                addTag(observerContext, TagSlot.SRC_FUNCTION_NAME, resourcePathOrFunction.getValue());
+            } else {
+                addTag(observerContext, TagSlot.SRC_FUNCTION_NAME, resourcePathOrFunction.getValue());
+            }
+            addTag(observerContext, TagSlot.SRC_OBJECT_NAME, serviceName.getValue());
+            addTag(observerContext, TagSlot.SRC_MODULE, module.getValue());
+            addTag(observerContext, TagSlot.SRC_POSITION, position.getValue());
+            addEntrypointTags(observerContext, parentContext);
         }
 
-        observerContext.setServer();
         observerContext.setStarted();
+        observerContext.setObserved();
         for (BallerinaObserver observer : observers) {
             observer.startServerObservation(observerContext);
         }
@@ -232,7 +315,7 @@ public class ObserveUtils {
      * @param position The source code position the instrumented code defined in
      */
     public static void recordCheckpoint(Environment env, BString pkg, BString position) {
-        if (!tracingEnabled) {
+        if (!tracingEnabled || !observationActive) {
             return;
         }
 
@@ -279,6 +362,10 @@ public class ObserveUtils {
      * @param observerContext Observer context
      */
     public static void stopObservationWithContext(ObserverContext observerContext) {
+        if (!observerContext.isObserved()) {    // Started while the observations were switched off
+            observerContext.setFinished();
+            return;
+        }
         if (observerContext.isServer()) {
             observers.forEach(observer -> observer.stopServerObservation(observerContext));
         } else {
@@ -341,48 +428,91 @@ public class ObserveUtils {
             newObContext.setEntrypointFunctionName(functionName.getValue());
         }
 
-        if (isMainEntryPoint) {
-            newObContext.addTag(TAG_KEY_IS_SRC_MAIN_FUNCTION, TAG_TRUE_VALUE);
-        } else if (isRemote) {
-            newObContext.addTag(TAG_KEY_IS_SRC_CLIENT_REMOTE, TAG_TRUE_VALUE);
-        } else if (isWorker) {
-            newObContext.addTag(TAG_KEY_IS_SRC_WORKER, TAG_TRUE_VALUE);
-        }   // Else normal function
-
-        if (typeDef != null) {
-            ObjectType type = typeDef.getType();
-            Module typeModule = type.getPackage();
-            String objectName = typeModule.getOrg() + "/" + typeModule.getName() + "/" + type.getName();
+        if (!observationActive) {
+            newObContext.setStarted();
+            return;
+        }
 
-            newObContext.setOperationName(objectName + ":" + functionName.getValue());
-            newObContext.addTag(TAG_KEY_SRC_OBJECT_NAME, objectName);
-        } else {
-            newObContext.setOperationName(functionName.getValue());
+        if (tracingEnabled) {
+            newObContext.setSampled(TracingUtils.isSampled(newObContext));
         }
 
-        newObContext.addTag(TAG_KEY_SRC_FUNCTION_NAME, functionName.getValue());
-        newObContext.addTag(TAG_KEY_SRC_MODULE, module.getValue());
-        newObContext.addTag(TAG_KEY_SRC_POSITION, position.getValue());
+        if (isTagsRequired(newObContext)) {
+            if (isMainEntryPoint) {
+                addTrueValueTag(newObContext, TagSlot.IS_SRC_MAIN_FUNCTION);
+            } else if (isRemote) {
+                addTrueValueTag(newObContext, TagSlot.IS_SRC_CLIENT_REMOTE);
+            } else if (isWorker) {
+                addTrueValueTag(newObContext, TagSlot.IS_SRC_WORKER);
+            }   // Else normal function
+
+            if (typeDef != null) {
+                ObjectType type = typeDef.getType();
+                Module typeModule = type.getPackage();
+                String objectName = typeModule.getOrg() + "/" + typeModule.getName() + "/" + type.getName();
+
+                newObContext.setOperationName(objectName + ":" + functionName.getValue());
+                addTag(newObContext, TagSlot.SRC_OBJECT_NAME, objectName);
+            } else {
+                newObContext.setOperationName(functionName.getValue());
+            }
 
-        if (newObContext.getEntrypointFunctionModule() != null) {
-            newObContext.addTag(TAG_KEY_ENTRYPOINT_FUNCTION_MODULE, newObContext.getEntrypointFunctionModule());
-        }
-        if (newObContext.getEntrypointServiceName() != null) {
-            newObContext.addTag(TAG_KEY_ENTRYPOINT_SERVICE_NAME, newObContext.getEntrypointServiceName());
-        }
-        if (newObContext.getEntrypointFunctionName() != null) {
-            newObContext.addTag(TAG_KEY_ENTRYPOINT_FUNCTION_NAME, newObContext.getEntrypointFunctionName());
-        }
-        if (newObContext.getEntrypointResourceAccessor() != null) {
-            newObContext.addTag(TAG_KEY_ENTRYPOINT_RESOURCE_ACCESSOR, newObContext.getEntrypointResourceAccessor());
+            addTag(newObContext, TagSlot.SRC_FUNCTION_NAME, functionName.getValue());
+            addTag(newObContext, TagSlot.SRC_MODULE, module.getValue());
+            addTag(newObContext, TagSlot.SRC_POSITION, position.getValue());
+            addEntrypointTags(newObContext, prevObserverCtx);
         }
 
         newObContext.setStarted();
+        newObContext.setObserved();
         for (BallerinaObserver observer : observers) {
             observer.startClientObservation(newObContext);
         }
     }
 
+    private static void addTrueValueTag(ObserverContext observerContext, TagSlot slot) {
+        observerContext.addTag(slot, TRUE_VALUE_TAGS[slot.ordinal()]);
+    }
+
+    private static void addTag(ObserverContext observerContext, TagSlot slot, String value) {
+        observerContext.addTag(slot, Tag.of(slot.getKey(), value != null ? value : ""));
+    }
+
+    /**
+     * Add the entrypoint tags of an observer context. The tag instances of the parent context are reused when the
+     * parent context has the same entrypoint, which is the case unless the parent did not require tags.
+     *
+     * @param observerContext the observer context to which the tags should be added
+     * @param parentContext   the parent of the observer context, or null if it does not have a parent
+     */
+    private static void addEntrypointTags(ObserverContext observerContext, ObserverContext parentContext) {
+        addEntrypointTag(observerContext, parentContext, TagSlot.ENTRYPOINT_FUNCTION_MODULE,
+                observerContext.getEntrypointFunctionModule());
+        addEntrypointTag(observerContext, parentContext, TagSlot.ENTRYPOINT_SERVICE_NAME,
+                observerContext.getEntrypointServiceName());
+        addEntrypointTag(observerContext, parentContext, TagSlot.ENTRYPOINT_FUNCTION_NAME,
+                observerContext.getEntrypointFunctionName());
+        addEntrypointTag(observerContext, parentContext, TagSlot.ENTRYPOINT_RESOURCE_ACCESSOR,
+                observerContext.getEntrypointResourceAccessor());
+    }
+
+    private static void addEntrypointTag(ObserverContext observerContext, ObserverContext parentContext,
+                                         TagSlot slot, String value) {
+        if (value == null) {
+            return;
+        }
+        Tag parentTag = parentContext != null ? parentContext.getTag(slot) : null;
+        if (parentTag != null && parentTag.getValue().equals(value)) {
+            observerContext.addTag(slot, parentTag);
+        } else {
+            observerContext.addTag(slot, Tag.of(slot.getKey(), value));
+        }
+    }
+
+    private static boolean isTagsRequired(ObserverContext observerContext) {
+        return metricsEnabled || observerContext.isSampled() || TracingUtils.isTailSamplingEnabled();
+    }
+
     /**
      * Get context properties of the observer context.
      *
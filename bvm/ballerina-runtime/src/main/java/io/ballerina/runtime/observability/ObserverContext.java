@@ -20,12 +20,30 @@ package io.ballerina.runtime.observability;
 import io.ballerina.runtime.observability.metrics.Tag;
 import io.ballerina.runtime.observability.tracer.BSpan;
 
+import java.util.AbstractSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_ENTRYPOINT_FUNCTION_MODULE;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_ENTRYPOINT_FUNCTION_NAME;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_ENTRYPOINT_RESOURCE_ACCESSOR;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_ENTRYPOINT_SERVICE_NAME;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_IS_SRC_CLIENT_REMOTE;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_IS_SRC_MAIN_FUNCTION;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_IS_SRC_SERVICE_REMOTE;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_IS_SRC_SERVICE_RESOURCE;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_IS_SRC_WORKER;
 import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_LISTENER_NAME;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_FUNCTION_NAME;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_MODULE;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_OBJECT_NAME;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_POSITION;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_RESOURCE_ACCESSOR;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_RESOURCE_PATH;
 
 /**
  * Context object used for observation purposes.
@@ -34,14 +52,30 @@ public class ObserverContext {
 
     /**
      * {@link Map} of properties, which is used to represent additional information required for observers.
+     * Created when the first property is added.
      */
-    private final Map<String, Object> properties;
+    private Map<String, Object> properties;
 
     /**
-     * {@link Map} of values (with tag as map's key and tag value as map's value),
-     * which is required to pass to observers.
+     * Tags with well-known keys, indexed by the ordinal of their {@link TagSlot}.
      */
-    private final Map<String, Tag> tags;
+    private Tag[] slotTags;
+
+    /**
+     * {@link Map} of the tags which do not have a {@link TagSlot} (with tag as map's key and tag value as map's
+     * value). Created when the first such tag is added.
+     */
+    private Map<String, Tag> customTags;
+
+    /**
+     * Number of the tags in this context.
+     */
+    private int tagCount;
+
+    /**
+     * Unmodifiable {@link Set} of the current tags, which is reused until a tag is added.
+     */
+    private Set<Tag> tagSet;
 
     /**
      * {@link Map} of custom Tags, which are relevant to metrics  .
@@ -68,37 +102,104 @@ public class ObserverContext {
 
     private boolean finished;
 
+    private boolean observed;
+
     private ObserverContext parent;
 
     private boolean isSystemSpan;
 
     private boolean manuallyClosed;
 
+    private boolean sampled = true;
+
     public ObserverContext() {
-        this.properties = new HashMap<>();
-        this.tags = new HashMap<>();
     }
 
     public void addProperty(String key, Object value) {
+        if (properties == null) {
+            properties = new HashMap<>();
+        }
         properties.put(key, value);
     }
 
     public Object getProperty(String key) {
-        return properties.get(key);
+        return properties != null ? properties.get(key) : null;
     }
 
     public void addTag(String key, String value) {
         String sanitizedValue = value != null ? value : "";
         Tag tag = Tag.of(key, sanitizedValue);
-        tags.put(key, tag);
+        TagSlot slot = TagSlot.of(key);
+        if (slot != null) {
+            addTag(slot, tag);
+            return;
+        }
+        if (customTags == null) {
+            customTags = new HashMap<>(4);
+        }
+        if (customTags.put(key, tag) == null) {
+            tagCount++;
+        }
+        tagSet = null;
+    }
+
+    /**
+     * Add a tag with a well-known key without looking up its slot.
+     *
+     * @param slot the slot of the tag key
+     * @param tag  the tag, of which the key is the key of the slot
+     */
+    void addTag(TagSlot slot, Tag tag) {
+        if (slotTags == null) {
+            slotTags = new Tag[TagSlot.VALUES.length];
+        }
+        int index = slot.ordinal();
+        if (slotTags[index] == null) {
+            tagCount++;
+        }
+        slotTags[index] = tag;
+        tagSet = null;
     }
 
     public Tag getTag(String key) {
-        return tags.get(key);
+        TagSlot slot = TagSlot.of(key);
+        if (slot != null) {
+            return getTag(slot);
+        }
+        return customTags != null ? customTags.get(key) : null;
+    }
+
+    Tag getTag(TagSlot slot) {
+        return slotTags != null ? slotTags[slot.ordinal()] : null;
     }
 
     public Set<Tag> getAllTags() {
-        return new HashSet<>(tags.values());
+        Set<Tag> allTags = new HashSet<>(tagCount * 2);
+        if (slotTags != null) {
+            for (Tag tag : slotTags) {
+                if (tag != null) {
+                    allTags.add(tag);
+                }
+            }
+        }
+        if (customTags != null) {
+            allTags.addAll(customTags.values());
+        }
+        return allTags;
+    }
+
+    /**
+     * Returns the current tags as an unmodifiable {@link Set}. The same instance is returned until a tag is added,
+     * hence it can be used as the identity of the tags without copying them on every call. The hash code of the
+     * returned set is computed once, when the set is created.
+     *
+     * @return unmodifiable set of the current tags
+     */
+    public Set<Tag> getTagSet() {
+        if (tagSet == null) {
+            tagSet = new TagSet(getAllTags());
+        }
+        return tagSet;
     }
 
     public BSpan getSpan() {
@@ -181,6 +282,20 @@ public class ObserverContext {
         this.finished = true;
     }
 
+    /**
+     * Checks whether the observers were notified of the start of this context. A context started while the
+     * observations are switched off is not observed.
+     *
+     * @return true if the observation of this context was started
+     */
+    public boolean isObserved() {
+        return observed;
+    }
+
+    void setObserved() {
+        this.observed = true;
+    }
+
     public ObserverContext getParent() {
         return parent;
     }
@@ -197,6 +312,20 @@ public class ObserverContext {
         isSystemSpan = userSpan;
     }
 
+    /**
+     * Checks whether the trace of this context is exported. The tags of an unsampled context are not added unless
+     * they are used by the metrics.
+     *
+     * @return true if the trace is sampled
+     */
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public void setSampled(boolean sampled) {
+        this.sampled = sampled;
+    }
+
     public boolean isManuallyClosed() {
         return manuallyClosed;
     }
@@ -210,4 +339,93 @@ public class ObserverContext {
         // TODO: Remove once connector usages are removed (Connectors should directly add connector tag instead)
         addTag(TAG_KEY_LISTENER_NAME, objectName);
     }
+
+    /**
+     * Well-known tag keys added by the instrumented code, which are stored in fixed slots of the context.
+     */
+    enum TagSlot {
+        SRC_MODULE(TAG_KEY_SRC_MODULE),
+        SRC_POSITION(TAG_KEY_SRC_POSITION),
+        SRC_OBJECT_NAME(TAG_KEY_SRC_OBJECT_NAME),
+        SRC_FUNCTION_NAME(TAG_KEY_SRC_FUNCTION_NAME),
+        SRC_RESOURCE_PATH(TAG_KEY_SRC_RESOURCE_PATH),
+        SRC_RESOURCE_ACCESSOR(TAG_KEY_SRC_RESOURCE_ACCESSOR),
+        IS_SRC_MAIN_FUNCTION(TAG_KEY_IS_SRC_MAIN_FUNCTION),
+        IS_SRC_WORKER(TAG_KEY_IS_SRC_WORKER),
+        IS_SRC_CLIENT_REMOTE(TAG_KEY_IS_SRC_CLIENT_REMOTE),
+        IS_SRC_SERVICE_REMOTE(TAG_KEY_IS_SRC_SERVICE_REMOTE),
+        IS_SRC_SERVICE_RESOURCE(TAG_KEY_IS_SRC_SERVICE_RESOURCE),
+        ENTRYPOINT_FUNCTION_MODULE(TAG_KEY_ENTRYPOINT_FUNCTION_MODULE),
+        ENTRYPOINT_SERVICE_NAME(TAG_KEY_ENTRYPOINT_SERVICE_NAME),
+        ENTRYPOINT_FUNCTION_NAME(TAG_KEY_ENTRYPOINT_FUNCTION_NAME),
+        ENTRYPOINT_RESOURCE_ACCESSOR(TAG_KEY_ENTRYPOINT_RESOURCE_ACCESSOR);
+
+        static final TagSlot[] VALUES = values();
+        private static final Map<String, TagSlot> SLOTS_BY_KEY = new HashMap<>();
+
+        static {
+            for (TagSlot slot : VALUES) {
+                SLOTS_BY_KEY.put(slot.key, slot);
+            }
+        }
+
+        private final String key;
+
+        TagSlot(String key) {
+            this.key = key;
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        static TagSlot of(String key) {
+            return SLOTS_BY_KEY.get(key);
+        }
+    }
+
+    /**
+     * Unmodifiable view of a set of tags, of which the hash code is computed once.
+     */
+    private static final class TagSet extends AbstractSet<Tag> {
+
+        private final Set<Tag> tags;
+        private final int hashCode;
+
+        TagSet(Set<Tag> tags) {
+            this.tags = Collections.unmodifiableSet(tags);
+            this.hashCode = tags.hashCode();
+        }
+
+        @Override
+        public Iterator<Tag> iterator() {
+            return tags.iterator();
+        }
+
+        @Override
+        public int size() {
+            return tags.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return tags.contains(o);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (o instanceof TagSet && ((TagSet) o).hashCode != hashCode) {
+                return false;
+            }
+            return super.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
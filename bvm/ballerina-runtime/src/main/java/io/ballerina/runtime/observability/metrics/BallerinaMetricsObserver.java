@@ -24,7 +24,9 @@ import java.io.PrintStream;
 import java.time.Duration;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static io.ballerina.runtime.observability.ObservabilityConstants.PROPERTY_KEY_HTTP_STATUS_CODE;
 import static io.ballerina.runtime.observability.ObservabilityConstants.STATUS_CODE_GROUP_SUFFIX;
@@ -40,8 +42,6 @@ public class BallerinaMetricsObserver implements BallerinaObserver {
 
     private static final PrintStream consoleError = System.err;
 
-    private static final MetricRegistry metricRegistry = DefaultMetricRegistry.getInstance();
-
     private static final StatisticConfig[] responseTimeStatisticConfigs = new StatisticConfig[]{
             StatisticConfig.builder()
                     .expiry(Duration.ofSeconds(10))
@@ -57,6 +57,36 @@ public class BallerinaMetricsObserver implements BallerinaObserver {
                     .build()
     };
 
+    private static final String[] STATUS_CODE_GROUPS = new String[10];
+
+    static {
+        for (int i = 0; i < STATUS_CODE_GROUPS.length; i++) {
+            STATUS_CODE_GROUPS[i] = i + STATUS_CODE_GROUP_SUFFIX;
+        }
+    }
+
+    /*
+     * Metrics are cached by their tags, so that the registry is not looked up with new metric IDs for every
+     * observation. The tag sets of the contexts are reused until a tag is added and their hash codes are computed
+     * once, hence looking up the cached metrics does not build or hash a tag set. Cached metrics are only added and
+     * cleared while holding the cache lock, so that a metric removed from the registry is not cached after the
+     * cache has been cleared for its removal.
+     */
+    private final Map<Set<Tag>, Gauge> inProgressGauges = new ConcurrentHashMap<>();
+    private final Map<ResponseMetricsKey, ResponseMetrics> responseMetrics = new ConcurrentHashMap<>();
+    private final Object cacheLock = new Object();
+    private final MetricRegistry metricRegistry;
+    private volatile long cachedRemovalCount;
+
+    public BallerinaMetricsObserver() {
+        this(DefaultMetricRegistry.getInstance());
+    }
+
+    public BallerinaMetricsObserver(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+        this.cachedRemovalCount = metricRegistry.getRemovalCount();
+    }
+
     @Override
     public void startServerObservation(ObserverContext observerContext) {
         startObservation(observerContext);
@@ -87,10 +117,9 @@ public class BallerinaMetricsObserver implements BallerinaObserver {
 
     private void startObservation(ObserverContext observerContext) {
         observerContext.addProperty(PROPERTY_START_TIME, System.nanoTime());
-        Set<Tag> tags = observerContext.getAllTags();
+        Set<Tag> tags = observerContext.getTagSet();
         try {
-            Gauge inProgressGauge = metricRegistry.gauge(new MetricId("inprogress_requests", "In-progress requests",
-                    tags));
+            Gauge inProgressGauge = getInProgressGauge(tags);
             inProgressGauge.increment();
             /*
              * The in progress counter is stored so that the same counter can be decremted when the observation
@@ -104,37 +133,198 @@ public class BallerinaMetricsObserver implements BallerinaObserver {
     }
 
     private void stopObservation(ObserverContext observerContext) {
-        Set<Tag> tags = new HashSet<>();
+        Set<Tag> tags = observerContext.getTagSet();
         Map<String, Tag> customTags = observerContext.customMetricTags;
-        if (customTags != null) {
-            tags.addAll(customTags.values());
-        }
-        tags.addAll(observerContext.getAllTags());
 
         // Add status_code_group tag
         Integer statusCode = (Integer) observerContext.getProperty(PROPERTY_KEY_HTTP_STATUS_CODE);
+        String statusCodeGroup = null;
         if (statusCode != null && statusCode > 0) {
-            tags.add(Tag.of(TAG_KEY_HTTP_STATUS_CODE_GROUP, (statusCode / 100) + STATUS_CODE_GROUP_SUFFIX));
+            statusCodeGroup = getStatusCodeGroup(statusCode);
         }
 
         try {
             Long startTime = (Long) observerContext.getProperty(PROPERTY_START_TIME);
             long duration = System.nanoTime() - startTime;
             ((Gauge) observerContext.getProperty(PROPERTY_IN_PROGRESS_COUNTER)).decrement();
-            metricRegistry.gauge(new MetricId("response_time_seconds",
-                    "Response time", tags), responseTimeStatisticConfigs).setValue(duration / 1E9);
-            metricRegistry.counter(new MetricId("response_time_nanoseconds_total",
-                    "Total response response time for all requests", tags)).increment(duration);
-            metricRegistry.counter(new MetricId("requests_total",
-                    "Total number of requests", tags)).increment();
+            ResponseMetrics metrics = getResponseMetrics(tags, customTags, statusCodeGroup);
+            metrics.responseTime.setValue(duration / 1E9);
+            metrics.responseTimeTotal.increment(duration);
+            metrics.requestsTotal.increment();
         } catch (RuntimeException e) {
             handleError("multiple metrics", tags, e);
         }
     }
 
+    private Gauge getInProgressGauge(Set<Tag> tags) {
+        invalidateRemovedMetrics();
+        Gauge inProgressGauge = inProgressGauges.get(tags);
+        if (inProgressGauge == null) {
+            synchronized (cacheLock) {
+                invalidateRemovedMetrics();
+                inProgressGauge = inProgressGauges.computeIfAbsent(tags, key -> metricRegistry.gauge(
+                        new MetricId("inprogress_requests", "In-progress requests", key)));
+            }
+        }
+        return inProgressGauge;
+    }
+
+    private ResponseMetrics getResponseMetrics(Set<Tag> tags, Map<String, Tag> customTags, String statusCodeGroup) {
+        invalidateRemovedMetrics();
+        ResponseMetricsKey key = new ResponseMetricsKey(tags, customTags, statusCodeGroup);
+        ResponseMetrics metrics = responseMetrics.get(key);
+        if (metrics == null) {
+            synchronized (cacheLock) {
+                invalidateRemovedMetrics();
+                metrics = responseMetrics.get(key);
+                if (metrics == null) {
+                    // The cached key must not refer to the custom tags of the context, which may still be modified
+                    Set<Tag> allTags = key.getAllTags();
+                    metrics = new ResponseMetrics(metricRegistry, allTags, statusCodeGroup);
+                    responseMetrics.put(new ResponseMetricsKey(allTags, null, statusCodeGroup), metrics);
+                }
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Clears the cached metrics if any metric has been removed from the registry, so that a removed metric is
+     * created again instead of being updated without being reported. The cache is cleared while holding the cache
+     * lock. As metrics are created and cached while holding the same lock, after the removal count is checked, a
+     * metric removed after it was cached is always cleared by a later check.
+     */
+    private void invalidateRemovedMetrics() {
+        if (metricRegistry.getRemovalCount() == cachedRemovalCount) {
+            return;
+        }
+        synchronized (cacheLock) {
+            long removalCount = metricRegistry.getRemovalCount();
+            if (removalCount != cachedRemovalCount) {
+                inProgressGauges.clear();
+                responseMetrics.clear();
+                cachedRemovalCount = removalCount;
+            }
+        }
+    }
+
+    private static String getStatusCodeGroup(int statusCode) {
+        int group = statusCode / 100;
+        if (group < STATUS_CODE_GROUPS.length) {
+            return STATUS_CODE_GROUPS[group];
+        }
+        return group + STATUS_CODE_GROUP_SUFFIX;
+    }
+
     private void handleError(String metricName, Set<Tag> tags, RuntimeException e) {
         // Metric Provider may throw exceptions if there is a mismatch in tags.
         consoleError.println("error: error collecting metrics for " + metricName + " with tags " + tags +
                 ": " + e.getMessage());
     }
+
+    /**
+     * Identity of the response metrics of an observation, which is the union of the tags and the custom metric tags
+     * of the context along with the status code group. The hash code of the union is computed from the cached hash
+     * code of the context tags without building the union.
+     */
+    private static class ResponseMetricsKey {
+
+        private final Set<Tag> tags;
+        private final Map<String, Tag> customTags;
+        private final String statusCodeGroup;
+        private final int size;
+        private final int hashCode;
+
+        ResponseMetricsKey(Set<Tag> tags, Map<String, Tag> customTags, String statusCodeGroup) {
+            this.tags = tags;
+            this.statusCodeGroup = statusCodeGroup;
+            int size = tags.size();
+            int tagsHashCode = tags.hashCode();
+            if (customTags != null && !customTags.isEmpty()) {
+                for (Tag tag : customTags.values()) {
+                    if (!tags.contains(tag)) {
+                        size++;
+                        tagsHashCode += tag.hashCode();
+                    }
+                }
+                this.customTags = customTags;
+            } else {
+                this.customTags = null;
+            }
+            this.size = size;
+            this.hashCode = 31 * tagsHashCode + Objects.hashCode(statusCodeGroup);
+        }
+
+        private boolean contains(Tag tag) {
+            return tags.contains(tag) || (customTags != null && tag.equals(customTags.get(tag.getKey())));
+        }
+
+        private boolean containsAll(ResponseMetricsKey other) {
+            for (Tag tag : other.tags) {
+                if (!contains(tag)) {
+                    return false;
+                }
+            }
+            if (other.customTags != null) {
+                for (Tag tag : other.customTags.values()) {
+                    if (!contains(tag)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        Set<Tag> getAllTags() {
+            if (customTags == null) {
+                return tags;
+            }
+            Set<Tag> allTags = new HashSet<>(tags);
+            allTags.addAll(customTags.values());
+            return allTags;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ResponseMetricsKey)) {
+                return false;
+            }
+            ResponseMetricsKey other = (ResponseMetricsKey) o;
+            // Both keys have the same number of distinct tags, hence the tags are the same if either contains the
+            // tags of the other
+            return hashCode == other.hashCode && size == other.size
+                    && Objects.equals(statusCodeGroup, other.statusCodeGroup) && containsAll(other);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * The metrics updated when an observation ends.
+     */
+    private static class ResponseMetrics {
+
+        private final Gauge responseTime;
+        private final Counter responseTimeTotal;
+        private final Counter requestsTotal;
+
+        ResponseMetrics(MetricRegistry metricRegistry, Set<Tag> tags, String statusCodeGroup) {
+            if (statusCodeGroup != null) {
+                tags = new HashSet<>(tags);
+                tags.add(Tag.of(TAG_KEY_HTTP_STATUS_CODE_GROUP, statusCodeGroup));
+            }
+            this.responseTime = metricRegistry.gauge(new MetricId("response_time_seconds",
+                    "Response time", tags), responseTimeStatisticConfigs);
+            this.responseTimeTotal = metricRegistry.counter(new MetricId("response_time_nanoseconds_total",
+                    "Total response response time for all requests", tags));
+            this.requestsTotal = metricRegistry.counter(new MetricId("requests_total",
+                    "Total number of requests", tags));
+        }
+    }
 }
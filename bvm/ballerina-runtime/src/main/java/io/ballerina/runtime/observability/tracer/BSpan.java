@@ -30,7 +30,11 @@ import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanId;
 import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceId;
+import io.opentelemetry.api.trace.TraceState;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.propagation.TextMapGetter;
@@ -40,6 +44,8 @@ import io.opentelemetry.context.propagation.TextMapSetter;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * {@code BSpan} holds the trace of the current context.
@@ -143,10 +149,130 @@ public class BSpan {
         return start(tracer, parentContext, operationName, isClient);
     }
 
+    /**
+     * Start a span which is not exported. The span only carries the trace context, so that the trace context is
+     * propagated to the callees with the decision not to sample the trace.
+     *
+     * @param parentSpan         The parent span of the new span, or null if the span has no parent in this service
+     * @param parentTraceContext Contains http headers of request received, or null if there are none
+     * @return The new span
+     */
+    public static BSpan startUnsampled(BSpan parentSpan, Map<String, String> parentTraceContext) {
+        SpanContext parentSpanContext;
+        if (parentSpan != null) {
+            parentSpanContext = parentSpan.span.getSpanContext();
+        } else if (parentTraceContext != null) {
+            parentSpanContext = extractSpanContext(parentTraceContext);
+        } else {
+            parentSpanContext = SpanContext.getInvalid();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String traceId;
+        TraceState traceState;
+        if (parentSpanContext.isValid()) {
+            traceId = parentSpanContext.getTraceId();
+            traceState = parentSpanContext.getTraceState();
+        } else {
+            traceId = TraceId.fromLongs(random.nextLong(), nextNonZeroLong(random));
+            traceState = TraceState.getDefault();
+        }
+        String spanId = SpanId.fromLong(nextNonZeroLong(random));
+        SpanContext spanContext = SpanContext.create(traceId, spanId, TraceFlags.getDefault(), traceState);
+        return new BSpan(null, Span.wrap(spanContext));
+    }
+
+    /**
+     * Start a span of an operation which has already started. This is used to export a span of a trace after it has
+     * been decided to keep the trace. The span is started with the IDs of the unsampled span propagated for the
+     * operation, when the tracer generates the IDs through {@link PropagatedSpanIds}.
+     *
+     * @param traceId            The trace ID propagated for the operation
+     * @param spanId             The span ID propagated for the operation
+     * @param parentSpanId       The span ID propagated for the parent operation in this service, or null if the
+     *                           operation has no parent in this service
+     * @param parentTraceContext Contains http headers of request received, or null if there are none
+     * @param serviceName        The name of the service the span belongs to
+     * @param operationName      The name of the operation the span corresponds to
+     * @param isClient           True if this is a client span
+     * @param startEpochNanos    The time the operation started at, in nanoseconds since the epoch
+     * @return The new span
+     */
+    static BSpan startAt(String traceId, String spanId, String parentSpanId, Map<String, String> parentTraceContext,
+                         String serviceName, String operationName, boolean isClient, long startEpochNanos) {
+        Tracer tracer = TracersStore.getInstance().getTracer(serviceName);
+        SpanBuilder builder = tracer.spanBuilder(operationName);
+        if (parentSpanId != null) {
+            // The parent is referred by the span ID it is exported with, as it may not have finished yet
+            SpanContext parentSpanContext = SpanContext.create(traceId, parentSpanId, TraceFlags.getSampled(),
+                    TraceState.getDefault());
+            builder.setParent(Context.current().with(Span.wrap(parentSpanContext)));
+        } else if (parentTraceContext != null) {
+            SpanContext remoteSpanContext = extractSpanContext(parentTraceContext);
+            if (remoteSpanContext.isValid()) {
+                // The caller did not sample the trace, but this part of the trace is kept
+                SpanContext sampledSpanContext = SpanContext.createFromRemoteParent(remoteSpanContext.getTraceId(),
+                        remoteSpanContext.getSpanId(), TraceFlags.getSampled(), remoteSpanContext.getTraceState());
+                builder.setParent(Context.current().with(Span.wrap(sampledSpanContext)));
+            }
+        }
+        builder.setAttribute(TraceConstants.TAG_KEY_SPAN_KIND, isClient
+                ? TraceConstants.TAG_SPAN_KIND_CLIENT
+                : TraceConstants.TAG_SPAN_KIND_SERVER);
+        builder.setSpanKind(isClient ? SpanKind.CLIENT : SpanKind.SERVER);
+        builder.setStartTimestamp(startEpochNanos, TimeUnit.NANOSECONDS);
+        Span span;
+        PropagatedSpanIds.set(traceId, spanId);
+        try {
+            span = builder.startSpan();
+        } finally {
+            PropagatedSpanIds.clear();
+        }
+        return new BSpan(tracer, span);
+    }
+
+    private static SpanContext extractSpanContext(Map<String, String> traceContext) {
+        Context context = TracersStore.getInstance().getPropagators()
+                .getTextMapPropagator().extract(Context.current(), traceContext, getter);
+        return Span.fromContext(context).getSpanContext();
+    }
+
+    /**
+     * Get the sampling decision of the caller, carried in the trace context of a request.
+     *
+     * @param traceContext Contains http headers of request received
+     * @return true if the caller sampled the trace, false if the caller did not sample the trace, and null if the
+     * headers do not carry a trace context
+     */
+    public static Boolean isSampled(Map<String, String> traceContext) {
+        SpanContext spanContext = extractSpanContext(traceContext);
+        return spanContext.isValid() ? spanContext.isSampled() : null;
+    }
+
+    private static long nextNonZeroLong(ThreadLocalRandom random) {
+        long value;
+        do {
+            value = random.nextLong();
+        } while (value == 0);
+        return value;
+    }
+
+    String getTraceId() {
+        return span.getSpanContext().getTraceId();
+    }
+
+    String getSpanId() {
+        return span.getSpanContext().getSpanId();
+    }
+
     public void finishSpan() {
         span.end();
     }
 
+    void finishSpan(long endEpochNanos) {
+        span.end(endEpochNanos, TimeUnit.NANOSECONDS);
+    }
+
     public void addEvent(String eventName, Attributes attributes) {
         span.addEvent(eventName, attributes);
     }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.observability.tracer;
+
+/**
+ * Holds the IDs of the span being exported by the current thread for an operation of a tail sampled trace.
+ * <p>
+ * An operation of a trace which was not sampled when it started propagates the IDs of an unsampled span to its
+ * callees. If the trace is kept, the span of the operation is exported after the operation finished, and it has to be
+ * exported with the propagated IDs so that the spans of the callees refer to it. The tracer API does not allow
+ * choosing the IDs of a span, hence a {@link io.ballerina.runtime.observability.tracer.spi.TracerProvider} whose
+ * tracers generate the span IDs should use the IDs held by this class when they are present.
+ *
+ * @since 2.0.0
+ */
+public class PropagatedSpanIds {
+
+    private static final ThreadLocal<PropagatedSpanIds> CURRENT = new ThreadLocal<>();
+
+    private final String traceId;
+    private final String spanId;
+
+    private PropagatedSpanIds(String traceId, String spanId) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+    }
+
+    static void set(String traceId, String spanId) {
+        CURRENT.set(new PropagatedSpanIds(traceId, spanId));
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Get the trace ID of the span being exported by the current thread. The trace ID is only used for a span which
+     * has no parent.
+     *
+     * @return the propagated trace ID, or null if the current thread is not exporting a tail sampled span
+     */
+    public static String getTraceId() {
+        PropagatedSpanIds current = CURRENT.get();
+        return current != null ? current.traceId : null;
+    }
+
+    /**
+     * Get the span ID of the span being exported by the current thread.
+     *
+     * @return the propagated span ID, or null if the current thread is not exporting a tail sampled span
+     */
+    public static String getSpanId() {
+        PropagatedSpanIds current = CURRENT.get();
+        return current != null ? current.spanId : null;
+    }
+}
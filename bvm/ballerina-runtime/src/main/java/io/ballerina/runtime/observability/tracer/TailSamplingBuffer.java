@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.observability.tracer;
+
+import io.ballerina.runtime.observability.ObserverContext;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.ballerina.runtime.observability.ObservabilityConstants.PROPERTY_TRACE_PROPERTIES;
+
+/**
+ * Keeps the error and slow traces which were not sampled when they started.
+ * <p>
+ * The operations of an unsampled trace are recorded without creating spans. When the first operation of the trace
+ * in this service finishes, the spans of the trace are exported if any of its operations failed or took longer than
+ * the latency threshold, and the recorded operations are discarded otherwise. The number of operations held by the
+ * buffer is bounded, and the operations which do not fit in the buffer are not kept.
+ * <p>
+ * The callees of an operation have already received the IDs of its unsampled span, hence the span of a kept
+ * operation is exported with the same IDs. The spans refer to their parents by these IDs, so that a span whose parent
+ * is still in flight is exported under the parent which is exported once it finishes.
+ *
+ * @since 2.0.0
+ */
+public class TailSamplingBuffer {
+
+    private static final String PROPERTY_DEFERRED_SPAN = "_deferred_span_";
+
+    private final long latencyThresholdNanos;
+    private final int capacity;
+    private final SpanExporter exporter;
+    private final AtomicInteger bufferedSpans = new AtomicInteger();
+
+    /**
+     * Creates a tail sampling buffer.
+     *
+     * @param latencyThresholdMillis the duration of an operation above which its trace is kept
+     * @param capacity               the maximum number of operations held by the buffer
+     */
+    public TailSamplingBuffer(long latencyThresholdMillis, int capacity) {
+        this(latencyThresholdMillis, capacity, TailSamplingBuffer::exportSpan);
+    }
+
+    TailSamplingBuffer(long latencyThresholdMillis, int capacity, SpanExporter exporter) {
+        if (latencyThresholdMillis < 0) {
+            throw new IllegalArgumentException("latency threshold cannot be negative: " + latencyThresholdMillis);
+        }
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity cannot be negative: " + capacity);
+        }
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        this.capacity = capacity;
+        this.exporter = exporter;
+    }
+
+    /**
+     * Records the start of an operation of an unsampled trace.
+     *
+     * @param observerContext context of the operation
+     * @param traceId         trace ID of the unsampled span propagated for the operation
+     * @param spanId          span ID of the unsampled span propagated for the operation
+     * @param isClient        true if the operation is a client operation
+     */
+    void startOperation(ObserverContext observerContext, String traceId, String spanId, boolean isClient) {
+        // Contexts started while the observations were switched off do not have a deferred span
+        DeferredSpan parent = null;
+        ObserverContext parentContext = observerContext.getParent();
+        while (parent == null && parentContext != null) {
+            parent = (DeferredSpan) parentContext.getProperty(PROPERTY_DEFERRED_SPAN);
+            parentContext = parentContext.getParent();
+        }
+        DeferredTrace trace;
+        if (parent != null) {
+            trace = parent.trace;
+        } else {
+            trace = new DeferredTrace((Map<String, String>) observerContext.getProperty(PROPERTY_TRACE_PROPERTIES));
+        }
+        observerContext.addProperty(PROPERTY_DEFERRED_SPAN, new DeferredSpan(trace, parent, traceId, spanId,
+                observerContext.getServiceName(), observerContext.getOperationName(), isClient,
+                currentEpochNanos()));
+    }
+
+    /**
+     * Records the end of an operation of an unsampled trace, and exports the trace if it is to be kept.
+     *
+     * @param observerContext context of the operation
+     * @param tags            tags of the operation
+     * @param isError         true if the operation failed
+     */
+    void finishOperation(ObserverContext observerContext, Map<String, String> tags, boolean isError) {
+        DeferredSpan span = (DeferredSpan) observerContext.getProperty(PROPERTY_DEFERRED_SPAN);
+        if (span == null) {
+            return;
+        }
+        span.tags = tags;
+        span.endEpochNanos = currentEpochNanos();
+        boolean keep = isError || span.endEpochNanos - span.startEpochNanos >= latencyThresholdNanos;
+
+        DeferredTrace trace = span.trace;
+        synchronized (trace) {
+            trace.keep |= keep;
+            if (trace.finished) {
+                // An asynchronous operation which outlived the first operation of the trace
+                if (trace.keep) {
+                    export(span);
+                }
+            } else if (span.parent == null) {
+                if (trace.keep) {
+                    export(span);
+                    for (DeferredSpan bufferedSpan : trace.spans) {
+                        export(bufferedSpan);
+                    }
+                }
+                bufferedSpans.addAndGet(-trace.spans.size());
+                trace.spans.clear();
+                trace.finished = true;
+            } else if (bufferedSpans.incrementAndGet() <= capacity) {
+                trace.spans.add(span);
+            } else {
+                bufferedSpans.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of operations held by the buffer.
+     *
+     * @return the number of buffered operations
+     */
+    int getBufferedSpanCount() {
+        return bufferedSpans.get();
+    }
+
+    private void export(DeferredSpan span) {
+        if (span.exported) {
+            return;
+        }
+        span.exported = true;
+        // A finished parent which did not fit in the buffer is exported along with its child. A parent in flight is
+        // exported once it finishes, with the span ID its child refers to.
+        if (span.parent != null && span.parent.endEpochNanos != 0) {
+            export(span.parent);
+        }
+        exporter.export(span);
+    }
+
+    private static void exportSpan(DeferredSpan span) {
+        String parentSpanId = span.parent != null ? span.parent.spanId : null;
+        BSpan exportedSpan = BSpan.startAt(span.traceId, span.spanId, parentSpanId, span.trace.parentTraceContext,
+                span.serviceName, span.operationName, span.isClient, span.startEpochNanos);
+        exportedSpan.addTags(span.tags);
+        exportedSpan.finishSpan(span.endEpochNanos);
+    }
+
+    private static long currentEpochNanos() {
+        Instant now = Instant.now();
+        return TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+    }
+
+    /**
+     * The operations of an unsampled trace, which are held until the first operation of the trace in this service
+     * finishes.
+     */
+    private static class DeferredTrace {
+
+        private final Map<String, String> parentTraceContext;
+        private final List<DeferredSpan> spans = new ArrayList<>();
+        private boolean keep;
+        private boolean finished;
+
+        DeferredTrace(Map<String, String> parentTraceContext) {
+            this.parentTraceContext = parentTraceContext;
+        }
+    }
+
+    /**
+     * Exports the span of an operation of a kept trace.
+     */
+    interface SpanExporter {
+
+        void export(DeferredSpan span);
+    }
+
+    /**
+     * An operation of an unsampled trace.
+     */
+    static class DeferredSpan {
+
+        private final DeferredTrace trace;
+        final DeferredSpan parent;
+        final String traceId;
+        final String spanId;
+        final String serviceName;
+        final String operationName;
+        final boolean isClient;
+        final long startEpochNanos;
+        volatile long endEpochNanos;
+        Map<String, String> tags;
+        private boolean exported;
+
+        DeferredSpan(DeferredTrace trace, DeferredSpan parent, String traceId, String spanId, String serviceName,
+                     String operationName, boolean isClient, long startEpochNanos) {
+            this.trace = trace;
+            this.parent = parent;
+            this.traceId = traceId;
+            this.spanId = spanId;
+            this.serviceName = serviceName;
+            this.operationName = operationName;
+            this.isClient = isClient;
+            this.startEpochNanos = startEpochNanos;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.observability.tracer;
+
+import java.io.PrintStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether a trace started in this service is exported. Traces continued from a caller follow the decision of
+ * the caller, hence the sampler is consulted only for the root of a trace.
+ *
+ * @since 2.0.0
+ */
+public abstract class TraceSampler {
+
+    private static final PrintStream consoleError = System.err;
+
+    public static final String SAMPLER_TYPE_ALWAYS = "always";
+    public static final String SAMPLER_TYPE_RATIO = "ratio";
+    public static final String SAMPLER_TYPE_RATE_LIMITING = "ratelimiting";
+
+    private static final TraceSampler ALWAYS_SAMPLER = new TraceSampler() {
+        @Override
+        public boolean sample() {
+            return true;
+        }
+    };
+
+    /**
+     * Creates a sampler.
+     *
+     * @param type  type of the sampler, one of {@code always}, {@code ratio} and {@code ratelimiting}
+     * @param param ratio of the traces to be sampled for the {@code ratio} sampler, and the number of traces to be
+     *              sampled per second for the {@code ratelimiting} sampler
+     * @return the sampler
+     */
+    public static TraceSampler create(String type, double param) {
+        switch (type) {
+            case SAMPLER_TYPE_RATIO:
+                return param >= 1.0 ? ALWAYS_SAMPLER : new RatioSampler(param);
+            case SAMPLER_TYPE_RATE_LIMITING:
+                return new RateLimitingSampler(param);
+            case SAMPLER_TYPE_ALWAYS:
+                return ALWAYS_SAMPLER;
+            default:
+                consoleError.println("error: unknown trace sampler type '" + type + "', hence all the traces are "
+                        + "sampled");
+                return ALWAYS_SAMPLER;
+        }
+    }
+
+    /**
+     * Decides whether a new trace is sampled.
+     *
+     * @return true if the trace is to be exported
+     */
+    public abstract boolean sample();
+
+    /**
+     * Samples the given ratio of the traces.
+     */
+    static class RatioSampler extends TraceSampler {
+
+        private final double ratio;
+
+        RatioSampler(double ratio) {
+            this.ratio = ratio;
+        }
+
+        @Override
+        public boolean sample() {
+            return ThreadLocalRandom.current().nextDouble() < ratio;
+        }
+    }
+
+    /**
+     * Samples at most the given number of traces per second, using a token bucket which holds at most a second of
+     * tokens.
+     */
+    static class RateLimitingSampler extends TraceSampler {
+
+        private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+        private final LongSupplier nanoClock;
+        private final long nanosPerTrace;
+        private final long maxBalanceNanos;
+        // The time at which the bucket would be empty
+        private final AtomicLong emptyAtNanos;
+
+        RateLimitingSampler(double tracesPerSecond) {
+            this(tracesPerSecond, System::nanoTime);
+        }
+
+        RateLimitingSampler(double tracesPerSecond, LongSupplier nanoClock) {
+            this.nanoClock = nanoClock;
+            this.nanosPerTrace = tracesPerSecond > 0 ? (long) (NANOS_PER_SECOND / tracesPerSecond) : Long.MAX_VALUE;
+            this.maxBalanceNanos = Math.max(NANOS_PER_SECOND, nanosPerTrace);
+            this.emptyAtNanos = new AtomicLong(nanoClock.getAsLong() - maxBalanceNanos);
+        }
+
+        @Override
+        public boolean sample() {
+            if (nanosPerTrace == Long.MAX_VALUE) {
+                return false;
+            }
+            long now = nanoClock.getAsLong();
+            while (true) {
+                long emptyAt = emptyAtNanos.get();
+                // Tokens do not accumulate beyond the max balance while no trace is sampled
+                long start = Math.max(emptyAt, now - maxBalanceNanos);
+                long next = start + nanosPerTrace;
+                if (next - now > 0) {
+                    return false;
+                }
+                if (emptyAtNanos.compareAndSet(emptyAt, next)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
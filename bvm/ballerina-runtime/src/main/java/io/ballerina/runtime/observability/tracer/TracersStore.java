@@ -35,6 +35,8 @@ public class TracersStore {
     private static final PrintStream consoleError = System.err;
     private static final TracersStore instance = new TracersStore();
     private ContextPropagators propagators;
+    private TraceSampler traceSampler = TraceSampler.create(TraceSampler.SAMPLER_TYPE_ALWAYS, 1.0);
+    private TailSamplingBuffer tailSamplingBuffer;
 
     public static TracersStore getInstance() {
         return instance;
@@ -86,6 +88,26 @@ public class TracersStore {
         return ContextPropagators.noop();
     }
 
+    /**
+     * Set the sampling of the traces started in this service.
+     *
+     * @param traceSampler       sampler which decides whether a new trace is sampled
+     * @param tailSamplingBuffer buffer which keeps the error and slow traces which were not sampled, or null to drop
+     *                           all the traces which were not sampled
+     */
+    public void setSampling(TraceSampler traceSampler, TailSamplingBuffer tailSamplingBuffer) {
+        this.traceSampler = traceSampler;
+        this.tailSamplingBuffer = tailSamplingBuffer;
+    }
+
+    public TraceSampler getTraceSampler() {
+        return traceSampler;
+    }
+
+    public TailSamplingBuffer getTailSamplingBuffer() {
+        return tailSamplingBuffer;
+    }
+
     /**
      * Checks whether the tracer store is initialized.
      *
@@ -21,7 +21,6 @@ import io.ballerina.runtime.internal.values.ErrorValue;
 import io.ballerina.runtime.observability.ObserverContext;
 import io.ballerina.runtime.observability.metrics.Tag;
 
-import java.util.Collections;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -49,9 +48,16 @@ public class TracingUtils {
         BSpan span;
         String serviceName = observerContext.getServiceName();
         String operationName = observerContext.getOperationName();
-        if (observerContext.getParent() != null) {
-            BSpan parentSpan = observerContext.getParent().getSpan();
-            span = BSpan.start(parentSpan, serviceName, operationName, isClient);
+        ObserverContext parent = getTracedParent(observerContext);
+        if (!observerContext.isSampled()) {
+            span = BSpan.startUnsampled(parent != null ? parent.getSpan() : null,
+                    (Map<String, String>) observerContext.getProperty(PROPERTY_TRACE_PROPERTIES));
+            TailSamplingBuffer tailSamplingBuffer = TracersStore.getInstance().getTailSamplingBuffer();
+            if (tailSamplingBuffer != null) {
+                tailSamplingBuffer.startOperation(observerContext, span.getTraceId(), span.getSpanId(), isClient);
+            }
+        } else if (parent != null) {
+            span = BSpan.start(parent.getSpan(), serviceName, operationName, isClient);
         } else {
             Map<String, String> httpHeaders =
                     (Map<String, String>) observerContext.getProperty(PROPERTY_TRACE_PROPERTIES);
@@ -74,24 +80,86 @@ public class TracingUtils {
      */
     public static void stopObservation(ObserverContext observerContext) {
         BSpan span = observerContext.getSpan();
-        if (span != null) {
-            // Adding error message to Trace Span
-            ErrorValue bError = (ErrorValue) observerContext.getProperty(PROPERTY_ERROR_VALUE);
-            if (bError != null) {
-                span.addTag(TAG_KEY_STR_ERROR_MESSAGE, bError.getPrintableStackTrace());
+        if (span == null) {
+            return;
+        }
+        if (!observerContext.isSampled()) {
+            TailSamplingBuffer tailSamplingBuffer = TracersStore.getInstance().getTailSamplingBuffer();
+            if (tailSamplingBuffer != null) {
+                Integer statusCode = (Integer) observerContext.getProperty(PROPERTY_KEY_HTTP_STATUS_CODE);
+                boolean isError = observerContext.getProperty(PROPERTY_ERROR_VALUE) != null
+                        || (statusCode != null && statusCode >= 500);
+                tailSamplingBuffer.finishOperation(observerContext, getTraceTags(observerContext), isError);
             }
+            return;
+        }
+        span.addTags(getTraceTags(observerContext));
+        span.finishSpan();
+    }
 
-            // Adding specific error code to Trace Span
-            Integer statusCode = (Integer) observerContext.getProperty(PROPERTY_KEY_HTTP_STATUS_CODE);
-            if (statusCode != null && statusCode >= 100) {
-                span.addTags(Collections.singletonMap(TAG_KEY_HTTP_STATUS_CODE, Integer.toString(statusCode)));
+    /**
+     * Decides whether the trace of an {@link ObserverContext} is sampled. A trace continued from a parent context or
+     * from a caller follows the decision of the parent, and the {@link TraceSampler} decides for a new trace.
+     *
+     * @param observerContext context which is being started
+     * @return true if the trace is to be exported
+     */
+    public static boolean isSampled(ObserverContext observerContext) {
+        ObserverContext parent = getTracedParent(observerContext);
+        if (parent != null) {
+            return parent.isSampled();
+        }
+        Map<String, String> httpHeaders =
+                (Map<String, String>) observerContext.getProperty(PROPERTY_TRACE_PROPERTIES);
+        if (httpHeaders != null) {
+            Boolean sampled = BSpan.isSampled(httpHeaders);
+            if (sampled != null) {
+                return sampled;
             }
+        }
+        return TracersStore.getInstance().getTraceSampler().sample();
+    }
+
+    /**
+     * Checks whether the tags of an unsampled {@link ObserverContext} are used for tracing.
+     *
+     * @return true if the unsampled traces may be kept
+     */
+    public static boolean isTailSamplingEnabled() {
+        return TracersStore.getInstance().getTailSamplingBuffer() != null;
+    }
+
+    /**
+     * Get the nearest ancestor of an {@link ObserverContext} which has a span. A context started while the
+     * observations were switched off has no span, hence its children continue the trace of its own ancestors.
+     *
+     * @param observerContext context of which the parent is looked up
+     * @return the parent context which has a span, or null if there is none
+     */
+    static ObserverContext getTracedParent(ObserverContext observerContext) {
+        ObserverContext parent = observerContext.getParent();
+        while (parent != null && parent.getSpan() == null) {
+            parent = parent.getParent();
+        }
+        return parent;
+    }
+
+    private static Map<String, String> getTraceTags(ObserverContext observerContext) {
+        Map<String, String> traceTags = observerContext.getAllTags()
+                .stream()
+                .collect(Collectors.toMap(Tag::getKey, Tag::getValue));
+
+        // Adding error message to Trace Span
+        ErrorValue bError = (ErrorValue) observerContext.getProperty(PROPERTY_ERROR_VALUE);
+        if (bError != null) {
+            traceTags.put(TAG_KEY_STR_ERROR_MESSAGE, bError.getPrintableStackTrace());
+        }
 
-            Map<String, String> traceTags = observerContext.getAllTags()
-                    .stream()
-                    .collect(Collectors.toMap(Tag::getKey, Tag::getValue));
-            span.addTags(traceTags);
-            span.finishSpan();
+        // Adding specific error code to Trace Span
+        Integer statusCode = (Integer) observerContext.getProperty(PROPERTY_KEY_HTTP_STATUS_CODE);
+        if (statusCode != null && statusCode >= 100) {
+            traceTags.put(TAG_KEY_HTTP_STATUS_CODE, Integer.toString(statusCode));
         }
+        return traceTags;
     }
 }
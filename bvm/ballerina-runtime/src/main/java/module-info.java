@@ -5,6 +5,7 @@ module io.ballerina.runtime {
     requires axiom.api;
     requires java.logging;
     requires java.management;
+    requires jdk.management;
     requires io.opentelemetry.api;
     requires io.opentelemetry.context;
     requires java.transaction.xa;
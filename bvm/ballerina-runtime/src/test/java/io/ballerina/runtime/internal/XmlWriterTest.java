@@ -0,0 +1,176 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.runtime.internal;
+
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BXml;
+import io.ballerina.runtime.internal.values.XmlComment;
+import io.ballerina.runtime.internal.values.XmlItem;
+import io.ballerina.runtime.internal.values.XmlPi;
+import io.ballerina.runtime.internal.values.XmlSequence;
+import io.ballerina.runtime.internal.values.XmlText;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Differential tests of the {@link XmlWriter}, which must write the same output as the
+ * {@link BallerinaXmlSerializer}.
+ *
+ * @since 2.0.0
+ */
+public class XmlWriterTest {
+
+    @Test(description = "Namespace declarations, including undeclared, generated and rebound prefixes")
+    public void testNamespaces() throws IOException {
+        assertSameOutput(XmlFactory.parse("<a xmlns=\"http://a\"><b xmlns=\"\"><c/></b><d/></a>"));
+        assertSameOutput(XmlFactory.parse("<p:a xmlns:p=\"http://p\" xmlns:q=\"http://q\" p:x=\"1\">" +
+                "<p:b xmlns:p=\"http://p2\" p:y=\"2\" q:z=\"3\"><q:c/></p:b><p:d/></p:a>"));
+        assertSameOutput(XmlFactory.parse("<a xmlns=\"http://a\" xmlns:p=\"http://a\"><p:b/>" +
+                "<b xmlns=\"http://b\"/></a>"));
+
+        // The `xml` prefix is predefined, hence never declared
+        assertSameOutput(XmlFactory.parse("<a xml:lang=\"en\"><b xml:space=\"preserve\">text</b></a>"));
+
+        // Attributes of namespaces without a declaration get generated prefixes
+        XmlItem element = (XmlItem) XmlFactory.parse("<a><b/><c xmlns:ns1=\"http://c\"/></a>");
+        element.setAttribute("x", "http://x", null, "1");
+        element.setAttribute("y", "http://y", null, "2");
+        XmlItem child = (XmlItem) element.getChildrenSeq().getChildrenList().get(0);
+        child.setAttribute("x", "http://x", null, "3");
+        child.setAttribute("z", "http://z", null, "4");
+        ((XmlItem) element.getChildrenSeq().getChildrenList().get(1)).setAttribute("w", "http://w", null, "5");
+        assertSameOutput(element);
+
+        // A prefix rebound in an inner scope no longer refers to the namespace of the outer scope
+        XmlItem outer = (XmlItem) XmlFactory.parse("<p:a xmlns:p=\"http://p\"><p:b xmlns:p=\"http://q\"/></p:a>");
+        ((XmlItem) outer.getChildrenSeq().getChildrenList().get(0)).setAttribute("x", "http://p", null, "1");
+        assertSameOutput(outer);
+    }
+
+    @Test(description = "Escaping of the text and attribute values")
+    public void testEscaping() throws IOException {
+        XmlItem element = (XmlItem) XmlFactory.parse("<a/>");
+        element.setAttribute("x", null, null, "<&\"'>\r\n\t]]>");
+        element.setChildren(new XmlText("> a]]>b]>c > d & e < f\r\n\tg"));
+        assertSameOutput(element);
+
+        XmlItem invalidText = (XmlItem) XmlFactory.parse("<a/>");
+        invalidText.setChildren(new XmlText("a\u0001b"));
+        assertBothFail(invalidText);
+
+        XmlItem invalidAttribute = (XmlItem) XmlFactory.parse("<a/>");
+        invalidAttribute.setAttribute("x", null, null, "a\u0002b");
+        assertBothFail(invalidAttribute);
+    }
+
+    @Test(description = "Text, comments and processing instructions outside of elements")
+    public void testTextOutsideElements() throws IOException {
+        assertSameOutput(new XmlText("a < b & c > d ]]> \r\t\u0001"));
+        assertSameOutput(new XmlSequence(List.of(new XmlText("<text>"), XmlFactory.parse("<a>&lt;</a>"),
+                new XmlText("]]>&"), new XmlComment("comment"), new XmlPi("data", "target"),
+                XmlFactory.parse("<b/>"), new XmlText("\r\n"))));
+    }
+
+    @Test(description = "Characters outside of the BMP, and unpaired surrogates")
+    public void testSurrogates() throws IOException {
+        String text = "😀 é€ 𐀀􏿿";
+        XmlItem element = (XmlItem) XmlFactory.parse("<a/>");
+        element.setAttribute("x", null, null, text);
+        element.setChildren(new XmlText(text));
+        assertSameOutput(element);
+        assertSameOutput(new XmlSequence(List.of(new XmlText(text), new XmlComment(text), new XmlPi(text, "pi"))));
+
+        XmlItem unpairedHighSurrogate = (XmlItem) XmlFactory.parse("<a/>");
+        unpairedHighSurrogate.setChildren(new XmlText("a\uD83Db"));
+        assertBothFail(unpairedHighSurrogate);
+
+        XmlItem unpairedLowSurrogate = (XmlItem) XmlFactory.parse("<a/>");
+        unpairedLowSurrogate.setChildren(new XmlText("a\uDE00b"));
+        assertBothFail(unpairedLowSurrogate);
+    }
+
+    @Test(description = "Comments and processing instructions")
+    public void testCommentsAndProcessingInstructions() throws IOException {
+        assertSameOutput(XmlFactory.parse("<a><!-- comment --><?target data?><b/><?target?><!----></a>"));
+        XmlItem element = (XmlItem) XmlFactory.parse("<a/>");
+        element.setChildren(new XmlSequence(List.of(new XmlPi("", "empty"), new XmlComment("é < &"),
+                new XmlPi("a < b & c", "target"))));
+        assertSameOutput(element);
+        assertSameOutput(new XmlComment("top level"));
+        assertSameOutput(new XmlPi("data", "target"));
+    }
+
+    @Test(description = "Output spanning several buffers, with multibyte characters across the buffer boundaries")
+    public void testLargeOutput() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            text.append("é€😀a<");
+        }
+        List<BXml> children = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            XmlItem child = (XmlItem) XmlFactory.parse("<child/>");
+            child.setAttribute("value", null, null, text.substring(i));
+            child.setChildren(new XmlText(text.substring(i)));
+            children.add(child);
+        }
+        XmlItem element = (XmlItem) XmlFactory.parse("<a/>");
+        element.setChildren(new XmlSequence(children));
+        Assert.assertTrue(serialize(element).length > 8192 * 3);
+        assertSameOutput(element);
+        assertSameOutput(new XmlSequence(List.of(new XmlText(text.toString()), element)));
+    }
+
+    private static void assertSameOutput(BXml xmlValue) throws IOException {
+        byte[] expected = serialize(xmlValue);
+        byte[] actual = write(xmlValue);
+        String expectedString = new String(expected, StandardCharsets.UTF_8);
+        Assert.assertEquals(new String(actual, StandardCharsets.UTF_8), expectedString);
+        Assert.assertEquals(actual, expected);
+        Assert.assertEquals(XmlWriter.toString(xmlValue), expectedString);
+    }
+
+    private static void assertBothFail(BXml xmlValue) {
+        Assert.expectThrows(BError.class, () -> serialize(xmlValue));
+        Assert.expectThrows(BError.class, () -> write(xmlValue));
+        Assert.expectThrows(BError.class, () -> XmlWriter.toString(xmlValue));
+    }
+
+    private static byte[] serialize(BXml xmlValue) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        BallerinaXmlSerializer serializer = new BallerinaXmlSerializer(outputStream);
+        serializer.write(xmlValue);
+        serializer.flush();
+        serializer.close();
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] write(BXml xmlValue) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XmlWriter xmlWriter = new XmlWriter(outputStream);
+        xmlWriter.write(xmlValue);
+        xmlWriter.flush();
+        xmlWriter.close();
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Tests the profiles written by the {@link PprofWriter}, by decoding them with a minimal protocol buffers reader.
+ *
+ * @since 2.0.0
+ */
+public class PprofWriterTest {
+
+    private static final String MODULE_CLASS_NAME = "testOrg.profiled.0_1_0.main";
+    private static final StackTraceElement MAIN_FRAME = new StackTraceElement(MODULE_CLASS_NAME, "main", "main.bal",
+            21);
+    private static final StackTraceElement FIBONACCI_FRAME = new StackTraceElement(MODULE_CLASS_NAME, "fibonacci",
+            "main.bal", 30);
+    private static final StackTraceElement YIELDED_FRAME = new StackTraceElement("[yielded]", "", null, -1);
+
+    @Test
+    public void testProfileHeaderBytes() throws IOException {
+        byte[] profile = write(new PprofWriter(300, 1, 2));
+
+        // The first sample type is {type: "samples" (1), unit: "count" (2)}
+        Assert.assertEquals(Arrays.copyOf(profile, 6), new byte[]{0x0a, 0x04, 0x08, 0x01, 0x10, 0x02});
+        // The period (field 12) of 300 is a two byte varint
+        Assert.assertTrue(contains(profile, new byte[]{0x60, (byte) 0xac, 0x02}));
+        // The time (field 9) and duration (field 10)
+        Assert.assertTrue(contains(profile, new byte[]{0x48, 0x01, 0x50, 0x02}));
+    }
+
+    @Test
+    public void testDecodeProfile() throws IOException {
+        long periodNanos = 10_000_000;
+        long timeNanos = 1_600_000_000_000_000_000L;
+        long durationNanos = 3_000_000_000L;
+        PprofWriter writer = new PprofWriter(periodNanos, timeNanos, durationNanos);
+        StrandProfiler.ProfileCounters cpuCounters = new StrandProfiler.ProfileCounters();
+        cpuCounters.addSample(1_000_000, 100);
+        cpuCounters.addSample(2_000_000, 300);
+        writer.addSample(Arrays.asList(MAIN_FRAME, FIBONACCI_FRAME), cpuCounters);
+        StrandProfiler.ProfileCounters waitCounters = new StrandProfiler.ProfileCounters();
+        waitCounters.addWait(500_000_000);
+        writer.addSample(Arrays.asList(YIELDED_FRAME, MAIN_FRAME), waitCounters);
+        Profile profile = Profile.decode(gunzip(gzip(write(writer))));
+
+        Assert.assertEquals(profile.strings.get(0), "");
+        Assert.assertEquals(profile.sampleTypes, Arrays.asList("samples/count", "cpu/nanoseconds",
+                "alloc_space/bytes", "wait/nanoseconds"));
+        Assert.assertEquals(profile.periodType, "cpu/nanoseconds");
+        Assert.assertEquals(profile.defaultSampleType, "cpu");
+        Assert.assertEquals(profile.period, periodNanos);
+        Assert.assertEquals(profile.timeNanos, timeNanos);
+        Assert.assertEquals(profile.durationNanos, durationNanos);
+
+        // A location and a function is written once for each frame, and shared by the samples
+        Assert.assertEquals(profile.locations.size(), 3);
+        Assert.assertEquals(profile.functions.size(), 3);
+        Assert.assertEquals(profile.samples.size(), 2);
+        Assert.assertEquals(profile.getStack(profile.samples.get(0)),
+                "testOrg.profiled.0_1_0:main(main.bal:21);testOrg.profiled.0_1_0:fibonacci(main.bal:30)");
+        Assert.assertEquals(profile.samples.get(0).values, Arrays.asList(2L, 3_000_000L, 400L, 0L));
+        Assert.assertEquals(profile.getStack(profile.samples.get(1)),
+                "[yielded]();testOrg.profiled.0_1_0:main(main.bal:21)");
+        Assert.assertEquals(profile.samples.get(1).values, Arrays.asList(0L, 0L, 0L, 500_000_000L));
+
+        List<String> systemNames = new ArrayList<>();
+        for (DecodedFunction function : profile.functions.values()) {
+            systemNames.add(profile.strings.get((int) function.systemName));
+        }
+        Collections.sort(systemNames);
+        Assert.assertEquals(systemNames, Arrays.asList("[yielded].", "testOrg.profiled.0_1_0.main.fibonacci",
+                "testOrg.profiled.0_1_0.main.main"));
+    }
+
+    private static byte[] write(PprofWriter writer) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writer.write(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (OutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(bytes);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    private static boolean contains(byte[] bytes, byte[] sequence) {
+        for (int i = 0; i <= bytes.length - sequence.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + sequence.length), sequence)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the fields of a protocol buffers message, which are either varints or length delimited.
+     */
+    private static class MessageReader {
+        private final byte[] bytes;
+        private int position;
+        private int fieldNumber;
+        private long varint;
+        private byte[] delimited;
+
+        MessageReader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        boolean next() {
+            if (position >= bytes.length) {
+                return false;
+            }
+            long tag = readVarint();
+            fieldNumber = (int) (tag >>> 3);
+            int wireType = (int) (tag & 0x7);
+            if (wireType == 0) {
+                varint = readVarint();
+                delimited = null;
+            } else if (wireType == 2) {
+                int length = (int) readVarint();
+                delimited = Arrays.copyOfRange(bytes, position, position + length);
+                position += length;
+            } else {
+                throw new AssertionError("unexpected wire type " + wireType + " of field " + fieldNumber);
+            }
+            return true;
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+        }
+
+        static List<Long> readPacked(byte[] bytes) {
+            MessageReader reader = new MessageReader(bytes);
+            List<Long> values = new ArrayList<>();
+            while (reader.position < bytes.length) {
+                values.add(reader.readVarint());
+            }
+            return values;
+        }
+    }
+
+    /**
+     * The location IDs and values of a Sample message.
+     */
+    private static class DecodedSample {
+        private List<Long> locationIds = Collections.emptyList();
+        private List<Long> values = Collections.emptyList();
+    }
+
+    /**
+     * The string table indexes of a Function message.
+     */
+    private static class DecodedFunction {
+        private long name;
+        private long systemName;
+        private long fileName;
+    }
+
+    /**
+     * The fields of the Profile message written by the profiler.
+     */
+    private static class Profile {
+        private final List<String> strings = new ArrayList<>();
+        private final List<long[]> sampleTypeIndexes = new ArrayList<>();
+        private final List<DecodedSample> samples = new ArrayList<>();
+        // Function ID and line of each location ID
+        private final Map<Long, long[]> locations = new HashMap<>();
+        private final Map<Long, DecodedFunction> functions = new HashMap<>();
+        private long[] periodTypeIndexes;
+        private long defaultSampleTypeIndex;
+        private long period;
+        private long timeNanos;
+        private long durationNanos;
+        private List<String> sampleTypes;
+        private String periodType;
+        private String defaultSampleType;
+
+        static Profile decode(byte[] bytes) {
+            Profile profile = new Profile();
+            MessageReader reader = new MessageReader(bytes);
+            while (reader.next()) {
+                switch (reader.fieldNumber) {
+                    case 1:
+                        profile.sampleTypeIndexes.add(decodeValueType(reader.delimited));
+                        break;
+                    case 2:
+                        profile.samples.add(decodeSample(reader.delimited));
+                        break;
+                    case 4:
+                        profile.decodeLocation(reader.delimited);
+                        break;
+                    case 5:
+                        profile.decodeFunction(reader.delimited);
+                        break;
+                    case 6:
+                        profile.strings.add(new String(reader.delimited, StandardCharsets.UTF_8));
+                        break;
+                    case 9:
+                        profile.timeNanos = reader.varint;
+                        break;
+                    case 10:
+                        profile.durationNanos = reader.varint;
+                        break;
+                    case 11:
+                        profile.periodTypeIndexes = decodeValueType(reader.delimited);
+                        break;
+                    case 12:
+                        profile.period = reader.varint;
+                        break;
+                    case 14:
+                        profile.defaultSampleTypeIndex = reader.varint;
+                        break;
+                    default:
+                        throw new AssertionError("unexpected field " + reader.fieldNumber);
+                }
+            }
+
+            // The string table is written last
+            profile.sampleTypes = new ArrayList<>();
+            for (long[] indexes : profile.sampleTypeIndexes) {
+                profile.sampleTypes.add(profile.toString(indexes));
+            }
+            profile.periodType = profile.toString(profile.periodTypeIndexes);
+            profile.defaultSampleType = profile.strings.get((int) profile.defaultSampleTypeIndex);
+            return profile;
+        }
+
+        private static long[] decodeValueType(byte[] bytes) {
+            long[] indexes = new long[2];
+            MessageReader reader = new MessageReader(bytes);
+            while (reader.next()) {
+                indexes[reader.fieldNumber - 1] = reader.varint;
+            }
+            return indexes;
+        }
+
+        private static DecodedSample decodeSample(byte[] bytes) {
+            DecodedSample sample = new DecodedSample();
+            MessageReader reader = new MessageReader(bytes);
+            while (reader.next()) {
+                if (reader.fieldNumber == 1) {
+                    sample.locationIds = MessageReader.readPacked(reader.delimited);
+                } else if (reader.fieldNumber == 2) {
+                    sample.values = MessageReader.readPacked(reader.delimited);
+                }
+            }
+            return sample;
+        }
+
+        private void decodeLocation(byte[] bytes) {
+            long id = 0;
+            long[] line = new long[2];
+            MessageReader reader = new MessageReader(bytes);
+            while (reader.next()) {
+                if (reader.fieldNumber == 1) {
+                    id = reader.varint;
+                } else if (reader.fieldNumber == 4) {
+                    MessageReader lineReader = new MessageReader(reader.delimited);
+                    while (lineReader.next()) {
+                        line[lineReader.fieldNumber - 1] = lineReader.varint;
+                    }
+                }
+            }
+            Assert.assertNull(locations.put(id, line), "duplicate location " + id);
+        }
+
+        private void decodeFunction(byte[] bytes) {
+            long id = 0;
+            DecodedFunction function = new DecodedFunction();
+            MessageReader reader = new MessageReader(bytes);
+            while (reader.next()) {
+                switch (reader.fieldNumber) {
+                    case 1:
+                        id = reader.varint;
+                        break;
+                    case 2:
+                        function.name = reader.varint;
+                        break;
+                    case 3:
+                        function.systemName = reader.varint;
+                        break;
+                    case 4:
+                        function.fileName = reader.varint;
+                        break;
+                    default:
+                        throw new AssertionError("unexpected function field " + reader.fieldNumber);
+                }
+            }
+            Assert.assertNull(functions.put(id, function), "duplicate function " + id);
+        }
+
+        private String toString(long[] valueTypeIndexes) {
+            return strings.get((int) valueTypeIndexes[0]) + "/" + strings.get((int) valueTypeIndexes[1]);
+        }
+
+        /**
+         * Get the stack of a sample from the root, as {@code function(file:line);...}.
+         */
+        String getStack(DecodedSample sample) {
+            List<String> frames = new ArrayList<>();
+            for (long locationId : sample.locationIds) {
+                long[] line = locations.get(locationId);
+                DecodedFunction function = functions.get(line[0]);
+                String fileName = strings.get((int) function.fileName);
+                frames.add(strings.get((int) function.name) + "(" +
+                        (fileName.isEmpty() ? "" : fileName + ":" + line[1]) + ")");
+            }
+            // Location IDs of a sample start from the leaf
+            Collections.reverse(frames);
+            return String.join(";", frames);
+        }
+    }
+}
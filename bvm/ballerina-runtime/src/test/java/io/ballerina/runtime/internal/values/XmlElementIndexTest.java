@@ -0,0 +1,165 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.values.BXml;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.namespace.QName;
+
+/**
+ * Tests the invalidation of the {@link XmlElementIndex}es covering mutated elements.
+ *
+ * @since 2.0.0
+ */
+public class XmlElementIndexTest {
+
+    private static final List<String> ITEM = List.of("item");
+
+    @Test(description = "A mutation drops the indexes of the tree of the mutated element only")
+    public void testIndexIsScopedToItsTree() {
+        XmlItem item = element("item");
+        XmlItem root = element("root", element("group", item), element("item"));
+        XmlItem otherRoot = element("root", element("group", element("item")), element("item"));
+        XmlElementIndex index = buildIndex(root);
+        XmlElementIndex otherIndex = buildIndex(otherRoot);
+
+        item.setChildren(element("item"));
+        Assert.assertFalse(index.isValid());
+        Assert.assertNull(root.getDescendantIndex());
+        Assert.assertTrue(otherIndex.isValid());
+        Assert.assertSame(otherRoot.getDescendantIndex(), otherIndex);
+        Assert.assertEquals(queryItems(root).size(), 3);
+        Assert.assertEquals(queryItems(otherRoot).size(), 3);
+    }
+
+    @Test(description = "The index is rebuilt on the second query after a mutation")
+    public void testIndexIsRebuiltOnSecondQuery() {
+        XmlItem group = element("group", element("item"));
+        XmlItem root = element("root", group);
+        buildIndex(root);
+
+        group.setChildren(new XmlSequence(List.of(element("item"), element("item"))));
+        Assert.assertEquals(queryItems(root).size(), 2);
+        Assert.assertNull(root.getDescendantIndex());
+        Assert.assertEquals(queryItems(root).size(), 2);
+        XmlElementIndex index = root.getDescendantIndex();
+        Assert.assertNotNull(index);
+        Assert.assertTrue(index.isValid());
+        Assert.assertEquals(queryItems(root).size(), 2);
+        Assert.assertSame(root.getDescendantIndex(), index);
+    }
+
+    @Test(description = "A mutation of a shared element drops the indexes of all the trees containing it")
+    public void testSharedElement() {
+        XmlItem shared = element("group", element("item"));
+        XmlItem root = element("root", shared);
+        XmlItem otherRoot = element("root", element("item"), shared);
+        XmlElementIndex index = buildIndex(root);
+        XmlElementIndex otherIndex = buildIndex(otherRoot);
+        XmlElementIndex sharedIndex = buildIndex(shared);
+
+        shared.setChildren(new XmlSequence(List.of(element("item"), element("item"))));
+        Assert.assertFalse(index.isValid());
+        Assert.assertFalse(otherIndex.isValid());
+        Assert.assertFalse(sharedIndex.isValid());
+        Assert.assertEquals(queryItems(root).size(), 2);
+        Assert.assertEquals(queryItems(otherRoot).size(), 3);
+        Assert.assertEquals(queryItems(shared).size(), 2);
+    }
+
+    @Test(description = "A mutation outside of a nested index keeps that index")
+    public void testNestedIndexes() {
+        XmlItem item = element("item");
+        XmlItem group = element("group", element("item"));
+        XmlItem root = element("root", group, item);
+        XmlElementIndex index = buildIndex(root);
+        XmlElementIndex groupIndex = buildIndex(group);
+
+        item.setQName(new QName("other"));
+        Assert.assertFalse(index.isValid());
+        Assert.assertTrue(groupIndex.isValid());
+        Assert.assertEquals(queryItems(root).size(), 1);
+
+        // The elements covered by the invalidated index keep only the scope of the nested index
+        buildIndex(root);
+        ((XmlItem) group.getChildrenSeq().getChildrenList().get(0)).setQName(new QName("other"));
+        Assert.assertFalse(groupIndex.isValid());
+        Assert.assertNull(root.getDescendantIndex());
+        Assert.assertEquals(queryItems(root).size(), 0);
+    }
+
+    @Test(description = "Concurrent queries build and use the index of an element consistently")
+    public void testConcurrentQueries() throws Exception {
+        List<BXml> groups = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            groups.add(element("group", element("item"), element("other", element("item"))));
+        }
+        XmlItem root = element("root", new XmlSequence(groups));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        if (queryItems(root).size() != 200) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                Assert.assertTrue(future.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertTrue(root.getDescendantIndex().isValid());
+    }
+
+    private static XmlItem element(String name, BXml... children) {
+        return element(name, new XmlSequence(List.of(children)));
+    }
+
+    private static XmlItem element(String name, XmlSequence children) {
+        return new XmlItem(new QName(name), new XmlSequence(new ArrayList<>(children.getChildrenList())));
+    }
+
+    private static XmlElementIndex buildIndex(XmlItem element) {
+        queryItems(element);
+        queryItems(element);
+        XmlElementIndex index = element.getDescendantIndex();
+        Assert.assertNotNull(index);
+        return index;
+    }
+
+    private static List<BXml> queryItems(XmlItem element) {
+        List<BXml> descendants = new ArrayList<>();
+        element.addDescendantsOrSelf(descendants, ITEM);
+        return descendants;
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.runtime.observability;
+
+import io.ballerina.runtime.observability.metrics.BallerinaMetricsObserver;
+import io.ballerina.runtime.observability.metrics.Counter;
+import io.ballerina.runtime.observability.metrics.Gauge;
+import io.ballerina.runtime.observability.metrics.MetricId;
+import io.ballerina.runtime.observability.metrics.MetricRegistry;
+import io.ballerina.runtime.observability.metrics.StatisticConfig;
+import io.ballerina.runtime.observability.metrics.Tag;
+import io.ballerina.runtime.observability.metrics.noop.NoOpMetricProvider;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.ballerina.runtime.observability.ObservabilityConstants.PROPERTY_KEY_HTTP_STATUS_CODE;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_HTTP_STATUS_CODE_GROUP;
+
+/**
+ * Tests the caching of the metrics updated by the {@link BallerinaMetricsObserver}.
+ *
+ * @since 2.0.0
+ */
+public class BallerinaMetricsObserverTest {
+
+    private static final String REQUESTS_TOTAL = "requests_total";
+
+    private CountingMetricRegistry metricRegistry;
+    private BallerinaMetricsObserver observer;
+
+    @BeforeMethod
+    public void init() {
+        metricRegistry = new CountingMetricRegistry();
+        observer = new BallerinaMetricsObserver(metricRegistry);
+    }
+
+    @Test(description = "Observations with the same tags update the cached metrics")
+    public void testMetricsAreCachedByTags() {
+        observe(Map.of("src.module", "foo", "src.function.name", "bar"), null, null);
+        Assert.assertEquals(metricRegistry.gaugeCount.get(), 2);
+        Assert.assertEquals(metricRegistry.counterCount.get(), 2);
+
+        // Each context builds its own tag set, which must be equal to the cached one
+        for (int i = 0; i < 10; i++) {
+            observe(Map.of("src.function.name", "bar", "src.module", "foo"), null, null);
+        }
+        Assert.assertEquals(metricRegistry.gaugeCount.get(), 2);
+        Assert.assertEquals(metricRegistry.counterCount.get(), 2);
+
+        observe(Map.of("src.module", "foo", "src.function.name", "baz"), null, null);
+        Assert.assertEquals(metricRegistry.gaugeCount.get(), 4);
+        Assert.assertEquals(metricRegistry.counterCount.get(), 4);
+        Assert.assertNotNull(lookupRequestsTotal(Map.of("src.module", "foo", "src.function.name", "bar")));
+        Assert.assertNotNull(lookupRequestsTotal(Map.of("src.module", "foo", "src.function.name", "baz")));
+    }
+
+    @Test(description = "The response metrics are identified by the union of the context and custom metric tags")
+    public void testCustomMetricTags() {
+        observe(Map.of("src.module", "foo"), Map.of("custom", "1"), null);
+        int counterCount = metricRegistry.counterCount.get();
+        Assert.assertNotNull(lookupRequestsTotal(Map.of("src.module", "foo", "custom", "1")));
+        Assert.assertNull(lookupRequestsTotal(Map.of("src.module", "foo")));
+
+        // The same union of tags, built from the context tags alone and with a duplicated custom tag
+        observe(Map.of("src.module", "foo"), Map.of("custom", "1"), null);
+        observe(Map.of("src.module", "foo", "custom", "1"), null, null);
+        observe(Map.of("src.module", "foo", "custom", "1"), Map.of("custom", "1"), null);
+        observe(Map.of("custom", "1"), Map.of("src.module", "foo"), null);
+        Assert.assertEquals(metricRegistry.counterCount.get(), counterCount);
+
+        // A custom tag with another value, and a custom tag with the key of a context tag but another value
+        observe(Map.of("src.module", "foo"), Map.of("custom", "2"), null);
+        Assert.assertEquals(metricRegistry.counterCount.get(), counterCount * 2);
+        observe(Map.of("src.module", "foo"), Map.of("src.module", "bar"), null);
+        Assert.assertEquals(metricRegistry.counterCount.get(), counterCount * 3);
+        Assert.assertNotNull(lookupRequestsTotal(Map.of("src.module", "foo", "custom", "2")));
+        Set<Tag> tags = new HashSet<>();
+        tags.add(Tag.of("src.module", "foo"));
+        tags.add(Tag.of("src.module", "bar"));
+        Assert.assertNotNull(metricRegistry.lookup(new MetricId(REQUESTS_TOTAL, "", tags)));
+    }
+
+    @Test(description = "The response metrics of each status code group are cached separately")
+    public void testStatusCodeGroups() {
+        observe(Map.of("src.module", "foo"), null, 200);
+        observe(Map.of("src.module", "foo"), null, 201);
+        int counterCount = metricRegistry.counterCount.get();
+        observe(Map.of("src.module", "foo"), null, 404);
+        observe(Map.of("src.module", "foo"), null, null);
+        Assert.assertEquals(metricRegistry.counterCount.get(), counterCount * 3);
+
+        Assert.assertNotNull(lookupRequestsTotal(Map.of("src.module", "foo", TAG_KEY_HTTP_STATUS_CODE_GROUP, "2xx")));
+        Assert.assertNotNull(lookupRequestsTotal(Map.of("src.module", "foo", TAG_KEY_HTTP_STATUS_CODE_GROUP, "4xx")));
+        Assert.assertNotNull(lookupRequestsTotal(Map.of("src.module", "foo")));
+    }
+
+    @Test(description = "Metrics removed from the registry are created again by the next observation")
+    public void testRemovedMetricsAreCreatedAgain() {
+        Map<String, String> tags = Map.of("src.module", "foo");
+        observe(tags, null, null);
+        Assert.assertNotNull(lookupRequestsTotal(tags));
+
+        metricRegistry.remove(REQUESTS_TOTAL);
+        Assert.assertNull(lookupRequestsTotal(tags));
+        observe(tags, null, null);
+        Assert.assertNotNull(lookupRequestsTotal(tags));
+    }
+
+    @Test(description = "Metrics removed while being cached concurrently are not kept in the cache")
+    public void testConcurrentRemovals() throws Exception {
+        List<Map<String, String>> tagCombinations = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            tagCombinations.add(Map.of("src.module", "foo", "src.function.name", "function" + i));
+        }
+        int threadCount = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch started = new CountDownLatch(threadCount + 1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                futures.add(executor.submit(() -> {
+                    started.countDown();
+                    for (int i = 0; running.get(); i++) {
+                        observe(tagCombinations.get(i % tagCombinations.size()), null, null);
+                    }
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                started.countDown();
+                for (int i = 0; i < 5000; i++) {
+                    metricRegistry.remove(REQUESTS_TOTAL);
+                    Thread.yield();
+                }
+            }));
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+            futures.get(threadCount).get(30, TimeUnit.SECONDS);
+            running.set(false);
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Once the removals have stopped, each observation must update a metric reported by the registry
+        for (Map<String, String> tags : tagCombinations) {
+            observe(tags, null, null);
+            Assert.assertNotNull(lookupRequestsTotal(tags), tags.toString());
+        }
+    }
+
+    private void observe(Map<String, String> tags, Map<String, String> customMetricTags, Integer statusCode) {
+        ObserverContext observerContext = new ObserverContext();
+        tags.forEach(observerContext::addTag);
+        observerContext.setServer();
+        observerContext.setStarted();
+        observer.startServerObservation(observerContext);
+
+        if (customMetricTags != null) {
+            observerContext.customMetricTags = new HashMap<>();
+            customMetricTags.forEach((key, value) -> observerContext.customMetricTags.put(key, Tag.of(key, value)));
+        }
+        if (statusCode != null) {
+            observerContext.addProperty(PROPERTY_KEY_HTTP_STATUS_CODE, statusCode);
+        }
+        observer.stopServerObservation(observerContext);
+    }
+
+    private Counter lookupRequestsTotal(Map<String, String> tags) {
+        Set<Tag> tagSet = new HashSet<>();
+        tags.forEach((key, value) -> tagSet.add(Tag.of(key, value)));
+        return (Counter) metricRegistry.lookup(new MetricId(REQUESTS_TOTAL, "", Collections.unmodifiableSet(tagSet)));
+    }
+
+    /**
+     * Metric registry, which counts the metrics looked up by the observer.
+     */
+    private static class CountingMetricRegistry extends MetricRegistry {
+
+        private final AtomicInteger gaugeCount = new AtomicInteger();
+        private final AtomicInteger counterCount = new AtomicInteger();
+
+        CountingMetricRegistry() {
+            super(new NoOpMetricProvider());
+        }
+
+        @Override
+        public Counter counter(MetricId id) {
+            counterCount.incrementAndGet();
+            return super.counter(id);
+        }
+
+        @Override
+        public Gauge gauge(MetricId id, StatisticConfig... statisticConfigs) {
+            gaugeCount.incrementAndGet();
+            return super.gauge(id, statisticConfigs);
+        }
+    }
+}
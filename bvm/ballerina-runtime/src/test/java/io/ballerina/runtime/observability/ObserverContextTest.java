@@ -0,0 +1,153 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.runtime.observability;
+
+import io.ballerina.runtime.observability.metrics.Tag;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Set;
+
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_ENTRYPOINT_SERVICE_NAME;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_FUNCTION_NAME;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_MODULE;
+
+/**
+ * Tests the tags of the {@link ObserverContext}, which are stored either in the slots of the well-known keys, or
+ * as custom tags.
+ *
+ * @since 2.0.0
+ */
+public class ObserverContextTest {
+
+    @Test(description = "Tags with well-known keys are stored in their slots, and overwritten by the same key")
+    public void testSlotTags() {
+        ObserverContext context = new ObserverContext();
+        Assert.assertNull(context.getTag(TAG_KEY_SRC_MODULE));
+        Assert.assertTrue(context.getAllTags().isEmpty());
+
+        context.addTag(TAG_KEY_SRC_MODULE, "foo");
+        Assert.assertEquals(context.getTag(TAG_KEY_SRC_MODULE), Tag.of(TAG_KEY_SRC_MODULE, "foo"));
+        Assert.assertSame(context.getTag(ObserverContext.TagSlot.SRC_MODULE), context.getTag(TAG_KEY_SRC_MODULE));
+
+        context.addTag(TAG_KEY_SRC_MODULE, "bar");
+        Assert.assertEquals(context.getTag(TAG_KEY_SRC_MODULE), Tag.of(TAG_KEY_SRC_MODULE, "bar"));
+        Assert.assertEquals(context.getAllTags(), Set.of(Tag.of(TAG_KEY_SRC_MODULE, "bar")));
+
+        // A tag added to its slot directly is overwritten by a tag with the same key, and nil values are kept as ""
+        context.addTag(ObserverContext.TagSlot.SRC_FUNCTION_NAME, Tag.of(TAG_KEY_SRC_FUNCTION_NAME, "main"));
+        context.addTag(TAG_KEY_SRC_FUNCTION_NAME, null);
+        Assert.assertEquals(context.getTag(TAG_KEY_SRC_FUNCTION_NAME), Tag.of(TAG_KEY_SRC_FUNCTION_NAME, ""));
+        Assert.assertEquals(context.getAllTags(), Set.of(Tag.of(TAG_KEY_SRC_MODULE, "bar"),
+                Tag.of(TAG_KEY_SRC_FUNCTION_NAME, "")));
+
+        for (ObserverContext.TagSlot slot : ObserverContext.TagSlot.VALUES) {
+            Assert.assertSame(ObserverContext.TagSlot.of(slot.getKey()), slot);
+        }
+        Assert.assertNull(ObserverContext.TagSlot.of("custom"));
+    }
+
+    @Test(description = "Tags with well-known keys and custom tags are stored side by side")
+    public void testSlotAndCustomTags() {
+        ObserverContext context = new ObserverContext();
+        context.addTag("custom", "a");
+        context.addTag(TAG_KEY_SRC_MODULE, "foo");
+        context.addTag("other", "b");
+        context.addTag(TAG_KEY_ENTRYPOINT_SERVICE_NAME, "service");
+
+        Assert.assertEquals(context.getTag("custom"), Tag.of("custom", "a"));
+        Assert.assertEquals(context.getTag("other"), Tag.of("other", "b"));
+        Assert.assertEquals(context.getTag(TAG_KEY_SRC_MODULE), Tag.of(TAG_KEY_SRC_MODULE, "foo"));
+        Assert.assertEquals(context.getTag(TAG_KEY_ENTRYPOINT_SERVICE_NAME),
+                Tag.of(TAG_KEY_ENTRYPOINT_SERVICE_NAME, "service"));
+        Assert.assertNull(context.getTag("missing"));
+        Assert.assertNull(context.getTag(TAG_KEY_SRC_FUNCTION_NAME));
+
+        context.addTag("custom", "c");
+        context.addTag(TAG_KEY_ENTRYPOINT_SERVICE_NAME, "other service");
+        Assert.assertEquals(context.getTag("custom"), Tag.of("custom", "c"));
+        Assert.assertEquals(context.getTag(TAG_KEY_ENTRYPOINT_SERVICE_NAME),
+                Tag.of(TAG_KEY_ENTRYPOINT_SERVICE_NAME, "other service"));
+    }
+
+    @Test(description = "All the tags contain both the tags with well-known keys and the custom tags")
+    public void testAllTags() {
+        ObserverContext context = new ObserverContext();
+        context.addTag("custom", "a");
+        Assert.assertEquals(context.getAllTags(), Set.of(Tag.of("custom", "a")));
+
+        context.addTag(TAG_KEY_SRC_MODULE, "foo");
+        context.addTag(TAG_KEY_SRC_FUNCTION_NAME, "main");
+        context.addTag("other", "b");
+        context.addTag("custom", "c");
+        context.addTag(TAG_KEY_SRC_MODULE, "bar");
+        Set<Tag> expectedTags = Set.of(Tag.of("custom", "c"), Tag.of("other", "b"),
+                Tag.of(TAG_KEY_SRC_MODULE, "bar"), Tag.of(TAG_KEY_SRC_FUNCTION_NAME, "main"));
+        Assert.assertEquals(context.getAllTags(), expectedTags);
+
+        // A copy is returned on each call
+        Set<Tag> allTags = context.getAllTags();
+        allTags.clear();
+        Assert.assertEquals(context.getAllTags(), expectedTags);
+    }
+
+    @Test(description = "The cached tag set is reused until a tag is added, and rebuilt after any tag change")
+    public void testTagSet() {
+        ObserverContext context = new ObserverContext();
+        Set<Tag> emptyTagSet = context.getTagSet();
+        Assert.assertTrue(emptyTagSet.isEmpty());
+        Assert.assertSame(context.getTagSet(), emptyTagSet);
+
+        context.addTag(TAG_KEY_SRC_MODULE, "foo");
+        Set<Tag> slotTagSet = context.getTagSet();
+        Assert.assertNotSame(slotTagSet, emptyTagSet);
+        Assert.assertEquals(slotTagSet, Set.of(Tag.of(TAG_KEY_SRC_MODULE, "foo")));
+        Assert.assertSame(context.getTagSet(), slotTagSet);
+
+        context.addTag("custom", "a");
+        Set<Tag> customTagSet = context.getTagSet();
+        Assert.assertNotSame(customTagSet, slotTagSet);
+        Assert.assertEquals(customTagSet, Set.of(Tag.of(TAG_KEY_SRC_MODULE, "foo"), Tag.of("custom", "a")));
+
+        context.addTag(TAG_KEY_SRC_MODULE, "bar");
+        Set<Tag> overwrittenSlotTagSet = context.getTagSet();
+        Assert.assertEquals(overwrittenSlotTagSet, Set.of(Tag.of(TAG_KEY_SRC_MODULE, "bar"), Tag.of("custom", "a")));
+        Assert.assertNotEquals(overwrittenSlotTagSet, customTagSet);
+
+        context.addTag("custom", "b");
+        Set<Tag> overwrittenCustomTagSet = context.getTagSet();
+        Assert.assertEquals(overwrittenCustomTagSet, Set.of(Tag.of(TAG_KEY_SRC_MODULE, "bar"), Tag.of("custom", "b")));
+
+        // Overwriting a tag rebuilds the set, even if the value is not changed
+        context.addTag("custom", "b");
+        Assert.assertNotSame(context.getTagSet(), overwrittenCustomTagSet);
+        Assert.assertEquals(context.getTagSet(), overwrittenCustomTagSet);
+        Assert.assertEquals(context.getTagSet().hashCode(), overwrittenCustomTagSet.hashCode());
+
+        context.addTag(ObserverContext.TagSlot.SRC_FUNCTION_NAME, Tag.of(TAG_KEY_SRC_FUNCTION_NAME, "main"));
+        Assert.assertEquals(context.getTagSet(), Set.of(Tag.of(TAG_KEY_SRC_MODULE, "bar"), Tag.of("custom", "b"),
+                Tag.of(TAG_KEY_SRC_FUNCTION_NAME, "main")));
+
+        // The tag set is equal to a set with the same tags, and cannot be modified
+        Set<Tag> tagSet = context.getTagSet();
+        Assert.assertEquals(tagSet, context.getAllTags());
+        Assert.assertEquals(tagSet.hashCode(), context.getAllTags().hashCode());
+        Assert.expectThrows(UnsupportedOperationException.class, () -> tagSet.add(Tag.of("custom", "c")));
+        Assert.expectThrows(UnsupportedOperationException.class, tagSet::clear);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.runtime.observability.tracer;
+
+import io.ballerina.runtime.observability.ObserverContext;
+import io.ballerina.runtime.observability.tracer.TailSamplingBuffer.DeferredSpan;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the traces kept by the {@link TailSamplingBuffer}.
+ *
+ * @since 2.0.0
+ */
+public class TailSamplingBufferTest {
+
+    private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+    private static final long NEVER_SLOW_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private List<DeferredSpan> exportedSpans;
+    private Map<ObserverContext, String> spanIds;
+
+    @BeforeMethod
+    public void init() {
+        exportedSpans = new ArrayList<>();
+        spanIds = new IdentityHashMap<>();
+    }
+
+    @Test(description = "A trace without errors or slow operations is discarded")
+    public void testTraceIsDiscarded() {
+        TailSamplingBuffer buffer = createBuffer(NEVER_SLOW_MILLIS, 10);
+        ObserverContext root = start(buffer, null, "root");
+        ObserverContext child = start(buffer, root, "child");
+        ObserverContext otherChild = start(buffer, root, "otherChild");
+        finish(buffer, child, false);
+        finish(buffer, otherChild, false);
+        Assert.assertEquals(buffer.getBufferedSpanCount(), 2);
+
+        finish(buffer, root, false);
+        Assert.assertEquals(exportedSpans, Collections.emptyList());
+        Assert.assertEquals(buffer.getBufferedSpanCount(), 0);
+    }
+
+    @Test(description = "An error in any operation keeps the whole trace, exported with the propagated span IDs")
+    public void testErrorTraceIsKept() {
+        TailSamplingBuffer buffer = createBuffer(NEVER_SLOW_MILLIS, 10);
+        ObserverContext root = start(buffer, null, "root");
+        ObserverContext child = start(buffer, root, "child");
+        ObserverContext grandChild = start(buffer, child, "grandChild");
+        finish(buffer, grandChild, false);
+        finish(buffer, child, true);
+        Assert.assertEquals(exportedSpans, Collections.emptyList());
+
+        finish(buffer, root, false);
+        assertExported("root", "child", "grandChild");
+        assertSpan("root", spanId(root), null);
+        assertSpan("child", spanId(child), spanId(root));
+        assertSpan("grandChild", spanId(grandChild), spanId(child));
+        Assert.assertEquals(getExportedSpan("child").tags, Map.of("operation", "child"));
+        Assert.assertEquals(buffer.getBufferedSpanCount(), 0);
+    }
+
+    @Test(description = "An operation slower than the latency threshold keeps the whole trace")
+    public void testSlowTraceIsKept() {
+        TailSamplingBuffer buffer = createBuffer(0, 10);
+        ObserverContext root = start(buffer, null, "root");
+        ObserverContext child = start(buffer, root, "child");
+        finish(buffer, child, false);
+        finish(buffer, root, false);
+        assertExported("root", "child");
+    }
+
+    @Test(description = "The operations which do not fit in the buffer are not kept")
+    public void testBufferCapacity() {
+        TailSamplingBuffer buffer = createBuffer(NEVER_SLOW_MILLIS, 2);
+        ObserverContext root = start(buffer, null, "root");
+        List<ObserverContext> children = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            children.add(start(buffer, root, "child" + i));
+        }
+        for (int i = 0; i < 4; i++) {
+            finish(buffer, children.get(i), i == 3);
+            Assert.assertEquals(buffer.getBufferedSpanCount(), Math.min(i + 1, 2));
+        }
+
+        // The error of the last child keeps the trace, although the child itself did not fit in the buffer
+        finish(buffer, root, false);
+        assertExported("root", "child0", "child1");
+        Assert.assertEquals(buffer.getBufferedSpanCount(), 0);
+    }
+
+    @Test(description = "The capacity of the buffer is shared by the traces, and freed when a trace finishes")
+    public void testBufferCapacitySharedByTraces() {
+        TailSamplingBuffer buffer = createBuffer(NEVER_SLOW_MILLIS, 2);
+        ObserverContext root = start(buffer, null, "root");
+        finish(buffer, start(buffer, root, "child0"), false);
+        finish(buffer, start(buffer, root, "child1"), false);
+
+        ObserverContext otherRoot = start(buffer, null, "otherRoot");
+        finish(buffer, start(buffer, otherRoot, "otherChild"), true);
+        finish(buffer, otherRoot, false);
+        assertExported("otherRoot");
+        Assert.assertEquals(buffer.getBufferedSpanCount(), 2);
+
+        finish(buffer, root, false);
+        Assert.assertEquals(buffer.getBufferedSpanCount(), 0);
+
+        exportedSpans.clear();
+        ObserverContext lastRoot = start(buffer, null, "lastRoot");
+        finish(buffer, start(buffer, lastRoot, "lastChild"), true);
+        finish(buffer, lastRoot, false);
+        assertExported("lastRoot", "lastChild");
+    }
+
+    @Test(description = "A span whose parent is in flight refers to the span ID the parent is exported with")
+    public void testParentInFlight() {
+        TailSamplingBuffer buffer = createBuffer(NEVER_SLOW_MILLIS, 10);
+        ObserverContext root = start(buffer, null, "root");
+        ObserverContext asyncChild = start(buffer, root, "asyncChild");
+        ObserverContext grandChild = start(buffer, asyncChild, "grandChild");
+        finish(buffer, grandChild, true);
+        finish(buffer, root, false);
+        assertExported("root", "grandChild");
+        assertSpan("grandChild", spanId(grandChild), spanId(asyncChild));
+
+        // The asynchronous operation which outlived the root is exported once it finishes
+        finish(buffer, asyncChild, false);
+        assertExported("root", "grandChild", "asyncChild");
+        assertSpan("asyncChild", spanId(asyncChild), spanId(root));
+        Assert.assertEquals(buffer.getBufferedSpanCount(), 0);
+    }
+
+    @Test(description = "An operation which fails after the root finished is exported along with its finished parent")
+    public void testOperationOutlivingRoot() {
+        TailSamplingBuffer buffer = createBuffer(NEVER_SLOW_MILLIS, 10);
+        ObserverContext root = start(buffer, null, "root");
+        ObserverContext asyncChild = start(buffer, root, "asyncChild");
+        ObserverContext otherAsyncChild = start(buffer, root, "otherAsyncChild");
+        finish(buffer, root, false);
+        finish(buffer, asyncChild, false);
+        Assert.assertEquals(exportedSpans, Collections.emptyList());
+
+        finish(buffer, otherAsyncChild, true);
+        assertExported("root", "otherAsyncChild");
+        assertSpan("otherAsyncChild", spanId(otherAsyncChild), spanId(root));
+        Assert.assertEquals(buffer.getBufferedSpanCount(), 0);
+    }
+
+    @Test(description = "A context started while the observations were switched off is skipped by its children")
+    public void testUnobservedParent() {
+        TailSamplingBuffer buffer = createBuffer(NEVER_SLOW_MILLIS, 10);
+        ObserverContext root = start(buffer, null, "root");
+        ObserverContext unobservedContext = new ObserverContext();
+        unobservedContext.setParent(root);
+        ObserverContext child = start(buffer, unobservedContext, "child");
+        finish(buffer, child, true);
+        finish(buffer, root, false);
+        assertExported("root", "child");
+        assertSpan("child", spanId(child), spanId(root));
+        Assert.assertEquals(buffer.getBufferedSpanCount(), 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNegativeCapacity() {
+        createBuffer(NEVER_SLOW_MILLIS, -1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNegativeLatencyThreshold() {
+        createBuffer(-1, 10);
+    }
+
+    private TailSamplingBuffer createBuffer(long latencyThresholdMillis, int capacity) {
+        return new TailSamplingBuffer(latencyThresholdMillis, capacity, exportedSpans::add);
+    }
+
+    private ObserverContext start(TailSamplingBuffer buffer, ObserverContext parent, String operationName) {
+        ObserverContext observerContext = new ObserverContext();
+        observerContext.setServiceName("service");
+        observerContext.setOperationName(operationName);
+        observerContext.setParent(parent);
+        observerContext.setSampled(false);
+        String spanId = String.format("%016x", spanIds.size() + 1);
+        spanIds.put(observerContext, spanId);
+        buffer.startOperation(observerContext, TRACE_ID, spanId, false);
+        return observerContext;
+    }
+
+    private static void finish(TailSamplingBuffer buffer, ObserverContext observerContext, boolean isError) {
+        buffer.finishOperation(observerContext, Map.of("operation", observerContext.getOperationName()), isError);
+    }
+
+    private String spanId(ObserverContext observerContext) {
+        return spanIds.get(observerContext);
+    }
+
+    private void assertExported(String... operationNames) {
+        List<String> exportedOperations = new ArrayList<>();
+        for (DeferredSpan span : exportedSpans) {
+            exportedOperations.add(span.operationName);
+        }
+        Collections.sort(exportedOperations);
+        List<String> expectedOperations = new ArrayList<>(Arrays.asList(operationNames));
+        Collections.sort(expectedOperations);
+        Assert.assertEquals(exportedOperations, expectedOperations);
+    }
+
+    private void assertSpan(String operationName, String spanId, String parentSpanId) {
+        DeferredSpan span = getExportedSpan(operationName);
+        Assert.assertEquals(span.traceId, TRACE_ID);
+        Assert.assertEquals(span.spanId, spanId);
+        Assert.assertEquals(span.parent != null ? span.parent.spanId : null, parentSpanId);
+    }
+
+    private DeferredSpan getExportedSpan(String operationName) {
+        for (DeferredSpan span : exportedSpans) {
+            if (span.operationName.equals(operationName)) {
+                return span;
+            }
+        }
+        throw new AssertionError("span not exported: " + operationName);
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.runtime.observability.tracer;
+
+import io.ballerina.runtime.observability.ObserverContext;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests the sampling decisions of the {@link TraceSampler}s and of the traces continued from a parent.
+ *
+ * @since 2.0.0
+ */
+public class TraceSamplerTest {
+
+    @Test(description = "The rate limiting sampler samples the traces of the tokens accumulated in at most a second")
+    public void testRateLimitingSampler() {
+        // System.nanoTime() may be negative
+        AtomicLong clock = new AtomicLong(-TimeUnit.SECONDS.toNanos(5));
+        TraceSampler sampler = new TraceSampler.RateLimitingSampler(10, clock::get);
+
+        // The bucket starts full
+        Assert.assertEquals(countSampled(sampler, 20), 10);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(99));
+        Assert.assertFalse(sampler.sample());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        Assert.assertTrue(sampler.sample());
+        Assert.assertFalse(sampler.sample());
+
+        // Tokens do not accumulate beyond a second while no trace is sampled
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        Assert.assertEquals(countSampled(sampler, 20), 10);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(350));
+        Assert.assertEquals(countSampled(sampler, 20), 3);
+    }
+
+    @Test(description = "The rate limiting sampler holds a token when less than a trace is sampled per second")
+    public void testSlowRateLimitingSampler() {
+        AtomicLong clock = new AtomicLong();
+        TraceSampler sampler = new TraceSampler.RateLimitingSampler(0.5, clock::get);
+
+        Assert.assertEquals(countSampled(sampler, 5), 1);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        Assert.assertFalse(sampler.sample());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        Assert.assertEquals(countSampled(sampler, 5), 1);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        Assert.assertEquals(countSampled(sampler, 5), 1);
+    }
+
+    @Test(description = "The rate limiting sampler does not sample any trace without a positive rate")
+    public void testRateLimitingSamplerWithoutRate() {
+        AtomicLong clock = new AtomicLong();
+        TraceSampler sampler = new TraceSampler.RateLimitingSampler(0, clock::get);
+        TraceSampler negativeRateSampler = new TraceSampler.RateLimitingSampler(-1, clock::get);
+        for (int i = 0; i < 10; i++) {
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+            Assert.assertFalse(sampler.sample());
+            Assert.assertFalse(negativeRateSampler.sample());
+        }
+    }
+
+    @Test(description = "The ratio sampler samples the given ratio of the traces")
+    public void testRatioSampler() {
+        int traceCount = 100_000;
+        int sampledCount = countSampled(TraceSampler.create(TraceSampler.SAMPLER_TYPE_RATIO, 0.25), traceCount);
+        Assert.assertEquals((double) sampledCount / traceCount, 0.25, 0.01);
+
+        Assert.assertEquals(countSampled(TraceSampler.create(TraceSampler.SAMPLER_TYPE_RATIO, 0), traceCount), 0);
+        Assert.assertEquals(countSampled(TraceSampler.create(TraceSampler.SAMPLER_TYPE_RATIO, 1.0), traceCount),
+                traceCount);
+        Assert.assertEquals(countSampled(TraceSampler.create(TraceSampler.SAMPLER_TYPE_RATIO, 2.0), traceCount),
+                traceCount);
+    }
+
+    @Test(description = "A trace continued from a parent context follows the sampling decision of the parent")
+    public void testTraceFollowsParent() {
+        TracersStore tracersStore = TracersStore.getInstance();
+        TraceSampler traceSampler = tracersStore.getTraceSampler();
+        TailSamplingBuffer tailSamplingBuffer = tracersStore.getTailSamplingBuffer();
+        AtomicInteger sampleCount = new AtomicInteger();
+        AtomicInteger decision = new AtomicInteger();
+        tracersStore.setSampling(new TraceSampler() {
+            @Override
+            public boolean sample() {
+                sampleCount.incrementAndGet();
+                return decision.get() != 0;
+            }
+        }, null);
+        try {
+            ObserverContext sampledParent = startedContext(true);
+            ObserverContext unsampledParent = startedContext(false);
+
+            decision.set(0);
+            Assert.assertTrue(TracingUtils.isSampled(childOf(sampledParent)));
+            decision.set(1);
+            Assert.assertFalse(TracingUtils.isSampled(childOf(unsampledParent)));
+            Assert.assertEquals(sampleCount.get(), 0);
+
+            // The sampler decides for a new trace
+            Assert.assertTrue(TracingUtils.isSampled(new ObserverContext()));
+            decision.set(0);
+            Assert.assertFalse(TracingUtils.isSampled(new ObserverContext()));
+            Assert.assertEquals(sampleCount.get(), 2);
+        } finally {
+            tracersStore.setSampling(traceSampler, tailSamplingBuffer);
+        }
+    }
+
+    @Test(description = "A context started while the observations were switched off is skipped by its children")
+    public void testTraceSkipsUnobservedParent() {
+        TracersStore tracersStore = TracersStore.getInstance();
+        TraceSampler traceSampler = tracersStore.getTraceSampler();
+        TailSamplingBuffer tailSamplingBuffer = tracersStore.getTailSamplingBuffer();
+        tracersStore.setSampling(TraceSampler.create(TraceSampler.SAMPLER_TYPE_RATIO, 0), null);
+        try {
+            // The unobserved context has no span, and the sampled flag it was created with
+            ObserverContext sampledRoot = startedContext(true);
+            ObserverContext unobservedContext = childOf(sampledRoot);
+            ObserverContext child = childOf(childOf(unobservedContext));
+            Assert.assertSame(TracingUtils.getTracedParent(child), sampledRoot);
+            Assert.assertTrue(TracingUtils.isSampled(child));
+
+            ObserverContext unsampledRoot = startedContext(false);
+            unobservedContext = childOf(unsampledRoot);
+            child = childOf(unobservedContext);
+            Assert.assertSame(TracingUtils.getTracedParent(child), unsampledRoot);
+            child.setSampled(TracingUtils.isSampled(child));
+            Assert.assertFalse(child.isSampled());
+            TracingUtils.startObservation(child, false);
+            Assert.assertEquals(child.getSpan().getTraceId(), unsampledRoot.getSpan().getTraceId());
+
+            Assert.assertNull(TracingUtils.getTracedParent(childOf(new ObserverContext())));
+        } finally {
+            tracersStore.setSampling(traceSampler, tailSamplingBuffer);
+        }
+    }
+
+    private static ObserverContext startedContext(boolean isSampled) {
+        ObserverContext observerContext = new ObserverContext();
+        observerContext.setSampled(isSampled);
+        observerContext.setSpan(BSpan.startUnsampled(null, null));
+        return observerContext;
+    }
+
+    private static ObserverContext childOf(ObserverContext parent) {
+        ObserverContext observerContext = new ObserverContext();
+        observerContext.setParent(parent);
+        return observerContext;
+    }
+
+    private static int countSampled(TraceSampler sampler, int traceCount) {
+        int sampledCount = 0;
+        for (int i = 0; i < traceCount; i++) {
+            if (sampler.sample()) {
+                sampledCount++;
+            }
+        }
+        return sampledCount;
+    }
+}
@@ -19,6 +19,7 @@ package io.ballerina.cli.cmd;
 
 import io.ballerina.cli.BLauncherCmd;
 import io.ballerina.cli.TaskExecutor;
+import io.ballerina.cli.daemon.BuildDaemonClient;
 import io.ballerina.cli.task.CleanTargetDirTask;
 import io.ballerina.cli.task.CompileTask;
 import io.ballerina.cli.task.CreateBalaTask;
@@ -33,9 +34,11 @@ import io.ballerina.projects.BuildOptionsBuilder;
 import io.ballerina.projects.Module;
 import io.ballerina.projects.ModuleId;
 import io.ballerina.projects.Project;
+import io.ballerina.projects.ProjectEnvironmentBuilder;
 import io.ballerina.projects.ProjectException;
 import io.ballerina.projects.directory.BuildProject;
 import io.ballerina.projects.directory.SingleFileProject;
+import io.ballerina.projects.environment.Environment;
 import io.ballerina.projects.util.ProjectConstants;
 import org.ballerinalang.toml.exceptions.SettingsTomlException;
 import picocli.CommandLine;
@@ -43,6 +46,9 @@ import picocli.CommandLine;
 import java.io.PrintStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
 
 import static io.ballerina.cli.cmd.Constants.BUILD_COMMAND;
 import static io.ballerina.cli.utils.CentralUtils.readSettings;
@@ -62,6 +68,8 @@ public class BuildCommand implements BLauncherCmd {
     private final PrintStream errStream;
     private boolean exitWhenFinish;
     private boolean skipCopyLibsFromDist;
+    private Environment environment;
+    private int exitCode;
 
     public BuildCommand() {
         this.projectPath = Paths.get(System.getProperty(ProjectConstants.USER_DIR));
@@ -112,6 +120,14 @@ public class BuildCommand implements BLauncherCmd {
         this.coverageFormat = coverageFormat;
     }
 
+    public BuildCommand(PrintStream outStream, PrintStream errStream, Environment environment) {
+        this.projectPath = Paths.get(System.getProperty(ProjectConstants.USER_DIR));
+        this.outStream = outStream;
+        this.errStream = errStream;
+        this.exitWhenFinish = false;
+        this.environment = environment;
+    }
+
     public BuildCommand(Path projectPath, PrintStream outStream, PrintStream errStream, boolean exitWhenFinish,
                         boolean skipCopyLibsFromDist, String output) {
         this.projectPath = projectPath;
@@ -172,6 +188,10 @@ public class BuildCommand implements BLauncherCmd {
             "JAR file(s).")
     private Boolean observabilityIncluded;
 
+    @CommandLine.Option(names = "--observability-instrumentation", description = "functions of the package and " +
+            "its dependencies which are instrumented for observability")
+    private String observabilityInstrumentation;
+
     @CommandLine.Option(names = "--cloud", description = "Enable cloud artifact generation")
     private String cloud;
 
@@ -186,6 +206,19 @@ public class BuildCommand implements BLauncherCmd {
     @CommandLine.Option(names = "--dump-build-time", description = "calculate and dump build time")
     private Boolean dumpBuildTime;
 
+    @CommandLine.Option(names = "--optimization-level", description = "level of the optimizations applied to the " +
+            "generated code")
+    private Integer optimizationLevel;
+
+    private static final int MAX_OPTIMIZATION_LEVEL = 1;
+
+    @CommandLine.Option(names = "--daemon", description = "build the package using the running build daemon")
+    private boolean daemon;
+
+    @CommandLine.Option(names = "--layered", description = "generate the executable as an application JAR and a " +
+            "separate layer of dependency JARs")
+    private boolean layered;
+
     public void execute() {
         long start = 0;
         if (this.helpFlag) {
@@ -194,6 +227,33 @@ public class BuildCommand implements BLauncherCmd {
             return;
         }
 
+        if (this.optimizationLevel != null &&
+                (this.optimizationLevel < 0 || this.optimizationLevel > MAX_OPTIMIZATION_LEVEL)) {
+            CommandUtil.printError(this.errStream,
+                    "invalid optimization level '" + this.optimizationLevel + "'. supported levels are 0 to " +
+                            MAX_OPTIMIZATION_LEVEL + ".",
+                    "bal build --optimization-level=<level> [<ballerina-file | package-path>]",
+                    false);
+            exitError();
+            return;
+        }
+
+        if (this.daemon) {
+            if (FileUtils.hasExtension(this.projectPath)) {
+                this.outStream.println("warning: ignoring --daemon flag since single bal files are built in-process");
+            } else {
+                OptionalInt daemonExitCode = BuildDaemonClient.build(getDaemonArgs(), this.outStream, this.errStream);
+                if (daemonExitCode.isPresent()) {
+                    this.exitCode = daemonExitCode.getAsInt();
+                    if (this.exitWhenFinish) {
+                        Runtime.getRuntime().exit(this.exitCode);
+                    }
+                    return;
+                }
+                this.outStream.println("warning: build daemon is not running. building in-process...");
+            }
+        }
+
         // load project
         Project project;
 
@@ -213,7 +273,7 @@ public class BuildCommand implements BLauncherCmd {
             if (this.compile) {
                 CommandUtil.printError(this.errStream,
                         "'-c' or '--compile' can only be used with a Ballerina package.", null, false);
-                CommandUtil.exitError(this.exitWhenFinish);
+                exitError();
                 return;
             }
             try {
@@ -221,13 +281,16 @@ public class BuildCommand implements BLauncherCmd {
                     start = System.currentTimeMillis();
                     BuildTime.getInstance().timestamp = start;
                 }
-                project = SingleFileProject.load(this.projectPath, buildOptions);
+                project = this.environment != null ?
+                        SingleFileProject.load(ProjectEnvironmentBuilder.getBuilder(this.environment),
+                                this.projectPath, buildOptions) :
+                        SingleFileProject.load(this.projectPath, buildOptions);
                 if (buildOptions.dumpBuildTime()) {
                     BuildTime.getInstance().projectLoadDuration = System.currentTimeMillis() - start;
                 }
             } catch (ProjectException e) {
                 CommandUtil.printError(this.errStream, e.getMessage(), null, false);
-                CommandUtil.exitError(this.exitWhenFinish);
+                exitError();
                 return;
             }
             isSingleFileBuild = true;
@@ -239,7 +302,7 @@ public class BuildCommand implements BLauncherCmd {
                                 "file.",
                         "bal build -o <output-file> <ballerina-file> ",
                         true);
-                CommandUtil.exitError(this.exitWhenFinish);
+                exitError();
                 return;
             }
             try {
@@ -247,13 +310,16 @@ public class BuildCommand implements BLauncherCmd {
                     start = System.currentTimeMillis();
                     BuildTime.getInstance().timestamp = start;
                 }
-                project = BuildProject.load(this.projectPath, buildOptions);
+                project = this.environment != null ?
+                        BuildProject.load(ProjectEnvironmentBuilder.getBuilder(this.environment),
+                                this.projectPath, buildOptions) :
+                        BuildProject.load(this.projectPath, buildOptions);
                 if (buildOptions.dumpBuildTime()) {
                     BuildTime.getInstance().projectLoadDuration = System.currentTimeMillis() - start;
                 }
             } catch (ProjectException e) {
                 CommandUtil.printError(this.errStream, e.getMessage(), null, false);
-                CommandUtil.exitError(this.exitWhenFinish);
+                exitError();
                 return;
             }
         }
@@ -262,7 +328,7 @@ public class BuildCommand implements BLauncherCmd {
             if (isProjectEmpty(project)) {
                 CommandUtil.printError(this.errStream, "package is empty. please add at least one .bal file.", null,
                         false);
-                CommandUtil.exitError(this.exitWhenFinish);
+                exitError();
                 return;
             }
         }
@@ -273,7 +339,7 @@ public class BuildCommand implements BLauncherCmd {
                     "'package' information not found in " + ProjectConstants.BALLERINA_TOML,
                     null,
                     true);
-            CommandUtil.exitError(this.exitWhenFinish);
+            exitError();
             return;
 
         }
@@ -288,7 +354,7 @@ public class BuildCommand implements BLauncherCmd {
                     String errMsg = "unsupported coverage report format '" + coverageFormat + "' found. Only '" +
                             JACOCO_XML_FORMAT + "' format is supported.";
                     CommandUtil.printError(this.errStream, errMsg, null, false);
-                    CommandUtil.exitError(this.exitWhenFinish);
+                    exitError();
                     return;
                 }
             }
@@ -324,7 +390,7 @@ public class BuildCommand implements BLauncherCmd {
                 // create the BALA if -c provided (build projects only)
                 .addTask(new CreateBalaTask(outStream), isSingleFileBuild || !this.compile)
                 // create the executable jar, skip if -c flag is provided
-                .addTask(new CreateExecutableTask(outStream, this.output), this.compile)
+                .addTask(new CreateExecutableTask(outStream, this.output, this.layered), this.compile)
                 .addTask(new DumpBuildTimeTask(outStream), !project.buildOptions().dumpBuildTime())
                 .build();
 
@@ -334,6 +400,64 @@ public class BuildCommand implements BLauncherCmd {
         }
     }
 
+    /**
+     * Returns the exit code of the last execution of the command. This is used when the command is executed without
+     * exiting the JVM, e.g. by the build daemon.
+     *
+     * @return exit code of the build
+     */
+    public int exitCode() {
+        return this.exitCode;
+    }
+
+    private void exitError() {
+        this.exitCode = 1;
+        CommandUtil.exitError(this.exitWhenFinish);
+    }
+
+    private List<String> getDaemonArgs() {
+        List<String> args = new ArrayList<>();
+        addDaemonArg(args, "--compile", this.compile);
+        addDaemonArg(args, "--offline", this.offline);
+        addDaemonArg(args, "--skip-tests", this.skipTests);
+        addDaemonArg(args, "--dump-bir", this.dumpBIR);
+        addDaemonArg(args, "--dump-bir-file", this.dumpBIRFile);
+        addDaemonArg(args, "--experimental", this.experimentalFlag);
+        addDaemonArg(args, "--debug", this.debugPort);
+        addDaemonArg(args, "--test-report", this.testReport);
+        addDaemonArg(args, "--code-coverage", this.coverage);
+        addDaemonArg(args, "--coverage-format", this.coverageFormat);
+        addDaemonArg(args, "--observability-included", this.observabilityIncluded);
+        addDaemonArg(args, "--observability-instrumentation", this.observabilityInstrumentation);
+        addDaemonArg(args, "--cloud", this.cloud);
+        addDaemonArg(args, "--includes", this.includes);
+        addDaemonArg(args, "--list-conflicted-classes", this.listConflictedClasses);
+        addDaemonArg(args, "--dump-build-time", this.dumpBuildTime);
+        addDaemonArg(args, "--optimization-level", this.optimizationLevel);
+        addDaemonArg(args, "--layered", this.layered);
+        // The daemon does not share the working directory of the client.
+        args.add(this.projectPath.toAbsolutePath().normalize().toString());
+        return args;
+    }
+
+    private static void addDaemonArg(List<String> args, String option, Boolean value) {
+        if (value != null && value) {
+            args.add(option);
+        }
+    }
+
+    private static void addDaemonArg(List<String> args, String option, String value) {
+        if (value != null) {
+            args.add(option + "=" + value);
+        }
+    }
+
+    private static void addDaemonArg(List<String> args, String option, Integer value) {
+        if (value != null) {
+            args.add(option + "=" + value);
+        }
+    }
+
     private boolean isProjectEmpty(Project project) {
         for (ModuleId moduleId : project.currentPackage().moduleIds()) {
             Module module = project.currentPackage().module(moduleId);
@@ -357,6 +481,8 @@ public class BuildCommand implements BLauncherCmd {
                 .dumpBirFile(dumpBIRFile)
                 .listConflictedClasses(listConflictedClasses)
                 .dumpBuildTime(dumpBuildTime)
+                .optimizationLevel(optimizationLevel)
+                .observabilityInstrumentation(observabilityInstrumentation)
                 .build();
     }
 
@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.cli.cmd;
+
+import io.ballerina.cli.BLauncherCmd;
+import io.ballerina.cli.daemon.BuildDaemon;
+import io.ballerina.cli.daemon.BuildDaemonClient;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.io.PrintStream;
+
+import static io.ballerina.cli.cmd.Constants.DAEMON_COMMAND;
+
+/**
+ * This class represents the "bal daemon" command, which starts or stops the build daemon.
+ *
+ * @since 2.0.0
+ */
+@CommandLine.Command(name = DAEMON_COMMAND, description = "Start a build daemon that keeps the compiler warm " +
+                                                          "across builds.")
+public class DaemonCommand implements BLauncherCmd {
+    private final PrintStream outStream;
+
+    @CommandLine.Option(names = {"--help", "-h"}, hidden = true)
+    private boolean helpFlag;
+
+    @CommandLine.Option(names = "--port", description = "Port to listen for build requests. A free port is used " +
+                                                        "if not provided.")
+    private int port;
+
+    @CommandLine.Option(names = "--stop", description = "Stop the running build daemon.")
+    private boolean stop;
+
+    public DaemonCommand() {
+        this.outStream = System.out;
+    }
+
+    public DaemonCommand(PrintStream outStream) {
+        this.outStream = outStream;
+    }
+
+    @Override
+    public void execute() {
+        if (this.helpFlag) {
+            String commandUsageInfo = BLauncherCmd.getCommandUsageInfo(DAEMON_COMMAND);
+            this.outStream.println(commandUsageInfo);
+            return;
+        }
+
+        if (this.stop) {
+            if (!BuildDaemonClient.stop(this.outStream)) {
+                this.outStream.println("build daemon is not running");
+            }
+            return;
+        }
+
+        try {
+            new BuildDaemon(this.port, this.outStream).start();
+        } catch (IOException e) {
+            CommandUtil.printError(this.outStream, "failed to start the build daemon: " + e.getMessage(), null,
+                    false);
+            CommandUtil.exitError(true);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return DAEMON_COMMAND;
+    }
+
+    @Override
+    public void printLongDesc(StringBuilder out) {
+        out.append("Start a build daemon that serves 'bal build --daemon' requests. \n");
+    }
+
+    @Override
+    public void printUsage(StringBuilder out) {
+        out.append(" bal daemon [--port <port>] [--stop] \n");
+    }
+
+    @Override
+    public void setParentCmdParser(CommandLine parentCmdParser) {
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.cli.daemon;
+
+import io.ballerina.cli.cmd.BuildCommand;
+import io.ballerina.cli.launcher.BLauncherException;
+import io.ballerina.projects.environment.Environment;
+import io.ballerina.projects.environment.EnvironmentBuilder;
+import io.ballerina.projects.util.ProjectUtils;
+import picocli.CommandLine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * A long-lived build server that keeps the compiler warm across builds of Ballerina packages.
+ * <p>
+ * The daemon holds a single {@code Environment}, and hence the lang library symbols, the resolved dependency
+ * packages and the JIT-compiled compiler, across build requests. Requests are accepted through a loopback socket
+ * and are served one at a time, since the compiler context of the environment is not thread safe. Each build loads
+ * the package into its own {@code ProjectEnvironment}, so the per-build state such as the compilation cache and the
+ * project package cache is not shared between builds.
+ * <p>
+ * Since a build runs compiler plugins with the permissions of the user who started the daemon, every request must
+ * carry a random token generated when the daemon starts. The port and the token are written to a port file which is
+ * readable only by the owner, and requests which do not carry the token are rejected without being served.
+ * <p>
+ * A request consists of the token, the request kind and the arguments of the {@code bal build} command. The response
+ * is a sequence of frames carrying the standard output and standard error of the build, followed by a frame with
+ * the exit code.
+ *
+ * @since 2.0.0
+ */
+public class BuildDaemon {
+    static final String PORT_FILE_NAME = "build-daemon.port";
+    static final String BUILD_REQUEST = "build";
+    static final String STOP_REQUEST = "stop";
+    static final byte OUT_FRAME = 1;
+    static final byte ERR_FRAME = 2;
+    static final byte EXIT_FRAME = 3;
+
+    // The shared environment is recreated after this many builds, to release the compiler state held for packages
+    // which are no longer being built.
+    private static final int ENVIRONMENT_REUSE_LIMIT = 50;
+    // A client must send its request within this time, so that an idle connection cannot block the daemon.
+    private static final int REQUEST_READ_TIMEOUT = 10000;
+    private static final int TOKEN_LENGTH = 32;
+
+    private final int port;
+    private final PrintStream outStream;
+    private final Path portFilePath;
+    private final Builder builder;
+    private final boolean warmUp;
+    private Environment environment;
+    private int buildCount;
+    private byte[] token;
+
+    public BuildDaemon(int port, PrintStream outStream) {
+        this(port, outStream, getPortFilePath(), null);
+    }
+
+    BuildDaemon(int port, PrintStream outStream, Path portFilePath, Builder builder) {
+        this.port = port;
+        this.outStream = outStream;
+        this.portFilePath = portFilePath;
+        this.warmUp = builder == null;
+        this.builder = builder != null ? builder : this::buildPackage;
+    }
+
+    /**
+     * Starts listening for build requests and blocks until a stop request is received.
+     *
+     * @throws IOException if the daemon socket cannot be opened
+     */
+    public void start() throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(this.port, 0, InetAddress.getLoopbackAddress())) {
+            this.token = generateToken();
+            writePortFile(this.portFilePath, serverSocket.getLocalPort(), this.token);
+            this.outStream.println("build daemon is listening on port " + serverSocket.getLocalPort());
+
+            if (this.warmUp) {
+                // Load the lang libs upfront, so that the first build does not pay for it.
+                this.environment = EnvironmentBuilder.buildDefault();
+            }
+            try {
+                boolean running = true;
+                while (running) {
+                    try (Socket socket = serverSocket.accept()) {
+                        running = serve(socket);
+                    } catch (IOException e) {
+                        this.outStream.println("warning: failed to serve the build request: " + e.getMessage());
+                    }
+                }
+            } finally {
+                Files.deleteIfExists(this.portFilePath);
+            }
+        }
+    }
+
+    static Path getPortFilePath() {
+        return ProjectUtils.createAndGetHomeReposPath().resolve(PORT_FILE_NAME);
+    }
+
+    private static byte[] generateToken() {
+        byte[] randomBytes = new byte[TOKEN_LENGTH];
+        new SecureRandom().nextBytes(randomBytes);
+        return Base64.getUrlEncoder().withoutPadding().encode(randomBytes);
+    }
+
+    /**
+     * Writes the port and the token of the daemon to the port file. The file is created with owner only permissions
+     * before the token is written to it, so that the token is never readable by other users.
+     */
+    private static void writePortFile(Path portFilePath, int port, byte[] token) throws IOException {
+        Files.createDirectories(portFilePath.getParent());
+        Files.deleteIfExists(portFilePath);
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(portFilePath, PosixFilePermissions.asFileAttribute(
+                    PosixFilePermissions.fromString("rw-------")));
+        } else {
+            File portFile = Files.createFile(portFilePath).toFile();
+            if (!(portFile.setReadable(false, false) && portFile.setReadable(true, true) &&
+                    portFile.setWritable(false, false) && portFile.setWritable(true, true))) {
+                Files.deleteIfExists(portFilePath);
+                throw new IOException("unable to restrict the permissions of " + portFilePath);
+            }
+        }
+        Files.writeString(portFilePath, port + "\n" + new String(token, StandardCharsets.US_ASCII));
+    }
+
+    private boolean serve(Socket socket) throws IOException {
+        socket.setSoTimeout(REQUEST_READ_TIMEOUT);
+        DataInputStream inputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+        byte[] requestToken = inputStream.readUTF().getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(requestToken, this.token)) {
+            // Do not read the rest of the request, since it comes from an unknown client.
+            this.outStream.println("warning: rejected a build daemon request with an invalid token");
+            byte[] message = "error: invalid build daemon token\n".getBytes(StandardCharsets.UTF_8);
+            outputStream.writeByte(ERR_FRAME);
+            outputStream.writeInt(message.length);
+            outputStream.write(message);
+            writeExitFrame(outputStream, 1);
+            return true;
+        }
+
+        String request = inputStream.readUTF();
+        String[] args = new String[inputStream.readInt()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = inputStream.readUTF();
+        }
+
+        if (STOP_REQUEST.equals(request)) {
+            writeExitFrame(outputStream, 0);
+            return false;
+        }
+
+        // A build may take longer than the request timeout to write its next frame, but never reads from the client.
+        socket.setSoTimeout(0);
+        int exitCode;
+        try (PrintStream buildOut = new PrintStream(new FrameOutputStream(outputStream, OUT_FRAME), true,
+                StandardCharsets.UTF_8);
+             PrintStream buildErr = new PrintStream(new FrameOutputStream(outputStream, ERR_FRAME), true,
+                     StandardCharsets.UTF_8)) {
+            exitCode = this.builder.build(args, buildOut, buildErr);
+        }
+        writeExitFrame(outputStream, exitCode);
+        return true;
+    }
+
+    private int buildPackage(String[] args, PrintStream buildOut, PrintStream buildErr) {
+        if (this.environment == null || this.buildCount >= ENVIRONMENT_REUSE_LIMIT) {
+            this.environment = EnvironmentBuilder.buildDefault();
+            this.buildCount = 0;
+        }
+        this.buildCount++;
+
+        BuildCommand buildCommand = new BuildCommand(buildOut, buildErr, this.environment);
+        try {
+            new CommandLine(buildCommand).parseArgs(args);
+            buildCommand.execute();
+            return buildCommand.exitCode();
+        } catch (CommandLine.ParameterException e) {
+            buildErr.println("ballerina: " + e.getMessage());
+            return 1;
+        } catch (BLauncherException e) {
+            e.getMessages().forEach(buildErr::println);
+            return 1;
+        } catch (Throwable e) {
+            // The daemon must survive a failing build. Since the state of the compiler context is unknown at this
+            // point, the next build starts with a fresh environment.
+            buildErr.println("error: build failed in the build daemon: " + e);
+            this.buildCount = ENVIRONMENT_REUSE_LIMIT;
+            return 1;
+        }
+    }
+
+    private static void writeExitFrame(DataOutputStream outputStream, int exitCode) throws IOException {
+        outputStream.writeByte(EXIT_FRAME);
+        outputStream.writeInt(exitCode);
+        outputStream.flush();
+    }
+
+    /**
+     * Builds a package for a build request.
+     */
+    interface Builder {
+
+        /**
+         * Runs the build with the given arguments of the {@code bal build} command.
+         *
+         * @param args      arguments of the build command
+         * @param buildOut  stream to write the standard output of the build
+         * @param buildErr  stream to write the standard error of the build
+         * @return exit code of the build
+         */
+        int build(String[] args, PrintStream buildOut, PrintStream buildErr);
+    }
+
+    /**
+     * Writes the bytes written to this stream as frames of the given kind to the daemon connection.
+     */
+    private static class FrameOutputStream extends OutputStream {
+        private final DataOutputStream outputStream;
+        private final byte frameKind;
+
+        FrameOutputStream(DataOutputStream outputStream, byte frameKind) {
+            this.outputStream = outputStream;
+            this.frameKind = frameKind;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            this.outputStream.writeByte(this.frameKind);
+            this.outputStream.writeInt(length);
+            this.outputStream.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.outputStream.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // The connection is owned by the daemon, hence only flush here.
+            flush();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.cli.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalInt;
+
+import static io.ballerina.cli.daemon.BuildDaemon.BUILD_REQUEST;
+import static io.ballerina.cli.daemon.BuildDaemon.ERR_FRAME;
+import static io.ballerina.cli.daemon.BuildDaemon.EXIT_FRAME;
+import static io.ballerina.cli.daemon.BuildDaemon.OUT_FRAME;
+import static io.ballerina.cli.daemon.BuildDaemon.STOP_REQUEST;
+
+/**
+ * Sends requests to a running {@code BuildDaemon}.
+ *
+ * @since 2.0.0
+ */
+public class BuildDaemonClient {
+
+    private BuildDaemonClient() {
+    }
+
+    /**
+     * Builds a package using the running build daemon.
+     *
+     * @param args      arguments of the {@code bal build} command
+     * @param outStream stream to write the standard output of the build
+     * @param errStream stream to write the standard error of the build
+     * @return exit code of the build, or an empty value if a build daemon is not running
+     */
+    public static OptionalInt build(List<String> args, PrintStream outStream, PrintStream errStream) {
+        return sendRequest(BuildDaemon.getPortFilePath(), BUILD_REQUEST, args, outStream, errStream);
+    }
+
+    /**
+     * Stops the running build daemon.
+     *
+     * @param outStream stream to write the response of the daemon
+     * @return true if a build daemon was running
+     */
+    public static boolean stop(PrintStream outStream) {
+        return sendRequest(BuildDaemon.getPortFilePath(), STOP_REQUEST, Collections.emptyList(), outStream,
+                outStream).isPresent();
+    }
+
+    static OptionalInt sendRequest(Path portFilePath, String request, List<String> args, PrintStream outStream,
+                                   PrintStream errStream) {
+        if (!Files.exists(portFilePath)) {
+            return OptionalInt.empty();
+        }
+
+        int port;
+        String token;
+        Socket socket;
+        try {
+            // The port file contains the port in the first line and the token in the second line.
+            List<String> lines = Files.readAllLines(portFilePath);
+            if (lines.size() != 2) {
+                return OptionalInt.empty();
+            }
+            port = Integer.parseInt(lines.get(0).trim());
+            token = lines.get(1).trim();
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        } catch (IOException | NumberFormatException e) {
+            // A stale port file is left behind if the daemon was killed.
+            return OptionalInt.empty();
+        }
+
+        try (socket) {
+            DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            outputStream.writeUTF(token);
+            outputStream.writeUTF(request);
+            outputStream.writeInt(args.size());
+            for (String arg : args) {
+                outputStream.writeUTF(arg);
+            }
+            outputStream.flush();
+
+            DataInputStream inputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            while (true) {
+                byte frameKind = inputStream.readByte();
+                if (frameKind == EXIT_FRAME) {
+                    return OptionalInt.of(inputStream.readInt());
+                }
+
+                if (frameKind != OUT_FRAME && frameKind != ERR_FRAME) {
+                    throw new IOException("unknown frame kind: " + frameKind);
+                }
+
+                byte[] bytes = new byte[inputStream.readInt()];
+                inputStream.readFully(bytes);
+                PrintStream stream = frameKind == OUT_FRAME ? outStream : errStream;
+                stream.write(bytes, 0, bytes.length);
+            }
+        } catch (IOException e) {
+            errStream.println("error: connection to the build daemon on port " + port + " failed: " + e.getMessage());
+            return OptionalInt.of(1);
+        }
+    }
+}
@@ -51,6 +51,7 @@ public class CreateExecutableTask implements Task {
     private final transient PrintStream out;
     private Path output;
     private Path currentDir;
+    private boolean layered;
 
     public CreateExecutableTask(PrintStream out, String output) {
         this.out = out;
@@ -59,6 +60,11 @@ public class CreateExecutableTask implements Task {
         }
     }
 
+    public CreateExecutableTask(PrintStream out, String output, boolean layered) {
+        this(out, output);
+        this.layered = layered;
+    }
+
     @Override
     public void execute(Project project) {
         this.out.println();
@@ -94,7 +100,8 @@ public class CreateExecutableTask implements Task {
             if (project.buildOptions().dumpBuildTime()) {
                 start = System.currentTimeMillis();
             }
-            jBallerinaBackend.emit(JBallerinaBackend.OutputType.EXEC, executablePath);
+            jBallerinaBackend.emit(this.layered ? JBallerinaBackend.OutputType.LAYERED_EXEC :
+                    JBallerinaBackend.OutputType.EXEC, executablePath);
             if (project.buildOptions().dumpBuildTime()) {
                 BuildTime.getInstance().emitArtifactDuration = System.currentTimeMillis() - start;
                 BuildTime.getInstance().compile = false;
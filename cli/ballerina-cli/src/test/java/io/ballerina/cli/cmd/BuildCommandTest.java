@@ -181,6 +181,19 @@ public class BuildCommandTest extends BaseCommandTest {
                 .contains("The file does not exist: " + validBalFilePath.toString()));
     }
 
+    @Test(description = "Build a valid ballerina project with an invalid optimization level")
+    public void testBuildWithInvalidOptimizationLevel() throws IOException {
+        Path projectPath = this.testResources.resolve("validApplicationProject");
+        System.setProperty("user.dir", projectPath.toString());
+        BuildCommand buildCommand = new BuildCommand(projectPath, printStream, printStream, false, true);
+        new CommandLine(buildCommand).parse("--optimization-level=2");
+        buildCommand.execute();
+        String buildLog = readOutput(true);
+        Assert.assertTrue(buildLog.replaceAll("\r", "")
+                .contains("invalid optimization level '2'. supported levels are 0 to 1."), buildLog);
+        Assert.assertEquals(buildCommand.exitCode(), 1);
+    }
+
     @Test(enabled = false, description = "Build bal file with no entry")
     public void testBuildBalFileWithNoEntry() {
         // valid source root path
@@ -233,6 +246,21 @@ public class BuildCommandTest extends BaseCommandTest {
                 .resolve("winery.bir").toFile().exists());
     }
 
+    @Test(description = "Build a valid ballerina project in-process when the build daemon is not running")
+    public void testBuildBalProjectWithoutBuildDaemon() throws IOException {
+        Path projectPath = this.testResources.resolve("validApplicationProject");
+        System.setProperty("user.dir", projectPath.toString());
+        BuildCommand buildCommand = new BuildCommand(projectPath, printStream, printStream, false, true);
+        new CommandLine(buildCommand).parse("--daemon");
+        buildCommand.execute();
+        String buildLog = readOutput(true);
+        Assert.assertEquals(buildLog.replaceAll("\r", ""),
+                            "warning: build daemon is not running. building in-process...\n" +
+                                    getOutput("build-bal-project.txt"));
+        Assert.assertEquals(buildCommand.exitCode(), 0);
+        Assert.assertTrue(projectPath.resolve("target").resolve("bin").resolve("winery.jar").toFile().exists());
+    }
+
     @Test(description = "Build a valid ballerina project")
     public void testBuildBalProjectWithJarConflicts() throws IOException {
         Path projectPath = this.testResources.resolve("projectWithConflictedJars");
@@ -0,0 +1,190 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.cli.daemon;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalInt;
+
+import static io.ballerina.cli.daemon.BuildDaemon.BUILD_REQUEST;
+import static io.ballerina.cli.daemon.BuildDaemon.ERR_FRAME;
+import static io.ballerina.cli.daemon.BuildDaemon.EXIT_FRAME;
+import static io.ballerina.cli.daemon.BuildDaemon.STOP_REQUEST;
+
+/**
+ * Tests the build daemon protocol and lifecycle.
+ *
+ * @since 2.0.0
+ */
+public class BuildDaemonTest {
+    private Path tmpDir;
+    private Path portFilePath;
+    private List<String[]> builds;
+    private Thread daemonThread;
+
+    @BeforeMethod
+    public void setup() throws IOException, InterruptedException {
+        this.tmpDir = Files.createTempDirectory("b7a-daemon-test-" + System.nanoTime());
+        this.portFilePath = this.tmpDir.resolve(BuildDaemon.PORT_FILE_NAME);
+        this.builds = Collections.synchronizedList(new ArrayList<>());
+
+        BuildDaemon daemon = new BuildDaemon(0, new PrintStream(new ByteArrayOutputStream()), this.portFilePath,
+                (args, buildOut, buildErr) -> {
+                    this.builds.add(args);
+                    buildOut.println("building " + String.join(" ", args));
+                    buildErr.println("warning: test build");
+                    return 3;
+                });
+        this.daemonThread = new Thread(() -> {
+            try {
+                daemon.start();
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        });
+        this.daemonThread.start();
+        for (int i = 0; i < 100 && !hasPortAndToken(); i++) {
+            Thread.sleep(50);
+        }
+        Assert.assertTrue(hasPortAndToken(), "build daemon did not start");
+    }
+
+    @AfterMethod
+    public void cleanup() throws IOException, InterruptedException {
+        if (this.daemonThread.isAlive()) {
+            sendRequest(STOP_REQUEST, Collections.emptyList(), new ByteArrayOutputStream());
+            this.daemonThread.join(5000);
+        }
+        Files.deleteIfExists(this.portFilePath);
+        Files.deleteIfExists(this.tmpDir);
+    }
+
+    @Test(description = "Build request is served and its output is forwarded to the client")
+    public void testBuildRequest() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        OptionalInt exitCode = BuildDaemonClient.sendRequest(this.portFilePath, BUILD_REQUEST,
+                Arrays.asList("--offline", "/tmp/project"), new PrintStream(out), new PrintStream(err));
+
+        Assert.assertEquals(exitCode, OptionalInt.of(3));
+        Assert.assertEquals(out.toString(StandardCharsets.UTF_8).replaceAll("\r", ""),
+                "building --offline /tmp/project\n");
+        Assert.assertEquals(err.toString(StandardCharsets.UTF_8).replaceAll("\r", ""), "warning: test build\n");
+        Assert.assertEquals(this.builds.size(), 1);
+    }
+
+    @Test(description = "Port file is readable only by the owner")
+    public void testPortFilePermissions() throws IOException {
+        if (!FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            return;
+        }
+        Assert.assertEquals(PosixFilePermissions.toString(Files.getPosixFilePermissions(this.portFilePath)),
+                "rw-------");
+    }
+
+    @Test(description = "Requests with an invalid token are rejected without being served")
+    public void testRequestWithInvalidToken() throws IOException, InterruptedException {
+        int port = Integer.parseInt(Files.readAllLines(this.portFilePath).get(0));
+        for (String request : new String[]{BUILD_REQUEST, STOP_REQUEST}) {
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                DataOutputStream outputStream = new DataOutputStream(socket.getOutputStream());
+                outputStream.writeUTF("invalid-token");
+                outputStream.writeUTF(request);
+                outputStream.writeInt(0);
+                outputStream.flush();
+
+                DataInputStream inputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                Assert.assertEquals(inputStream.readByte(), ERR_FRAME);
+                byte[] message = new byte[inputStream.readInt()];
+                inputStream.readFully(message);
+                Assert.assertEquals(new String(message, StandardCharsets.UTF_8), "error: invalid build daemon token\n");
+                Assert.assertEquals(inputStream.readByte(), EXIT_FRAME);
+                Assert.assertEquals(inputStream.readInt(), 1);
+            }
+        }
+
+        Assert.assertTrue(this.builds.isEmpty());
+        Thread.sleep(100);
+        Assert.assertTrue(this.daemonThread.isAlive());
+        Assert.assertEquals(sendRequest(BUILD_REQUEST, Collections.emptyList(), new ByteArrayOutputStream()),
+                OptionalInt.of(3));
+    }
+
+    @Test(description = "Stop request stops the daemon and removes the port file")
+    public void testStopRequest() throws InterruptedException {
+        Assert.assertEquals(sendRequest(STOP_REQUEST, Collections.emptyList(), new ByteArrayOutputStream()),
+                OptionalInt.of(0));
+        this.daemonThread.join(5000);
+
+        Assert.assertFalse(this.daemonThread.isAlive());
+        Assert.assertFalse(Files.exists(this.portFilePath));
+        // The client falls back to an in-process build once the daemon is stopped.
+        Assert.assertEquals(sendRequest(BUILD_REQUEST, Collections.emptyList(), new ByteArrayOutputStream()),
+                OptionalInt.empty());
+        Assert.assertTrue(this.builds.isEmpty());
+    }
+
+    @Test(description = "Stale port file left behind by a killed daemon is ignored")
+    public void testStalePortFile() throws IOException, InterruptedException {
+        sendRequest(STOP_REQUEST, Collections.emptyList(), new ByteArrayOutputStream());
+        this.daemonThread.join(5000);
+
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            port = serverSocket.getLocalPort();
+        }
+        Files.writeString(this.portFilePath, port + "\nstale-token");
+        Assert.assertEquals(sendRequest(BUILD_REQUEST, Collections.emptyList(), new ByteArrayOutputStream()),
+                OptionalInt.empty());
+
+        // A port file written by a daemon without a token is ignored as well.
+        Files.writeString(this.portFilePath, Integer.toString(port));
+        Assert.assertEquals(sendRequest(BUILD_REQUEST, Collections.emptyList(), new ByteArrayOutputStream()),
+                OptionalInt.empty());
+    }
+
+    private OptionalInt sendRequest(String request, List<String> args, ByteArrayOutputStream out) {
+        PrintStream printStream = new PrintStream(out);
+        return BuildDaemonClient.sendRequest(this.portFilePath, request, args, printStream, printStream);
+    }
+
+    private boolean hasPortAndToken() throws IOException {
+        return Files.exists(this.portFilePath) && Files.readAllLines(this.portFilePath).size() == 2;
+    }
+}
@@ -83,6 +83,7 @@ public class BallerinaSemanticModel implements SemanticModel {
     private final SymbolFactory symbolFactory;
     private final TypesFactory typesFactory;
     private final SymbolTable symbolTable;
+    private volatile ReferenceIndex referenceIndex;
 
     public BallerinaSemanticModel(BLangPackage bLangPackage, CompilerContext context) {
         this.compilerContext = context;
@@ -198,8 +199,7 @@ public class BallerinaSemanticModel implements SemanticModel {
         BLangNode node = new NodeFinder(false)
                 .lookupEnclosingContainer(this.bLangPackage, symbolLocation.get().lineRange());
 
-        ReferenceFinder refFinder = new ReferenceFinder(withDefinition);
-        return refFinder.findReferences(node, getInternalSymbol(symbol));
+        return findReferences(node, getInternalSymbol(symbol), withDefinition);
     }
 
     @Override
@@ -215,8 +215,7 @@ public class BallerinaSemanticModel implements SemanticModel {
         BLangNode node = new NodeFinder(false)
                 .lookupEnclosingContainer(this.bLangPackage, symbolAtCursor.pos.lineRange());
 
-        ReferenceFinder refFinder = new ReferenceFinder(withDefinition);
-        return refFinder.findReferences(node, symbolAtCursor);
+        return findReferences(node, symbolAtCursor, withDefinition);
     }
 
     /**
@@ -354,6 +353,31 @@ public class BallerinaSemanticModel implements SemanticModel {
                 (Symbols.isFlagOn(symbol.flags, Flags.PUBLIC) || symbol.getKind() == SymbolKind.PACKAGE);
     }
 
+    private List<Location> findReferences(BLangNode node, BSymbol symbol, boolean withDefinition) {
+        // The references of module level symbols span the whole module. Those are looked up in an index of the
+        // module, which is built once per semantic model instead of traversing the module for each symbol.
+        if (node == this.bLangPackage) {
+            return getReferenceIndex().references(symbol, withDefinition);
+        }
+
+        ReferenceFinder refFinder = new ReferenceFinder(withDefinition);
+        return refFinder.findReferences(node, symbol);
+    }
+
+    private ReferenceIndex getReferenceIndex() {
+        ReferenceIndex index = this.referenceIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = this.referenceIndex;
+                if (index == null) {
+                    index = new ReferenceFinder(true).buildIndex(this.bLangPackage);
+                    this.referenceIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
     private BLangCompilationUnit getCompilationUnit(Document srcFile) {
         return getCompilationUnit(srcFile.name());
     }
@@ -200,6 +200,7 @@ public class ReferenceFinder extends BaseVisitor {
     private final boolean withDefinition;
     private List<Location> referenceLocations;
     private BSymbol targetSymbol;
+    private ReferenceIndex referenceIndex;
 
     public ReferenceFinder(boolean withDefinition) {
         this.withDefinition = withDefinition;
@@ -212,6 +213,20 @@ public class ReferenceFinder extends BaseVisitor {
         return this.referenceLocations;
     }
 
+    /**
+     * Records the references of all the symbols within the given module in a single pass.
+     *
+     * @param module the module to index
+     * @return the references of the symbols, by symbol
+     */
+    ReferenceIndex buildIndex(BLangPackage module) {
+        this.referenceIndex = new ReferenceIndex();
+        find(module);
+        ReferenceIndex index = this.referenceIndex;
+        this.referenceIndex = null;
+        return index;
+    }
+
     void find(BLangNode node) {
         if (node == null) {
             return;
@@ -249,6 +264,13 @@ public class ReferenceFinder extends BaseVisitor {
 
     @Override
     public void visit(BLangImportPackage importPkgNode) {
+        if (this.referenceIndex != null) {
+            if (importPkgNode.symbol != null) {
+                this.referenceIndex.addDefinition(importPkgNode.symbol, importPkgNode.alias.pos);
+            }
+            return;
+        }
+
         if (importPkgNode.symbol != null
                 && this.targetSymbol.name.equals(importPkgNode.symbol.name)
                 && this.targetSymbol.pkgID.equals(importPkgNode.symbol.pkgID)
@@ -1275,6 +1297,14 @@ public class ReferenceFinder extends BaseVisitor {
     // Private methods
 
     private boolean addIfSameSymbol(BSymbol symbol, Location location) {
+        if (this.referenceIndex != null) {
+            // Every symbol is recorded, hence the visit continues as if no symbol matched
+            if (symbol != null) {
+                this.referenceIndex.addReference(symbol, location);
+            }
+            return false;
+        }
+
         if (symbol != null
                 && this.targetSymbol.name.equals(symbol.name)
                 && this.targetSymbol.pkgID.equals(symbol.pkgID)
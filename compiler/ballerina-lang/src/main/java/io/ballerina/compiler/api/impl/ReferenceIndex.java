@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.compiler.api.impl;
+
+import io.ballerina.tools.diagnostics.Location;
+import org.ballerinalang.model.elements.PackageID;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
+import org.wso2.ballerinalang.compiler.util.Name;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The references of all the symbols within a module, as recorded by the {@link ReferenceFinder}.
+ * <p>
+ * Symbols are identified by their name, module and position, the same way the {@link ReferenceFinder} matches a
+ * symbol, so that the references of a symbol can be looked up without traversing the module again.
+ *
+ * @since 2.0.0
+ */
+class ReferenceIndex {
+
+    private final Map<SymbolKey, List<Reference>> references = new HashMap<>();
+
+    void addReference(BSymbol symbol, Location location) {
+        add(symbol, new Reference(location, false));
+    }
+
+    /**
+     * Records a location which is only reported when the definition is requested, such as the alias of an import.
+     *
+     * @param symbol   the symbol
+     * @param location the location of the definition
+     */
+    void addDefinition(BSymbol symbol, Location location) {
+        add(symbol, new Reference(location, true));
+    }
+
+    List<Location> references(BSymbol symbol, boolean withDefinition) {
+        List<Reference> symbolReferences = this.references.get(new SymbolKey(symbol));
+        if (symbolReferences == null) {
+            return Collections.emptyList();
+        }
+
+        List<Location> locations = new ArrayList<>();
+        for (Reference reference : symbolReferences) {
+            if (withDefinition
+                    || (!reference.definitionOnly && !Objects.equals(symbol.pos, reference.location))) {
+                locations.add(reference.location);
+            }
+        }
+        return locations;
+    }
+
+    private void add(BSymbol symbol, Reference reference) {
+        this.references.computeIfAbsent(new SymbolKey(symbol), key -> new ArrayList<>()).add(reference);
+    }
+
+    private static class SymbolKey {
+
+        private final Name name;
+        private final PackageID pkgID;
+        private final Location pos;
+
+        SymbolKey(BSymbol symbol) {
+            this.name = symbol.name;
+            this.pkgID = symbol.pkgID;
+            this.pos = symbol.pos;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SymbolKey)) {
+                return false;
+            }
+            SymbolKey symbolKey = (SymbolKey) o;
+            return Objects.equals(name, symbolKey.name) && Objects.equals(pkgID, symbolKey.pkgID)
+                    && Objects.equals(pos, symbolKey.pos);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, pkgID, pos);
+        }
+    }
+
+    private static class Reference {
+
+        private final Location location;
+        private final boolean definitionOnly;
+
+        Reference(Location location, boolean definitionOnly) {
+            this.location = location;
+            this.definitionOnly = definitionOnly;
+        }
+    }
+}
@@ -68,6 +68,14 @@ public class BuildOptions {
         return this.compilationOptions.listConflictedClasses();
     }
 
+    public int optimizationLevel() {
+        return this.compilationOptions.optimizationLevel();
+    }
+
+    public String observabilityInstrumentation() {
+        return this.compilationOptions.observabilityInstrumentation();
+    }
+
     public String cloud() {
         return this.compilationOptions.getCloud();
     }
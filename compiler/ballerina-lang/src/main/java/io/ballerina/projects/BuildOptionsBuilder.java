@@ -54,6 +54,16 @@ public class BuildOptionsBuilder {
         return this;
     }
 
+    public BuildOptionsBuilder optimizationLevel(Integer value) {
+        compilationOptionsBuilder.optimizationLevel(value);
+        return this;
+    }
+
+    public BuildOptionsBuilder observabilityInstrumentation(String value) {
+        compilationOptionsBuilder.observabilityInstrumentation(value);
+        return this;
+    }
+
     public BuildOptionsBuilder skipTests(Boolean value) {
         compilationOptionsBuilder.skipTests(value);
         return this;
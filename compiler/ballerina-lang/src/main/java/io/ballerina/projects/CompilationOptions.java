@@ -33,10 +33,13 @@ class CompilationOptions {
     private String dumpBirFile;
     private String cloud;
     private Boolean listConflictedClasses;
+    private Integer optimizationLevel;
+    private String observabilityInstrumentation;
 
     public CompilationOptions(Boolean skipTests, Boolean offlineBuild, Boolean experimental,
                               Boolean observabilityIncluded, Boolean dumpBir, String dumpBirFile,
-                              String cloud, Boolean listConflictedClasses) {
+                              String cloud, Boolean listConflictedClasses, Integer optimizationLevel,
+                              String observabilityInstrumentation) {
         this.skipTests = skipTests;
         this.offlineBuild = offlineBuild;
         this.experimental = experimental;
@@ -45,6 +48,8 @@ class CompilationOptions {
         this.dumpBirFile = dumpBirFile;
         this.cloud = cloud;
         this.listConflictedClasses = listConflictedClasses;
+        this.optimizationLevel = optimizationLevel;
+        this.observabilityInstrumentation = observabilityInstrumentation;
     }
 
     boolean skipTests() {
@@ -79,6 +84,14 @@ class CompilationOptions {
         return toBooleanDefaultIfNull(listConflictedClasses);
     }
 
+    public int optimizationLevel() {
+        return toIntegerDefaultIfNull(optimizationLevel);
+    }
+
+    public String observabilityInstrumentation() {
+        return toStringDefaultIfNull(observabilityInstrumentation);
+    }
+
     /**
      * Merge the given compilation options by favoring theirs if there are conflicts.
      *
@@ -100,6 +113,10 @@ class CompilationOptions {
         this.dumpBirFile = theirOptions.dumpBirFile;
         this.listConflictedClasses = Objects.requireNonNullElseGet(
                 theirOptions.listConflictedClasses, () -> toBooleanDefaultIfNull(this.listConflictedClasses));
+        this.optimizationLevel = Objects.requireNonNullElseGet(
+                theirOptions.optimizationLevel, () -> toIntegerDefaultIfNull(this.optimizationLevel));
+        this.observabilityInstrumentation = Objects.requireNonNullElse(theirOptions.observabilityInstrumentation,
+                toStringDefaultIfNull(this.observabilityInstrumentation));
         return this;
     }
 
@@ -110,6 +127,13 @@ class CompilationOptions {
         return bool;
     }
 
+    private int toIntegerDefaultIfNull(Integer value) {
+        if (value == null) {
+            return 0;
+        }
+        return value;
+    }
+
     private String toStringDefaultIfNull(String value) {
         if (value == null) {
             return "";
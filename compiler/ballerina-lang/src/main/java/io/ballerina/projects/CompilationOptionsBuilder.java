@@ -33,6 +33,8 @@ class CompilationOptionsBuilder {
     private String dumpBirFile;
     private String cloud;
     private Boolean listConflictedClasses;
+    private Integer optimizationLevel;
+    private String observabilityInstrumentation;
 
     public CompilationOptionsBuilder() {
     }
@@ -77,8 +79,18 @@ class CompilationOptionsBuilder {
         return this;
     }
 
+    public CompilationOptionsBuilder optimizationLevel(Integer value) {
+        optimizationLevel = value;
+        return this;
+    }
+
+    public CompilationOptionsBuilder observabilityInstrumentation(String value) {
+        observabilityInstrumentation = value;
+        return this;
+    }
+
     public CompilationOptions build() {
         return new CompilationOptions(skipTests, buildOffline, experimental, observabilityIncluded, dumpBir,
-                dumpBirFile, cloud, listConflictedClasses);
+                dumpBirFile, cloud, listConflictedClasses, optimizationLevel, observabilityInstrumentation);
     }
 }
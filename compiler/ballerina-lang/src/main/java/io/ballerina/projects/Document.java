@@ -18,7 +18,12 @@
 package io.ballerina.projects;
 
 import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import io.ballerina.tools.text.LinePosition;
 import io.ballerina.tools.text.TextDocument;
+import io.ballerina.tools.text.TextDocumentChange;
+import io.ballerina.tools.text.TextDocuments;
+import io.ballerina.tools.text.TextEdit;
+import io.ballerina.tools.text.TextRange;
 
 /**
  * {@code Document} represents a Ballerina source file(.bal).
@@ -72,15 +77,17 @@ public class Document {
      */
     public static class Modifier {
         private String content;
+        private TextDocument textDocument;
         private String name;
         private DocumentId documentId;
         private Module oldModule;
+        private Document oldDocument;
 
         private Modifier(Document oldDocument) {
             this.documentId = oldDocument.documentId();
             this.name = oldDocument.name();
-            this.content = oldDocument.textDocument().toString();
             this.oldModule = oldDocument.module();
+            this.oldDocument = oldDocument;
         }
 
         /**
@@ -91,20 +98,68 @@ public class Document {
          */
         public Modifier withContent(String content) {
             this.content = content;
+            this.textDocument = null;
             return this;
         }
 
+        /**
+         * Applies the given change to the current content of the document.
+         * <p>
+         * The change is applied to the text document of the current content, which only copies the modified regions.
+         * The text ranges of the change are relative to the content after all the changes given to this modifier so
+         * far.
+         *
+         * @param textDocumentChange change to apply
+         * @return Document.Modifier that holds the content to be changed
+         */
+        public Modifier withChange(TextDocumentChange textDocumentChange) {
+            this.textDocument = currentTextDocument().apply(textDocumentChange);
+            this.content = null;
+            return this;
+        }
+
+        /**
+         * Replaces the text between the given line positions of the current content with the given text.
+         *
+         * @param start start position of the replaced text
+         * @param end   end position of the replaced text
+         * @param text  text to insert
+         * @return Document.Modifier that holds the content to be changed
+         */
+        public Modifier withTextEdit(LinePosition start, LinePosition end, String text) {
+            TextDocument textDocument = currentTextDocument();
+            int startOffset = textDocument.textPositionFrom(start);
+            int endOffset = textDocument.textPositionFrom(end);
+            TextEdit textEdit = TextEdit.from(TextRange.from(startOffset, endOffset - startOffset), text);
+            return withChange(TextDocumentChange.from(new TextEdit[]{textEdit}));
+        }
+
         /**
          * Returns a new document with updated content.
          *
          * @return document with updated content
          */
         public Document apply() {
-            DocumentConfig documentConfig = DocumentConfig.from(this.documentId, this.content,
-                    this.name);
-            DocumentContext documentContext = DocumentContext.from(documentConfig);
+            DocumentContext documentContext;
+            if (this.textDocument != null) {
+                documentContext = DocumentContext.from(this.documentId, this.name, this.textDocument);
+            } else {
+                String newContent = this.content != null ? this.content : oldDocument.textDocument().toString();
+                DocumentConfig documentConfig = DocumentConfig.from(this.documentId, newContent, this.name);
+                documentContext = DocumentContext.from(documentConfig);
+            }
             Module newModule = oldModule.modify().updateDocument(documentContext).apply();
             return newModule.document(this.documentId);
         }
+
+        private TextDocument currentTextDocument() {
+            if (this.textDocument != null) {
+                return this.textDocument;
+            }
+            if (this.content != null) {
+                return TextDocuments.from(this.content, true);
+            }
+            return oldDocument.textDocument();
+        }
     }
 }
@@ -68,10 +68,31 @@ class DocumentContext {
         this.content = content;
     }
 
+    private DocumentContext(DocumentId documentId, String name, TextDocument textDocument) {
+        this.documentId = documentId;
+        this.name = name;
+        this.textDocument = textDocument;
+    }
+
     static DocumentContext from(DocumentConfig documentConfig) {
         return new DocumentContext(documentConfig.documentId(), documentConfig.name(), documentConfig.content());
     }
 
+    /**
+     * Creates a document context from an already created text document.
+     * <p>
+     * This is used when the text document of the new document is derived by applying changes to the text document
+     * of the previous document.
+     *
+     * @param documentId   document id
+     * @param name         document name
+     * @param textDocument text document of the document
+     * @return document context
+     */
+    static DocumentContext from(DocumentId documentId, String name, TextDocument textDocument) {
+        return new DocumentContext(documentId, name, textDocument);
+    }
+
     DocumentId documentId() {
         return this.documentId;
     }
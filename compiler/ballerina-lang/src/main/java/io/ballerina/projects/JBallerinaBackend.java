@@ -21,10 +21,13 @@ import io.ballerina.projects.environment.PackageCache;
 import io.ballerina.projects.environment.ProjectEnvironment;
 import io.ballerina.projects.internal.DefaultDiagnosticResult;
 import io.ballerina.projects.internal.PackageDiagnostic;
+import io.ballerina.projects.internal.ProjectDiagnosticErrorCode;
 import io.ballerina.projects.internal.jballerina.JarWriter;
 import io.ballerina.projects.internal.model.Target;
 import io.ballerina.projects.util.ProjectUtils;
 import io.ballerina.tools.diagnostics.Diagnostic;
+import io.ballerina.tools.diagnostics.DiagnosticFactory;
+import io.ballerina.tools.diagnostics.DiagnosticInfo;
 import io.ballerina.tools.diagnostics.DiagnosticSeverity;
 import org.apache.commons.compress.archivers.jar.JarArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntryPredicate;
@@ -36,7 +39,9 @@ import org.ballerinalang.maven.Utils;
 import org.ballerinalang.maven.exceptions.MavenResolverException;
 import org.wso2.ballerinalang.compiler.CompiledJarFile;
 import org.wso2.ballerinalang.compiler.bir.codegen.CodeGenerator;
+import org.wso2.ballerinalang.compiler.bir.codegen.ObservabilityInstrumentationFilter;
 import org.wso2.ballerinalang.compiler.bir.codegen.interop.InteropValidator;
+import org.wso2.ballerinalang.compiler.diagnostic.BLangDiagnosticLocation;
 import org.wso2.ballerinalang.compiler.semantics.analyzer.ObservabilitySymbolCollectorRunner;
 import org.wso2.ballerinalang.compiler.spi.ObservabilitySymbolCollector;
 import org.wso2.ballerinalang.compiler.tree.BLangPackage;
@@ -50,19 +55,25 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintStream;
+import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.jar.Attributes;
 import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
@@ -86,6 +97,9 @@ public class JBallerinaBackend extends CompilerBackend {
     private static final String TEST_JAR_FILE_NAME_SUFFIX = "-testable";
     private static final String JAR_FILE_NAME_SUFFIX = "";
     private static final HashSet<String> excludeExtensions = new HashSet<>(Lists.of("DSA", "SF"));
+    private static final String DEPENDENCY_LAYER_DIR_SUFFIX = "-lib";
+    private static final String DEPENDENCY_LAYER_INDEX_FILE_NAME = "dependency-jars.txt";
+    private static final int DEPENDENCY_HASH_LENGTH = 16;
     private static final PrintStream out = System.out;
 
     private final PackageResolution pkgResolution;
@@ -155,6 +169,8 @@ public class JBallerinaBackend extends CompilerBackend {
         diagnostics.addAll(this.packageContext.getResolution().diagnosticResult().allDiagnostics);
         // add ballerina toml diagnostics
         diagnostics.addAll(this.packageContext.manifest().diagnostics().diagnostics());
+        // add build option diagnostics
+        diagnostics.addAll(observabilityInstrumentationDiagnostics());
         // add compilation diagnostics
         for (ModuleContext moduleContext : pkgResolution.topologicallySortedModuleList()) {
             // We can't generate backend code when one of its dependencies have errors.
@@ -172,6 +188,22 @@ public class JBallerinaBackend extends CompilerBackend {
         codeGenCompleted = true;
     }
 
+    private List<Diagnostic> observabilityInstrumentationDiagnostics() {
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        List<String> invalidEntries = ObservabilityInstrumentationFilter.getInvalidEntries(
+                packageContext.compilationOptions().observabilityInstrumentation());
+        for (String invalidEntry : invalidEntries) {
+            DiagnosticInfo diagnosticInfo = new DiagnosticInfo(
+                    ProjectDiagnosticErrorCode.INVALID_OBSERVABILITY_INSTRUMENTATION.diagnosticId(),
+                    "invalid observability instrumentation entry '" + invalidEntry
+                            + "', expected 'all', 'resources', 'none' or a list of '<org>/<module>' and "
+                            + "'<org>/<module>:<name>' entries", DiagnosticSeverity.ERROR);
+            diagnostics.add(DiagnosticFactory.createDiagnostic(diagnosticInfo,
+                    new BLangDiagnosticLocation(packageContext.packageName().toString(), 0, 0, 0, 0)));
+        }
+        return diagnostics;
+    }
+
     private boolean hasNoErrors(List<Diagnostic> diagnostics) {
         for (Diagnostic diagnostic : diagnostics) {
             if (diagnostic.diagnosticInfo().severity() == DiagnosticSeverity.ERROR) {
@@ -197,6 +229,9 @@ public class JBallerinaBackend extends CompilerBackend {
             case EXEC:
                 generatedArtifact = emitExecutable(filePath);
                 break;
+            case LAYERED_EXEC:
+                generatedArtifact = emitLayeredExecutable(filePath);
+                break;
             case BALA:
                 generatedArtifact = emitBala(filePath);
                 break;
@@ -298,7 +333,8 @@ public class JBallerinaBackend extends CompilerBackend {
         if (bLangPackage.getErrorCount() > 0) {
             return;
         }
-        CompiledJarFile compiledJarFile = jvmCodeGenerator.generate(bLangPackage);
+        boolean isRootPackage = moduleContext.moduleId().packageId().equals(packageContext.packageId());
+        CompiledJarFile compiledJarFile = jvmCodeGenerator.generate(bLangPackage, isRootPackage);
         String jarFileName = getJarFileName(moduleContext) + JAR_FILE_NAME_SUFFIX;
         try {
             ByteArrayOutputStream byteStream = JarWriter.write(compiledJarFile);
@@ -514,6 +550,136 @@ public class JBallerinaBackend extends CompilerBackend {
         return executableFilePath;
     }
 
+    /**
+     * Emits the executable as an application jar, which contains only the code generated for the modules of this
+     * package, and a dependency layer in the {@code <executable>-lib} directory next to it. The dependency layer
+     * contains the runtime, the dependency packages and the platform libraries as separate jars, each named after the
+     * hash of its content, and are referred from the {@code Class-Path} of the application jar manifest.
+     * <p>
+     * Since the dependency jars are only copied when their content changes, a rebuild rewrites only the application
+     * jar, and container images can cache the dependency layer. The jars written to the dependency layer are recorded
+     * in an index file, and only the recorded jars which are no longer required are removed on a rebuild, so that
+     * other files in the directory are left untouched.
+     *
+     * @param executableFilePath path of the application jar
+     * @return path of the application jar
+     */
+    private Path emitLayeredExecutable(Path executableFilePath) {
+        Set<Path> applicationJarPaths = new HashSet<>();
+        for (ModuleId moduleId : packageContext.moduleIds()) {
+            ModuleContext moduleContext = packageContext.moduleContext(moduleId);
+            applicationJarPaths.add(codeGeneratedLibrary(packageContext.packageId(), moduleContext.moduleName())
+                    .path());
+        }
+
+        List<JarLibrary> applicationLayer = new ArrayList<>();
+        Set<Path> dependencyLayer = new LinkedHashSet<>();
+        for (JarLibrary jarLibrary : jarResolver.getJarFilePathsRequiredForExecution()) {
+            if (applicationJarPaths.contains(jarLibrary.path())) {
+                applicationLayer.add(jarLibrary);
+            } else {
+                dependencyLayer.add(jarLibrary.path());
+            }
+        }
+
+        String dependencyLayerDirName = getFileNameWithoutExtension(executableFilePath.getFileName().toString()) +
+                DEPENDENCY_LAYER_DIR_SUFFIX;
+        Path dependencyLayerDirPath = executableFilePath.toAbsolutePath().getParent().resolve(dependencyLayerDirName);
+        try {
+            Files.createDirectories(dependencyLayerDirPath);
+            Set<String> dependencyJarNames = new LinkedHashSet<>();
+            for (Path dependencyJarPath : dependencyLayer) {
+                String dependencyJarName = getDependencyLayerJarName(dependencyJarPath);
+                Path dependencyLayerJarPath = dependencyLayerDirPath.resolve(dependencyJarName);
+                if (!Files.exists(dependencyLayerJarPath)) {
+                    Files.copy(dependencyJarPath, dependencyLayerJarPath);
+                }
+                dependencyJarNames.add(dependencyJarName);
+            }
+            updateDependencyLayerIndex(dependencyLayerDirPath, dependencyJarNames);
+
+            Manifest manifest = createManifest();
+            StringBuilder classPath = new StringBuilder();
+            for (String dependencyJarName : dependencyJarNames) {
+                if (classPath.length() > 0) {
+                    classPath.append(' ');
+                }
+                classPath.append(encodeClassPathSegment(dependencyLayerDirName)).append('/')
+                        .append(encodeClassPathSegment(dependencyJarName));
+            }
+            manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, classPath.toString());
+            assembleExecutableJar(executableFilePath, manifest, applicationLayer);
+        } catch (IOException e) {
+            throw new ProjectException("error while creating the layered executable for package '" +
+                    this.packageContext.packageName().toString() + "' : " + e.getMessage(), e);
+        }
+        return executableFilePath;
+    }
+
+    /**
+     * Encodes a segment of a relative URL of the manifest {@code Class-Path}, in which the entries are separated by
+     * spaces, and reserved characters are not allowed.
+     *
+     * @param segment file name
+     * @return percent encoded file name
+     */
+    private static String encodeClassPathSegment(String segment) {
+        // The URLEncoder encodes a space as '+', which is a literal character in a URL path
+        return URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static String getDependencyLayerJarName(Path jarPath) throws IOException {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // This path cannot get executed, since SHA-256 is required to be supported by all the JVMs
+            throw new IllegalStateException(e);
+        }
+
+        byte[] buffer = new byte[8192];
+        try (InputStream inputStream = Files.newInputStream(jarPath)) {
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, length);
+            }
+        }
+
+        StringBuilder hash = new StringBuilder();
+        for (byte b : messageDigest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+        return getFileNameWithoutExtension(jarPath.getFileName().toString()) + "-" +
+                hash.substring(0, DEPENDENCY_HASH_LENGTH) + JAR_FILE_EXTENSION;
+    }
+
+    /**
+     * Records the jars of the current dependency layer in the index file, and deletes the jars recorded by an earlier
+     * build which are no longer required. Files which are not recorded in the index are never deleted.
+     */
+    private static void updateDependencyLayerIndex(Path dependencyLayerDirPath, Set<String> dependencyJarNames)
+            throws IOException {
+        Path indexFilePath = dependencyLayerDirPath.resolve(DEPENDENCY_LAYER_INDEX_FILE_NAME);
+        Set<String> staleJarNames = new LinkedHashSet<>();
+        if (Files.exists(indexFilePath)) {
+            staleJarNames.addAll(Files.readAllLines(indexFilePath, StandardCharsets.UTF_8));
+            staleJarNames.removeAll(dependencyJarNames);
+        }
+
+        // The index is written before deleting the stale jars, so that an interrupted build never leaves a jar of
+        // the current layer unrecorded.
+        Files.write(indexFilePath, dependencyJarNames, StandardCharsets.UTF_8);
+        for (String staleJarName : staleJarNames) {
+            Path staleJarPath = dependencyLayerDirPath.resolve(staleJarName).normalize();
+            // Only plain jar names are written to the index. Anything else is ignored, since the index could have
+            // been edited.
+            if (staleJarName.endsWith(JAR_FILE_EXTENSION) &&
+                    dependencyLayerDirPath.equals(staleJarPath.getParent())) {
+                Files.deleteIfExists(staleJarPath);
+            }
+        }
+    }
+
     private PlatformLibraryScope getPlatformLibraryScope(Map<String, Object> dependency) {
         PlatformLibraryScope scope;
         String scopeValue = (String) dependency.get(JarLibrary.KEY_SCOPE);
@@ -554,6 +720,7 @@ public class JBallerinaBackend extends CompilerBackend {
      */
     public enum OutputType {
         EXEC("exec"),
+        LAYERED_EXEC("layered-exec"),
         BALA("bala"),
         ;
 
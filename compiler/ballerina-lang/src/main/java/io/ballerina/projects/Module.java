@@ -17,7 +17,11 @@
  */
 package io.ballerina.projects;
 
+import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import io.ballerina.projects.internal.FunctionBodyChangeDetector;
+
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -158,9 +162,12 @@ public class Module {
         private Package packageInstance;
         private Project project;
         private MdDocumentContext moduleMdContext;
-
+        private final Module oldModule;
+        private final Set<DocumentId> updatedDocIds = new HashSet<>();
+        private boolean documentsAddedOrRemoved;
 
         private Modifier(Module oldModule) {
+            this.oldModule = oldModule;
             moduleId = oldModule.moduleId();
             moduleDescriptor = oldModule.descriptor();
             srcDocContextMap = copySrcDocs(oldModule);
@@ -178,6 +185,7 @@ public class Module {
             } else {
                 this.testDocContextMap.put(newDocContext.documentId(), newDocContext);
             }
+            this.updatedDocIds.add(newDocContext.documentId());
             return this;
         }
 
@@ -190,6 +198,7 @@ public class Module {
         public Modifier addDocument(DocumentConfig documentConfig) {
             DocumentContext newDocumentContext = DocumentContext.from(documentConfig);
             this.srcDocContextMap.put(newDocumentContext.documentId(), newDocumentContext);
+            this.documentsAddedOrRemoved = true;
             return this;
         }
 
@@ -215,6 +224,7 @@ public class Module {
 
             if (this.srcDocContextMap.containsKey(documentId)) {
                 srcDocContextMap.remove(documentId);
+                this.documentsAddedOrRemoved = true;
             } else {
                 testDocContextMap.remove(documentId);
             }
@@ -264,8 +274,12 @@ public class Module {
                     testDocContextMap, this.moduleMdContext, this.dependencies);
             moduleContextSet.add(newModuleContext);
 
-            // add dependant modules including transitives
+            // add dependant modules including transitives. The dependants are compiled only against the symbols
+            // of this module, hence they can be reused if the change does not affect the symbols.
             Collection<ModuleId> dependants = getAllDependants(this.moduleId);
+            if (!dependants.isEmpty() && isChangeConfinedToFunctionBodies(srcDocContextMap)) {
+                dependants = Collections.emptySet();
+            }
             for (ModuleId dependantId : dependants) {
                 if (dependantId.equals(this.moduleId)) {
                     continue;
@@ -280,6 +294,25 @@ public class Module {
             return newPackage.module(this.moduleId);
         }
 
+        private boolean isChangeConfinedToFunctionBodies(Map<DocumentId, DocumentContext> srcDocContextMap) {
+            if (this.documentsAddedOrRemoved) {
+                return false;
+            }
+
+            for (DocumentId documentId : this.updatedDocIds) {
+                // Test sources are not visible to the dependants
+                if (!srcDocContextMap.containsKey(documentId)) {
+                    continue;
+                }
+                SyntaxTree oldSyntaxTree = this.oldModule.moduleContext().documentContext(documentId).syntaxTree();
+                SyntaxTree newSyntaxTree = srcDocContextMap.get(documentId).syntaxTree();
+                if (!FunctionBodyChangeDetector.isChangeConfinedToFunctionBodies(oldSyntaxTree, newSyntaxTree)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         Modifier updateModuleMd(MdDocumentContext moduleMd) {
             this.moduleMdContext = moduleMd;
             return this;
@@ -35,6 +35,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import static org.ballerinalang.compiler.CompilerOptionName.CLOUD;
@@ -42,7 +43,9 @@ import static org.ballerinalang.compiler.CompilerOptionName.DUMP_BIR;
 import static org.ballerinalang.compiler.CompilerOptionName.DUMP_BIR_FILE;
 import static org.ballerinalang.compiler.CompilerOptionName.EXPERIMENTAL;
 import static org.ballerinalang.compiler.CompilerOptionName.OBSERVABILITY_INCLUDED;
+import static org.ballerinalang.compiler.CompilerOptionName.OBSERVABILITY_INSTRUMENTATION;
 import static org.ballerinalang.compiler.CompilerOptionName.OFFLINE;
+import static org.ballerinalang.compiler.CompilerOptionName.OPTIMIZATION_LEVEL;
 import static org.ballerinalang.compiler.CompilerOptionName.SKIP_TESTS;
 
 /**
@@ -57,6 +60,8 @@ public class PackageCompilation {
     private final CompilerContext compilerContext;
     private final Map<TargetPlatform, CompilerBackend> compilerBackends;
     private final List<Diagnostic> pluginDiagnostics;
+    // Semantic models are reused, so that the indexes they build are shared by the queries on this compilation
+    private final Map<ModuleId, SemanticModel> semanticModels = new ConcurrentHashMap<>();
 
     private DiagnosticResult diagnosticResult;
     private volatile boolean compiled;
@@ -86,6 +91,8 @@ public class PackageCompilation {
         options.put(DUMP_BIR, Boolean.toString(compilationOptions.dumpBir()));
         options.put(DUMP_BIR_FILE, compilationOptions.getBirDumpFile());
         options.put(CLOUD, compilationOptions.getCloud());
+        options.put(OPTIMIZATION_LEVEL, Integer.toString(compilationOptions.optimizationLevel()));
+        options.put(OBSERVABILITY_INSTRUMENTATION, compilationOptions.observabilityInstrumentation());
     }
 
     static PackageCompilation from(PackageContext rootPackageContext) {
@@ -132,7 +139,8 @@ public class PackageCompilation {
                     "This is an internal error which will be fixed in a later release.");
         }
 
-        return new BallerinaSemanticModel(moduleContext.bLangPackage(), this.compilerContext);
+        return semanticModels.computeIfAbsent(moduleId,
+                id -> new BallerinaSemanticModel(moduleContext.bLangPackage(), this.compilerContext));
     }
 
     CompilerPluginManager compilerPluginManager() {
@@ -201,14 +201,15 @@ class PackageContext {
                 moduleId -> new ModuleCompilation(this, moduleContext));
     }
 
-    PackageCompilation getPackageCompilation() {
+    // Synchronized, since the language server compiles the same package from multiple request threads
+    synchronized PackageCompilation getPackageCompilation() {
         if (packageCompilation == null) {
             packageCompilation = PackageCompilation.from(this);
         }
         return packageCompilation;
     }
 
-    PackageResolution getResolution() {
+    synchronized PackageResolution getResolution() {
         if (packageResolution == null) {
             packageResolution = PackageResolution.from(this);
         }
@@ -0,0 +1,85 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.projects.internal;
+
+import io.ballerina.compiler.syntax.tree.ExpressionFunctionBodyNode;
+import io.ballerina.compiler.syntax.tree.FunctionBodyBlockNode;
+import io.ballerina.compiler.syntax.tree.NodeVisitor;
+import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import io.ballerina.compiler.syntax.tree.Token;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks whether the changes between two versions of a document are confined to function bodies.
+ * <p>
+ * A function body does not contribute to the symbols a module exposes to other modules. Hence, if all the tokens
+ * outside function bodies are the same and at the same positions, the modules that depend on the changed module
+ * need not be recompiled.
+ *
+ * @since 2.0.0
+ */
+public class FunctionBodyChangeDetector extends NodeVisitor {
+
+    private final List<Token> tokens = new ArrayList<>();
+
+    private FunctionBodyChangeDetector() {
+    }
+
+    public static boolean isChangeConfinedToFunctionBodies(SyntaxTree oldSyntaxTree, SyntaxTree newSyntaxTree) {
+        List<Token> oldTokens = tokensOutsideFunctionBodies(oldSyntaxTree);
+        List<Token> newTokens = tokensOutsideFunctionBodies(newSyntaxTree);
+        if (oldTokens.size() != newTokens.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < oldTokens.size(); i++) {
+            Token oldToken = oldTokens.get(i);
+            Token newToken = newTokens.get(i);
+            // Symbol positions are derived from token positions, so a token that moved is a change as well.
+            // Both the lines and the columns are compared, since an edit can shift tokens within the same line.
+            if (oldToken.kind() != newToken.kind() || !oldToken.text().equals(newToken.text()) ||
+                    !oldToken.lineRange().equals(newToken.lineRange())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Token> tokensOutsideFunctionBodies(SyntaxTree syntaxTree) {
+        FunctionBodyChangeDetector detector = new FunctionBodyChangeDetector();
+        syntaxTree.rootNode().accept(detector);
+        return detector.tokens;
+    }
+
+    @Override
+    public void visit(FunctionBodyBlockNode functionBodyBlockNode) {
+        // Skip the body
+    }
+
+    @Override
+    public void visit(ExpressionFunctionBodyNode expressionFunctionBodyNode) {
+        // Skip the body
+    }
+
+    @Override
+    public void visit(Token token) {
+        tokens.add(token);
+    }
+}
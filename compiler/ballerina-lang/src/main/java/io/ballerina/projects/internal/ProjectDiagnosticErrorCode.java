@@ -28,6 +28,7 @@ import io.ballerina.tools.diagnostics.DiagnosticSeverity;
 public enum ProjectDiagnosticErrorCode implements DiagnosticCode {
 
     INVALID_BALA_FILE("BCE5000", "invalid.bala.file"),
+    INVALID_OBSERVABILITY_INSTRUMENTATION("BCE5001", "invalid.observability.instrumentation"),
     ;
 
     private final String diagnosticId;
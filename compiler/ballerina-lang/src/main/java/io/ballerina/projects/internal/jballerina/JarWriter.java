@@ -17,16 +17,34 @@
  */
 package io.ballerina.projects.internal.jballerina;
 
+import org.apache.commons.compress.archivers.jar.JarArchiveEntry;
+import org.apache.commons.compress.archivers.zip.JarMarker;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.wso2.ballerinalang.compiler.CompiledJarFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
 
 /**
  * Write jar binary content to target path.
@@ -35,9 +53,22 @@ import java.util.jar.Manifest;
  */
 public class JarWriter {
 
+    // Compressing the entries in parallel only pays off for jars with a considerable number of classes.
+    private static final int PARALLEL_COMPRESSION_THRESHOLD = 64;
+
+    // All entries are given the same timestamp, so that building the same module twice produces identical jars.
+    // The time is given in the local time zone, since the zip format stores the local date and time.
+    private static final long ENTRY_TIME =
+            new GregorianCalendar(1980, Calendar.FEBRUARY, 1, 0, 0, 0).getTimeInMillis();
+
     public static ByteArrayOutputStream write(CompiledJarFile compiledJarFile) throws IOException {
         ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        writeJar(compiledJarFile, byteArrayOutputStream);
+        if (compiledJarFile.getJarEntries().size() < PARALLEL_COMPRESSION_THRESHOLD ||
+                Runtime.getRuntime().availableProcessors() == 1) {
+            writeJar(compiledJarFile, byteArrayOutputStream);
+        } else {
+            writeJarInParallel(compiledJarFile, byteArrayOutputStream);
+        }
         return byteArrayOutputStream;
     }
 
@@ -50,17 +81,114 @@ public class JarWriter {
         return manifest;
     }
 
-    private static void writeJar(CompiledJarFile compiledJarFile, OutputStream outputStream) throws IOException {
-        Manifest manifest = getManifest(compiledJarFile);
-        try (JarOutputStream target = new JarOutputStream(outputStream, manifest)) {
-            Map<String, byte[]> jarEntries = compiledJarFile.getJarEntries();
-            for (Map.Entry<String, byte[]> keyVal : jarEntries.entrySet()) {
+    private static Map<String, byte[]> getSortedEntries(CompiledJarFile compiledJarFile) {
+        return new TreeMap<>(compiledJarFile.getJarEntries());
+    }
+
+    static void writeJar(CompiledJarFile compiledJarFile, OutputStream outputStream) throws IOException {
+        try (JarOutputStream target = new JarOutputStream(outputStream)) {
+            JarEntry manifestEntry = new JarEntry(JarFile.MANIFEST_NAME);
+            manifestEntry.setTime(ENTRY_TIME);
+            target.putNextEntry(manifestEntry);
+            getManifest(compiledJarFile).write(target);
+            target.closeEntry();
+
+            for (Map.Entry<String, byte[]> keyVal : getSortedEntries(compiledJarFile).entrySet()) {
                 byte[] entryContent = keyVal.getValue();
                 JarEntry entry = new JarEntry(keyVal.getKey());
+                entry.setTime(ENTRY_TIME);
                 target.putNextEntry(entry);
                 target.write(entryContent);
                 target.closeEntry();
             }
         }
     }
+
+    static void writeJarInParallel(CompiledJarFile compiledJarFile, OutputStream outputStream) throws IOException {
+        // Only the compression runs in parallel. The compressed entries are written in the order of their names, so
+        // that the output does not depend on the scheduling of the compression tasks.
+        List<Future<CompressedEntry>> compressedEntries = new ArrayList<>();
+        try (ZipArchiveOutputStream target = new ZipArchiveOutputStream(outputStream)) {
+            for (Map.Entry<String, byte[]> keyVal : getSortedEntries(compiledJarFile).entrySet()) {
+                compressedEntries.add(CompressionExecutor.EXECUTOR.submit(
+                        () -> CompressedEntry.compress(keyVal.getKey(), keyVal.getValue())));
+            }
+
+            // The manifest is written first, and marks the archive as a jar with the 0xCAFE extra field, as done by
+            // the JarOutputStream.
+            JarArchiveEntry manifestEntry = new JarArchiveEntry(JarFile.MANIFEST_NAME);
+            manifestEntry.setTime(ENTRY_TIME);
+            manifestEntry.addAsFirstExtraField(JarMarker.getInstance());
+            target.putArchiveEntry(manifestEntry);
+            getManifest(compiledJarFile).write(target);
+            target.closeArchiveEntry();
+
+            for (Future<CompressedEntry> future : compressedEntries) {
+                CompressedEntry compressedEntry = future.get();
+                target.addRawArchiveEntry(compressedEntry.entry, new ByteArrayInputStream(compressedEntry.content));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while compressing the jar entries", e);
+        } catch (ExecutionException e) {
+            throw new IOException("failed to compress the jar entries", e.getCause());
+        } finally {
+            // The executor is shared by all the jars, hence only the pending tasks of this jar are cancelled.
+            for (Future<CompressedEntry> future : compressedEntries) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * A jar entry along with its content compressed with the deflate method.
+     */
+    private static class CompressedEntry {
+        private final ZipArchiveEntry entry;
+        private final byte[] content;
+
+        private CompressedEntry(ZipArchiveEntry entry, byte[] content) {
+            this.entry = entry;
+            this.content = content;
+        }
+
+        private static CompressedEntry compress(String name, byte[] content) {
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            ByteArrayOutputStream compressedContent = new ByteArrayOutputStream(content.length / 2 + 64);
+            try {
+                deflater.setInput(content);
+                deflater.finish();
+                byte[] buffer = new byte[8192];
+                while (!deflater.finished()) {
+                    int length = deflater.deflate(buffer);
+                    compressedContent.write(buffer, 0, length);
+                }
+            } finally {
+                deflater.end();
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            ZipArchiveEntry entry = new ZipArchiveEntry(name);
+            entry.setMethod(ZipEntry.DEFLATED);
+            entry.setTime(ENTRY_TIME);
+            entry.setSize(content.length);
+            entry.setCompressedSize(compressedContent.size());
+            entry.setCrc(crc.getValue());
+            return new CompressedEntry(entry, compressedContent.toByteArray());
+        }
+    }
+
+    /**
+     * Holds the thread pool shared by all the jars which are compressed in parallel. The threads are daemon threads,
+     * so that the pool does not need to be shut down when the compiler exits.
+     */
+    private static class CompressionExecutor {
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors(), runnable -> {
+                    Thread thread = new Thread(runnable, "ballerina-jar-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
 }
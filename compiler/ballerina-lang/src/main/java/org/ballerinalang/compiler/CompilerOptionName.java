@@ -36,6 +36,8 @@ public enum CompilerOptionName {
 
     OBSERVABILITY_INCLUDED("observabilityIncluded"),
 
+    OBSERVABILITY_INSTRUMENTATION("observabilityInstrumentation"),
+
     COMPILER_PHASE("compilerPhase"),
 
     TRANSACTION_EXISTS("transactionBlockExists"),
@@ -64,6 +66,8 @@ public enum CompilerOptionName {
 
     LIST_CONFLICTED_CLASSES("listConflictedClasses"),
 
+    OPTIMIZATION_LEVEL("optimizationLevel"),
+
     /**
      * We've introduced this temporary option to support old-project structure and the new package structure.
      * If the option is set, then the compilation is initiated by the Project APT.
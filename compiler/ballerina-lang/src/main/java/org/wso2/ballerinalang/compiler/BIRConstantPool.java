@@ -0,0 +1,209 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler;
+
+import org.wso2.ballerinalang.compiler.bir.writer.CPEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constant pool of a compiled package, read from the BIR content of the package.
+ * <p>
+ * String and shape entries are only indexed (offset and length within the BIR content) when the pool is read. A
+ * string entry is decoded on its first lookup. A shape entry is read by the type reader from the stream given by
+ * {@link #getShapeEntryStream(int)} and then stored with {@link #setShapeEntry(int, CPEntry.ShapeCPEntry)}. The type of
+ * each entry is recorded, so that an index pointing at an entry of an unexpected type fails instead of being decoded
+ * as a different type of entry.
+ *
+ * @since 2.0.0
+ */
+class BIRConstantPool {
+
+    private final byte[] birContent;
+    private final CPEntry[] entries;
+    private final CPEntry.Type[] entryTypes;
+    private final int[] unparsedOffsets;
+    private final int[] unparsedLengths;
+
+    private BIRConstantPool(byte[] birContent, int size) {
+        this.birContent = birContent;
+        this.entries = new CPEntry[size];
+        this.entryTypes = new CPEntry.Type[size];
+        this.unparsedOffsets = new int[size];
+        this.unparsedLengths = new int[size];
+    }
+
+    /**
+     * Reads the constant pool from a stream over the given BIR content. The stream should not be buffered, as the
+     * offsets of the entries are derived from the number of bytes remaining in it.
+     *
+     * @param dataInStream stream positioned at the start of the constant pool
+     * @param birContent   BIR content backing the stream
+     * @return the constant pool
+     * @throws IOException if the constant pool cannot be read
+     */
+    static BIRConstantPool read(DataInputStream dataInStream, byte[] birContent) throws IOException {
+        int constantPoolSize = dataInStream.readInt();
+        BIRConstantPool constantPool = new BIRConstantPool(birContent, constantPoolSize);
+        for (int i = 0; i < constantPoolSize; i++) {
+            byte cpTag = dataInStream.readByte();
+            if (cpTag < 1 || cpTag > CPEntry.Type.values().length) {
+                throw new IllegalStateException("unsupported constant pool entry tag: " + cpTag);
+            }
+            CPEntry.Type cpEntryType = CPEntry.Type.values()[cpTag - 1];
+            constantPool.entryTypes[i] = cpEntryType;
+            constantPool.entries[i] = constantPool.readEntry(dataInStream, cpEntryType, i);
+        }
+        return constantPool;
+    }
+
+    private CPEntry readEntry(DataInputStream dataInStream, CPEntry.Type cpEntryType, int i) throws IOException {
+        switch (cpEntryType) {
+            case CP_ENTRY_INTEGER:
+                return new CPEntry.IntegerCPEntry(dataInStream.readLong());
+            case CP_ENTRY_FLOAT:
+                return new CPEntry.FloatCPEntry(dataInStream.readDouble());
+            case CP_ENTRY_BOOLEAN:
+                return new CPEntry.BooleanCPEntry(dataInStream.readBoolean());
+            case CP_ENTRY_STRING:
+                int length = dataInStream.readInt();
+
+                // If the length of the bytes is -1, that means no UTF value has been written.
+                // i.e: string value represented by the UTF should be null.
+                // Otherwise only the location of the value is indexed here, and the string is
+                // decoded on its first lookup. Most of the pool is never read by the importing module.
+                if (length < 0) {
+                    return new CPEntry.StringCPEntry(null);
+                }
+                indexUnparsedEntry(dataInStream, i, length);
+                return null;
+            case CP_ENTRY_PACKAGE:
+                return new CPEntry.PackageCPEntry(dataInStream.readInt(), dataInStream.readInt(),
+                        dataInStream.readInt(), dataInStream.readInt());
+            case CP_ENTRY_SHAPE:
+                indexUnparsedEntry(dataInStream, i, dataInStream.readInt());
+                return null;
+            case CP_ENTRY_BYTE:
+                return new CPEntry.ByteCPEntry(dataInStream.readInt());
+            default:
+                throw new IllegalStateException("unsupported constant pool entry type: " +
+                        cpEntryType.name());
+        }
+    }
+
+    private void indexUnparsedEntry(DataInputStream dataInStream, int cpIndex, int length) throws IOException {
+        // The stream is backed by the BIR content without any buffering, hence the remaining byte count gives the
+        // current offset of the entry within the content.
+        this.unparsedOffsets[cpIndex] = this.birContent.length - dataInStream.available();
+        this.unparsedLengths[cpIndex] = length;
+        dataInStream.skipBytes(length);
+    }
+
+    int size() {
+        return entries.length;
+    }
+
+    CPEntry.Type getEntryType(int cpIndex) {
+        return entryTypes[cpIndex];
+    }
+
+    /**
+     * Returns the constant pool entry at the given index, decoding it if it is a string entry that has only been
+     * indexed so far.
+     *
+     * @param cpIndex index of the constant pool entry
+     * @return the constant pool entry
+     * @throws IllegalStateException if the entry is a shape entry which has not been read yet
+     */
+    CPEntry getEntry(int cpIndex) {
+        CPEntry cpEntry = entries[cpIndex];
+        if (cpEntry != null) {
+            return cpEntry;
+        }
+
+        if (entryTypes[cpIndex] != CPEntry.Type.CP_ENTRY_STRING) {
+            throw new IllegalStateException("constant pool entry at index " + cpIndex + " is a shape entry, " +
+                                                    "which should be read by the type reader");
+        }
+        cpEntry = new CPEntry.StringCPEntry(new String(birContent, unparsedOffsets[cpIndex],
+                                                       unparsedLengths[cpIndex], StandardCharsets.UTF_8));
+        entries[cpIndex] = cpEntry;
+        return cpEntry;
+    }
+
+    /**
+     * Returns the constant pool entry at the given index, checking that it is of the expected type.
+     *
+     * @param cpIndex      index of the constant pool entry
+     * @param expectedType expected type of the entry
+     * @return the constant pool entry
+     * @throws IllegalStateException if the entry is not of the expected type
+     */
+    CPEntry getEntry(int cpIndex, CPEntry.Type expectedType) {
+        if (entryTypes[cpIndex] != expectedType) {
+            throw new IllegalStateException("expected a constant pool entry of type " + expectedType.name() +
+                                                    " at index " + cpIndex + ", but found " +
+                                                    entryTypes[cpIndex].name());
+        }
+        return getEntry(cpIndex);
+    }
+
+    /**
+     * Returns the value of the string entry at the given index.
+     *
+     * @param cpIndex index of the string entry
+     * @return the string value
+     * @throws IllegalStateException if the entry is not a string entry
+     */
+    String getStringValue(int cpIndex) {
+        return ((CPEntry.StringCPEntry) getEntry(cpIndex, CPEntry.Type.CP_ENTRY_STRING)).value;
+    }
+
+    /**
+     * Returns the shape entry at the given index if it has already been read.
+     *
+     * @param cpIndex index of the shape entry
+     * @return the shape entry, or null if it has not been read yet
+     * @throws IllegalStateException if the entry is not a shape entry
+     */
+    CPEntry.ShapeCPEntry getShapeEntry(int cpIndex) {
+        checkShapeEntry(cpIndex);
+        return (CPEntry.ShapeCPEntry) entries[cpIndex];
+    }
+
+    DataInputStream getShapeEntryStream(int cpIndex) {
+        checkShapeEntry(cpIndex);
+        return new DataInputStream(new ByteArrayInputStream(birContent, unparsedOffsets[cpIndex],
+                                                            unparsedLengths[cpIndex]));
+    }
+
+    void setShapeEntry(int cpIndex, CPEntry.ShapeCPEntry shapeEntry) {
+        checkShapeEntry(cpIndex);
+        entries[cpIndex] = shapeEntry;
+    }
+
+    private void checkShapeEntry(int cpIndex) {
+        if (entryTypes[cpIndex] != CPEntry.Type.CP_ENTRY_SHAPE) {
+            throw new IllegalStateException("expected a shape constant pool entry at index " + cpIndex +
+                                                    ", but found " + entryTypes[cpIndex].name());
+        }
+    }
+}
@@ -35,7 +35,6 @@ import org.wso2.ballerinalang.compiler.bir.writer.CPEntry.ByteCPEntry;
 import org.wso2.ballerinalang.compiler.bir.writer.CPEntry.FloatCPEntry;
 import org.wso2.ballerinalang.compiler.bir.writer.CPEntry.IntegerCPEntry;
 import org.wso2.ballerinalang.compiler.bir.writer.CPEntry.PackageCPEntry;
-import org.wso2.ballerinalang.compiler.bir.writer.CPEntry.StringCPEntry;
 import org.wso2.ballerinalang.compiler.diagnostic.BLangDiagnosticLocation;
 import org.wso2.ballerinalang.compiler.semantics.analyzer.SymbolResolver;
 import org.wso2.ballerinalang.compiler.semantics.analyzer.TypeParamAnalyzer;
@@ -113,6 +112,10 @@ import java.util.function.Consumer;
 import static org.ballerinalang.model.symbols.SymbolOrigin.COMPILED_SOURCE;
 import static org.ballerinalang.model.symbols.SymbolOrigin.VIRTUAL;
 import static org.ballerinalang.model.symbols.SymbolOrigin.toOrigin;
+import static org.wso2.ballerinalang.compiler.bir.writer.CPEntry.Type.CP_ENTRY_BYTE;
+import static org.wso2.ballerinalang.compiler.bir.writer.CPEntry.Type.CP_ENTRY_FLOAT;
+import static org.wso2.ballerinalang.compiler.bir.writer.CPEntry.Type.CP_ENTRY_INTEGER;
+import static org.wso2.ballerinalang.compiler.bir.writer.CPEntry.Type.CP_ENTRY_PACKAGE;
 import static org.wso2.ballerinalang.compiler.semantics.model.Scope.NOT_FOUND_ENTRY;
 import static org.wso2.ballerinalang.util.LambdaExceptionUtils.rethrow;
 
@@ -164,7 +167,8 @@ public class BIRPackageSymbolEnter {
     }
 
     public BPackageSymbol definePackage(PackageID packageId, byte[] packageBinaryContent) {
-        BPackageSymbol pkgSymbol = definePackage(packageId, new ByteArrayInputStream(packageBinaryContent));
+        BPackageSymbol pkgSymbol = definePackage(packageId, new ByteArrayInputStream(packageBinaryContent),
+                                                 packageBinaryContent);
 
         // Strip magic value (4 bytes) and the version (2 bytes) off from the binary content of the package.
         byte[] modifiedPkgBinaryContent = Arrays.copyOfRange(
@@ -176,12 +180,14 @@ public class BIRPackageSymbolEnter {
         return pkgSymbol;
     }
 
-    private BPackageSymbol definePackage(PackageID packageId, InputStream programFileInStream) {
+    private BPackageSymbol definePackage(PackageID packageId, InputStream programFileInStream,
+                                         byte[] packageBinaryContent) {
         // TODO packageID --> package to be loaded. this is required for error reporting..
         try (DataInputStream dataInStream = new DataInputStream(programFileInStream)) {
             BIRPackageSymbolEnv prevEnv = this.env;
             this.env = new BIRPackageSymbolEnv();
             this.env.requestedPackageId = packageId;
+            this.env.birContent = packageBinaryContent;
 
             BPackageSymbol pkgSymbol = definePackage(dataInStream);
             this.env = prevEnv;
@@ -207,7 +213,7 @@ public class BIRPackageSymbolEnter {
         }
 
         // Read constant pool entries of the package info.
-        this.env.constantPool = readConstantPool(dataInStream);
+        this.env.constantPool = BIRConstantPool.read(dataInStream, this.env.birContent);
 
         int pkgCPIndex = dataInStream.readInt();
         return definePackage(dataInStream, pkgCPIndex);
@@ -215,12 +221,12 @@ public class BIRPackageSymbolEnter {
 
     private BPackageSymbol definePackage(DataInputStream dataInStream, int pkgCpIndex) throws IOException {
 
-        PackageCPEntry pkgCpEntry = (PackageCPEntry) this.env.constantPool[pkgCpIndex];
+        PackageCPEntry pkgCpEntry = (PackageCPEntry) this.env.constantPool.getEntry(pkgCpIndex, CP_ENTRY_PACKAGE);
 
-        String orgName = ((StringCPEntry) this.env.constantPool[pkgCpEntry.orgNameCPIndex]).value;
-        String pkgName = ((StringCPEntry) this.env.constantPool[pkgCpEntry.pkgNameCPIndex]).value;
-        String moduleName = ((StringCPEntry) this.env.constantPool[pkgCpEntry.moduleNameCPIndex]).value;
-        String pkgVersion = ((StringCPEntry) this.env.constantPool[pkgCpEntry.versionCPIndex]).value;
+        String orgName = getStringCPEntryValue(pkgCpEntry.orgNameCPIndex);
+        String pkgName = getStringCPEntryValue(pkgCpEntry.pkgNameCPIndex);
+        String moduleName = getStringCPEntryValue(pkgCpEntry.moduleNameCPIndex);
+        String pkgVersion = getStringCPEntryValue(pkgCpEntry.versionCPIndex);
 
         PackageID pkgId = createPackageID(orgName, pkgName, moduleName, pkgVersion);
         this.env.pkgSymbol = Symbols.createPackageSymbol(pkgId, this.symTable, COMPILED_SOURCE);
@@ -298,62 +304,6 @@ public class BIRPackageSymbolEnter {
         this.currentStructure = null;
     }
 
-    private CPEntry[] readConstantPool(DataInputStream dataInStream) throws IOException {
-        int constantPoolSize = dataInStream.readInt();
-        CPEntry[] constantPool = new CPEntry[constantPoolSize];
-        this.env.constantPool = constantPool;
-        for (int i = 0; i < constantPoolSize; i++) {
-            byte cpTag = dataInStream.readByte();
-            CPEntry.Type cpEntryType = CPEntry.Type.values()[cpTag - 1];
-            constantPool[i] = readCPEntry(dataInStream, constantPool, cpEntryType, i);
-        }
-        return constantPool;
-    }
-
-    private CPEntry readCPEntry(DataInputStream dataInStream,
-                                CPEntry[] constantPool,
-                                CPEntry.Type cpEntryType, int i) throws IOException {
-        switch (cpEntryType) {
-            case CP_ENTRY_INTEGER:
-                return new CPEntry.IntegerCPEntry(dataInStream.readLong());
-            case CP_ENTRY_FLOAT:
-                return new CPEntry.FloatCPEntry(dataInStream.readDouble());
-            case CP_ENTRY_BOOLEAN:
-                return new CPEntry.BooleanCPEntry(dataInStream.readBoolean());
-            case CP_ENTRY_STRING:
-                int length = dataInStream.readInt();
-                String strValue = null;
-
-                // If the length of the bytes is -1, that means no UTF value has been written.
-                // i.e: string value represented by the UTF should be null.
-                // Therefore we read the UTF value only if the length >= 0.
-                if (length >= 0) {
-                    byte[] bytes = new byte[length];
-                    dataInStream.read(bytes, 0, length);
-                    strValue = new String(bytes);
-                }
-                return new CPEntry.StringCPEntry(strValue);
-            case CP_ENTRY_PACKAGE:
-                return new CPEntry.PackageCPEntry(dataInStream.readInt(), dataInStream.readInt(),
-                        dataInStream.readInt(), dataInStream.readInt());
-            case CP_ENTRY_SHAPE:
-                env.unparsedBTypeCPs.put(i, readByteArray(dataInStream));
-                return null;
-            case CP_ENTRY_BYTE:
-                return new CPEntry.ByteCPEntry(dataInStream.readInt());
-            default:
-                throw new IllegalStateException("unsupported constant pool entry type: " +
-                        cpEntryType.name());
-        }
-    }
-
-    private byte[] readByteArray(DataInputStream dataInStream) throws IOException {
-        int length = dataInStream.readInt();
-        byte[] bytes = new byte[length];
-        dataInStream.readFully(bytes);
-        return bytes;
-    }
-
     private void defineSymbols(DataInputStream dataInStream,
                                Consumer<DataInputStream> symbolDefineFunc) throws IOException {
         int symbolCount = dataInStream.readInt();
@@ -567,17 +517,16 @@ public class BIRPackageSymbolEnter {
 
     private BType readBType(DataInputStream dataInStream) throws IOException {
         int typeCpIndex = dataInStream.readInt();
-        CPEntry cpEntry = this.env.constantPool[typeCpIndex];
+        CPEntry.ShapeCPEntry cpEntry = this.env.constantPool.getShapeEntry(typeCpIndex);
         BType type = null;
         if (cpEntry != null) {
-            type = ((CPEntry.ShapeCPEntry) cpEntry).shape;
+            type = cpEntry.shape;
             if (type.tag != TypeTags.INVOKABLE) {
                 return type;
             }
         }
         if (type == null) {
-            byte[] e = env.unparsedBTypeCPs.get(typeCpIndex);
-            type = new BIRTypeReader(new DataInputStream(new ByteArrayInputStream(e))).readType(typeCpIndex);
+            type = new BIRTypeReader(env.constantPool.getShapeEntryStream(typeCpIndex)).readType(typeCpIndex);
             addShapeCP(type, typeCpIndex);
         }
 
@@ -606,7 +555,7 @@ public class BIRPackageSymbolEnter {
     }
 
     private void addShapeCP(BType bType, int typeCpIndex) {
-        this.env.constantPool[typeCpIndex] = new CPEntry.ShapeCPEntry(bType);
+        this.env.constantPool.setShapeEntry(typeCpIndex, new CPEntry.ShapeCPEntry(bType));
     }
 
     private void defineAnnotations(DataInputStream dataInStream) throws IOException {
@@ -913,30 +862,28 @@ public class BIRPackageSymbolEnter {
     // private utility methods
     private String getStringCPEntryValue(DataInputStream dataInStream) throws IOException {
         int pkgNameCPIndex = dataInStream.readInt();
-        StringCPEntry stringCPEntry = (StringCPEntry) this.env.constantPool[pkgNameCPIndex];
-        return stringCPEntry.value;
+        return getStringCPEntryValue(pkgNameCPIndex);
     }
 
     private String getStringCPEntryValue(int cpIndex) throws IOException {
-        StringCPEntry stringCPEntry = (StringCPEntry) this.env.constantPool[cpIndex];
-        return stringCPEntry.value;
+        return this.env.constantPool.getStringValue(cpIndex);
     }
 
     private long getIntCPEntryValue(DataInputStream dataInStream) throws IOException {
         int pkgNameCPIndex = dataInStream.readInt();
-        IntegerCPEntry intCPEntry = (IntegerCPEntry) this.env.constantPool[pkgNameCPIndex];
+        IntegerCPEntry intCPEntry = (IntegerCPEntry) this.env.constantPool.getEntry(pkgNameCPIndex, CP_ENTRY_INTEGER);
         return intCPEntry.value;
     }
 
     private int getByteCPEntryValue(DataInputStream dataInStream) throws IOException {
         int byteCpIndex = dataInStream.readInt();
-        ByteCPEntry byteCPEntry = (ByteCPEntry) this.env.constantPool[byteCpIndex];
+        ByteCPEntry byteCPEntry = (ByteCPEntry) this.env.constantPool.getEntry(byteCpIndex, CP_ENTRY_BYTE);
         return byteCPEntry.value;
     }
 
     private String getFloatCPEntryValue(DataInputStream dataInStream) throws IOException {
         int floatCpIndex = dataInStream.readInt();
-        FloatCPEntry floatCPEntry = (FloatCPEntry) this.env.constantPool[floatCpIndex];
+        FloatCPEntry floatCPEntry = (FloatCPEntry) this.env.constantPool.getEntry(floatCpIndex, CP_ENTRY_FLOAT);
         return Double.toString(floatCPEntry.value);
     }
 
@@ -958,9 +905,9 @@ public class BIRPackageSymbolEnter {
      */
     private static class BIRPackageSymbolEnv {
         PackageID requestedPackageId;
-        Map<Integer, byte[]> unparsedBTypeCPs = new HashMap<>();
+        byte[] birContent;
         BPackageSymbol pkgSymbol;
-        CPEntry[] constantPool;
+        BIRConstantPool constantPool;
         List<UnresolvedType> unresolvedTypes;
 
         BIRPackageSymbolEnv() {
@@ -1597,11 +1544,11 @@ public class BIRPackageSymbolEnter {
     }
 
     private PackageID getPackageId(int pkgCPIndex) {
-        PackageCPEntry pkgCpEntry = (PackageCPEntry) env.constantPool[pkgCPIndex];
-        String orgName = ((StringCPEntry) env.constantPool[pkgCpEntry.orgNameCPIndex]).value;
-        String pkgName = ((StringCPEntry) env.constantPool[pkgCpEntry.pkgNameCPIndex]).value;
-        String moduleName = ((StringCPEntry) env.constantPool[pkgCpEntry.moduleNameCPIndex]).value;
-        String version = ((StringCPEntry) env.constantPool[pkgCpEntry.versionCPIndex]).value;
+        PackageCPEntry pkgCpEntry = (PackageCPEntry) env.constantPool.getEntry(pkgCPIndex, CP_ENTRY_PACKAGE);
+        String orgName = env.constantPool.getStringValue(pkgCpEntry.orgNameCPIndex);
+        String pkgName = env.constantPool.getStringValue(pkgCpEntry.pkgNameCPIndex);
+        String moduleName = env.constantPool.getStringValue(pkgCpEntry.moduleNameCPIndex);
+        String version = env.constantPool.getStringValue(pkgCpEntry.versionCPIndex);
         return new PackageID(names.fromString(orgName), names.fromString(pkgName),
                 names.fromString(moduleName), names.fromString(version), null);
     }
@@ -1616,17 +1563,18 @@ public class BIRPackageSymbolEnter {
         switch (valueType.tag) {
             case TypeTags.INT:
                 int integerCpIndex = dataInStream.readInt();
-                IntegerCPEntry integerCPEntry = (IntegerCPEntry) this.env.constantPool[integerCpIndex];
+                IntegerCPEntry integerCPEntry =
+                        (IntegerCPEntry) this.env.constantPool.getEntry(integerCpIndex, CP_ENTRY_INTEGER);
                 litExpr.value = integerCPEntry.value;
                 break;
             case TypeTags.BYTE:
                 int byteCpIndex = dataInStream.readInt();
-                ByteCPEntry byteCPEntry = (ByteCPEntry) this.env.constantPool[byteCpIndex];
+                ByteCPEntry byteCPEntry = (ByteCPEntry) this.env.constantPool.getEntry(byteCpIndex, CP_ENTRY_BYTE);
                 litExpr.value = byteCPEntry.value;
                 break;
             case TypeTags.FLOAT:
                 int floatCpIndex = dataInStream.readInt();
-                FloatCPEntry floatCPEntry = (FloatCPEntry) this.env.constantPool[floatCpIndex];
+                FloatCPEntry floatCPEntry = (FloatCPEntry) this.env.constantPool.getEntry(floatCpIndex, CP_ENTRY_FLOAT);
                 litExpr.value = Double.toString(floatCPEntry.value);
                 break;
             case TypeTags.STRING:
@@ -281,12 +281,14 @@ public class BIRGen extends BLangNodeVisitor {
                     testPkg.imports.remove(mod);
                 }
                 testPkg.accept(this);
-                this.birOptimizer.optimizePackage(testBirPkg);
-                testPkg.symbol.bir = testBirPkg;
+                // Mocked function calls are replaced before optimizing, so that the optimizer never inlines the
+                // result of a function which is mocked by the tests.
                 Map<String, String> mockFunctionMap = astPkg.getTestablePkg().getMockFunctionNamesMap();
                 if (!mockFunctionMap.isEmpty()) {
                     replaceMockedFunctions(testBirPkg, mockFunctionMap, astPkg.packageID);
                 }
+                this.birOptimizer.optimizePackage(testBirPkg);
+                testPkg.symbol.bir = testBirPkg;
             });
         }
 
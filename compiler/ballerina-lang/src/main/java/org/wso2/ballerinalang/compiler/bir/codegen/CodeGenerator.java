@@ -17,6 +17,7 @@
  */
 package org.wso2.ballerinalang.compiler.bir.codegen;
 
+import org.ballerinalang.compiler.CompilerOptionName;
 import org.wso2.ballerinalang.compiler.CompiledJarFile;
 import org.wso2.ballerinalang.compiler.PackageCache;
 import org.wso2.ballerinalang.compiler.diagnostic.BLangDiagnosticLog;
@@ -24,6 +25,7 @@ import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BPackageSymbol;
 import org.wso2.ballerinalang.compiler.tree.BLangPackage;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.compiler.util.Names;
 
 import java.io.BufferedReader;
@@ -66,17 +68,35 @@ public class CodeGenerator {
 
     public CompiledJarFile generate(BLangPackage bLangPackage) {
         // generate module
-        return generate(bLangPackage.symbol);
+        return generate(bLangPackage.symbol, true);
+    }
+
+    /**
+     * Generate the jar of a module.
+     *
+     * @param bLangPackage  the module
+     * @param isRootPackage true if the module belongs to the package being built, to which the observability
+     *                      instrumentation option applies
+     * @return the generated jar
+     */
+    public CompiledJarFile generate(BLangPackage bLangPackage, boolean isRootPackage) {
+        return generate(bLangPackage.symbol, isRootPackage);
     }
 
     public CompiledJarFile generateTestModule(BLangPackage bLangTestablePackage) {
-        return generate(bLangTestablePackage.symbol);
+        return generate(bLangTestablePackage.symbol, true);
     }
 
-    private CompiledJarFile generate(BPackageSymbol packageSymbol) {
+    private CompiledJarFile generate(BPackageSymbol packageSymbol, boolean isRootPackage) {
 
-        // Desugar BIR to include the observations
-        JvmObservabilityGen jvmObservabilityGen = new JvmObservabilityGen(packageCache, symbolTable);
+        // Desugar BIR to include the observations. The cached jars of the dependencies do not depend on the
+        // instrumentation option, hence the dependencies are fully instrumented.
+        ObservabilityInstrumentationFilter instrumentationFilter = isRootPackage
+                ? ObservabilityInstrumentationFilter.from(CompilerOptions.getInstance(compilerContext)
+                        .get(CompilerOptionName.OBSERVABILITY_INSTRUMENTATION))
+                : ObservabilityInstrumentationFilter.ALL_CODE;
+        JvmObservabilityGen jvmObservabilityGen = new JvmObservabilityGen(packageCache, symbolTable,
+                instrumentationFilter);
         jvmObservabilityGen.instrumentPackage(packageSymbol.bir);
 
         dlog.setCurrentPackageId(packageSymbol.pkgID);
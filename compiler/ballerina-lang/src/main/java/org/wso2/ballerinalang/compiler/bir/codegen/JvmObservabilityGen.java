@@ -108,6 +108,7 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.STOP_OBSE
 class JvmObservabilityGen {
     private static final String ENTRY_POINT_MAIN_METHOD_NAME = "main";
     private static final String NEW_BB_PREFIX = "observabilityDesugaredBB";
+    private static final String ASYNC_WRAPPER_LAMBDA_PREFIX = "$lambda$observability";
     private static final String INVOCATION_INSTRUMENTATION_TYPE = "invocation";
     private static final String FUNC_BODY_INSTRUMENTATION_TYPE = "funcBody";
     private static final Location COMPILE_TIME_CONST_POS =
@@ -122,12 +123,15 @@ class JvmObservabilityGen {
 
     private final Map<Object, BIROperand> compileTimeConstants;
     private final Map<Name, String> svcAttachPoints;
+    private final ObservabilityInstrumentationFilter instrumentationFilter;
 
-    JvmObservabilityGen(PackageCache packageCache, SymbolTable symbolTable) {
+    JvmObservabilityGen(PackageCache packageCache, SymbolTable symbolTable,
+                        ObservabilityInstrumentationFilter instrumentationFilter) {
         this.compileTimeConstants = new HashMap<>();
         this.svcAttachPoints = new HashMap<>();
         this.packageCache = packageCache;
         this.symbolTable = symbolTable;
+        this.instrumentationFilter = instrumentationFilter;
         this.lambdaIndex = 0;
         this.desugaredBBIndex = 0;
         this.constantIndex = 0;
@@ -140,17 +144,29 @@ class JvmObservabilityGen {
      * @param pkg The package to instrument
      */
     void instrumentPackage(BIRPackage pkg) {
+        if (!instrumentationFilter.isModuleInstrumented(pkg.packageID)) {
+            return;
+        }
         for (int i = 0; i < pkg.functions.size(); i++) {
             BIRFunction func = pkg.functions.get(i);
+            boolean isMainEntryPoint = ENTRY_POINT_MAIN_METHOD_NAME.equals(func.name.value);
+            // The wrappers generated for async calls are instrumented, as their callers are instrumented
+            boolean isFullyInstrumented = instrumentationFilter.isFullyInstrumented(pkg.packageID, func.name.value)
+                    || func.name.value.startsWith(ASYNC_WRAPPER_LAMBDA_PREFIX);
 
-            if (ENTRY_POINT_MAIN_METHOD_NAME.equals(func.name.value)) {
-                rewriteControlFlowInvocation(func, pkg);
+            if (isFullyInstrumented) {
+                if (isMainEntryPoint) {
+                    rewriteControlFlowInvocation(func, pkg);
+                }
+                rewriteAsyncInvocations(func, null, pkg);
+                rewriteObservableFunctionInvocations(func, pkg);
             }
-            rewriteAsyncInvocations(func, null, pkg);
-            rewriteObservableFunctionInvocations(func, pkg);
-            if (ENTRY_POINT_MAIN_METHOD_NAME.equals(func.name.value)) {
-                rewriteObservableFunctionBody(func, pkg, null, func.name.value, null, false, false, true, false);
-            } else if ((func.flags & Flags.WORKER) == Flags.WORKER) {   // Identifying lambdas generated for workers
+            if (isMainEntryPoint) {
+                if (instrumentationFilter.isEntryPointInstrumented(pkg.packageID, func.name.value)) {
+                    rewriteObservableFunctionBody(func, pkg, null, func.name.value, null, false, false, true, false);
+                }
+            } else if (isFullyInstrumented && (func.flags & Flags.WORKER) == Flags.WORKER) {
+                // Identifying lambdas generated for workers
                 rewriteObservableFunctionBody(func, pkg, null, func.workerName.value, null, false, false, false, true);
             }
         }
@@ -187,15 +203,21 @@ class JvmObservabilityGen {
                             defaultServiceIndex++);
                 }
             }
+            boolean isFullyInstrumented = instrumentationFilter.isFullyInstrumented(pkg.packageID,
+                    typeDef.name.value, serviceName);
+            boolean isEntryPointInstrumented = isService && instrumentationFilter.isEntryPointInstrumented(
+                    pkg.packageID, typeDef.name.value, serviceName);
             for (int i = 0; i < typeDef.attachedFuncs.size(); i++) {
                 BIRFunction func = typeDef.attachedFuncs.get(i);
-                if (isService && ((func.flags & Flags.RESOURCE) == Flags.RESOURCE ||
-                        (func.flags & Flags.REMOTE) == Flags.REMOTE)) {
-                    rewriteControlFlowInvocation(func, pkg);
+                if (isFullyInstrumented) {
+                    if (isService && ((func.flags & Flags.RESOURCE) == Flags.RESOURCE ||
+                            (func.flags & Flags.REMOTE) == Flags.REMOTE)) {
+                        rewriteControlFlowInvocation(func, pkg);
+                    }
+                    rewriteAsyncInvocations(func, typeDef, pkg);
+                    rewriteObservableFunctionInvocations(func, pkg);
                 }
-                rewriteAsyncInvocations(func, typeDef, pkg);
-                rewriteObservableFunctionInvocations(func, pkg);
-                if (isService) {
+                if (isEntryPointInstrumented) {
                     if ((func.flags & Flags.RESOURCE) == Flags.RESOURCE) {
                         rewriteObservableFunctionBody(func, pkg, typeDef, func.name.value, serviceName,
                                                       true, false, false, false);
@@ -320,7 +342,7 @@ class JvmObservabilityGen {
             List<BType> argTypes = asyncCallIns.args.stream()
                     .map(arg -> arg.variableDcl.type)
                     .collect(Collectors.toList());
-            Name lambdaName = new Name(String.format("$lambda$observability%d$%s", lambdaIndex++,
+            Name lambdaName = new Name(String.format(ASYNC_WRAPPER_LAMBDA_PREFIX + "%d$%s", lambdaIndex++,
                     asyncCallIns.name.value.replace(".", "_")));
             BInvokableType bInvokableType = new BInvokableType(argTypes, null,
                     returnType, null);
@@ -714,17 +736,25 @@ class JvmObservabilityGen {
                 resourcePathOrFunction);
         BIROperand resourceAccessorOperand = generateGlobalConstantOperand(pkg, symbolTable.stringType,
                 resourceAccessor);
+        // The operation name is known at compile time, hence it is not concatenated on each invocation
+        String operationName = isResource
+                ? resourceAccessor + " " + resourcePathOrFunction
+                : serviceName + ":" + resourcePathOrFunction;
+        BIROperand operationNameOperand = generateGlobalConstantOperand(pkg, symbolTable.stringType,
+                operationName);
         BIROperand isResourceOperand = generateGlobalConstantOperand(pkg, symbolTable.booleanType, isResource);
         BIROperand isRemoteOperand = generateGlobalConstantOperand(pkg, symbolTable.booleanType, isRemote);
 
         JIMethodCall observeStartCallTerminator = new JIMethodCall(null);
         observeStartCallTerminator.invocationType = INVOKESTATIC;
         observeStartCallTerminator.jClassName = OBSERVE_UTILS;
-        observeStartCallTerminator.jMethodVMSig = String.format("(L%s;L%s;L%s;L%s;L%s;L%s;ZZ)V",
-                BAL_ENV, B_STRING_VALUE, B_STRING_VALUE, B_STRING_VALUE, B_STRING_VALUE, B_STRING_VALUE);
+        observeStartCallTerminator.jMethodVMSig = String.format("(L%s;L%s;L%s;L%s;L%s;L%s;L%s;ZZ)V",
+                BAL_ENV, B_STRING_VALUE, B_STRING_VALUE, B_STRING_VALUE, B_STRING_VALUE, B_STRING_VALUE,
+                B_STRING_VALUE);
         observeStartCallTerminator.name = START_RESOURCE_OBSERVATION_METHOD;
         observeStartCallTerminator.args = Arrays.asList(pkgOperand, originalInsPosOperand, serviceNameOperand,
-                resourcePathOrFunctionOperand, resourceAccessorOperand, isResourceOperand, isRemoteOperand);
+                resourcePathOrFunctionOperand, resourceAccessorOperand, operationNameOperand, isResourceOperand,
+                isRemoteOperand);
         observeStartBB.terminator = observeStartCallTerminator;
     }
 
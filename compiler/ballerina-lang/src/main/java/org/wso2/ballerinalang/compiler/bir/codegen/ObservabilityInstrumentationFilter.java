@@ -0,0 +1,214 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.codegen;
+
+import org.ballerinalang.model.elements.PackageID;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides which code is instrumented by {@link JvmObservabilityGen}, based on the observability instrumentation
+ * compiler option.
+ * <p>
+ * The option is one of,
+ * <ul>
+ *     <li>{@code all} (default) - instrument the entry points, remote calls, workers and checkpoints of all modules</li>
+ *     <li>{@code resources} - instrument only the entry points (service resource and remote functions and main)</li>
+ *     <li>{@code none} - do not instrument any code</li>
+ *     <li>a comma separated list of modules ({@code <org>/<module>}) and functions, classes or services
+ *     ({@code <org>/<module>:<name>}) to be fully instrumented</li>
+ * </ul>
+ * Entries of the list which are not in one of the above forms are ignored, and reported by
+ * {@link #getInvalidEntries(String)}.
+ * <p>
+ * The option applies to the modules of the package being built. The jars of the dependencies are cached by their
+ * versions only, hence the dependencies are always instrumented with {@link #ALL_CODE}.
+ *
+ * @since 2.0.0
+ */
+public class ObservabilityInstrumentationFilter {
+    private static final String ALL = "all";
+    private static final String RESOURCES = "resources";
+    private static final String NONE = "none";
+
+    static final ObservabilityInstrumentationFilter ALL_CODE = new ObservabilityInstrumentationFilter(Mode.ALL,
+            null, null);
+
+    private final Mode mode;
+    private final Set<String> modules;
+    private final Map<String, Set<String>> members;
+
+    private ObservabilityInstrumentationFilter(Mode mode, Set<String> modules, Map<String, Set<String>> members) {
+        this.mode = mode;
+        this.modules = modules;
+        this.members = members;
+    }
+
+    static ObservabilityInstrumentationFilter from(String option) {
+        if (option == null || option.isBlank() || ALL.equals(option.trim())) {
+            return ALL_CODE;
+        }
+        if (RESOURCES.equals(option.trim())) {
+            return new ObservabilityInstrumentationFilter(Mode.RESOURCES, null, null);
+        }
+        if (NONE.equals(option.trim())) {
+            return new ObservabilityInstrumentationFilter(Mode.NONE, null, null);
+        }
+
+        Set<String> modules = new HashSet<>();
+        Map<String, Set<String>> members = new HashMap<>();
+        for (String entry : option.split(",")) {
+            entry = entry.trim();
+            if (!isValidEntry(entry)) {
+                continue;
+            }
+            int separatorIndex = entry.indexOf(':');
+            if (separatorIndex < 0) {
+                modules.add(entry);
+            } else {
+                members.computeIfAbsent(entry.substring(0, separatorIndex), k -> new HashSet<>())
+                        .add(entry.substring(separatorIndex + 1));
+            }
+        }
+        return new ObservabilityInstrumentationFilter(Mode.SELECTED, modules, members);
+    }
+
+    /**
+     * Get the entries of an observability instrumentation compiler option which are not in one of the accepted forms.
+     *
+     * @param option the value of the compiler option
+     * @return the invalid entries of the option, which is empty if the option is valid
+     */
+    public static List<String> getInvalidEntries(String option) {
+        List<String> invalidEntries = new ArrayList<>();
+        if (option == null || option.isBlank()) {
+            return invalidEntries;
+        }
+        String trimmedOption = option.trim();
+        if (ALL.equals(trimmedOption) || RESOURCES.equals(trimmedOption) || NONE.equals(trimmedOption)) {
+            return invalidEntries;
+        }
+        for (String entry : option.split(",")) {
+            if (!isValidEntry(entry.trim())) {
+                invalidEntries.add(entry.trim());
+            }
+        }
+        return invalidEntries;
+    }
+
+    private static boolean isValidEntry(String entry) {
+        int separatorIndex = entry.indexOf(':');
+        if (separatorIndex == entry.length() - 1) {
+            return false;
+        }
+        String module = separatorIndex < 0 ? entry : entry.substring(0, separatorIndex);
+        int orgSeparatorIndex = module.indexOf('/');
+        return orgSeparatorIndex > 0 && orgSeparatorIndex == module.lastIndexOf('/')
+                && orgSeparatorIndex < module.length() - 1;
+    }
+
+    /**
+     * Checks whether any code of a module may be instrumented.
+     *
+     * @param packageID the module
+     * @return true if the module may contain instrumented code
+     */
+    boolean isModuleInstrumented(PackageID packageID) {
+        switch (mode) {
+            case NONE:
+                return false;
+            case SELECTED:
+                String module = getModuleName(packageID);
+                return modules.contains(module) || members.containsKey(module);
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Checks whether the remote calls, workers and checkpoints of a function or the functions of a class or service
+     * are instrumented.
+     *
+     * @param packageID the module which contains the function, class or service
+     * @param names     the names by which the function, class or service can be referred to
+     * @return true if the body of the function is instrumented
+     */
+    boolean isFullyInstrumented(PackageID packageID, String... names) {
+        switch (mode) {
+            case ALL:
+                return true;
+            case SELECTED:
+                return isSelected(packageID, names);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Checks whether an entry point function, which is a service resource or remote function or the main function,
+     * is instrumented.
+     *
+     * @param packageID the module which contains the entry point
+     * @param names     the names by which the function, class or service can be referred to
+     * @return true if the entry point is instrumented
+     */
+    boolean isEntryPointInstrumented(PackageID packageID, String... names) {
+        switch (mode) {
+            case ALL:
+            case RESOURCES:
+                return true;
+            case SELECTED:
+                return isSelected(packageID, names);
+            default:
+                return false;
+        }
+    }
+
+    private boolean isSelected(PackageID packageID, String... names) {
+        String module = getModuleName(packageID);
+        if (modules.contains(module)) {
+            return true;
+        }
+        Set<String> moduleMembers = members.get(module);
+        if (moduleMembers == null) {
+            return false;
+        }
+        for (String name : names) {
+            if (name != null && moduleMembers.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String getModuleName(PackageID packageID) {
+        return packageID.orgName.value + "/" + packageID.name.value;
+    }
+
+    private enum Mode {
+        ALL,
+        RESOURCES,
+        NONE,
+        SELECTED
+    }
+}
@@ -0,0 +1,539 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRTypeDefinition;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.BinaryOp;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.ConstantLoad;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.Move;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.UnaryOP;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BirScope;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.Symbols;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+import org.wso2.ballerinalang.util.Flags;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Folds constant expressions, inlines calls to module functions that always return the same constant and removes the
+ * basic blocks that become unreachable as a result.
+ * <p>
+ * Constant values are only tracked within a basic block, so the folding does not depend on temporary variables being
+ * assigned once. Basic blocks are only restructured in functions without an error table, since trap ranges are
+ * described by the positions of their basic blocks.
+ *
+ * @since 2.0.0
+ */
+public class BIRFoldingOptimizer {
+
+    // Upper bound on the number of basic blocks followed when checking whether a function returns a constant.
+    private static final int MAX_INLINE_BASIC_BLOCKS = 8;
+
+    public void optimizeNode(BIRPackage pkg) {
+        List<BIRFunction> functions = new ArrayList<>(pkg.functions);
+        for (BIRTypeDefinition typeDef : pkg.typeDefs) {
+            functions.addAll(typeDef.attachedFuncs);
+        }
+
+        functions.forEach(this::foldConstants);
+
+        Map<Name, ConstantLoad> constantFunctions = new HashMap<>();
+        for (BIRFunction function : pkg.functions) {
+            ConstantLoad result = getConstantResult(function);
+            if (result != null) {
+                constantFunctions.put(function.name, result);
+            }
+        }
+
+        for (BIRFunction function : functions) {
+            if (function.basicBlocks.isEmpty()) {
+                continue;
+            }
+            boolean inlined = inlineConstantCalls(function, pkg, constantFunctions);
+            if (!function.errorTable.isEmpty()) {
+                if (inlined) {
+                    foldConstants(function);
+                }
+                continue;
+            }
+            boolean merged = mergeBasicBlocks(function);
+            if (inlined || merged) {
+                foldConstants(function);
+            }
+            removeUnreachableBasicBlocks(function);
+        }
+    }
+
+    // Constant folding
+
+    private void foldConstants(BIRFunction function) {
+        for (BIRBasicBlock basicBlock : function.basicBlocks) {
+            foldConstants(basicBlock);
+        }
+    }
+
+    private void foldConstants(BIRBasicBlock basicBlock) {
+        Map<BIRVariableDcl, ConstantLoad> constants = new HashMap<>();
+        List<BIRNonTerminator> instructions = basicBlock.instructions;
+        for (int i = 0; i < instructions.size(); i++) {
+            BIRNonTerminator instruction = instructions.get(i);
+            ConstantLoad constant = evaluate(instruction, constants);
+            if (constant != null && constant != instruction && instruction.kind != InstructionKind.MOVE) {
+                constant.scope = instruction.scope;
+                instructions.set(i, constant);
+            }
+
+            BIROperand lhsOp = instruction.lhsOp;
+            if (lhsOp == null) {
+                continue;
+            }
+            if (constant != null && isTrackedVar(lhsOp.variableDcl)) {
+                constants.put(lhsOp.variableDcl, constant);
+            } else {
+                constants.remove(lhsOp.variableDcl);
+            }
+        }
+
+        BIRTerminator terminator = basicBlock.terminator;
+        if (terminator == null || terminator.kind != InstructionKind.BRANCH) {
+            return;
+        }
+        BIRTerminator.Branch branch = (BIRTerminator.Branch) terminator;
+        ConstantLoad condition = constants.get(branch.op.variableDcl);
+        if (condition == null || condition.type.tag != TypeTags.BOOLEAN) {
+            return;
+        }
+        BIRBasicBlock targetBB = toBoolean(condition.value) ? branch.trueBB : branch.falseBB;
+        BIRTerminator.GOTO gotoIns = new BIRTerminator.GOTO(branch.pos, targetBB);
+        gotoIns.scope = branch.scope;
+        basicBlock.terminator = gotoIns;
+    }
+
+    private ConstantLoad evaluate(BIRNonTerminator instruction, Map<BIRVariableDcl, ConstantLoad> constants) {
+        switch (instruction.kind) {
+            case CONST_LOAD:
+                ConstantLoad constantLoad = (ConstantLoad) instruction;
+                return isFoldableType(constantLoad.type) ? constantLoad : null;
+            case MOVE:
+                Move move = (Move) instruction;
+                ConstantLoad source = constants.get(move.rhsOp.variableDcl);
+                if (source == null || source.type.tag != move.lhsOp.variableDcl.type.tag) {
+                    return null;
+                }
+                return source;
+            case NOT:
+            case NEGATE:
+                UnaryOP unaryOp = (UnaryOP) instruction;
+                ConstantLoad operand = constants.get(unaryOp.rhsOp.variableDcl);
+                if (operand == null) {
+                    return null;
+                }
+                return toConstantLoad(unaryOp, foldUnaryOp(unaryOp.kind, operand));
+            default:
+                if (!(instruction instanceof BinaryOp)) {
+                    return null;
+                }
+                BinaryOp binaryOp = (BinaryOp) instruction;
+                ConstantLoad lhs = constants.get(binaryOp.rhsOp1.variableDcl);
+                ConstantLoad rhs = constants.get(binaryOp.rhsOp2.variableDcl);
+                if (lhs == null || rhs == null || lhs.type.tag != rhs.type.tag) {
+                    return null;
+                }
+                return toConstantLoad(binaryOp, foldBinaryOp(binaryOp.kind, lhs, rhs));
+        }
+    }
+
+    private ConstantLoad toConstantLoad(BIRNonTerminator instruction, Object value) {
+        if (value == null) {
+            return null;
+        }
+        BType type = instruction.lhsOp.variableDcl.type;
+        if (getTypeTag(value) != type.tag) {
+            return null;
+        }
+        return new ConstantLoad(instruction.pos, value, type, instruction.lhsOp);
+    }
+
+    private Object foldUnaryOp(InstructionKind kind, ConstantLoad operand) {
+        int tag = operand.type.tag;
+        if (kind == InstructionKind.NOT && tag == TypeTags.BOOLEAN) {
+            return !toBoolean(operand.value);
+        }
+        if (kind == InstructionKind.NEGATE && tag == TypeTags.INT) {
+            long value = (Long) operand.value;
+            return value == Long.MIN_VALUE ? null : -value;
+        }
+        if (kind == InstructionKind.NEGATE && tag == TypeTags.FLOAT) {
+            Double value = toDouble(operand.value);
+            return value == null ? null : -value;
+        }
+        return null;
+    }
+
+    private Object foldBinaryOp(InstructionKind kind, ConstantLoad lhs, ConstantLoad rhs) {
+        switch (lhs.type.tag) {
+            case TypeTags.INT:
+                return foldIntBinaryOp(kind, (Long) lhs.value, (Long) rhs.value);
+            case TypeTags.FLOAT:
+                Double lhsValue = toDouble(lhs.value);
+                Double rhsValue = toDouble(rhs.value);
+                if (lhsValue == null || rhsValue == null) {
+                    return null;
+                }
+                return foldFloatBinaryOp(kind, lhsValue, rhsValue);
+            case TypeTags.STRING:
+                return foldStringBinaryOp(kind, lhs.value.toString(), rhs.value.toString());
+            case TypeTags.BOOLEAN:
+                return foldBooleanBinaryOp(kind, toBoolean(lhs.value), toBoolean(rhs.value));
+            default:
+                return null;
+        }
+    }
+
+    private Object foldIntBinaryOp(InstructionKind kind, long lhs, long rhs) {
+        try {
+            switch (kind) {
+                case ADD:
+                    return Math.addExact(lhs, rhs);
+                case SUB:
+                    return Math.subtractExact(lhs, rhs);
+                case MUL:
+                    return Math.multiplyExact(lhs, rhs);
+                case DIV:
+                    // Division by zero and overflow must panic at runtime.
+                    return rhs == 0 || (lhs == Long.MIN_VALUE && rhs == -1) ? null : lhs / rhs;
+                case MOD:
+                    return rhs == 0 || (lhs == Long.MIN_VALUE && rhs == -1) ? null : lhs % rhs;
+                case BITWISE_AND:
+                    return lhs & rhs;
+                case BITWISE_OR:
+                    return lhs | rhs;
+                case BITWISE_XOR:
+                    return lhs ^ rhs;
+                case EQUAL:
+                    return lhs == rhs;
+                case NOT_EQUAL:
+                    return lhs != rhs;
+                case GREATER_THAN:
+                    return lhs > rhs;
+                case GREATER_EQUAL:
+                    return lhs >= rhs;
+                case LESS_THAN:
+                    return lhs < rhs;
+                case LESS_EQUAL:
+                    return lhs <= rhs;
+                default:
+                    return null;
+            }
+        } catch (ArithmeticException e) {
+            // Integer overflow is a runtime panic, hence leave the instruction as it is.
+            return null;
+        }
+    }
+
+    private Object foldFloatBinaryOp(InstructionKind kind, double lhs, double rhs) {
+        // Float comparisons are not folded since NaN is handled differently by the runtime.
+        switch (kind) {
+            case ADD:
+                return lhs + rhs;
+            case SUB:
+                return lhs - rhs;
+            case MUL:
+                return lhs * rhs;
+            case DIV:
+                return lhs / rhs;
+            default:
+                return null;
+        }
+    }
+
+    private Object foldStringBinaryOp(InstructionKind kind, String lhs, String rhs) {
+        switch (kind) {
+            case ADD:
+                return lhs + rhs;
+            case EQUAL:
+                return lhs.equals(rhs);
+            case NOT_EQUAL:
+                return !lhs.equals(rhs);
+            default:
+                return null;
+        }
+    }
+
+    private Object foldBooleanBinaryOp(InstructionKind kind, boolean lhs, boolean rhs) {
+        switch (kind) {
+            case EQUAL:
+                return lhs == rhs;
+            case NOT_EQUAL:
+                return lhs != rhs;
+            default:
+                return null;
+        }
+    }
+
+    // Inlining
+
+    /**
+     * Returns the constant returned by the given function, if the function body does nothing other than loading a
+     * constant to the return variable. Calls to such functions can be replaced with the constant itself.
+     *
+     * @param function function to check
+     * @return the constant load of the return value or null if the function is not a constant function
+     */
+    private ConstantLoad getConstantResult(BIRFunction function) {
+        if (function.basicBlocks.isEmpty() || !function.errorTable.isEmpty() || function.returnVariable == null ||
+                Symbols.isFlagOn(function.flags, Flags.NATIVE) || Symbols.isFlagOn(function.flags, Flags.WORKER) ||
+                Symbols.isFlagOn(function.flags, Flags.TRANSACTIONAL) ||
+                (function.workerChannels != null && function.workerChannels.length > 0)) {
+            return null;
+        }
+        // Default values of parameters are evaluated in the callee and may have side effects.
+        for (List<BIRBasicBlock> defaultValueBBs : function.parameters.values()) {
+            if (!defaultValueBBs.isEmpty()) {
+                return null;
+            }
+        }
+
+        Map<BIRVariableDcl, ConstantLoad> constants = new HashMap<>();
+        Set<BIRBasicBlock> visited = new HashSet<>();
+        BIRBasicBlock basicBlock = function.basicBlocks.get(0);
+        while (visited.add(basicBlock) && visited.size() <= MAX_INLINE_BASIC_BLOCKS) {
+            for (BIRNonTerminator instruction : basicBlock.instructions) {
+                ConstantLoad constant = evaluate(instruction, constants);
+                BIRVariableDcl lhsVar = instruction.lhsOp.variableDcl;
+                if (constant == null || (!isTrackedVar(lhsVar) && lhsVar != function.returnVariable)) {
+                    return null;
+                }
+                constants.put(lhsVar, constant);
+            }
+
+            BIRTerminator terminator = basicBlock.terminator;
+            if (terminator == null) {
+                return null;
+            }
+            if (terminator.kind == InstructionKind.RETURN) {
+                BType returnType = function.returnVariable.type;
+                ConstantLoad result = constants.get(function.returnVariable);
+                if (result == null && returnType.tag == TypeTags.NIL) {
+                    return new ConstantLoad(function.pos, null, returnType, null);
+                }
+                return result != null && result.type.tag == returnType.tag ? result : null;
+            }
+            if (terminator.kind != InstructionKind.GOTO) {
+                return null;
+            }
+            basicBlock = ((BIRTerminator.GOTO) terminator).targetBB;
+        }
+        return null;
+    }
+
+    private boolean inlineConstantCalls(BIRFunction function, BIRPackage pkg,
+                                        Map<Name, ConstantLoad> constantFunctions) {
+        boolean inlined = false;
+        for (BIRBasicBlock basicBlock : function.basicBlocks) {
+            BIRTerminator terminator = basicBlock.terminator;
+            if (terminator == null || terminator.kind != InstructionKind.CALL ||
+                    !(terminator instanceof BIRTerminator.Call)) {
+                continue;
+            }
+            BIRTerminator.Call call = (BIRTerminator.Call) terminator;
+            if (call.isVirtual || call.transactional || !pkg.packageID.equals(call.calleePkg)) {
+                continue;
+            }
+            ConstantLoad result = constantFunctions.get(call.name);
+            if (result == null) {
+                continue;
+            }
+            if (call.lhsOp != null) {
+                BType lhsType = call.lhsOp.variableDcl.type;
+                if (lhsType.tag != result.type.tag) {
+                    continue;
+                }
+                ConstantLoad constantLoad = new ConstantLoad(call.pos, result.value, lhsType, call.lhsOp);
+                constantLoad.scope = call.scope;
+                basicBlock.instructions.add(constantLoad);
+            }
+            BIRTerminator.GOTO gotoIns = new BIRTerminator.GOTO(call.pos, call.thenBB);
+            gotoIns.scope = call.scope;
+            basicBlock.terminator = gotoIns;
+            inlined = true;
+        }
+        return inlined;
+    }
+
+    // Basic block elimination
+
+    /**
+     * Appends a basic block to its only predecessor when that predecessor jumps to it unconditionally. This gives the
+     * constant folding, which is local to a basic block, a chance to see the values loaded before the jump.
+     *
+     * @param function function to optimize
+     * @return true if any basic block was merged
+     */
+    private boolean mergeBasicBlocks(BIRFunction function) {
+        Map<BIRBasicBlock, Integer> predecessorCounts = getPredecessorCounts(function);
+        List<BIRBasicBlock> basicBlocks = function.basicBlocks;
+        BIRBasicBlock entryBB = basicBlocks.get(0);
+        Set<BIRBasicBlock> merged = new HashSet<>();
+        for (BIRBasicBlock basicBlock : basicBlocks) {
+            if (merged.contains(basicBlock)) {
+                continue;
+            }
+            while (basicBlock.terminator != null && basicBlock.terminator.kind == InstructionKind.GOTO) {
+                BIRBasicBlock targetBB = ((BIRTerminator.GOTO) basicBlock.terminator).targetBB;
+                if (targetBB == basicBlock || targetBB == entryBB || targetBB.terminator == null ||
+                        predecessorCounts.getOrDefault(targetBB, 0) != 1) {
+                    break;
+                }
+                basicBlock.instructions.addAll(targetBB.instructions);
+                basicBlock.terminator = targetBB.terminator;
+                merged.add(targetBB);
+            }
+        }
+        return basicBlocks.removeAll(merged);
+    }
+
+    private Map<BIRBasicBlock, Integer> getPredecessorCounts(BIRFunction function) {
+        Map<BIRBasicBlock, Integer> predecessorCounts = new HashMap<>();
+        for (BIRBasicBlock basicBlock : function.basicBlocks) {
+            if (basicBlock.terminator == null) {
+                continue;
+            }
+            for (BIRBasicBlock nextBB : basicBlock.terminator.getNextBasicBlocks()) {
+                predecessorCounts.merge(nextBB, 1, Integer::sum);
+            }
+        }
+        return predecessorCounts;
+    }
+
+    private void removeUnreachableBasicBlocks(BIRFunction function) {
+        Set<BIRBasicBlock> reachable = new HashSet<>();
+        List<BIRBasicBlock> workList = new ArrayList<>();
+        workList.add(function.basicBlocks.get(0));
+        while (!workList.isEmpty()) {
+            BIRBasicBlock basicBlock = workList.remove(workList.size() - 1);
+            if (!reachable.add(basicBlock) || basicBlock.terminator == null) {
+                continue;
+            }
+            for (BIRBasicBlock nextBB : basicBlock.terminator.getNextBasicBlocks()) {
+                workList.add(nextBB);
+            }
+        }
+        if (function.basicBlocks.retainAll(reachable)) {
+            clearRemovedVarScopes(function);
+        }
+    }
+
+    /**
+     * Local variables declared in removed basic blocks are given the whole function as the visible range, since the
+     * scope labels used for their debug information are no longer generated.
+     *
+     * @param function function whose basic blocks were removed
+     */
+    private void clearRemovedVarScopes(BIRFunction function) {
+        Set<BirScope> liveScopes = new HashSet<>();
+        for (BIRBasicBlock basicBlock : function.basicBlocks) {
+            for (BIRNonTerminator instruction : basicBlock.instructions) {
+                addScope(liveScopes, instruction);
+            }
+            addScope(liveScopes, basicBlock.terminator);
+        }
+        for (BIRVariableDcl localVar : function.localVars) {
+            if (localVar.kind == VarKind.LOCAL && localVar.insScope != null &&
+                    !liveScopes.contains(localVar.insScope)) {
+                localVar.startBB = null;
+                localVar.endBB = null;
+            }
+        }
+    }
+
+    private void addScope(Set<BirScope> liveScopes, BIRAbstractInstruction instruction) {
+        if (instruction == null) {
+            return;
+        }
+        BirScope scope = instruction.scope;
+        while (scope != null && liveScopes.add(scope)) {
+            scope = scope.parent;
+        }
+    }
+
+    // Utils
+
+    private boolean isTrackedVar(BIRVariableDcl variableDcl) {
+        // Globals can be updated by other strands, hence only local values are tracked.
+        return variableDcl.kind == VarKind.TEMP || variableDcl.kind == VarKind.LOCAL;
+    }
+
+    private boolean isFoldableType(BType type) {
+        switch (type.tag) {
+            case TypeTags.INT:
+            case TypeTags.FLOAT:
+            case TypeTags.STRING:
+            case TypeTags.BOOLEAN:
+            case TypeTags.NIL:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private int getTypeTag(Object value) {
+        if (value instanceof Long) {
+            return TypeTags.INT;
+        }
+        if (value instanceof Double) {
+            return TypeTags.FLOAT;
+        }
+        if (value instanceof Boolean) {
+            return TypeTags.BOOLEAN;
+        }
+        return TypeTags.STRING;
+    }
+
+    private boolean toBoolean(Object value) {
+        return value instanceof Boolean ? (Boolean) value : Boolean.parseBoolean(String.valueOf(value));
+    }
+
+    private Double toDouble(Object value) {
+        if (value instanceof Double) {
+            return (Double) value;
+        }
+        try {
+            return Double.parseDouble(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.wso2.ballerinalang.compiler.bir.optimizer;
 
+import org.ballerinalang.compiler.CompilerOptionName;
 import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
 import org.wso2.ballerinalang.compiler.bir.model.BIRArgument;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
@@ -34,6 +35,7 @@ import org.wso2.ballerinalang.compiler.bir.model.BIRVisitor;
 import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
 import org.wso2.ballerinalang.compiler.bir.model.VarKind;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.util.Lists;
 
 import java.util.ArrayList;
@@ -54,6 +56,8 @@ public class BIROptimizer {
     private final LHSTempVarOptimizer lhsTempVarOptimizer;
     private final BIRLockOptimizer lockOptimizer;
     private final BirVariableOptimizer variableOptimizer;
+    private final BIRFoldingOptimizer foldingOptimizer;
+    private final CompilerOptions compilerOptions;
 
     public static BIROptimizer getInstance(CompilerContext context) {
         BIROptimizer birGen = context.get(BIR_OPTIMIZER);
@@ -70,6 +74,8 @@ public class BIROptimizer {
         this.lhsTempVarOptimizer = new LHSTempVarOptimizer();
         this.lockOptimizer = new BIRLockOptimizer();
         this.variableOptimizer = new BirVariableOptimizer();
+        this.foldingOptimizer = new BIRFoldingOptimizer();
+        this.compilerOptions = CompilerOptions.getInstance(context);
     }
 
     public void optimizePackage(BIRPackage pkg) {
@@ -79,11 +85,28 @@ public class BIROptimizer {
         // LHS temp var optimization
         this.lhsTempVarOptimizer.optimizeNode(pkg, null);
 
+        // Constant folding, constant function inlining and dead basic block elimination
+        if (getOptimizationLevel() > 0) {
+            this.foldingOptimizer.optimizeNode(pkg);
+        }
+
         // Optimize lock statements
         this.lockOptimizer.optimizeNode(pkg);
         variableOptimizer.optimizeNode(pkg);
     }
 
+    private int getOptimizationLevel() {
+        String optimizationLevel = this.compilerOptions.get(CompilerOptionName.OPTIMIZATION_LEVEL);
+        if (optimizationLevel == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(optimizationLevel);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
     /**
      * This class is to optimize away unwanted temporary variables in right hand side of statements.
      */
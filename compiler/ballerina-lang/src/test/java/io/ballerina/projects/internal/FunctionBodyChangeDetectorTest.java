@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.projects.internal;
+
+import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import io.ballerina.tools.text.TextDocuments;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests detecting changes confined to function bodies.
+ *
+ * @since 2.0.0
+ */
+public class FunctionBodyChangeDetectorTest {
+    private static final String SOURCE = "public function add(int a, int b) returns int {\n" +
+            "    return a + b;\n" +
+            "}\n" +
+            "\n" +
+            "public function square(int a) returns int => a * a;\n" +
+            "\n" +
+            "public type Person record { string name; };\n";
+
+    @Test(description = "Edits within block and expression bodies are confined to function bodies")
+    public void testBodyEdits() {
+        assertConfined(SOURCE.replace("return a + b;", "int c = a + b; return c;"), true);
+        assertConfined(SOURCE.replace("=> a * a;", "=> a * a * 1;"), true);
+        assertConfined(SOURCE, true);
+    }
+
+    @Test(description = "Edits to signatures on the same line are not confined to function bodies")
+    public void testSameLineSignatureEdits() {
+        // Renamed parameter with a name of the same length
+        assertConfined(SOURCE.replace("int a, int b", "int x, int b"), false);
+        // Changed parameter type
+        assertConfined(SOURCE.replace("(int a) returns int", "(float a) returns int"), false);
+        // Changed return type of a function with an expression body
+        assertConfined(SOURCE.replace("returns int =>", "returns float =>"), false);
+        // Removed visibility qualifier
+        assertConfined(SOURCE.replace("public function square", "function square"), false);
+    }
+
+    @Test(description = "Tokens outside function bodies that move within their line are not confined to bodies")
+    public void testSameLineTokenShifts() {
+        // Only whitespace is added, but the name of the function moves to a different column
+        assertConfined(SOURCE.replace("public function add", "public function  add"), false);
+        // The record fields shift within the line
+        assertConfined(SOURCE.replace("record { string", "record {  string"), false);
+        // A body edit that changes the line of the following declarations
+        assertConfined(SOURCE.replace("return a + b;", "return a +\n        b;"), false);
+    }
+
+    @Test(description = "Edits outside function bodies on other lines are not confined to function bodies")
+    public void testModuleLevelEdits() {
+        assertConfined(SOURCE.replace("string name;", "string name; int age;"), false);
+        assertConfined(SOURCE + "public const int MAX = 10;\n", false);
+    }
+
+    private static void assertConfined(String newSource, boolean expected) {
+        SyntaxTree oldSyntaxTree = SyntaxTree.from(TextDocuments.from(SOURCE));
+        SyntaxTree newSyntaxTree = SyntaxTree.from(TextDocuments.from(newSource));
+        Assert.assertEquals(FunctionBodyChangeDetector.isChangeConfinedToFunctionBodies(oldSyntaxTree,
+                newSyntaxTree), expected, newSource);
+    }
+}
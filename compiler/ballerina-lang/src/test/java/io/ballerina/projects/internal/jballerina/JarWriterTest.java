@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.projects.internal.jballerina;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.CompiledJarFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Tests the jar writer.
+ *
+ * @since 2.0.0
+ */
+public class JarWriterTest {
+    private static final int ENTRY_COUNT = 200;
+
+    @Test(description = "Parallel compression produces identical jars regardless of the order of the entries")
+    public void testParallelWriteIsDeterministic() throws IOException {
+        byte[] jar = writeInParallel(createJarFile(getEntries(), "foo.bar.main"));
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(writeInParallel(createJarFile(getEntries(), "foo.bar.main")), jar);
+        }
+
+        Map<String, byte[]> reversedEntries = new LinkedHashMap<>();
+        List<String> names = new ArrayList<>(getEntries().keySet());
+        for (int i = names.size() - 1; i >= 0; i--) {
+            reversedEntries.put(names.get(i), getEntries().get(names.get(i)));
+        }
+        Assert.assertEquals(writeInParallel(createJarFile(reversedEntries, "foo.bar.main")), jar);
+    }
+
+    @Test(description = "Sequential writing produces identical jars regardless of the order of the entries")
+    public void testSequentialWriteIsDeterministic() throws IOException {
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        JarWriter.writeJar(createJarFile(getEntries(), null), first);
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        JarWriter.writeJar(createJarFile(new LinkedHashMap<>(getEntries()), null), second);
+        Assert.assertEquals(second.toByteArray(), first.toByteArray());
+    }
+
+    @Test(description = "Jar written in parallel contains the manifest and the entries in the order of their names")
+    public void testParallelWriteContent() throws IOException {
+        Map<String, byte[]> entries = getEntries();
+        byte[] jar = writeInParallel(createJarFile(entries, "foo.bar.main"));
+        assertJarContent(jar, entries, "foo.bar.main");
+
+        ByteArrayOutputStream sequentialJar = new ByteArrayOutputStream();
+        JarWriter.writeJar(createJarFile(entries, "foo.bar.main"), sequentialJar);
+        assertJarContent(sequentialJar.toByteArray(), entries, "foo.bar.main");
+    }
+
+    @Test(description = "Parallel and sequential writers mark the jar with the same extra field of the manifest entry")
+    public void testJarMarker() throws IOException {
+        Map<String, byte[]> entries = getEntries();
+        ByteArrayOutputStream sequentialJar = new ByteArrayOutputStream();
+        JarWriter.writeJar(createJarFile(entries, "foo.bar.main"), sequentialJar);
+        byte[] expectedExtra = getManifestExtra(sequentialJar.toByteArray());
+        Assert.assertEquals(expectedExtra, new byte[]{(byte) 0xFE, (byte) 0xCA, 0, 0});
+        Assert.assertEquals(getManifestExtra(writeInParallel(createJarFile(entries, "foo.bar.main"))), expectedExtra);
+    }
+
+    @Test(description = "Jar without a main class and with empty entries is written in parallel")
+    public void testParallelWriteWithEmptyEntries() throws IOException {
+        Map<String, byte[]> entries = new HashMap<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            entries.put("foo/bar/Empty" + i + ".class", new byte[0]);
+        }
+        assertJarContent(writeInParallel(createJarFile(entries, null)), entries, null);
+    }
+
+    private static void assertJarContent(byte[] jar, Map<String, byte[]> entries, String mainClassName)
+            throws IOException {
+        try (JarInputStream jarInputStream = new JarInputStream(new ByteArrayInputStream(jar))) {
+            Assert.assertEquals(jarInputStream.getManifest().getMainAttributes().getValue(Attributes.Name.MAIN_CLASS),
+                    mainClassName);
+            String previousName = "";
+            int entryCount = 0;
+            JarEntry entry;
+            while ((entry = jarInputStream.getNextJarEntry()) != null) {
+                Assert.assertTrue(entry.getName().compareTo(previousName) > 0, entry.getName());
+                Assert.assertEquals(jarInputStream.readAllBytes(), entries.get(entry.getName()), entry.getName());
+                previousName = entry.getName();
+                entryCount++;
+            }
+            Assert.assertEquals(entryCount, entries.size());
+        }
+    }
+
+    private static byte[] getManifestExtra(byte[] jar) throws IOException {
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(jar))) {
+            ZipEntry entry = zipInputStream.getNextEntry();
+            Assert.assertNotNull(entry);
+            Assert.assertEquals(entry.getName(), JarFile.MANIFEST_NAME);
+            return entry.getExtra();
+        }
+    }
+
+    private static byte[] writeInParallel(CompiledJarFile compiledJarFile) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JarWriter.writeJarInParallel(compiledJarFile, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static CompiledJarFile createJarFile(Map<String, byte[]> entries, String mainClassName) {
+        return mainClassName == null ? new CompiledJarFile(entries) : new CompiledJarFile(mainClassName, entries);
+    }
+
+    private static Map<String, byte[]> getEntries() {
+        Map<String, byte[]> entries = new HashMap<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            StringBuilder content = new StringBuilder();
+            for (int j = 0; j < i * 10; j++) {
+                content.append("entry ").append(i).append(" line ").append(j).append('\n');
+            }
+            entries.put("foo/bar/Class" + i + ".class", content.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return entries;
+    }
+}
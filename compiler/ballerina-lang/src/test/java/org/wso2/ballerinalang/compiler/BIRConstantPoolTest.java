@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.ballerinalang.compiler;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.writer.CPEntry;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests for the lazily decoded {@link BIRConstantPool}.
+ *
+ * @since 2.0.0
+ */
+public class BIRConstantPoolTest {
+
+    private static final int INTEGER_INDEX = 0;
+    private static final int FLOAT_INDEX = 1;
+    private static final int BOOLEAN_INDEX = 2;
+    private static final int STRING_INDEX = 3;
+    private static final int NULL_STRING_INDEX = 4;
+    private static final int PACKAGE_INDEX = 5;
+    private static final int BYTE_INDEX = 6;
+    private static final int SHAPE_INDEX = 7;
+    private static final String STRING_VALUE = "ballerina/lang.int 𝄞 ü";
+    private static final byte[] SHAPE_BYTES = {9, 8, 7, 6, 5};
+
+    private BIRConstantPool constantPool;
+    private DataInputStream dataInStream;
+
+    @BeforeMethod
+    public void readConstantPool() throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(content);
+        // Some content before the constant pool, so that the entries are not at the start of the content
+        out.writeInt(0xBA1DA4CE);
+        out.writeInt(8);
+        writeTag(out, CPEntry.Type.CP_ENTRY_INTEGER);
+        out.writeLong(42);
+        writeTag(out, CPEntry.Type.CP_ENTRY_FLOAT);
+        out.writeDouble(4.5);
+        writeTag(out, CPEntry.Type.CP_ENTRY_BOOLEAN);
+        out.writeBoolean(true);
+        writeTag(out, CPEntry.Type.CP_ENTRY_STRING);
+        byte[] stringBytes = STRING_VALUE.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(stringBytes.length);
+        out.write(stringBytes);
+        writeTag(out, CPEntry.Type.CP_ENTRY_STRING);
+        out.writeInt(-1);
+        writeTag(out, CPEntry.Type.CP_ENTRY_PACKAGE);
+        out.writeInt(STRING_INDEX);
+        out.writeInt(STRING_INDEX);
+        out.writeInt(STRING_INDEX);
+        out.writeInt(NULL_STRING_INDEX);
+        writeTag(out, CPEntry.Type.CP_ENTRY_BYTE);
+        out.writeInt(255);
+        writeTag(out, CPEntry.Type.CP_ENTRY_SHAPE);
+        out.writeInt(SHAPE_BYTES.length);
+        out.write(SHAPE_BYTES);
+        out.writeInt(STRING_INDEX);
+        out.flush();
+
+        byte[] birContent = content.toByteArray();
+        dataInStream = new DataInputStream(new ByteArrayInputStream(birContent));
+        dataInStream.readInt();
+        constantPool = BIRConstantPool.read(dataInStream, birContent);
+    }
+
+    private static void writeTag(DataOutputStream out, CPEntry.Type type) throws IOException {
+        // Same as the tags written by the BIR writer
+        out.writeByte(type.ordinal() + 1);
+    }
+
+    @Test
+    public void testReadAllEntries() throws IOException {
+        Assert.assertEquals(constantPool.size(), 8);
+        // The stream is positioned right after the constant pool
+        Assert.assertEquals(dataInStream.readInt(), STRING_INDEX);
+        Assert.assertEquals(constantPool.getEntryType(SHAPE_INDEX), CPEntry.Type.CP_ENTRY_SHAPE);
+    }
+
+    @Test
+    public void testEagerlyDecodedEntries() {
+        Assert.assertEquals(((CPEntry.IntegerCPEntry) constantPool.getEntry(INTEGER_INDEX,
+                CPEntry.Type.CP_ENTRY_INTEGER)).value, 42);
+        Assert.assertEquals(((CPEntry.FloatCPEntry) constantPool.getEntry(FLOAT_INDEX,
+                CPEntry.Type.CP_ENTRY_FLOAT)).value, 4.5);
+        Assert.assertTrue(((CPEntry.BooleanCPEntry) constantPool.getEntry(BOOLEAN_INDEX,
+                CPEntry.Type.CP_ENTRY_BOOLEAN)).value);
+        Assert.assertEquals(((CPEntry.ByteCPEntry) constantPool.getEntry(BYTE_INDEX,
+                CPEntry.Type.CP_ENTRY_BYTE)).value, 255);
+        CPEntry.PackageCPEntry packageEntry = (CPEntry.PackageCPEntry) constantPool.getEntry(PACKAGE_INDEX,
+                CPEntry.Type.CP_ENTRY_PACKAGE);
+        Assert.assertEquals(packageEntry.orgNameCPIndex, STRING_INDEX);
+        Assert.assertEquals(packageEntry.versionCPIndex, NULL_STRING_INDEX);
+    }
+
+    @Test
+    public void testLazilyDecodedStringEntries() {
+        Assert.assertEquals(constantPool.getStringValue(STRING_INDEX), STRING_VALUE);
+        // The decoded entry is reused
+        Assert.assertSame(constantPool.getEntry(STRING_INDEX), constantPool.getEntry(STRING_INDEX));
+        Assert.assertNull(constantPool.getStringValue(NULL_STRING_INDEX));
+    }
+
+    @Test
+    public void testLazilyReadShapeEntries() throws IOException {
+        Assert.assertNull(constantPool.getShapeEntry(SHAPE_INDEX));
+        DataInputStream shapeStream = constantPool.getShapeEntryStream(SHAPE_INDEX);
+        byte[] shapeBytes = new byte[SHAPE_BYTES.length];
+        shapeStream.readFully(shapeBytes);
+        Assert.assertEquals(shapeBytes, SHAPE_BYTES);
+        Assert.assertEquals(shapeStream.available(), 0);
+
+        CPEntry.ShapeCPEntry shapeEntry = new CPEntry.ShapeCPEntry(new BType(TypeTags.INT, null));
+        constantPool.setShapeEntry(SHAPE_INDEX, shapeEntry);
+        Assert.assertSame(constantPool.getShapeEntry(SHAPE_INDEX), shapeEntry);
+        Assert.assertSame(constantPool.getEntry(SHAPE_INDEX), shapeEntry);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class,
+          expectedExceptionsMessageRegExp = ".*index 7 is a shape entry.*")
+    public void testUnreadShapeEntryIsNotDecodedAsString() {
+        constantPool.getEntry(SHAPE_INDEX);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class,
+          expectedExceptionsMessageRegExp = "expected a constant pool entry of type CP_ENTRY_STRING at index 7, " +
+                  "but found CP_ENTRY_SHAPE")
+    public void testShapeEntryLookedUpAsString() {
+        constantPool.getStringValue(SHAPE_INDEX);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class,
+          expectedExceptionsMessageRegExp = "expected a constant pool entry of type CP_ENTRY_STRING at index 5, " +
+                  "but found CP_ENTRY_PACKAGE")
+    public void testPackageEntryLookedUpAsString() {
+        constantPool.getStringValue(PACKAGE_INDEX);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class,
+          expectedExceptionsMessageRegExp = "expected a shape constant pool entry at index 3, but found " +
+                  "CP_ENTRY_STRING")
+    public void testStringEntryLookedUpAsShape() {
+        constantPool.getShapeEntryStream(STRING_INDEX);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class,
+          expectedExceptionsMessageRegExp = "unsupported constant pool entry tag: 42")
+    public void testUnknownEntryTag() throws IOException {
+        byte[] birContent = {0, 0, 0, 1, 42};
+        BIRConstantPool.read(new DataInputStream(new ByteArrayInputStream(birContent)), birContent);
+    }
+}
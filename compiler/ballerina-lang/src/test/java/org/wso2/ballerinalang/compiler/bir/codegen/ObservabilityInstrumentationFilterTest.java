@@ -0,0 +1,104 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.codegen;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.util.Name;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests the code selected for instrumentation by the {@link ObservabilityInstrumentationFilter}.
+ *
+ * @since 2.0.0
+ */
+public class ObservabilityInstrumentationFilterTest {
+    private static final PackageID FOO = new PackageID(new Name("myorg"), new Name("foo"), new Name("1.0.0"));
+    private static final PackageID FOO_API = new PackageID(new Name("myorg"), new Name("foo.api"), new Name("1.0.0"));
+    private static final PackageID BAR = new PackageID(new Name("otherorg"), new Name("bar"), new Name("1.0.0"));
+
+    @Test
+    public void testAllCode() {
+        for (String option : new String[]{null, "", "  ", "all", " all "}) {
+            ObservabilityInstrumentationFilter filter = ObservabilityInstrumentationFilter.from(option);
+            Assert.assertSame(filter, ObservabilityInstrumentationFilter.ALL_CODE);
+            Assert.assertTrue(filter.isModuleInstrumented(FOO));
+            Assert.assertTrue(filter.isFullyInstrumented(FOO, "process"));
+            Assert.assertTrue(filter.isEntryPointInstrumented(BAR, "main"));
+            Assert.assertEquals(ObservabilityInstrumentationFilter.getInvalidEntries(option), Collections.emptyList());
+        }
+    }
+
+    @Test
+    public void testResourcesOnly() {
+        ObservabilityInstrumentationFilter filter = ObservabilityInstrumentationFilter.from("resources");
+        Assert.assertTrue(filter.isModuleInstrumented(FOO));
+        Assert.assertFalse(filter.isFullyInstrumented(FOO, "process"));
+        Assert.assertTrue(filter.isEntryPointInstrumented(FOO, "get", "OrderService"));
+        Assert.assertEquals(ObservabilityInstrumentationFilter.getInvalidEntries("resources"),
+                Collections.emptyList());
+    }
+
+    @Test
+    public void testNoCode() {
+        ObservabilityInstrumentationFilter filter = ObservabilityInstrumentationFilter.from(" none");
+        Assert.assertFalse(filter.isModuleInstrumented(FOO));
+        Assert.assertFalse(filter.isFullyInstrumented(FOO, "process"));
+        Assert.assertFalse(filter.isEntryPointInstrumented(FOO, "main"));
+        Assert.assertEquals(ObservabilityInstrumentationFilter.getInvalidEntries("none"), Collections.emptyList());
+    }
+
+    @Test
+    public void testSelectedModulesAndMembers() {
+        ObservabilityInstrumentationFilter filter =
+                ObservabilityInstrumentationFilter.from("myorg/foo.api, otherorg/bar:process,otherorg/bar:Client");
+
+        // A module selected as a whole
+        Assert.assertTrue(filter.isModuleInstrumented(FOO_API));
+        Assert.assertTrue(filter.isFullyInstrumented(FOO_API, "anyFunction"));
+        Assert.assertTrue(filter.isEntryPointInstrumented(FOO_API, "get", "OrderService"));
+
+        // Members selected by any of the names they can be referred to
+        Assert.assertTrue(filter.isModuleInstrumented(BAR));
+        Assert.assertTrue(filter.isFullyInstrumented(BAR, "process"));
+        Assert.assertTrue(filter.isFullyInstrumented(BAR, "send", "Client"));
+        Assert.assertTrue(filter.isFullyInstrumented(BAR, null, "Client"));
+        Assert.assertFalse(filter.isFullyInstrumented(BAR, "send", "OtherClient"));
+        Assert.assertFalse(filter.isEntryPointInstrumented(BAR, "main"));
+
+        // A module whose name is a prefix of a selected module is not selected
+        Assert.assertFalse(filter.isModuleInstrumented(FOO));
+        Assert.assertFalse(filter.isEntryPointInstrumented(FOO, "main"));
+    }
+
+    @Test
+    public void testInvalidEntries() {
+        String option = "myorg/foo, foo, myorg/, /foo, myorg/foo/bar, myorg/foo:, ,otherorg/bar:process";
+        List<String> invalidEntries = ObservabilityInstrumentationFilter.getInvalidEntries(option);
+        Assert.assertEquals(invalidEntries, List.of("foo", "myorg/", "/foo", "myorg/foo/bar", "myorg/foo:", ""));
+
+        // The invalid entries are ignored
+        ObservabilityInstrumentationFilter filter = ObservabilityInstrumentationFilter.from(option);
+        Assert.assertTrue(filter.isFullyInstrumented(FOO, "process"));
+        Assert.assertTrue(filter.isFullyInstrumented(BAR, "process"));
+        Assert.assertFalse(filter.isFullyInstrumented(BAR, "main"));
+    }
+}
@@ -0,0 +1,413 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.ballerinalang.model.symbols.SymbolOrigin;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.BinaryOp;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.ConstantLoad;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.UnaryOP;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BInvokableType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * Tests the constant folding, constant function inlining and basic block elimination of the BIR folding optimizer.
+ *
+ * @since 2.0.0
+ */
+public class BIRFoldingOptimizerTest {
+    private static final BType INT = new BType(TypeTags.INT, null);
+    private static final BType FLOAT = new BType(TypeTags.FLOAT, null);
+    private static final BType STRING = new BType(TypeTags.STRING, null);
+    private static final BType BOOLEAN = new BType(TypeTags.BOOLEAN, null);
+    private static final BType NIL = new BType(TypeTags.NIL, null);
+
+    private BIRPackage pkg;
+    private int varCount;
+
+    @BeforeMethod
+    public void setup() {
+        this.pkg = new BIRPackage(null, new Name("foo"), new Name("bar"), new Name("bar"), new Name("1.0.0"),
+                new Name("main.bal"));
+        this.varCount = 0;
+    }
+
+    @Test(description = "Int arithmetic, bitwise and comparison expressions are folded")
+    public void testIntFolding() {
+        assertFolded(INT, 7L, InstructionKind.ADD, INT, 3L, 4L);
+        assertFolded(INT, -1L, InstructionKind.SUB, INT, 3L, 4L);
+        assertFolded(INT, 12L, InstructionKind.MUL, INT, 3L, 4L);
+        assertFolded(INT, 3L, InstructionKind.DIV, INT, 13L, 4L);
+        assertFolded(INT, 1L, InstructionKind.MOD, INT, 13L, 4L);
+        assertFolded(INT, 4L, InstructionKind.BITWISE_AND, INT, 12L, 6L);
+        assertFolded(INT, 14L, InstructionKind.BITWISE_OR, INT, 12L, 6L);
+        assertFolded(INT, 10L, InstructionKind.BITWISE_XOR, INT, 12L, 6L);
+        assertFolded(BOOLEAN, true, InstructionKind.EQUAL, INT, 3L, 3L);
+        assertFolded(BOOLEAN, true, InstructionKind.NOT_EQUAL, INT, 3L, 4L);
+        assertFolded(BOOLEAN, false, InstructionKind.GREATER_THAN, INT, 3L, 4L);
+        assertFolded(BOOLEAN, true, InstructionKind.GREATER_EQUAL, INT, 4L, 4L);
+        assertFolded(BOOLEAN, true, InstructionKind.LESS_THAN, INT, 3L, 4L);
+        assertFolded(BOOLEAN, false, InstructionKind.LESS_EQUAL, INT, 5L, 4L);
+    }
+
+    @Test(description = "Int expressions which panic at runtime are not folded")
+    public void testIntPanicsAreNotFolded() {
+        assertNotFolded(INT, InstructionKind.ADD, INT, Long.MAX_VALUE, 1L);
+        assertNotFolded(INT, InstructionKind.SUB, INT, Long.MIN_VALUE, 1L);
+        assertNotFolded(INT, InstructionKind.MUL, INT, Long.MAX_VALUE, 2L);
+        assertNotFolded(INT, InstructionKind.DIV, INT, 1L, 0L);
+        assertNotFolded(INT, InstructionKind.DIV, INT, Long.MIN_VALUE, -1L);
+        assertNotFolded(INT, InstructionKind.MOD, INT, 1L, 0L);
+    }
+
+    @Test(description = "Float arithmetic is folded, but float comparisons are not")
+    public void testFloatFolding() {
+        assertFolded(FLOAT, 3.5, InstructionKind.ADD, FLOAT, 1.5, 2.0);
+        assertFolded(FLOAT, -0.5, InstructionKind.SUB, FLOAT, 1.5, 2.0);
+        assertFolded(FLOAT, 3.0, InstructionKind.MUL, FLOAT, 1.5, 2.0);
+        assertFolded(FLOAT, Double.POSITIVE_INFINITY, InstructionKind.DIV, FLOAT, 1.5, 0.0);
+        // Float constants are also stored as strings in the BIR.
+        assertFolded(FLOAT, 3.0, InstructionKind.ADD, FLOAT, "1.0", "2.0");
+        assertNotFolded(BOOLEAN, InstructionKind.EQUAL, FLOAT, 1.5, 1.5);
+        assertNotFolded(BOOLEAN, InstructionKind.LESS_THAN, FLOAT, 1.5, 2.0);
+    }
+
+    @Test(description = "String concatenation and equality are folded")
+    public void testStringFolding() {
+        assertFolded(STRING, "foobar", InstructionKind.ADD, STRING, "foo", "bar");
+        assertFolded(BOOLEAN, false, InstructionKind.EQUAL, STRING, "foo", "bar");
+        assertFolded(BOOLEAN, true, InstructionKind.NOT_EQUAL, STRING, "foo", "bar");
+        assertNotFolded(BOOLEAN, InstructionKind.LESS_THAN, STRING, "foo", "bar");
+    }
+
+    @Test(description = "Boolean equality is folded")
+    public void testBooleanFolding() {
+        assertFolded(BOOLEAN, true, InstructionKind.EQUAL, BOOLEAN, true, true);
+        assertFolded(BOOLEAN, true, InstructionKind.NOT_EQUAL, BOOLEAN, true, false);
+    }
+
+    @Test(description = "Unary expressions are folded")
+    public void testUnaryFolding() {
+        assertUnaryFolded(BOOLEAN, false, InstructionKind.NOT, true);
+        assertUnaryFolded(INT, -5L, InstructionKind.NEGATE, 5L);
+        assertUnaryFolded(FLOAT, -2.5, InstructionKind.NEGATE, 2.5);
+        assertUnaryFolded(INT, null, InstructionKind.NEGATE, Long.MIN_VALUE);
+    }
+
+    @Test(description = "Folded values are propagated through moves and chained expressions")
+    public void testChainedFolding() {
+        BIRFunction function = createFunction("chained", INT);
+        BIRBasicBlock bb = addBasicBlock(function);
+        BIRVariableDcl a = addConstantLoad(bb, INT, 2L, VarKind.TEMP);
+        BIRVariableDcl b = addConstantLoad(bb, INT, 3L, VarKind.TEMP);
+        BIRVariableDcl sum = createVar(INT, VarKind.LOCAL);
+        bb.instructions.add(new BinaryOp(null, InstructionKind.ADD, INT, operand(sum), operand(a), operand(b)));
+        BIRVariableDcl moved = createVar(INT, VarKind.TEMP);
+        bb.instructions.add(new BIRNonTerminator.Move(null, operand(sum), operand(moved)));
+        BIRVariableDcl product = createVar(INT, VarKind.TEMP);
+        bb.instructions.add(new BinaryOp(null, InstructionKind.MUL, INT, operand(product), operand(moved),
+                operand(b)));
+        bb.terminator = new BIRTerminator.Return(null);
+
+        optimize(function);
+
+        assertConstant(bb.instructions.get(2), 5L);
+        Assert.assertEquals(bb.instructions.get(3).kind, InstructionKind.MOVE);
+        assertConstant(bb.instructions.get(4), 15L);
+    }
+
+    @Test(description = "Global variables are not treated as constants, since other strands may update them")
+    public void testGlobalsAreNotFolded() {
+        BIRFunction function = createFunction("globals", INT);
+        BIRBasicBlock bb = addBasicBlock(function);
+        BIRVariableDcl global = addConstantLoad(bb, INT, 2L, VarKind.GLOBAL);
+        BIRVariableDcl b = addConstantLoad(bb, INT, 3L, VarKind.TEMP);
+        BIRVariableDcl sum = createVar(INT, VarKind.TEMP);
+        bb.instructions.add(new BinaryOp(null, InstructionKind.ADD, INT, operand(sum), operand(global), operand(b)));
+        bb.terminator = new BIRTerminator.Return(null);
+
+        optimize(function);
+
+        Assert.assertEquals(bb.instructions.get(2).kind, InstructionKind.ADD);
+    }
+
+    @Test(description = "Branches on constant conditions become gotos and the untaken branch is removed")
+    public void testConstantBranchElimination() {
+        BIRFunction function = createFunction("branch", NIL);
+        BIRBasicBlock entryBB = addBasicBlock(function);
+        BIRBasicBlock trueBB = addBasicBlock(function);
+        BIRBasicBlock falseBB = addBasicBlock(function);
+        BIRBasicBlock returnBB = addBasicBlock(function);
+        BIRVariableDcl condition = addConstantLoad(entryBB, BOOLEAN, false, VarKind.TEMP);
+        entryBB.terminator = new BIRTerminator.Branch(null, operand(condition), trueBB, falseBB);
+        addConstantLoad(trueBB, INT, 1L, VarKind.LOCAL);
+        trueBB.terminator = new BIRTerminator.GOTO(null, returnBB);
+        addConstantLoad(falseBB, INT, 2L, VarKind.LOCAL);
+        falseBB.terminator = new BIRTerminator.GOTO(null, returnBB);
+        returnBB.terminator = new BIRTerminator.Return(null);
+
+        optimize(function);
+
+        // The taken branch is merged into the entry block, and the other branch is removed.
+        Assert.assertEquals(function.basicBlocks.size(), 2);
+        Assert.assertEquals(function.basicBlocks.get(0), entryBB);
+        Assert.assertEquals(function.basicBlocks.get(1), returnBB);
+        assertConstant(entryBB.instructions.get(1), 2L);
+        Assert.assertEquals(entryBB.terminator.kind, InstructionKind.GOTO);
+        Assert.assertEquals(((BIRTerminator.GOTO) entryBB.terminator).targetBB, returnBB);
+    }
+
+    @Test(description = "Basic blocks with a single goto predecessor are merged into it")
+    public void testBasicBlockMerging() {
+        BIRFunction function = createFunction("merge", INT);
+        BIRBasicBlock entryBB = addBasicBlock(function);
+        BIRBasicBlock nextBB = addBasicBlock(function);
+        BIRBasicBlock returnBB = addBasicBlock(function);
+        BIRVariableDcl a = addConstantLoad(entryBB, INT, 20L, VarKind.TEMP);
+        entryBB.terminator = new BIRTerminator.GOTO(null, nextBB);
+        BIRVariableDcl b = addConstantLoad(nextBB, INT, 22L, VarKind.TEMP);
+        nextBB.instructions.add(new BinaryOp(null, InstructionKind.ADD, INT, operand(function.returnVariable),
+                operand(a), operand(b)));
+        nextBB.terminator = new BIRTerminator.GOTO(null, returnBB);
+        returnBB.terminator = new BIRTerminator.Return(null);
+
+        optimize(function);
+
+        Assert.assertEquals(function.basicBlocks.size(), 1);
+        Assert.assertEquals(entryBB.terminator.kind, InstructionKind.RETURN);
+        // The addition is folded once the blocks are merged.
+        assertConstant(entryBB.instructions.get(2), 42L);
+    }
+
+    @Test(description = "Loops are not merged into their predecessors")
+    public void testLoopIsNotMerged() {
+        BIRFunction function = createFunction("loop", NIL);
+        BIRBasicBlock entryBB = addBasicBlock(function);
+        BIRBasicBlock loopBB = addBasicBlock(function);
+        BIRBasicBlock returnBB = addBasicBlock(function);
+        entryBB.terminator = new BIRTerminator.GOTO(null, loopBB);
+        BIRVariableDcl condition = createVar(BOOLEAN, VarKind.LOCAL);
+        loopBB.terminator = new BIRTerminator.Branch(null, operand(condition), loopBB, returnBB);
+        returnBB.terminator = new BIRTerminator.Return(null);
+
+        optimize(function);
+
+        Assert.assertEquals(function.basicBlocks.size(), 3);
+        Assert.assertEquals(loopBB.terminator.kind, InstructionKind.BRANCH);
+    }
+
+    @Test(description = "Functions with an error table are folded, but their basic blocks are not restructured")
+    public void testFunctionWithErrorTable() {
+        BIRFunction function = createFunction("trapped", NIL);
+        BIRBasicBlock entryBB = addBasicBlock(function);
+        BIRBasicBlock trueBB = addBasicBlock(function);
+        BIRBasicBlock falseBB = addBasicBlock(function);
+        BIRVariableDcl condition = addConstantLoad(entryBB, BOOLEAN, true, VarKind.TEMP);
+        entryBB.terminator = new BIRTerminator.Branch(null, operand(condition), trueBB, falseBB);
+        trueBB.terminator = new BIRTerminator.Return(null);
+        falseBB.terminator = new BIRTerminator.Return(null);
+        function.errorTable.add(new BIRErrorEntry(entryBB, trueBB, operand(createVar(NIL, VarKind.TEMP)), falseBB));
+
+        optimize(function);
+
+        Assert.assertEquals(function.basicBlocks.size(), 3);
+    }
+
+    @Test(description = "Calls to module functions which return a constant are replaced with the constant")
+    public void testConstantFunctionInlining() {
+        BIRFunction callee = createFunction("answer", INT);
+        BIRBasicBlock calleeBB = addBasicBlock(callee);
+        calleeBB.instructions.add(new ConstantLoad(null, 42L, INT, operand(callee.returnVariable)));
+        calleeBB.terminator = new BIRTerminator.Return(null);
+
+        BIRFunction caller = createFunction("caller", INT);
+        BIRBasicBlock callBB = addBasicBlock(caller);
+        BIRBasicBlock thenBB = addBasicBlock(caller);
+        BIRVariableDcl result = createVar(INT, VarKind.TEMP);
+        callBB.terminator = createCall(this.pkg.packageID, "answer", false, result, thenBB);
+        BIRVariableDcl one = addConstantLoad(thenBB, INT, 1L, VarKind.TEMP);
+        thenBB.instructions.add(new BinaryOp(null, InstructionKind.ADD, INT, operand(caller.returnVariable),
+                operand(result), operand(one)));
+        thenBB.terminator = new BIRTerminator.Return(null);
+
+        optimize(callee, caller);
+
+        Assert.assertEquals(caller.basicBlocks.size(), 1);
+        assertConstant(callBB.instructions.get(0), 42L);
+        Assert.assertEquals(callBB.instructions.get(0).lhsOp.variableDcl, result);
+        assertConstant(callBB.instructions.get(2), 43L);
+        Assert.assertEquals(callBB.terminator.kind, InstructionKind.RETURN);
+    }
+
+    @Test(description = "Calls which may not resolve to the constant function are not inlined")
+    public void testCallsNotInlined() {
+        BIRFunction callee = createFunction("answer", INT);
+        BIRBasicBlock calleeBB = addBasicBlock(callee);
+        calleeBB.instructions.add(new ConstantLoad(null, 42L, INT, operand(callee.returnVariable)));
+        calleeBB.terminator = new BIRTerminator.Return(null);
+
+        BIRFunction caller = createFunction("caller", NIL);
+        BIRBasicBlock virtualCallBB = addBasicBlock(caller);
+        BIRBasicBlock otherModuleCallBB = addBasicBlock(caller);
+        BIRBasicBlock returnBB = addBasicBlock(caller);
+        virtualCallBB.terminator = createCall(this.pkg.packageID, "answer", true, createVar(INT, VarKind.TEMP),
+                otherModuleCallBB);
+        BIRPackage otherPkg = new BIRPackage(null, new Name("foo"), new Name("baz"), new Name("baz"),
+                new Name("1.0.0"), new Name("main.bal"));
+        otherModuleCallBB.terminator = createCall(otherPkg.packageID, "answer", false, createVar(INT, VarKind.TEMP),
+                returnBB);
+        returnBB.terminator = new BIRTerminator.Return(null);
+
+        optimize(callee, caller);
+
+        Assert.assertEquals(virtualCallBB.terminator.kind, InstructionKind.CALL);
+        Assert.assertEquals(otherModuleCallBB.terminator.kind, InstructionKind.CALL);
+        Assert.assertTrue(virtualCallBB.instructions.isEmpty());
+        Assert.assertTrue(otherModuleCallBB.instructions.isEmpty());
+    }
+
+    @Test(description = "Functions which do more than returning a constant are not inlined")
+    public void testNonConstantFunctionNotInlined() {
+        BIRFunction callee = createFunction("notConstant", INT);
+        BIRBasicBlock calleeBB = addBasicBlock(callee);
+        BIRBasicBlock calleeThenBB = addBasicBlock(callee);
+        calleeBB.terminator = createCall(this.pkg.packageID, "sideEffect", false, null, calleeThenBB);
+        calleeThenBB.instructions.add(new ConstantLoad(null, 42L, INT, operand(callee.returnVariable)));
+        calleeThenBB.terminator = new BIRTerminator.Return(null);
+
+        BIRFunction caller = createFunction("caller", NIL);
+        BIRBasicBlock callBB = addBasicBlock(caller);
+        BIRBasicBlock returnBB = addBasicBlock(caller);
+        callBB.terminator = createCall(this.pkg.packageID, "notConstant", false, createVar(INT, VarKind.TEMP),
+                returnBB);
+        returnBB.terminator = new BIRTerminator.Return(null);
+
+        optimize(callee, caller);
+
+        Assert.assertEquals(callBB.terminator.kind, InstructionKind.CALL);
+    }
+
+    private void assertFolded(BType resultType, Object expected, InstructionKind kind, BType operandType,
+                              Object lhs, Object rhs) {
+        BIRNonTerminator result = foldBinaryOp(resultType, kind, operandType, lhs, rhs);
+        Assert.assertEquals(result.kind, InstructionKind.CONST_LOAD, kind + " " + lhs + " " + rhs);
+        Assert.assertEquals(((ConstantLoad) result).value, expected, kind + " " + lhs + " " + rhs);
+        Assert.assertEquals(((ConstantLoad) result).type, resultType);
+    }
+
+    private void assertNotFolded(BType resultType, InstructionKind kind, BType operandType, Object lhs, Object rhs) {
+        BIRNonTerminator result = foldBinaryOp(resultType, kind, operandType, lhs, rhs);
+        Assert.assertEquals(result.kind, kind, kind + " " + lhs + " " + rhs);
+    }
+
+    private BIRNonTerminator foldBinaryOp(BType resultType, InstructionKind kind, BType operandType, Object lhs,
+                                          Object rhs) {
+        BIRFunction function = createFunction("binary", NIL);
+        BIRBasicBlock bb = addBasicBlock(function);
+        BIRVariableDcl lhsVar = addConstantLoad(bb, operandType, lhs, VarKind.TEMP);
+        BIRVariableDcl rhsVar = addConstantLoad(bb, operandType, rhs, VarKind.TEMP);
+        BIRVariableDcl result = createVar(resultType, VarKind.TEMP);
+        bb.instructions.add(new BinaryOp(null, kind, resultType, operand(result), operand(lhsVar),
+                operand(rhsVar)));
+        bb.terminator = new BIRTerminator.Return(null);
+        optimize(function);
+        return bb.instructions.get(2);
+    }
+
+    private void assertUnaryFolded(BType type, Object expected, InstructionKind kind, Object value) {
+        BIRFunction function = createFunction("unary", NIL);
+        BIRBasicBlock bb = addBasicBlock(function);
+        BIRVariableDcl operandVar = addConstantLoad(bb, type, value, VarKind.TEMP);
+        BIRVariableDcl result = createVar(type, VarKind.TEMP);
+        bb.instructions.add(new UnaryOP(null, kind, operand(result), operand(operandVar)));
+        bb.terminator = new BIRTerminator.Return(null);
+
+        optimize(function);
+
+        BIRNonTerminator instruction = bb.instructions.get(1);
+        if (expected == null) {
+            Assert.assertEquals(instruction.kind, kind);
+        } else {
+            assertConstant(instruction, expected);
+        }
+    }
+
+    private void assertConstant(BIRNonTerminator instruction, Object expected) {
+        Assert.assertEquals(instruction.kind, InstructionKind.CONST_LOAD);
+        Assert.assertEquals(((ConstantLoad) instruction).value, expected);
+    }
+
+    private void optimize(BIRFunction... functions) {
+        this.pkg.functions.clear();
+        Collections.addAll(this.pkg.functions, functions);
+        new BIRFoldingOptimizer().optimizeNode(this.pkg);
+    }
+
+    private BIRFunction createFunction(String name, BType returnType) {
+        BIRFunction function = new BIRFunction(null, new Name(name), 0,
+                new BInvokableType(new ArrayList<>(), returnType, null), new Name("default"), 0, SymbolOrigin.SOURCE);
+        function.returnVariable = createVar(returnType, VarKind.RETURN);
+        return function;
+    }
+
+    private BIRBasicBlock addBasicBlock(BIRFunction function) {
+        BIRBasicBlock basicBlock = new BIRBasicBlock(new Name("bb" + function.basicBlocks.size()));
+        function.basicBlocks.add(basicBlock);
+        return basicBlock;
+    }
+
+    private BIRVariableDcl addConstantLoad(BIRBasicBlock basicBlock, BType type, Object value, VarKind kind) {
+        BIRVariableDcl variableDcl = createVar(type, kind);
+        basicBlock.instructions.add(new ConstantLoad(null, value, type, operand(variableDcl)));
+        return variableDcl;
+    }
+
+    private BIRVariableDcl createVar(BType type, VarKind kind) {
+        return new BIRVariableDcl(type, new Name("%" + this.varCount++), VarScope.FUNCTION, kind);
+    }
+
+    private BIRTerminator.Call createCall(PackageID calleePkg, String name,
+                                          boolean isVirtual, BIRVariableDcl lhsVar, BIRBasicBlock thenBB) {
+        return new BIRTerminator.Call(null, InstructionKind.CALL, isVirtual, calleePkg, new Name(name),
+                new ArrayList<>(), lhsVar == null ? null : operand(lhsVar), thenBB, new ArrayList<>(),
+                Collections.emptySet());
+    }
+
+    private static BIROperand operand(BIRVariableDcl variableDcl) {
+        return new BIROperand(variableDcl);
+    }
+}
@@ -26,18 +26,40 @@ import java.util.Arrays;
  */
 public class CharReader {
 
+    // The text is read from a sequence of pieces. A text backed by a single array has a single piece.
+    private final char[][] pieceBuffers;
+    private final int[] pieceBufferOffsets;
+    private final int[] pieceOffsets;
+
+    // The piece that contains the most recently read character
     private char[] charBuffer;
+    private int pieceStartOffset;
+    private int pieceEndOffset;
+    private int bufferDelta;
+
     private int offset = 0;
     private int charBufferLength;
 
     private int lexemeStartPos;
 
     private CharReader(char[] buffer) {
-        this.charBuffer = buffer;
-        this.charBufferLength = buffer.length;
+        this(new char[][]{buffer}, new int[]{0}, new int[]{0, buffer.length});
+    }
+
+    private CharReader(char[][] pieceBuffers, int[] pieceBufferOffsets, int[] pieceOffsets) {
+        this.pieceBuffers = pieceBuffers;
+        this.pieceBufferOffsets = pieceBufferOffsets;
+        this.pieceOffsets = pieceOffsets;
+        this.charBufferLength = pieceOffsets[pieceOffsets.length - 1];
+        if (pieceBuffers.length > 0) {
+            selectPiece(0);
+        }
     }
 
     public static CharReader from(TextDocument textDocument) {
+        if (textDocument instanceof PieceTableTextDocument) {
+            return ((PieceTableTextDocument) textDocument).charReader();
+        }
         return new CharReader(textDocument.toCharArray());
     }
 
@@ -45,27 +67,20 @@ public class CharReader {
         return new CharReader(text.toCharArray());
     }
 
+    static CharReader from(char[][] pieceBuffers, int[] pieceBufferOffsets, int[] pieceOffsets) {
+        return new CharReader(pieceBuffers, pieceBufferOffsets, pieceOffsets);
+    }
+
     public void reset(int offset) {
         this.offset = offset;
     }
 
     public char peek() {
-        if (offset < charBufferLength) {
-            return charBuffer[offset];
-        } else {
-            // TODO Revisit this branch
-            return Character.MAX_VALUE;
-        }
+        return charAt(offset);
     }
 
     public char peek(int k) {
-        int n = offset + k;
-        if (n < charBufferLength) {
-            return charBuffer[n];
-        } else {
-            // TODO Revisit this branch
-            return Character.MAX_VALUE;
-        }
+        return charAt(offset + k);
     }
 
     /**
@@ -91,10 +106,42 @@ public class CharReader {
      * @return {@link String} consist of the marked chars
      */
     public String getMarkedChars() {
-        return new String(Arrays.copyOfRange(charBuffer, lexemeStartPos, offset));
+        if (lexemeStartPos == offset) {
+            return "";
+        }
+        if (lexemeStartPos >= pieceStartOffset && offset <= pieceEndOffset) {
+            return new String(charBuffer, lexemeStartPos + bufferDelta, offset - lexemeStartPos);
+        }
+
+        // The lexeme spans across pieces
+        StringBuilder sb = new StringBuilder(offset - lexemeStartPos);
+        for (int i = lexemeStartPos; i < offset; i++) {
+            sb.append(charAt(i));
+        }
+        return sb.toString();
     }
 
     public boolean isEOF() {
         return offset >= charBufferLength;
     }
+
+    private char charAt(int n) {
+        if (n >= pieceStartOffset && n < pieceEndOffset) {
+            return charBuffer[n + bufferDelta];
+        } else if (n >= charBufferLength || n < 0) {
+            // TODO Revisit this branch
+            return Character.MAX_VALUE;
+        }
+
+        int pieceIndex = Arrays.binarySearch(pieceOffsets, 0, pieceBuffers.length, n);
+        selectPiece(pieceIndex >= 0 ? pieceIndex : -pieceIndex - 2);
+        return charBuffer[n + bufferDelta];
+    }
+
+    private void selectPiece(int pieceIndex) {
+        charBuffer = pieceBuffers[pieceIndex];
+        pieceStartOffset = pieceOffsets[pieceIndex];
+        pieceEndOffset = pieceOffsets[pieceIndex + 1];
+        bufferDelta = pieceBufferOffsets[pieceIndex] - pieceStartOffset;
+    }
 }
@@ -36,6 +36,15 @@ class LineMap {
         return textLines[line];
     }
 
+    int lineCount() {
+        return length;
+    }
+
+    TextLine textLineFrom(int position) {
+        positionRangeCheck(position);
+        return findLineFrom(position);
+    }
+
     LinePosition linePositionFrom(int position) {
         positionRangeCheck(position);
         TextLine textLine = findLineFrom(position);
@@ -61,7 +70,7 @@ class LineMap {
     }
 
     private void lineRangeCheck(int lineNo) {
-        if (lineNo < 0 || lineNo > length) {
+        if (lineNo < 0 || lineNo >= length) {
             throw new IndexOutOfBoundsException("Line number: '" + lineNo + "', Size: '" + length + "'");
         }
     }
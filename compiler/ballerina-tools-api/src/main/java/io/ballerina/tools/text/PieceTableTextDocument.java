@@ -0,0 +1,312 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.tools.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@code PieceTableTextDocument} represents a {@code TextDocument} as a sequence of pieces, each of which refers
+ * to a range of an immutable character buffer.
+ * <p>
+ * Applying a change only creates pieces for the inserted text and splits the pieces at the edited positions, hence
+ * the cost of an edit does not depend on the size of the document. The buffers are shared between the documents
+ * derived from each other. The line map of a derived document is computed from the line map of the previous document
+ * by rescanning only the lines touched by the edit.
+ *
+ * @since 2.0.0
+ */
+class PieceTableTextDocument extends TextDocument {
+    // Pieces are merged into a single buffer once a document is fragmented beyond this limit.
+    private static final int MAX_PIECE_COUNT = 1024;
+
+    private final char[][] pieceBuffers;
+    private final int[] pieceBufferOffsets;
+    // Start offset of each piece within the text. The last element is the length of the text.
+    private final int[] pieceOffsets;
+    private final int length;
+
+    // Line map of the document this document was derived from, used to compute the line map incrementally
+    private LineMap previousLineMap;
+    private TextEdit previousEdit;
+
+    private volatile LineMap textLineMap;
+    private String text;
+
+    private PieceTableTextDocument(char[][] pieceBuffers, int[] pieceBufferOffsets, int[] pieceOffsets) {
+        this.pieceBuffers = pieceBuffers;
+        this.pieceBufferOffsets = pieceBufferOffsets;
+        this.pieceOffsets = pieceOffsets;
+        this.length = pieceOffsets[pieceOffsets.length - 1];
+    }
+
+    static PieceTableTextDocument from(String text) {
+        return from(text.toCharArray());
+    }
+
+    /**
+     * Creates a document with the given text and the already computed line map of the text.
+     *
+     * @param text    text of the document
+     * @param lineMap line map of the text, or null if not computed
+     * @return a new document
+     */
+    static PieceTableTextDocument from(String text, LineMap lineMap) {
+        PieceTableTextDocument textDocument = from(text.toCharArray());
+        textDocument.textLineMap = lineMap;
+        return textDocument;
+    }
+
+    private static PieceTableTextDocument from(char[] chars) {
+        if (chars.length == 0) {
+            return new PieceTableTextDocument(new char[0][], new int[0], new int[]{0});
+        }
+        return new PieceTableTextDocument(new char[][]{chars}, new int[]{0}, new int[]{0, chars.length});
+    }
+
+    @Override
+    public TextDocument apply(TextDocumentChange textDocumentChange) {
+        PieceListBuilder builder = new PieceListBuilder(pieceCount() + 2 * textDocumentChange.getTextEditCount());
+        int startOffset = 0;
+        int textEditCount = textDocumentChange.getTextEditCount();
+        for (int i = 0; i < textEditCount; i++) {
+            TextEdit textEdit = textDocumentChange.getTextEdit(i);
+            TextRange textRange = textEdit.range();
+            addPieces(builder, startOffset, textRange.startOffset());
+            String newText = textEdit.text();
+            if (!newText.isEmpty()) {
+                char[] newChars = newText.toCharArray();
+                builder.add(newChars, 0, newChars.length);
+            }
+            startOffset = textRange.endOffset();
+        }
+        addPieces(builder, startOffset, length);
+
+        PieceTableTextDocument textDocument = builder.build();
+        if (builder.size > MAX_PIECE_COUNT) {
+            textDocument = from(textDocument.toCharArray());
+        }
+        // Multi-edit changes are rare; the line map of such documents is computed from scratch.
+        if (textEditCount == 1) {
+            textDocument.previousLineMap = textLineMap;
+            textDocument.previousEdit = textDocumentChange.getTextEdit(0);
+        }
+        return textDocument;
+    }
+
+    /**
+     * Computes the line map on the first request. The method is synchronized, since documents are read concurrently,
+     * and the previous line map is released once the line map is computed.
+     *
+     * @return the line map of this document
+     */
+    @Override
+    protected synchronized LineMap populateTextLineMap() {
+        if (textLineMap != null) {
+            return textLineMap;
+        }
+        LineMap lineMap = previousLineMap;
+        TextEdit textEdit = previousEdit;
+        if (lineMap != null && textEdit != null) {
+            lineMap = deriveLineMap(lineMap, textEdit);
+        } else {
+            lineMap = new LineMap(scanTextLines(0, length, 0));
+        }
+        textLineMap = lineMap;
+        // Release the previous line map
+        previousLineMap = null;
+        previousEdit = null;
+        return lineMap;
+    }
+
+    @Override
+    public char[] toCharArray() {
+        char[] chars = new char[length];
+        for (int i = 0; i < pieceCount(); i++) {
+            System.arraycopy(pieceBuffers[i], pieceBufferOffsets[i], chars, pieceOffsets[i], pieceLength(i));
+        }
+        return chars;
+    }
+
+    /**
+     * Returns a reader that reads the characters directly from the pieces of this document.
+     *
+     * @return a char reader
+     */
+    CharReader charReader() {
+        return CharReader.from(pieceBuffers, pieceBufferOffsets, pieceOffsets);
+    }
+
+    public String toString() {
+        if (text == null) {
+            text = new String(toCharArray());
+        }
+        return text;
+    }
+
+    private int pieceCount() {
+        return pieceOffsets.length - 1;
+    }
+
+    private int pieceLength(int pieceIndex) {
+        return pieceOffsets[pieceIndex + 1] - pieceOffsets[pieceIndex];
+    }
+
+    /**
+     * Returns the index of the piece that contains the given text offset.
+     *
+     * @param offset text offset, which is less than the length of the text
+     * @return the index of the piece
+     */
+    private int pieceIndexOf(int offset) {
+        int index = Arrays.binarySearch(pieceOffsets, 0, pieceCount(), offset);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private void addPieces(PieceListBuilder builder, int startOffset, int endOffset) {
+        if (startOffset >= endOffset) {
+            return;
+        }
+        int pieceIndex = pieceIndexOf(startOffset);
+        int offset = startOffset;
+        while (offset < endOffset) {
+            int pieceStart = pieceOffsets[pieceIndex];
+            int pieceEnd = Math.min(pieceOffsets[pieceIndex + 1], endOffset);
+            builder.add(pieceBuffers[pieceIndex], pieceBufferOffsets[pieceIndex] + offset - pieceStart,
+                    pieceEnd - offset);
+            offset = pieceEnd;
+            pieceIndex++;
+        }
+    }
+
+    private LineMap deriveLineMap(LineMap previousLineMap, TextEdit textEdit) {
+        // Lines adjacent to the edited lines are rescanned as well, since an edit can join or split a "\r\n".
+        TextRange range = textEdit.range();
+        int lineCount = previousLineMap.lineCount();
+        int firstLine = Math.max(previousLineMap.textLineFrom(range.startOffset()).lineNo() - 1, 0);
+        int lastLine = Math.min(previousLineMap.textLineFrom(range.endOffset()).lineNo() + 1, lineCount - 1);
+        TextLine lastTextLine = previousLineMap.textLine(lastLine);
+        int delta = textEdit.text().length() - range.length();
+
+        int rescanStart = previousLineMap.textLine(firstLine).startOffset();
+        int rescanEnd = lastTextLine.endOffsetWithNewLines() + delta;
+        TextLine[] rescannedLines = scanTextLines(rescanStart, rescanEnd, firstLine);
+        // The last rescanned line only ends with the text when the last line of the document was rescanned.
+        int rescannedLineCount = lastLine == lineCount - 1 ? rescannedLines.length : rescannedLines.length - 1;
+
+        int newLineCount = firstLine + rescannedLineCount + (lineCount - lastLine - 1);
+        TextLine[] textLines = new TextLine[newLineCount];
+        for (int i = 0; i < firstLine; i++) {
+            textLines[i] = previousLineMap.textLine(i);
+        }
+        System.arraycopy(rescannedLines, 0, textLines, firstLine, rescannedLineCount);
+
+        int lineDelta = firstLine + rescannedLineCount - lastLine - 1;
+        for (int i = lastLine + 1; i < lineCount; i++) {
+            TextLine textLine = previousLineMap.textLine(i);
+            textLines[i + lineDelta] = new TextLine(textLine.lineNo() + lineDelta, textLine.text(),
+                    textLine.startOffset() + delta, textLine.endOffset() + delta,
+                    textLine.lengthWithNewLineChars() - textLine.length());
+        }
+        return new LineMap(textLines);
+    }
+
+    /**
+     * Splits the given range of the text into lines. A line is created for the text after the last new line as well,
+     * which is not terminated by new line characters.
+     *
+     * @param startOffset start offset of the range, which is the start of a line
+     * @param endOffset   end offset of the range
+     * @param startLineNo line number of the first line in the range
+     * @return the lines in the range
+     */
+    private TextLine[] scanTextLines(int startOffset, int endOffset, int startLineNo) {
+        List<TextLine> textLines = new ArrayList<>();
+        StringBuilder lineBuilder = new StringBuilder();
+        int lineStartOffset = startOffset;
+        int line = startLineNo;
+        CharReader charReader = charReader();
+        charReader.reset(startOffset);
+        int index = startOffset;
+        while (index < endOffset) {
+            char c = charReader.peek();
+            if (c == '\r' || c == '\n') {
+                int lengthOfNewLineChars = c == '\r' && index + 1 < length && charReader.peek(1) == '\n' ? 2 : 1;
+                String strLine = lineBuilder.toString();
+                int lineEndOffset = lineStartOffset + strLine.length();
+                textLines.add(new TextLine(line++, strLine, lineStartOffset, lineEndOffset, lengthOfNewLineChars));
+                lineStartOffset = lineEndOffset + lengthOfNewLineChars;
+                lineBuilder.setLength(0);
+                index += lengthOfNewLineChars;
+                charReader.advance(lengthOfNewLineChars);
+            } else {
+                lineBuilder.append(c);
+                index++;
+                charReader.advance();
+            }
+        }
+
+        String strLine = lineBuilder.toString();
+        textLines.add(new TextLine(line, strLine, lineStartOffset, lineStartOffset + strLine.length(), 0));
+        return textLines.toArray(new TextLine[0]);
+    }
+
+    /**
+     * Collects the pieces of a new document, merging the pieces that are adjacent in the same buffer.
+     */
+    private static class PieceListBuilder {
+        private char[][] buffers;
+        private int[] bufferOffsets;
+        private int[] offsets;
+        private int size = 0;
+        private int length = 0;
+
+        PieceListBuilder(int capacity) {
+            buffers = new char[capacity][];
+            bufferOffsets = new int[capacity];
+            offsets = new int[capacity + 1];
+        }
+
+        void add(char[] buffer, int bufferOffset, int pieceLength) {
+            if (size > 0 && buffers[size - 1] == buffer &&
+                    bufferOffsets[size - 1] + (length - offsets[size - 1]) == bufferOffset) {
+                length += pieceLength;
+                return;
+            }
+            if (size == buffers.length) {
+                int capacity = size * 2 + 1;
+                buffers = Arrays.copyOf(buffers, capacity);
+                bufferOffsets = Arrays.copyOf(bufferOffsets, capacity);
+                offsets = Arrays.copyOf(offsets, capacity + 1);
+            }
+            buffers[size] = buffer;
+            bufferOffsets[size] = bufferOffset;
+            offsets[size] = length;
+            size++;
+            length += pieceLength;
+        }
+
+        PieceTableTextDocument build() {
+            int[] pieceOffsets = Arrays.copyOf(offsets, size + 1);
+            pieceOffsets[size] = length;
+            return new PieceTableTextDocument(Arrays.copyOf(buffers, size), Arrays.copyOf(bufferOffsets, size),
+                    pieceOffsets);
+        }
+    }
+}
@@ -33,20 +33,18 @@ class StringTextDocument extends TextDocument {
         this.text = text;
     }
 
+    /**
+     * Applies the given change to this document.
+     * <p>
+     * A document that gets modified is likely to be modified again, hence the changed document is backed by a piece
+     * table, so that the subsequent changes do not copy the whole text.
+     *
+     * @param textDocumentChange change to apply
+     * @return the changed document
+     */
     @Override
     public TextDocument apply(TextDocumentChange textDocumentChange) {
-        int startOffset = 0;
-        StringBuilder sb = new StringBuilder();
-        int textEditCount = textDocumentChange.getTextEditCount();
-        for (int i = 0; i < textEditCount; i++) {
-            TextEdit textEdit = textDocumentChange.getTextEdit(i);
-            TextRange textRange = textEdit.range();
-            sb.append(text, startOffset, textRange.startOffset());
-            sb.append(textEdit.text());
-            startOffset = textRange.endOffset();
-        }
-        sb.append(text, startOffset, text.length());
-        return new StringTextDocument(sb.toString());
+        return PieceTableTextDocument.from(text, textLineMap).apply(textDocumentChange);
     }
 
     @Override
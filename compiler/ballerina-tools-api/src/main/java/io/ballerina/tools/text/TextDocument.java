@@ -23,7 +23,7 @@ package io.ballerina.tools.text;
  * @since 2.0.0
  */
 public abstract class TextDocument {
-    private LineMap lineMap;
+    private volatile LineMap lineMap;
 
     public abstract TextDocument apply(TextDocumentChange textDocumentChange);
 
@@ -55,7 +55,8 @@ public abstract class TextDocument {
             return lineMap;
         }
 
-        lineMap = populateTextLineMap();
-        return lineMap;
+        LineMap textLineMap = populateTextLineMap();
+        lineMap = textLineMap;
+        return textLineMap;
     }
 }
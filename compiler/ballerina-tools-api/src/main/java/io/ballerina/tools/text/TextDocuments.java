@@ -29,4 +29,19 @@ public class TextDocuments {
         return new StringTextDocument(text);
     }
 
+    /**
+     * Creates a text document with the given text.
+     * <p>
+     * An editable text document is backed by a piece table, which makes applying a change proportional to the size
+     * of the change rather than the size of the document. Use this for documents that are expected to be modified
+     * frequently, such as the documents opened in an editor.
+     *
+     * @param text     text of the document
+     * @param editable whether the document is expected to be modified
+     * @return a text document
+     */
+    public static TextDocument from(String text, boolean editable) {
+        return editable ? PieceTableTextDocument.from(text) : new StringTextDocument(text);
+    }
+
 }
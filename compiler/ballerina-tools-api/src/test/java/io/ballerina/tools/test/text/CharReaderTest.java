@@ -0,0 +1,120 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.tools.test.text;
+
+import io.ballerina.tools.text.CharReader;
+import io.ballerina.tools.text.TextDocument;
+import io.ballerina.tools.text.TextDocumentChange;
+import io.ballerina.tools.text.TextDocuments;
+import io.ballerina.tools.text.TextEdit;
+import io.ballerina.tools.text.TextRange;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Contains cases to test reading the text of a document made of several pieces with the {@code CharReader}.
+ *
+ * @since 2.0.0
+ */
+public class CharReaderTest {
+
+    private static final String EXPECTED_TEXT = "01XY2345789AB";
+
+    @Test
+    public void testReadAllChars() {
+        CharReader charReader = CharReader.from(fragmentedDocument());
+        StringBuilder sb = new StringBuilder();
+        while (!charReader.isEOF()) {
+            sb.append(charReader.peek());
+            charReader.advance();
+        }
+        Assert.assertEquals(sb.toString(), EXPECTED_TEXT);
+        Assert.assertEquals(charReader.peek(), Character.MAX_VALUE);
+    }
+
+    @Test
+    public void testPeekAcrossPieces() {
+        CharReader charReader = CharReader.from(fragmentedDocument());
+        for (int offset = 0; offset < EXPECTED_TEXT.length(); offset++) {
+            charReader.reset(offset);
+            for (int k = 0; offset + k < EXPECTED_TEXT.length(); k++) {
+                Assert.assertEquals(charReader.peek(k), EXPECTED_TEXT.charAt(offset + k),
+                        "char at " + offset + " + " + k);
+            }
+            Assert.assertEquals(charReader.peek(EXPECTED_TEXT.length() - offset), Character.MAX_VALUE);
+        }
+    }
+
+    @Test
+    public void testResetToEarlierPiece() {
+        CharReader charReader = CharReader.from(fragmentedDocument());
+        charReader.reset(EXPECTED_TEXT.length() - 1);
+        Assert.assertEquals(charReader.peek(), 'B');
+        charReader.reset(0);
+        Assert.assertEquals(charReader.peek(), '0');
+        charReader.reset(3);
+        Assert.assertEquals(charReader.peek(), 'Y');
+        charReader.reset(2);
+        Assert.assertEquals(charReader.peek(), 'X');
+    }
+
+    @Test
+    public void testMarkedCharsAcrossPieces() {
+        CharReader charReader = CharReader.from(fragmentedDocument());
+        for (int start = 0; start <= EXPECTED_TEXT.length(); start++) {
+            for (int end = start; end <= EXPECTED_TEXT.length(); end++) {
+                charReader.reset(start);
+                charReader.mark();
+                charReader.advance(end - start);
+                Assert.assertEquals(charReader.getMarkedChars(), EXPECTED_TEXT.substring(start, end),
+                        "marked chars from " + start + " to " + end);
+            }
+        }
+    }
+
+    @Test
+    public void testReadEmptyDocument() {
+        CharReader charReader = CharReader.from(TextDocuments.from("", true));
+        Assert.assertTrue(charReader.isEOF());
+        Assert.assertEquals(charReader.peek(), Character.MAX_VALUE);
+        charReader.mark();
+        Assert.assertEquals(charReader.getMarkedChars(), "");
+    }
+
+    /**
+     * Creates a document with the text {@link #EXPECTED_TEXT}, made of pieces of the original text and of the
+     * inserted text.
+     *
+     * @return a document made of several pieces
+     */
+    private static TextDocument fragmentedDocument() {
+        TextDocument textDocument = TextDocuments.from("0123456789", true);
+        textDocument = textDocument.apply(TextDocumentChange.from(new TextEdit[]{
+                TextEdit.from(TextRange.from(2, 0), "XY"),
+                TextEdit.from(TextRange.from(6, 1), "")
+        }));
+        textDocument = textDocument.apply(TextDocumentChange.from(new TextEdit[]{
+                TextEdit.from(TextRange.from(11, 0), "A")
+        }));
+        textDocument = textDocument.apply(TextDocumentChange.from(new TextEdit[]{
+                TextEdit.from(TextRange.from(12, 0), "B")
+        }));
+        Assert.assertEquals(textDocument.toString(), EXPECTED_TEXT);
+        return textDocument;
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.tools.test.text;
+
+import io.ballerina.tools.text.LinePosition;
+import io.ballerina.tools.text.TextDocument;
+import io.ballerina.tools.text.TextDocumentChange;
+import io.ballerina.tools.text.TextDocuments;
+import io.ballerina.tools.text.TextEdit;
+import io.ballerina.tools.text.TextLine;
+import io.ballerina.tools.text.TextRange;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contains cases to test applying changes to editable text documents and the line map of the changed documents.
+ *
+ * @since 2.0.0
+ */
+public class EditableTextDocumentTest {
+
+    private static final String TEXT = "import ballerina/io;\n\npublic function main() {\r\n    io:println(\"Hello\");\n}";
+
+    @Test
+    public void testApplySingleEdits() {
+        TextDocument textDocument = TextDocuments.from(TEXT, true);
+        String expectedText = TEXT;
+
+        // Insert, replace and delete at the start, in the middle and at the end of the text
+        textDocument = apply(textDocument, 0, 0, "// main\n");
+        expectedText = "// main\n" + expectedText;
+        assertTextDocument(textDocument, expectedText);
+
+        int helloStart = expectedText.indexOf("Hello");
+        textDocument = apply(textDocument, helloStart, helloStart + 5, "Hello World");
+        expectedText = expectedText.replace("Hello", "Hello World");
+        assertTextDocument(textDocument, expectedText);
+
+        textDocument = apply(textDocument, expectedText.length(), expectedText.length(), "\n");
+        expectedText = expectedText + "\n";
+        assertTextDocument(textDocument, expectedText);
+
+        int importEnd = expectedText.indexOf('\n', expectedText.indexOf("import")) + 1;
+        textDocument = apply(textDocument, expectedText.indexOf("import"), importEnd, "");
+        expectedText = expectedText.substring(0, expectedText.indexOf("import")) + expectedText.substring(importEnd);
+        assertTextDocument(textDocument, expectedText);
+    }
+
+    @Test
+    public void testApplyMultipleEditsInOneChange() {
+        TextDocument textDocument = TextDocuments.from(TEXT, true);
+
+        // The ranges of the edits refer to the text before the change
+        int mainStart = TEXT.indexOf("main");
+        int helloStart = TEXT.indexOf("Hello");
+        TextDocumentChange change = TextDocumentChange.from(new TextEdit[]{
+                TextEdit.from(TextRange.from(0, 0), "// header\n"),
+                TextEdit.from(TextRange.from(mainStart, 4), "start"),
+                TextEdit.from(TextRange.from(helloStart, 5), "Hi\nthere"),
+                TextEdit.from(TextRange.from(TEXT.length(), 0), "\n")
+        });
+        textDocument = textDocument.apply(change);
+
+        String expectedText = "// header\n" + TEXT.substring(0, mainStart) + "start" +
+                TEXT.substring(mainStart + 4, helloStart) + "Hi\nthere" + TEXT.substring(helloStart + 5) + "\n";
+        assertTextDocument(textDocument, expectedText);
+    }
+
+    @Test
+    public void testApplyChainOfEdits() {
+        // The line map of each document is computed before applying the next edit, so that the line map of the
+        // changed document is derived from the previous line map.
+        assertApplyChain(true);
+    }
+
+    @Test
+    public void testApplyChainOfEditsWithoutLineMaps() {
+        assertApplyChain(false);
+    }
+
+    @Test
+    public void testEditsAroundCarriageReturnLineFeed() {
+        TextDocument textDocument = TextDocuments.from("a\r\nb\r\nc", true);
+        textDocument.line(0);
+
+        // Split "\r\n" into two new lines
+        textDocument = apply(textDocument, 2, 2, "x");
+        assertTextDocument(textDocument, "a\rx\nb\r\nc");
+
+        // Join "\r" and "\n" back to a single new line
+        textDocument = apply(textDocument, 2, 3, "");
+        assertTextDocument(textDocument, "a\r\nb\r\nc");
+
+        // Remove the "\n" of a "\r\n" and add it back
+        textDocument = apply(textDocument, 5, 6, "");
+        assertTextDocument(textDocument, "a\r\nb\rc");
+        textDocument = apply(textDocument, 5, 5, "\n");
+        assertTextDocument(textDocument, "a\r\nb\r\nc");
+
+        // Remove all new lines
+        textDocument = apply(textDocument, 1, 6, "");
+        assertTextDocument(textDocument, "ac");
+        textDocument = apply(textDocument, 2, 2, "\r");
+        assertTextDocument(textDocument, "ac\r");
+    }
+
+    @Test
+    public void testEditsOfEmptyDocument() {
+        TextDocument textDocument = TextDocuments.from("", true);
+        assertTextDocument(textDocument, "");
+
+        textDocument = apply(textDocument, 0, 0, "a\nb");
+        assertTextDocument(textDocument, "a\nb");
+        textDocument = apply(textDocument, 0, 3, "");
+        assertTextDocument(textDocument, "");
+    }
+
+    @Test
+    public void testHighlyFragmentedDocument() {
+        // Enough edits to fragment the document beyond the piece limit
+        TextDocument textDocument = TextDocuments.from("", true);
+        StringBuilder expectedText = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            String text = i % 10 == 0 ? "\n" : Integer.toString(i % 10);
+            int offset = expectedText.length() / 2;
+            textDocument = apply(textDocument, offset, offset, text);
+            expectedText.insert(offset, text);
+            if (i % 100 == 0) {
+                textDocument.line(0);
+            }
+        }
+        assertTextDocument(textDocument, expectedText.toString());
+    }
+
+    @Test
+    public void testApplyToNonEditableDocument() {
+        // Changes to a string backed document are applied to a piece table seeded with its line map
+        TextDocument textDocument = TextDocuments.from(TEXT);
+        textDocument.line(0);
+        int helloStart = TEXT.indexOf("Hello");
+        textDocument = apply(textDocument, helloStart, helloStart, "\r\n");
+        assertTextDocument(textDocument, TEXT.substring(0, helloStart) + "\r\n" + TEXT.substring(helloStart));
+    }
+
+    @Test(description = "The line map derived from the previous line map is computed once for concurrent reads")
+    public void testConcurrentLineMapReads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            // A document of many lines, so that deriving the line map takes a while
+            String expectedText = (TEXT + "\n").repeat(500);
+            TextDocument textDocument = TextDocuments.from(expectedText, true);
+            for (int i = 0; i < 200; i++) {
+                textDocument.line(0);
+                int position = (i * 997) % (expectedText.length() + 1);
+                String text = i % 3 == 0 ? "\r\n" : "a\n";
+                textDocument = apply(textDocument, position, position, text);
+                expectedText = expectedText.substring(0, position) + text + expectedText.substring(position);
+
+                // All the threads request the line map of the new document at the same time
+                TextDocument editedDocument = textDocument;
+                TextDocument expectedDocument = TextDocuments.from(expectedText);
+                int lastPosition = expectedText.length();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<LinePosition>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return editedDocument.linePositionFrom(lastPosition);
+                    }));
+                }
+                start.countDown();
+                for (Future<LinePosition> future : futures) {
+                    Assert.assertEquals(future.get(60, TimeUnit.SECONDS),
+                            expectedDocument.linePositionFrom(lastPosition));
+                }
+            }
+            assertTextDocument(textDocument, expectedText);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertApplyChain(boolean computeLineMaps) {
+        Random random = new Random(20210401);
+        String[] insertions = {"", "a", "xyz", "\n", "\r", "\r\n", "\n\n", "if (a) {\n    b();\r\n}", "\"\r"};
+        TextDocument textDocument = TextDocuments.from(TEXT, true);
+        String expectedText = TEXT;
+        for (int i = 0; i < 500; i++) {
+            int start = random.nextInt(expectedText.length() + 1);
+            int end = Math.min(expectedText.length(), start + random.nextInt(8));
+            String text = insertions[random.nextInt(insertions.length)];
+            if (computeLineMaps) {
+                textDocument.linePositionFrom(0);
+            }
+
+            textDocument = apply(textDocument, start, end, text);
+            expectedText = expectedText.substring(0, start) + text + expectedText.substring(end);
+            if (computeLineMaps || i % 50 == 0) {
+                assertTextDocument(textDocument, expectedText);
+            }
+        }
+        assertTextDocument(textDocument, expectedText);
+    }
+
+    private static TextDocument apply(TextDocument textDocument, int startOffset, int endOffset, String text) {
+        TextEdit textEdit = TextEdit.from(TextRange.from(startOffset, endOffset - startOffset), text);
+        return textDocument.apply(TextDocumentChange.from(new TextEdit[]{textEdit}));
+    }
+
+    /**
+     * Asserts the text and the line map of the given document against a document created from the expected text.
+     *
+     * @param textDocument document to assert
+     * @param expectedText expected text of the document
+     */
+    private static void assertTextDocument(TextDocument textDocument, String expectedText) {
+        Assert.assertEquals(textDocument.toString(), expectedText);
+        Assert.assertEquals(new String(textDocument.toCharArray()), expectedText);
+
+        TextDocument expectedDocument = TextDocuments.from(expectedText);
+        int lineCount = 0;
+        for (int i = 0; i < expectedText.length(); i++) {
+            char c = expectedText.charAt(i);
+            if (c == '\n' || (c == '\r' && (i + 1 == expectedText.length() || expectedText.charAt(i + 1) != '\n'))) {
+                lineCount++;
+            }
+        }
+
+        for (int line = 0; line <= lineCount; line++) {
+            TextLine textLine = textDocument.line(line);
+            TextLine expectedLine = expectedDocument.line(line);
+            Assert.assertEquals(textLine.lineNo(), line);
+            Assert.assertEquals(textLine.text(), expectedLine.text(), "text of line " + line);
+            Assert.assertEquals(textLine.startOffset(), expectedLine.startOffset(), "start of line " + line);
+            Assert.assertEquals(textLine.endOffset(), expectedLine.endOffset(), "end of line " + line);
+            Assert.assertEquals(textLine.lengthWithNewLineChars(), expectedLine.lengthWithNewLineChars(),
+                    "length of line " + line);
+
+            for (int offset = 0; offset <= textLine.length(); offset++) {
+                LinePosition linePosition = LinePosition.from(line, offset);
+                Assert.assertEquals(textDocument.textPositionFrom(linePosition), textLine.startOffset() + offset);
+            }
+        }
+
+        int lastLine = lineCount;
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> textDocument.line(lastLine + 1));
+
+        for (int position = 0; position <= expectedText.length(); position++) {
+            Assert.assertEquals(textDocument.linePositionFrom(position), expectedDocument.linePositionFrom(position),
+                    "line position of offset " + position);
+        }
+    }
+}
@@ -2,4 +2,5 @@ module io.ballerina.lang.internal {
     exports org.ballerinalang.langlib.internal;
     requires io.ballerina.lang;
     requires io.ballerina.runtime;
+    requires java.xml;
 }
\ No newline at end of file
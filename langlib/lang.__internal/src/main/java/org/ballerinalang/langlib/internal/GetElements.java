@@ -21,10 +21,13 @@ import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.types.XmlNodeType;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BXml;
+import io.ballerina.runtime.api.values.BXmlItem;
 import io.ballerina.runtime.api.values.BXmlSequence;
 
 import java.util.ArrayList;
 
+import javax.xml.namespace.QName;
+
 /**
  * Return elements matching at least one of `elemNames`.
  *
@@ -65,7 +68,7 @@ public class GetElements {
                 if (child.getNodeType() != XmlNodeType.ELEMENT) {
                     continue;
                 }
-                if (matchFilters(elemNames, nsList, localNameList, child.getElementName())) {
+                if (matchFilters(elemNames, nsList, localNameList, ((BXmlItem) child).getQName())) {
                     selectedElements.add(child);
                 }
             }
@@ -114,4 +117,38 @@ public class GetElements {
         }
         return false;
     }
+
+    /**
+     * Matches the name of an element against the filters, without building the expanded name of the element.
+     *
+     * @param elemNames   element name filters
+     * @param nsList      namespaces of the filters
+     * @param elemList    local names of the filters
+     * @param elementName name of the element
+     * @return whether the element matches any of the filters
+     */
+    public static boolean matchFilters(BString[] elemNames, ArrayList<String> nsList, ArrayList<String> elemList,
+                                       QName elementName) {
+        String elementNs = elementName.getNamespaceURI();
+        int filterCount = elemNames.length;
+        for (int i = 0; i < filterCount; i++) {
+            String ns = nsList.get(i);
+            String eName = elemList.get(i);
+            // .<*>
+            if (ns.equals(EMPTY) && eName.equals(STAR)) {
+                return true;
+            }
+            // .<ns:*>
+            if (eName.equals(STAR)) {
+                if (!elementNs.isEmpty() && elementNs.equals(ns)) {
+                    return true;
+                }
+            }
+            // .<ns:foo> or .<foo>
+            if (elementNs.equals(ns) && elementName.getLocalPart().equals(eName)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -15,6 +15,7 @@
 // under the License.
 
 import ballerina/jballerina.java;
+import ballerina/lang.__internal as internal;
 
 # Represent the iterator type returned when `iterator` method is invoked.
 class XMLIterator {
@@ -36,3 +37,89 @@ isolated function externNext(XMLIterator iterator) returns record {| ItemType va
     'class: "org.ballerinalang.langlib.xml.Next",
     name: "next"
 } external;
+
+# Represent the iterator used by the stream returned when `elementsFromString` is invoked.
+class XMLElementIterator {
+
+    private string s;
+    private int depth;
+
+    public isolated function init(string s, int depth) {
+        self.s = s;
+        self.depth = depth;
+    }
+
+    # Return next element or nil if end of iteration is reached.
+    # + return - iterator result, or an error if the string is not in XML format
+    public isolated function next() returns record {| Element value; |}|error? {
+        return externNextElement(self);
+    }
+}
+
+isolated function externNextElement(XMLElementIterator iterator) returns record {| Element value; |}|error? = @java:Method {
+    'class: "org.ballerinalang.langlib.xml.NextElement",
+    name: "nextElement"
+} external;
+
+# Represent the iterator used by the stream returned when `elementsFromBytes` is invoked.
+class XMLByteElementIterator {
+
+    private stream<byte[], error?> byteStream;
+    private int depth;
+
+    public isolated function init(stream<byte[], error?> byteStream, int depth) {
+        self.byteStream = byteStream;
+        self.depth = depth;
+    }
+
+    # Return next element or nil if end of iteration is reached.
+    # + return - iterator result, or an error if the bytes are not in XML format or the byte stream fails
+    public isolated function next() returns record {| Element value; |}|error? {
+        record {| Element value; |}|error|boolean? result = externNextByteElement(self);
+        while result is boolean {
+            // The parser has consumed the bytes fed so far
+            object {
+                public isolated function next() returns record {| byte[] value; |}|error?;
+            } byteIterator = <object {
+                                public isolated function next() returns record {| byte[] value; |}|error?;
+                             }>internal:getIteratorObj(self.byteStream);
+            record {| byte[] value; |}|error? chunk = byteIterator.next();
+            if chunk is error {
+                externCloseByteElementParser(self);
+                return chunk;
+            }
+            externFeedBytes(self, chunk is () ? () : chunk.value);
+            result = externNextByteElement(self);
+        }
+        return <record {| Element value; |}|error?> result;
+    }
+
+    # Close the iterator and the byte stream.
+    # + return - an error if the byte stream could not be closed
+    public isolated function close() returns error? {
+        externCloseByteElementParser(self);
+        var byteIterator = internal:getIteratorObj(self.byteStream);
+        if byteIterator is object {
+            public isolated function next() returns record {| byte[] value; |}|error?;
+            public isolated function close() returns error?;
+        } {
+            return byteIterator.close();
+        }
+    }
+}
+
+isolated function externNextByteElement(XMLByteElementIterator iterator)
+        returns record {| Element value; |}|error|boolean? = @java:Method {
+    'class: "org.ballerinalang.langlib.xml.NextByteElement",
+    name: "nextElement"
+} external;
+
+isolated function externFeedBytes(XMLByteElementIterator iterator, byte[]? chunk) = @java:Method {
+    'class: "org.ballerinalang.langlib.xml.NextByteElement",
+    name: "feed"
+} external;
+
+isolated function externCloseByteElementParser(XMLByteElementIterator iterator) = @java:Method {
+    'class: "org.ballerinalang.langlib.xml.NextByteElement",
+    name: "close"
+} external;
@@ -373,6 +373,38 @@ public isolated function fromString(string s) returns xml|error = @java:Method {
     name: "fromString"
 } external;
 
+# Returns a stream of the elements at a given depth of a string in XML format.
+#
+# This parses the string in the same way as `fromString`, but an element is
+# parsed only when the stream is advanced to it. Elements at other depths and
+# items that are not elements are skipped. Elements that are not retained after
+# they are processed do not occupy memory, which allows huge XML values to be
+# filtered in bounded memory.
+#
+# + s - a string in XML format
+# + depth - depth of the elements, where the top-level elements of parameter `s` are at depth zero
+# + return - a stream of the elements, which completes with an error if parameter `s` is not in XML format
+public isolated function elementsFromString(string s, int depth = 0) returns stream<Element, error?> {
+    XMLElementIterator elementIterator = new(s, depth);
+    return new stream<Element, error?>(elementIterator);
+}
+
+# Returns a stream of the elements at a given depth of a byte stream of UTF-8 encoded XML content.
+#
+# This parses the bytes in the same way as `elementsFromString` parses a string,
+# but the bytes are read from parameter `s` only as the stream is advanced. This
+# allows an XML document to be filtered in bounded memory without reading all of
+# its bytes first.
+#
+# + s - a stream of the UTF-8 encoding of a string in XML format
+# + depth - depth of the elements, where the top-level elements of the content are at depth zero
+# + return - a stream of the elements, which completes with an error if the content is not in XML format
+#            or if parameter `s` completes with an error
+public isolated function elementsFromBytes(stream<byte[], error?> s, int depth = 0) returns stream<Element, error?> {
+    XMLByteElementIterator elementIterator = new(s, depth);
+    return new stream<Element, error?>(elementIterator);
+}
+
 # Selects all the items in a sequence that are of type `xml:Text`.
 #
 # + x - the xml value
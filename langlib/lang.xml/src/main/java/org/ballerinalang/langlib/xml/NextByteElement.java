@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.xml;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BXml;
+import io.ballerina.runtime.internal.XmlFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
+import java.lang.ref.Cleaner;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.SynchronousQueue;
+
+/**
+ * Native implementation of lang.xml.XMLByteElementIterator, which parses the elements of the UTF-8 encoded XML
+ * content of a byte stream.
+ * <p>
+ * The parser pulls its input from a reader, whereas the chunks of the byte stream can only be pulled by the strand
+ * of the iterator. Hence the content is parsed by a parser thread, which hands each element to the strand, and asks
+ * the strand for the next chunk when it runs out of input.
+ *
+ * @since 2.0.0
+ */
+public class NextByteElement {
+
+    private static final String PARSER = "&parser&";
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /**
+     * Returns the next element, nil at the end of the content, an error if the content is not in XML format, or
+     * {@code true} when the next chunk of the byte stream has to be fed to the parser.
+     *
+     * @param m iterator object
+     * @return iterator result, error, nil or {@code true}
+     */
+    public static Object nextElement(BObject m) {
+        ElementParser parser = (ElementParser) m.getNativeData(PARSER);
+        if (parser == null) {
+            long depth = m.getIntValue(StringUtils.fromString("depth"));
+            if (depth < 0) {
+                return ErrorCreator.createError(StringUtils.fromString("invalid depth: " + depth));
+            }
+            parser = new ElementParser((int) depth);
+            m.addNativeData(PARSER, parser);
+            // Stops the parser thread of an iterator, which is discarded before reaching the end of the stream
+            CLEANER.register(m, parser::stop);
+        }
+        return parser.next();
+    }
+
+    public static void feed(BObject m, Object chunk) {
+        ElementParser parser = (ElementParser) m.getNativeData(PARSER);
+        if (parser != null) {
+            parser.feed(chunk == null ? null : ((BArray) chunk).getBytes());
+        }
+    }
+
+    public static void close(BObject m) {
+        ElementParser parser = (ElementParser) m.getNativeData(PARSER);
+        if (parser != null) {
+            parser.stop();
+        }
+    }
+
+    /**
+     * Parses the content fed in chunks on a parser thread. The parser thread and the strand take turns, such that
+     * at most one element is parsed ahead of the strand.
+     */
+    private static class ElementParser implements Runnable {
+
+        private static final Object NEED_INPUT = new Object();
+        private static final Object END = new Object();
+        private static final byte[] END_OF_INPUT = new byte[0];
+
+        private final int depth;
+        private final SynchronousQueue<Object> results = new SynchronousQueue<>();
+        private final SynchronousQueue<byte[]> chunks = new SynchronousQueue<>();
+        private volatile Thread thread;
+        private volatile boolean completed;
+
+        ElementParser(int depth) {
+            this.depth = depth;
+        }
+
+        Object next() {
+            if (completed) {
+                return null;
+            }
+            if (thread == null) {
+                thread = new Thread(this, "xml-element-parser");
+                thread.setDaemon(true);
+                thread.start();
+            }
+
+            Object result;
+            try {
+                result = results.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stop();
+                return ErrorCreator.createError(StringUtils.fromString("failed to parse xml: interrupted"));
+            }
+            if (result == NEED_INPUT) {
+                return Boolean.TRUE;
+            }
+            if (result == END) {
+                completed = true;
+                return null;
+            }
+            if (result instanceof BError) {
+                completed = true;
+                return result;
+            }
+            return ValueCreator.createRecordValue(ValueCreator.createMapValue(
+                    PredefinedTypes.XML_ITR_NEXT_RETURN_ELEMENT_TYPE), result);
+        }
+
+        void feed(byte[] chunk) {
+            try {
+                // The parser thread is waiting for the chunk, since it asked for it
+                chunks.put(chunk == null ? END_OF_INPUT : chunk);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stop();
+            }
+        }
+
+        void stop() {
+            completed = true;
+            Thread parserThread = thread;
+            if (parserThread != null) {
+                parserThread.interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            // Wraps the content in a root element, the same way as the content of a string is wrapped
+            InputStream content = new SequenceInputStream(Collections.enumeration(List.of(
+                    new ByteArrayInputStream("<root>".getBytes(StandardCharsets.UTF_8)), new ChunkInputStream(),
+                    new ByteArrayInputStream("</root>".getBytes(StandardCharsets.UTF_8)))));
+            try {
+                try {
+                    Iterator<BXml> elements = XmlFactory.parseElements(
+                            new InputStreamReader(content, StandardCharsets.UTF_8), depth + 1);
+                    while (elements.hasNext()) {
+                        results.put(elements.next());
+                    }
+                    results.put(END);
+                } catch (BError e) {
+                    results.put(e);
+                }
+            } catch (InterruptedException e) {
+                // The iterator is closed
+            }
+        }
+
+        /**
+         * Input stream of the chunks fed by the strand.
+         */
+        private class ChunkInputStream extends InputStream {
+
+            private byte[] chunk = new byte[0];
+            private int position;
+
+            @Override
+            public int read() throws InterruptedIOException {
+                byte[] b = new byte[1];
+                return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws InterruptedIOException {
+                if (chunk == END_OF_INPUT) {
+                    return -1;
+                }
+                if (len == 0) {
+                    return 0;
+                }
+                while (position == chunk.length) {
+                    try {
+                        results.put(NEED_INPUT);
+                        chunk = chunks.take();
+                    } catch (InterruptedException e) {
+                        // Keeps the thread interrupted, so that it does not hand over the resulting parse error
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                    position = 0;
+                    if (chunk == END_OF_INPUT) {
+                        return -1;
+                    }
+                }
+                int count = Math.min(len, chunk.length - position);
+                System.arraycopy(chunk, position, b, off, count);
+                position += count;
+                return count;
+            }
+        }
+    }
+}
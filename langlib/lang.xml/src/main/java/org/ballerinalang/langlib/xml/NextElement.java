@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.xml;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BXml;
+import io.ballerina.runtime.internal.XmlFactory;
+
+import java.util.Iterator;
+
+/**
+ * Native implementation of lang.xml.XMLElementIterator:next(), which parses the next element of the XML string of
+ * the iterator.
+ *
+ * @since 2.0.0
+ */
+public class NextElement {
+
+    private static final String ITERATOR = "&iterator&";
+
+    @SuppressWarnings("unchecked")
+    public static Object nextElement(BObject m) {
+        Iterator<BXml> elementIterator = (Iterator<BXml>) m.getNativeData(ITERATOR);
+        try {
+            if (elementIterator == null) {
+                long depth = m.getIntValue(StringUtils.fromString("depth"));
+                if (depth < 0) {
+                    return ErrorCreator.createError(StringUtils.fromString("invalid depth: " + depth));
+                }
+                elementIterator = XmlFactory.parseContentElements(
+                        m.getStringValue(StringUtils.fromString("s")).getValue(), (int) depth);
+                m.addNativeData(ITERATOR, elementIterator);
+            }
+
+            if (elementIterator.hasNext()) {
+                return ValueCreator.createRecordValue(ValueCreator.createMapValue(
+                        PredefinedTypes.XML_ITR_NEXT_RETURN_ELEMENT_TYPE), elementIterator.next());
+            }
+        } catch (BError e) {
+            return e;
+        }
+        return null;
+    }
+}
@@ -316,6 +316,16 @@ public class LangLibXMLTest {
         BRunUtil.invoke(compileResult, "fromStringTest");
     }
 
+    @Test
+    public void testElementsFromString() {
+        BRunUtil.invoke(compileResult, "testElementsFromString");
+    }
+
+    @Test
+    public void testElementsFromBytes() {
+        BRunUtil.invoke(compileResult, "testElementsFromBytes");
+    }
+
     @Test
     public void testXmlSubtypeFillerValue() {
         BRunUtil.invoke(compileResult, "testXmlSubtypeFillerValue");
@@ -881,3 +881,104 @@ function fromStringTest() {
         panic error("Assertion error: not a comment");
     }
 }
+
+function testElementsFromString() {
+    string s = "<feed xmlns:p=\"http://p.com\"><!-- items --><item id=\"1\"><p:name>A</p:name></item>text" +
+        "<item id=\"2\"><p:name>B</p:name></item><item id=\"3\"><p:name>C</p:name></item></feed>";
+    string[] ids = [];
+    string[] names = [];
+    stream<xml:Element, error?> items = xml:elementsFromString(s, 1);
+    error? e = items.forEach(function (xml:Element item) {
+        string id = checkpanic item.id;
+        if (id != "2") {
+            ids.push(id);
+            names.push((item/*).toString());
+        }
+    });
+    assertEquals(e is (), true);
+    assertEquals(ids, ["1", "3"]);
+    assertEquals(names, ["<p:name xmlns:p=\"http://p.com\">A</p:name>", "<p:name xmlns:p=\"http://p.com\">C</p:name>"]);
+
+    stream<xml:Element, error?> roots = xml:elementsFromString("<a/>text<b/>");
+    record {| xml:Element value; |}|error? next = roots.next();
+    assertEquals(next is record {| xml:Element value; |} && next.value.getName() == "a", true);
+    next = roots.next();
+    assertEquals(next is record {| xml:Element value; |} && next.value.getName() == "b", true);
+    assertEquals(roots.next() is (), true);
+
+    stream<xml:Element, error?> invalid = xml:elementsFromString("<a/><b>");
+    assertEquals(invalid.next() is record {| xml:Element value; |}, true);
+    assertEquals(invalid.next() is error, true);
+}
+
+class ByteChunks {
+
+    private byte[][] chunks = [];
+    private error? failure;
+    private int index = 0;
+    boolean closed = false;
+
+    function init(byte[] bytes, int chunkSize, error? failure = ()) {
+        int i = 0;
+        while (i < bytes.length()) {
+            int end = i + chunkSize < bytes.length() ? i + chunkSize : bytes.length();
+            self.chunks.push(bytes.slice(i, end));
+            i = end;
+        }
+        self.failure = failure;
+    }
+
+    public isolated function next() returns record {| byte[] value; |}|error? {
+        if (self.index < self.chunks.length()) {
+            self.index += 1;
+            return {value: self.chunks[self.index - 1]};
+        }
+        return self.failure;
+    }
+
+    public isolated function close() returns error? {
+        self.closed = true;
+    }
+}
+
+function testElementsFromBytes() {
+    // Chunks of two bytes split the multibyte characters
+    byte[] bytes = "<feed><!-- items --><item>ü</item>text<item>€</item><item>😀</item></feed>".toBytes();
+    ByteChunks chunks = new(bytes, 2);
+    string[] texts = [];
+    stream<xml:Element, error?> items = xml:elementsFromBytes(new stream<byte[], error?>(chunks), 1);
+    error? e = items.forEach(function (xml:Element item) {
+        texts.push(item.getChildren().toString());
+    });
+    assertEquals(e is (), true);
+    assertEquals(texts, ["ü", "€", "😀"]);
+
+    ByteChunks rootChunks = new("<a/>text<b/>".toBytes(), 100);
+    stream<xml:Element, error?> roots = xml:elementsFromBytes(new stream<byte[], error?>(rootChunks));
+    record {| xml:Element value; |}|error? next = roots.next();
+    assertEquals(next is record {| xml:Element value; |} && next.value.getName() == "a", true);
+    next = roots.next();
+    assertEquals(next is record {| xml:Element value; |} && next.value.getName() == "b", true);
+    assertEquals(roots.next() is (), true);
+
+    ByteChunks invalidChunks = new("<a/><b>".toBytes(), 3);
+    stream<xml:Element, error?> invalid = xml:elementsFromBytes(new stream<byte[], error?>(invalidChunks));
+    assertEquals(invalid.next() is record {| xml:Element value; |}, true);
+    assertEquals(invalid.next() is error, true);
+
+    // An error of the byte stream completes the stream of elements
+    ByteChunks failing = new("<a/><b/><c".toBytes(), 4, error("connection reset"));
+    stream<xml:Element, error?> elements = xml:elementsFromBytes(new stream<byte[], error?>(failing));
+    assertEquals(elements.next() is record {| xml:Element value; |}, true);
+    next = elements.next();
+    assertEquals(next is record {| xml:Element value; |} && next.value.getName() == "b", true);
+    next = elements.next();
+    assertEquals(next is error && next.message() == "connection reset", true);
+
+    // Closing the stream of elements closes the byte stream
+    ByteChunks unread = new("<a/><b/>".toBytes(), 1);
+    stream<xml:Element, error?> closed = xml:elementsFromBytes(new stream<byte[], error?>(unread));
+    assertEquals(closed.next() is record {| xml:Element value; |}, true);
+    assertEquals(closed.close() is (), true);
+    assertEquals(unread.closed, true);
+}
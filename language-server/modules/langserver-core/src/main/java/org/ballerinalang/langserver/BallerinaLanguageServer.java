@@ -108,7 +108,7 @@ public class BallerinaLanguageServer extends AbstractExtendedLanguageServer
 
     public CompletableFuture<InitializeResult> initialize(InitializeParams params) {
         final InitializeResult res = new InitializeResult(new ServerCapabilities());
-        res.getCapabilities().setTextDocumentSync(TextDocumentSyncKind.Full);
+        res.getCapabilities().setTextDocumentSync(TextDocumentSyncKind.Incremental);
 
         //Checks for instances in which the LS needs to be initiated in lightweight mode
         if (isLightWeightMode(params)) {
@@ -182,6 +182,7 @@ public class BallerinaLanguageServer extends AbstractExtendedLanguageServer
         for (ExtendedLanguageServerService service : extendedServices) {
             service.shutdown();
         }
+        LSRequestScheduler.getInstance(this.serverContext).shutdown();
         return CompletableFuture.supplyAsync(Object::new);
     }
 
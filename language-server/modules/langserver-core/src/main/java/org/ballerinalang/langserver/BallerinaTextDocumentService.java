@@ -20,8 +20,10 @@ import io.ballerina.projects.Document;
 import io.ballerina.projects.Module;
 import io.ballerina.tools.text.LinePosition;
 import io.ballerina.tools.text.LineRange;
+import io.ballerina.tools.text.TextDocument;
 import org.ballerinalang.formatter.core.Formatter;
 import org.ballerinalang.formatter.core.FormatterException;
+import org.ballerinalang.langserver.LSRequestScheduler.Priority;
 import org.ballerinalang.langserver.codelenses.CodeLensUtil;
 import org.ballerinalang.langserver.codelenses.LSCodeLensesProviderHolder;
 import org.ballerinalang.langserver.common.utils.CommonUtil;
@@ -106,6 +108,7 @@ class BallerinaTextDocumentService implements TextDocumentService {
     private final WorkspaceManager workspaceManager;
     private final LanguageServerContext serverContext;
     private final LSClientLogger clientLogger;
+    private final LSRequestScheduler requestScheduler;
 
     BallerinaTextDocumentService(BallerinaLanguageServer languageServer,
                                  WorkspaceManager workspaceManager,
@@ -114,6 +117,7 @@ class BallerinaTextDocumentService implements TextDocumentService {
         this.languageServer = languageServer;
         this.serverContext = serverContext;
         this.clientLogger = LSClientLogger.getInstance(this.serverContext);
+        this.requestScheduler = LSRequestScheduler.getInstance(this.serverContext);
     }
 
     /**
@@ -127,218 +131,228 @@ class BallerinaTextDocumentService implements TextDocumentService {
 
     @Override
     public CompletableFuture<Either<List<CompletionItem>, CompletionList>> completion(CompletionParams position) {
-        return CompletableFuture.supplyAsync(() -> {
-            String fileUri = position.getTextDocument().getUri();
-            CompletionContext context = ContextBuilder.buildCompletionContext(fileUri,
-                    this.workspaceManager,
-                    this.clientCapabilities.getTextDocCapabilities().getCompletion(),
-                    this.serverContext,
-                    position.getPosition());
-            try {
-                return LangExtensionDelegator.instance().completion(position, context, this.serverContext);
-            } catch (Throwable e) {
-                // Note: Not catching UserErrorException separately to avoid flooding error msgs popups
-                String msg = "Operation 'text/completion' failed!";
-                this.clientLogger.logError(LSContextOperation.TXT_COMPLETION, msg, e, position.getTextDocument(),
-                        position.getPosition());
-            }
-
-            return Either.forLeft(Collections.emptyList());
-        });
+        return this.requestScheduler.schedule(LSContextOperation.TXT_COMPLETION, position.getTextDocument().getUri(),
+                Priority.HIGH, () -> {
+                    String fileUri = position.getTextDocument().getUri();
+                    CompletionContext context = ContextBuilder.buildCompletionContext(fileUri,
+                            this.workspaceManager,
+                            this.clientCapabilities.getTextDocCapabilities().getCompletion(),
+                            this.serverContext,
+                            position.getPosition());
+                    try {
+                        return LangExtensionDelegator.instance().completion(position, context, this.serverContext);
+                    } catch (Throwable e) {
+                        // Note: Not catching UserErrorException separately to avoid flooding error msgs popups
+                        String msg = "Operation 'text/completion' failed!";
+                        this.clientLogger.logError(LSContextOperation.TXT_COMPLETION, msg, e,
+                                position.getTextDocument(), position.getPosition());
+                    }
+
+                    return Either.forLeft(Collections.emptyList());
+                });
     }
 
     @Override
     public CompletableFuture<Hover> hover(HoverParams params) {
-        return CompletableFuture.supplyAsync(() -> {
-            String fileUri = params.getTextDocument().getUri();
-            HoverContext context = ContextBuilder
-                    .buildHoverContext(fileUri, this.workspaceManager, this.serverContext, params.getPosition());
-            Hover hover;
-            try {
-                hover = HoverUtil.getHover(context);
-            } catch (Throwable e) {
-                // Note: Not catching UserErrorException separately to avoid flooding error msgs popups
-                String msg = "Operation 'text/hover' failed!";
-                this.clientLogger.logError(LSContextOperation.TXT_HOVER, msg, e, params.getTextDocument(),
-                        params.getPosition());
-                hover = HoverUtil.getDefaultHoverObject();
-            }
-
-            return hover;
-        });
+        return this.requestScheduler.schedule(LSContextOperation.TXT_HOVER, params.getTextDocument().getUri(),
+                Priority.HIGH, () -> {
+                    String fileUri = params.getTextDocument().getUri();
+                    HoverContext context = ContextBuilder.buildHoverContext(fileUri, this.workspaceManager,
+                            this.serverContext, params.getPosition());
+                    Hover hover;
+                    try {
+                        hover = HoverUtil.getHover(context);
+                    } catch (Throwable e) {
+                        // Note: Not catching UserErrorException separately to avoid flooding error msgs popups
+                        String msg = "Operation 'text/hover' failed!";
+                        this.clientLogger.logError(LSContextOperation.TXT_HOVER, msg, e, params.getTextDocument(),
+                                params.getPosition());
+                        hover = HoverUtil.getDefaultHoverObject();
+                    }
+
+                    return hover;
+                });
     }
 
     @Override
     public CompletableFuture<SignatureHelp> signatureHelp(SignatureHelpParams params) {
-        return CompletableFuture.supplyAsync(() -> {
-            String uri = params.getTextDocument().getUri();
-            Optional<Path> sigFilePath = CommonUtil.getPathFromURI(uri);
-
-            // Note: If the path does not exist, then return early and ignore
-            if (sigFilePath.isEmpty()) {
-                return new SignatureHelp();
-            }
-
-            SignatureContext context = ContextBuilder.buildSignatureContext(uri,
-                    this.workspaceManager,
-                    this.clientCapabilities.getTextDocCapabilities().getSignatureHelp(),
-                    this.serverContext,
-                    params.getPosition());
-            try {
-                // Find token at cursor position
-                return SignatureHelpUtil.getSignatureHelp(context);
-            } catch (UserErrorException e) {
-                this.clientLogger.notifyUser("Signature Help", e);
-                return new SignatureHelp();
-            } catch (Throwable e) {
-                String msg = "Operation 'text/signature' failed!";
-                this.clientLogger.logError(LSContextOperation.TXT_SIGNATURE, msg, e, params.getTextDocument(),
-                        params.getPosition());
-                return new SignatureHelp();
-            }
-        });
+        return this.requestScheduler.schedule(LSContextOperation.TXT_SIGNATURE, params.getTextDocument().getUri(),
+                Priority.HIGH, () -> {
+                    String uri = params.getTextDocument().getUri();
+                    Optional<Path> sigFilePath = CommonUtil.getPathFromURI(uri);
+
+                    // Note: If the path does not exist, then return early and ignore
+                    if (sigFilePath.isEmpty()) {
+                        return new SignatureHelp();
+                    }
+
+                    SignatureContext context = ContextBuilder.buildSignatureContext(uri,
+                            this.workspaceManager,
+                            this.clientCapabilities.getTextDocCapabilities().getSignatureHelp(),
+                            this.serverContext,
+                            params.getPosition());
+                    try {
+                        // Find token at cursor position
+                        return SignatureHelpUtil.getSignatureHelp(context);
+                    } catch (UserErrorException e) {
+                        this.clientLogger.notifyUser("Signature Help", e);
+                        return new SignatureHelp();
+                    } catch (Throwable e) {
+                        String msg = "Operation 'text/signature' failed!";
+                        this.clientLogger.logError(LSContextOperation.TXT_SIGNATURE, msg, e, params.getTextDocument(),
+                                params.getPosition());
+                        return new SignatureHelp();
+                    }
+                });
     }
 
     @Override
     public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> definition
             (DefinitionParams params) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                BallerinaDefinitionContext defContext = ContextBuilder.buildDefinitionContext(
-                        params.getTextDocument().getUri(),
-                        this.workspaceManager,
-                        this.serverContext,
-                        params.getPosition());
-                return Either.forLeft(DefinitionUtil.getDefinition(defContext, params.getPosition()));
-            } catch (UserErrorException e) {
-                this.clientLogger.notifyUser("Goto Definition", e);
-                return Either.forLeft(Collections.emptyList());
-            } catch (Throwable e) {
-                String msg = "Operation 'text/definition' failed!";
-                this.clientLogger.logError(LSContextOperation.TXT_DEFINITION, msg, e, params.getTextDocument(),
-                        params.getPosition());
-                return Either.forLeft(Collections.emptyList());
-            }
-        });
+        return this.requestScheduler.schedule(LSContextOperation.TXT_DEFINITION, params.getTextDocument().getUri(),
+                Priority.NORMAL, () -> {
+                    try {
+                        BallerinaDefinitionContext defContext = ContextBuilder.buildDefinitionContext(
+                                params.getTextDocument().getUri(),
+                                this.workspaceManager,
+                                this.serverContext,
+                                params.getPosition());
+                        return Either.forLeft(DefinitionUtil.getDefinition(defContext, params.getPosition()));
+                    } catch (UserErrorException e) {
+                        this.clientLogger.notifyUser("Goto Definition", e);
+                        return Either.forLeft(Collections.emptyList());
+                    } catch (Throwable e) {
+                        String msg = "Operation 'text/definition' failed!";
+                        this.clientLogger.logError(LSContextOperation.TXT_DEFINITION, msg, e, params.getTextDocument(),
+                                params.getPosition());
+                        return Either.forLeft(Collections.emptyList());
+                    }
+                });
     }
 
     @Override
     public CompletableFuture<List<? extends Location>> references(ReferenceParams params) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                ReferencesContext context = ContextBuilder.buildReferencesContext(params.getTextDocument().getUri(),
-                        this.workspaceManager,
-                        this.serverContext,
-                        params.getPosition());
-
-                Map<Module, List<io.ballerina.tools.diagnostics.Location>> referencesMap =
-                        ReferencesUtil.getReferences(context);
-
-                List<Location> references = new ArrayList<>();
-                referencesMap.forEach((module, locations) ->
-                        locations.forEach(location -> {
-                            String uri = ReferencesUtil.getUriFromLocation(module, location);
-                            references.add(new Location(uri, ReferencesUtil.getRange(location)));
-                        }));
-
-                return references;
-            } catch (UserErrorException e) {
-                this.clientLogger.notifyUser("Find References", e);
-                return new ArrayList<>();
-            } catch (Throwable e) {
-                String msg = "Operation 'text/references' failed!";
-                this.clientLogger.logError(LSContextOperation.TXT_REFERENCES, msg, e, params.getTextDocument(),
-                        params.getPosition());
-                return new ArrayList<>();
-            }
-        });
+        return this.requestScheduler.schedule(LSContextOperation.TXT_REFERENCES, params.getTextDocument().getUri(),
+                Priority.NORMAL, () -> {
+                    try {
+                        ReferencesContext context = ContextBuilder.buildReferencesContext(
+                                params.getTextDocument().getUri(),
+                                this.workspaceManager,
+                                this.serverContext,
+                                params.getPosition());
+
+                        Map<Module, List<io.ballerina.tools.diagnostics.Location>> referencesMap =
+                                ReferencesUtil.getReferences(context);
+
+                        List<Location> references = new ArrayList<>();
+                        referencesMap.forEach((module, locations) ->
+                                locations.forEach(location -> {
+                                    String uri = ReferencesUtil.getUriFromLocation(module, location);
+                                    references.add(new Location(uri, ReferencesUtil.getRange(location)));
+                                }));
+
+                        return references;
+                    } catch (UserErrorException e) {
+                        this.clientLogger.notifyUser("Find References", e);
+                        return new ArrayList<>();
+                    } catch (Throwable e) {
+                        String msg = "Operation 'text/references' failed!";
+                        this.clientLogger.logError(LSContextOperation.TXT_REFERENCES, msg, e, params.getTextDocument(),
+                                params.getPosition());
+                        return new ArrayList<>();
+                    }
+                });
     }
 
     @Override
     public CompletableFuture<List<Either<SymbolInformation, DocumentSymbol>>>
     documentSymbol(DocumentSymbolParams params) {
-        return CompletableFuture.supplyAsync(() -> {
-            String fileUri = params.getTextDocument().getUri();
-            Optional<Path> docSymbolFilePath = CommonUtil.getPathFromURI(fileUri);
-
-            // Note: If the path does not exist, then return early and ignore
-            if (docSymbolFilePath.isEmpty()) {
-                return new ArrayList<>();
-            }
-            try {
-                return new ArrayList<>();
-            } catch (UserErrorException e) {
-                this.clientLogger.notifyUser("Document Symbols", e);
-                return new ArrayList<>();
-            } catch (Throwable e) {
-                String msg = "Operation 'text/documentSymbol' failed!";
-                this.clientLogger.logError(LSContextOperation.TXT_DOC_SYMBOL, msg, e, params.getTextDocument(),
-                        (Position) null);
-                return new ArrayList<>();
-            }
-        });
+        return this.requestScheduler.schedule(LSContextOperation.TXT_DOC_SYMBOL, params.getTextDocument().getUri(),
+                Priority.NORMAL, () -> {
+                    String fileUri = params.getTextDocument().getUri();
+                    Optional<Path> docSymbolFilePath = CommonUtil.getPathFromURI(fileUri);
+
+                    // Note: If the path does not exist, then return early and ignore
+                    if (docSymbolFilePath.isEmpty()) {
+                        return new ArrayList<>();
+                    }
+                    try {
+                        return new ArrayList<>();
+                    } catch (UserErrorException e) {
+                        this.clientLogger.notifyUser("Document Symbols", e);
+                        return new ArrayList<>();
+                    } catch (Throwable e) {
+                        String msg = "Operation 'text/documentSymbol' failed!";
+                        this.clientLogger.logError(LSContextOperation.TXT_DOC_SYMBOL, msg, e, params.getTextDocument(),
+                                (Position) null);
+                        return new ArrayList<>();
+                    }
+                });
     }
 
     @Override
     public CompletableFuture<List<Either<Command, CodeAction>>> codeAction(CodeActionParams params) {
-        return CompletableFuture.supplyAsync(() -> {
-            String fileUri = params.getTextDocument().getUri();
-            try {
-                CodeActionContext context = ContextBuilder.buildCodeActionContext(fileUri, workspaceManager,
-                        this.serverContext, params);
-                return LangExtensionDelegator.instance().codeActions(params, context, this.serverContext).stream()
-                        .map((Function<CodeAction, Either<Command, CodeAction>>) Either::forRight)
-                        .collect(Collectors.toList());
-            } catch (UserErrorException e) {
-                this.clientLogger.notifyUser("Code Action", e);
-            } catch (Throwable e) {
-                String msg = "Operation 'text/codeAction' failed!";
-                Range range = params.getRange();
-                this.clientLogger.logError(LSContextOperation.TXT_CODE_ACTION, msg, e, params.getTextDocument(),
-                        range.getStart(), range.getEnd());
-            }
-            return Collections.emptyList();
-        });
+        return this.requestScheduler.schedule(LSContextOperation.TXT_CODE_ACTION, params.getTextDocument().getUri(),
+                Priority.NORMAL, () -> {
+                    String fileUri = params.getTextDocument().getUri();
+                    try {
+                        CodeActionContext context = ContextBuilder.buildCodeActionContext(fileUri, workspaceManager,
+                                this.serverContext, params);
+                        return LangExtensionDelegator.instance().codeActions(params, context, this.serverContext)
+                                .stream()
+                                .map((Function<CodeAction, Either<Command, CodeAction>>) Either::forRight)
+                                .collect(Collectors.toList());
+                    } catch (UserErrorException e) {
+                        this.clientLogger.notifyUser("Code Action", e);
+                    } catch (Throwable e) {
+                        String msg = "Operation 'text/codeAction' failed!";
+                        Range range = params.getRange();
+                        this.clientLogger.logError(LSContextOperation.TXT_CODE_ACTION, msg, e, params.getTextDocument(),
+                                range.getStart(), range.getEnd());
+                    }
+                    return Collections.emptyList();
+                });
     }
 
     @Override
     public CompletableFuture<List<? extends CodeLens>> codeLens(CodeLensParams params) {
-        return CompletableFuture.supplyAsync(() -> {
-            List<CodeLens> lenses;
-            if (!LSCodeLensesProviderHolder.getInstance(this.serverContext).isEnabled()) {
-                // Disabled ballerina codeLens feature
-                clientCapabilities.getTextDocCapabilities().setCodeLens(null);
-                // Skip code lenses if codeLens disabled
-                return new ArrayList<>();
-            }
-
-            String fileUri = params.getTextDocument().getUri();
-            Optional<Path> docSymbolFilePath = CommonUtil.getPathFromURI(fileUri);
-
-            // Note: If the path does not exist, then return early and ignore
-            if (docSymbolFilePath.isEmpty()) {
-                return new ArrayList<>();
-            }
-
-            DocumentServiceContext codeLensContext = ContextBuilder.buildBaseContext(fileUri,
-                    this.workspaceManager,
-                    LSContextOperation.TXT_CODE_LENS, this.serverContext);
-
-            try {
-                lenses = CodeLensUtil.getCodeLenses(codeLensContext, params.getTextDocument());
-                return lenses;
-            } catch (UserErrorException e) {
-                this.clientLogger.notifyUser("Code Lens", e);
-                // Source compilation failed, serve from cache
-            } catch (Throwable e) {
-                String msg = "Operation 'text/codeLens' failed!";
-                this.clientLogger.logError(LSContextOperation.TXT_CODE_LENS, msg, e, params.getTextDocument(),
-                        (Position) null);
-                // Source compilation failed, serve from cache
-            }
-
-            return Collections.emptyList();
-        });
+        return this.requestScheduler.schedule(LSContextOperation.TXT_CODE_LENS, params.getTextDocument().getUri(),
+                Priority.LOW, () -> {
+                    List<CodeLens> lenses;
+                    if (!LSCodeLensesProviderHolder.getInstance(this.serverContext).isEnabled()) {
+                        // Disabled ballerina codeLens feature
+                        clientCapabilities.getTextDocCapabilities().setCodeLens(null);
+                        // Skip code lenses if codeLens disabled
+                        return new ArrayList<>();
+                    }
+
+                    String fileUri = params.getTextDocument().getUri();
+                    Optional<Path> docSymbolFilePath = CommonUtil.getPathFromURI(fileUri);
+
+                    // Note: If the path does not exist, then return early and ignore
+                    if (docSymbolFilePath.isEmpty()) {
+                        return new ArrayList<>();
+                    }
+
+                    DocumentServiceContext codeLensContext = ContextBuilder.buildBaseContext(fileUri,
+                            this.workspaceManager,
+                            LSContextOperation.TXT_CODE_LENS, this.serverContext);
+
+                    try {
+                        lenses = CodeLensUtil.getCodeLenses(codeLensContext, params.getTextDocument());
+                        return lenses;
+                    } catch (UserErrorException e) {
+                        this.clientLogger.notifyUser("Code Lens", e);
+                        // Source compilation failed, serve from cache
+                    } catch (Throwable e) {
+                        String msg = "Operation 'text/codeLens' failed!";
+                        this.clientLogger.logError(LSContextOperation.TXT_CODE_LENS, msg, e, params.getTextDocument(),
+                                (Position) null);
+                        // Source compilation failed, serve from cache
+                    }
+
+                    return Collections.emptyList();
+                });
     }
 
     @Override
@@ -348,37 +362,34 @@ class BallerinaTextDocumentService implements TextDocumentService {
 
     @Override
     public CompletableFuture<List<? extends TextEdit>> formatting(DocumentFormattingParams params) {
-        return CompletableFuture.supplyAsync(() -> {
-            TextEdit textEdit = new TextEdit();
-            String fileUri = params.getTextDocument().getUri();
-            Optional<Path> formattingFilePath = CommonUtil.getPathFromURI(fileUri);
-            // Note: If the path does not exist, then return early and ignore
-            if (formattingFilePath.isEmpty()) {
-                return Collections.singletonList(textEdit);
-            }
-            try {
-                CommonUtil.getPathFromURI(fileUri);
-                Optional<Document> document = workspaceManager.document(formattingFilePath.get());
-                if (document.isEmpty()) {
-                    return new ArrayList<>();
-                }
-                SyntaxTree syntaxTree = document.get().syntaxTree();
-                String formattedSource = Formatter.format(syntaxTree).toSourceCode();
-
-                LinePosition eofPos = syntaxTree.rootNode().lineRange().endLine();
-                Range range = new Range(new Position(0, 0), new Position(eofPos.line() + 1, eofPos.offset()));
-                textEdit = new TextEdit(range, formattedSource);
-                return Collections.singletonList(textEdit);
-            } catch (UserErrorException | FormatterException e) {
-                this.clientLogger.notifyUser("Formatting", e);
-                return Collections.singletonList(textEdit);
-            } catch (Throwable e) {
-                String msg = "Operation 'text/formatting' failed!";
-                this.clientLogger.logError(LSContextOperation.TXT_FORMATTING, msg, e, params.getTextDocument(),
-                        (Position) null);
-                return Collections.singletonList(textEdit);
-            }
-        });
+        return this.requestScheduler.schedule(LSContextOperation.TXT_FORMATTING, params.getTextDocument().getUri(),
+                Priority.NORMAL, () -> {
+                    TextEdit textEdit = new TextEdit();
+                    String fileUri = params.getTextDocument().getUri();
+                    Optional<Path> formattingFilePath = CommonUtil.getPathFromURI(fileUri);
+                    // Note: If the path does not exist, then return early and ignore
+                    if (formattingFilePath.isEmpty()) {
+                        return Collections.singletonList(textEdit);
+                    }
+                    try {
+                        CommonUtil.getPathFromURI(fileUri);
+                        Optional<Document> document = workspaceManager.document(formattingFilePath.get());
+                        if (document.isEmpty()) {
+                            return new ArrayList<>();
+                        }
+                        SyntaxTree syntaxTree = document.get().syntaxTree();
+                        // Only the changed parts of the document are sent back, not the whole formatted source
+                        return toTextEdits(syntaxTree, Formatter.formatToEdits(syntaxTree));
+                    } catch (UserErrorException | FormatterException e) {
+                        this.clientLogger.notifyUser("Formatting", e);
+                        return Collections.singletonList(textEdit);
+                    } catch (Throwable e) {
+                        String msg = "Operation 'text/formatting' failed!";
+                        this.clientLogger.logError(LSContextOperation.TXT_FORMATTING, msg, e, params.getTextDocument(),
+                                (Position) null);
+                        return Collections.singletonList(textEdit);
+                    }
+                });
     }
 
     /**
@@ -389,92 +400,106 @@ class BallerinaTextDocumentService implements TextDocumentService {
      */
     @Override
     public CompletableFuture<List<? extends TextEdit>> rangeFormatting(DocumentRangeFormattingParams params) {
-        return CompletableFuture.supplyAsync(() -> {
-            TextEdit textEdit = new TextEdit();
-            String fileUri = params.getTextDocument().getUri();
-            Optional<Path> formattingFilePath = CommonUtil.getPathFromURI(fileUri);
-            // Note: If the path does not exist, then return early and ignore
-            if (formattingFilePath.isEmpty()) {
-                return Collections.singletonList(textEdit);
-            }
-            try {
-                CommonUtil.getPathFromURI(fileUri);
-                Optional<Document> document = workspaceManager.document(formattingFilePath.get());
-                if (document.isEmpty()) {
-                    return new ArrayList<>();
-                }
-                SyntaxTree syntaxTree = document.get().syntaxTree();
-                Range range = params.getRange();
-                LinePosition startPos = LinePosition.from(range.getStart().getLine(), range.getStart().getCharacter());
-                LinePosition endPos = LinePosition.from(range.getEnd().getLine(), range.getEnd().getCharacter());
-
-                LineRange lineRange = LineRange.from(syntaxTree.filePath(), startPos, endPos);
-                SyntaxTree formattedTree = Formatter.format(syntaxTree, lineRange);
-
-                LinePosition eofPos = syntaxTree.rootNode().lineRange().endLine();
-                Range updateRange = new Range(new Position(0, 0), new Position(eofPos.line() + 1, eofPos.offset()));
-                textEdit = new TextEdit(updateRange, formattedTree.toSourceCode());
-                return Collections.singletonList(textEdit);
-            } catch (UserErrorException | FormatterException e) {
-                this.clientLogger.notifyUser("Formatting", e);
-                return Collections.singletonList(textEdit);
-            } catch (Throwable e) {
-                String msg = "Operation 'text/rangeFormatting' failed!";
-                this.clientLogger.logError(LSContextOperation.TXT_RANGE_FORMATTING, msg, e, params.getTextDocument(),
-                        (Position) null);
-                return Collections.singletonList(textEdit);
-            }
-        });
+        return this.requestScheduler.schedule(LSContextOperation.TXT_RANGE_FORMATTING,
+                params.getTextDocument().getUri(), Priority.NORMAL, () -> {
+                    TextEdit textEdit = new TextEdit();
+                    String fileUri = params.getTextDocument().getUri();
+                    Optional<Path> formattingFilePath = CommonUtil.getPathFromURI(fileUri);
+                    // Note: If the path does not exist, then return early and ignore
+                    if (formattingFilePath.isEmpty()) {
+                        return Collections.singletonList(textEdit);
+                    }
+                    try {
+                        CommonUtil.getPathFromURI(fileUri);
+                        Optional<Document> document = workspaceManager.document(formattingFilePath.get());
+                        if (document.isEmpty()) {
+                            return new ArrayList<>();
+                        }
+                        SyntaxTree syntaxTree = document.get().syntaxTree();
+                        Range range = params.getRange();
+                        LinePosition startPos = LinePosition.from(range.getStart().getLine(),
+                                range.getStart().getCharacter());
+                        LinePosition endPos = LinePosition.from(range.getEnd().getLine(),
+                                range.getEnd().getCharacter());
+
+                        LineRange lineRange = LineRange.from(syntaxTree.filePath(), startPos, endPos);
+                        return toTextEdits(syntaxTree, Formatter.formatToEdits(syntaxTree, lineRange));
+                    } catch (UserErrorException | FormatterException e) {
+                        this.clientLogger.notifyUser("Formatting", e);
+                        return Collections.singletonList(textEdit);
+                    } catch (Throwable e) {
+                        String msg = "Operation 'text/rangeFormatting' failed!";
+                        this.clientLogger.logError(LSContextOperation.TXT_RANGE_FORMATTING, msg, e,
+                                params.getTextDocument(), (Position) null);
+                        return Collections.singletonList(textEdit);
+                    }
+                });
+    }
+
+    private static List<TextEdit> toTextEdits(SyntaxTree syntaxTree,
+                                              List<io.ballerina.tools.text.TextEdit> formattingEdits) {
+        TextDocument textDocument = syntaxTree.textDocument();
+        List<TextEdit> textEdits = new ArrayList<>();
+        for (io.ballerina.tools.text.TextEdit formattingEdit : formattingEdits) {
+            LinePosition startPos = textDocument.linePositionFrom(formattingEdit.range().startOffset());
+            LinePosition endPos = textDocument.linePositionFrom(formattingEdit.range().endOffset());
+            Range range = new Range(new Position(startPos.line(), startPos.offset()),
+                    new Position(endPos.line(), endPos.offset()));
+            textEdits.add(new TextEdit(range, formattingEdit.text()));
+        }
+        return textEdits;
     }
 
     @Override
     public CompletableFuture<Either<Range, PrepareRenameResult>> prepareRename(PrepareRenameParams params) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                PrepareRenameContext context = ContextBuilder.buildPrepareRenameContext(
-                        params.getTextDocument().getUri(),
-                        this.workspaceManager,
-                        this.serverContext,
-                        params.getPosition());
-                Optional<Range> range = RenameUtil.prepareRename(context);
-                if (range.isPresent()) {
-                    return Either.forLeft(range.get());
-                }
-            } catch (UserErrorException e) {
-                this.clientLogger.notifyUser("Rename", e);
-            } catch (Throwable t) {
-                String msg = "Operation 'text/prepareRename' failed!";
-                this.clientLogger.logError(LSContextOperation.TXT_PREPARE_RENAME, msg, t, params.getTextDocument(),
-                        params.getPosition());
-            }
-
-            return null;
-        });
+        return this.requestScheduler.schedule(LSContextOperation.TXT_PREPARE_RENAME, params.getTextDocument().getUri(),
+                Priority.NORMAL, () -> {
+                    try {
+                        PrepareRenameContext context = ContextBuilder.buildPrepareRenameContext(
+                                params.getTextDocument().getUri(),
+                                this.workspaceManager,
+                                this.serverContext,
+                                params.getPosition());
+                        Optional<Range> range = RenameUtil.prepareRename(context);
+                        if (range.isPresent()) {
+                            return Either.forLeft(range.get());
+                        }
+                    } catch (UserErrorException e) {
+                        this.clientLogger.notifyUser("Rename", e);
+                    } catch (Throwable t) {
+                        String msg = "Operation 'text/prepareRename' failed!";
+                        this.clientLogger.logError(LSContextOperation.TXT_PREPARE_RENAME, msg, t,
+                                params.getTextDocument(), params.getPosition());
+                    }
+
+                    return null;
+                });
     }
 
     @Override
     public CompletableFuture<WorkspaceEdit> rename(RenameParams params) {
-        return CompletableFuture.supplyAsync(() -> {
-            WorkspaceEdit workspaceEdit = new WorkspaceEdit();
-
-            try {
-                RenameContext context = ContextBuilder.buildRenameContext(params.getTextDocument().getUri(),
-                        this.workspaceManager,
-                        this.serverContext,
-                        params.getPosition());
-
-                Map<String, List<TextEdit>> changes = RenameUtil.rename(context, params.getNewName());
-                workspaceEdit.setChanges(changes);
-            } catch (UserErrorException e) {
-                this.clientLogger.notifyUser("Rename", e);
-            } catch (Throwable e) {
-                String msg = "Operation 'text/rename' failed!";
-                this.clientLogger.logError(LSContextOperation.TXT_RENAME, msg, e, params.getTextDocument(),
-                        params.getPosition());
-            }
-
-            return workspaceEdit;
-        });
+        return this.requestScheduler.schedule(LSContextOperation.TXT_RENAME, params.getTextDocument().getUri(),
+                Priority.NORMAL, () -> {
+                    WorkspaceEdit workspaceEdit = new WorkspaceEdit();
+
+                    try {
+                        RenameContext context = ContextBuilder.buildRenameContext(params.getTextDocument().getUri(),
+                                this.workspaceManager,
+                                this.serverContext,
+                                params.getPosition());
+
+                        Map<String, List<TextEdit>> changes = RenameUtil.rename(context, params.getNewName());
+                        workspaceEdit.setChanges(changes);
+                    } catch (UserErrorException e) {
+                        this.clientLogger.notifyUser("Rename", e);
+                    } catch (Throwable e) {
+                        String msg = "Operation 'text/rename' failed!";
+                        this.clientLogger.logError(LSContextOperation.TXT_RENAME, msg, e, params.getTextDocument(),
+                                params.getPosition());
+                    }
+
+                    return workspaceEdit;
+                });
     }
 
     @Override
@@ -486,8 +511,7 @@ class BallerinaTextDocumentService implements TextDocumentService {
             this.workspaceManager.didOpen(context.filePath(), params);
             this.clientLogger.logTrace("Operation '" + LSContextOperation.TXT_DID_OPEN.getName() +
                     "' {fileUri: '" + fileUri + "'} opened");
-            DiagnosticsHelper diagnosticsHelper = DiagnosticsHelper.getInstance(this.serverContext);
-            diagnosticsHelper.compileAndSendDiagnostics(this.languageServer.getClient(), context);
+            scheduleDiagnostics(context, false);
         } catch (Throwable e) {
             String msg = "Operation 'text/didOpen' failed!";
             TextDocumentIdentifier identifier = new TextDocumentIdentifier(params.getTextDocument().getUri());
@@ -508,8 +532,8 @@ class BallerinaTextDocumentService implements TextDocumentService {
             workspaceManager.didChange(context.filePath(), params);
             this.clientLogger.logTrace("Operation '" + LSContextOperation.TXT_DID_CHANGE.getName() +
                     "' {fileUri: '" + fileUri + "'} updated");
-            DiagnosticsHelper diagnosticsHelper = DiagnosticsHelper.getInstance(this.serverContext);
-            diagnosticsHelper.compileAndSendDiagnostics(this.languageServer.getClient(), context);
+            // Consecutive changes while typing are compiled once
+            scheduleDiagnostics(context, true);
         } catch (Throwable e) {
             String msg = "Operation 'text/didChange' failed!";
             this.clientLogger.logError(LSContextOperation.TXT_DID_CHANGE, msg, e, params.getTextDocument(),
@@ -539,23 +563,46 @@ class BallerinaTextDocumentService implements TextDocumentService {
     public void didSave(DidSaveTextDocumentParams params) {
     }
 
-    @JsonRequest
-    public CompletableFuture<List<FoldingRange>> foldingRange(FoldingRangeRequestParams params) {
-        return CompletableFuture.supplyAsync(() -> {
+    /**
+     * Compiles the project of the document and publishes the diagnostics, off the thread that reads the messages
+     * from the client.
+     *
+     * @param context  document service context
+     * @param debounce whether to wait for further changes before compiling
+     */
+    private void scheduleDiagnostics(DocumentServiceContext context, boolean debounce) {
+        Path projectRoot = this.workspaceManager.projectRoot(context.filePath());
+        this.requestScheduler.scheduleDiagnostics(projectRoot, debounce, () -> {
             try {
-                FoldingRangeContext foldingRangeContext = ContextBuilder.buildFoldingRangeContext(
-                        params.getTextDocument().getUri(),
-                        this.workspaceManager,
-                        this.serverContext,
-                        this.clientCapabilities.getTextDocCapabilities().getFoldingRange().getLineFoldingOnly());
-                return FoldingRangeProvider.getFoldingRange(foldingRangeContext);
+                DiagnosticsHelper diagnosticsHelper = DiagnosticsHelper.getInstance(this.serverContext);
+                diagnosticsHelper.compileAndSendDiagnostics(this.languageServer.getClient(), context);
             } catch (Throwable e) {
-                String msg = "Operation 'text/foldingRange' failed!";
-                this.clientLogger.logError(LSContextOperation.TXT_FOLDING_RANGE, msg, e,
-                        new TextDocumentIdentifier(params.getTextDocument().getUri()),
-                        (Position) null);
-                return Collections.emptyList();
+                String msg = "Operation '" + context.operation().getName() + "' failed!";
+                this.clientLogger.logError(context.operation(), msg, e,
+                        new TextDocumentIdentifier(context.fileUri()), (Position) null);
             }
         });
     }
+
+    @JsonRequest
+    public CompletableFuture<List<FoldingRange>> foldingRange(FoldingRangeRequestParams params) {
+        return this.requestScheduler.schedule(LSContextOperation.TXT_FOLDING_RANGE, params.getTextDocument().getUri(),
+                Priority.LOW, () -> {
+                    try {
+                        FoldingRangeContext foldingRangeContext = ContextBuilder.buildFoldingRangeContext(
+                                params.getTextDocument().getUri(),
+                                this.workspaceManager,
+                                this.serverContext,
+                                this.clientCapabilities.getTextDocCapabilities().getFoldingRange()
+                                        .getLineFoldingOnly());
+                        return FoldingRangeProvider.getFoldingRange(foldingRangeContext);
+                    } catch (Throwable e) {
+                        String msg = "Operation 'text/foldingRange' failed!";
+                        this.clientLogger.logError(LSContextOperation.TXT_FOLDING_RANGE, msg, e,
+                                new TextDocumentIdentifier(params.getTextDocument().getUri()),
+                                (Position) null);
+                        return Collections.emptyList();
+                    }
+                });
+    }
 }
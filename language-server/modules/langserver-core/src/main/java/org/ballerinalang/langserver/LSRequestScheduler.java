@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ballerinalang.langserver;
+
+import org.ballerinalang.langserver.commons.LanguageServerContext;
+
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Schedules the text document requests and the diagnostics of the language server.
+ * <p>
+ * Requests are executed on a dedicated pool in the order of their priority, so that interactive requests such as
+ * completion and hover are not queued behind code lenses. A request for the cursor position or the whole document is
+ * cancelled when a newer request of the same operation arrives for the same document, and when the client sends a
+ * {@code $/cancelRequest} for it. Diagnostics of a project are published once the project has not been changed for a
+ * short delay.
+ *
+ * @since 2.0.0
+ */
+public class LSRequestScheduler {
+
+    private static final LanguageServerContext.Key<LSRequestScheduler> REQUEST_SCHEDULER_KEY =
+            new LanguageServerContext.Key<>();
+    private static final long DIAGNOSTICS_DELAY_MS = 300;
+    // Code actions are not superseded, since clients request them for different ranges of a document at once
+    private static final Set<LSContextOperation> SUPERSEDABLE_OPERATIONS = EnumSet.of(
+            LSContextOperation.TXT_COMPLETION,
+            LSContextOperation.TXT_HOVER,
+            LSContextOperation.TXT_SIGNATURE,
+            LSContextOperation.TXT_DOC_SYMBOL,
+            LSContextOperation.TXT_CODE_LENS,
+            LSContextOperation.TXT_FOLDING_RANGE);
+
+    private final ThreadPoolExecutor requestExecutor;
+    private final ScheduledExecutorService diagnosticsExecutor;
+    private final Map<String, ScheduledRequest<?>> latestRequests = new ConcurrentHashMap<>();
+    private final Map<Path, ScheduledFuture<?>> pendingDiagnostics = new ConcurrentHashMap<>();
+    private final AtomicLong requestSequence = new AtomicLong();
+
+    /**
+     * Priority of a request. Requests with a higher priority are executed first.
+     */
+    public enum Priority {
+        HIGH,
+        NORMAL,
+        LOW
+    }
+
+    public static LSRequestScheduler getInstance(LanguageServerContext serverContext) {
+        LSRequestScheduler requestScheduler = serverContext.get(REQUEST_SCHEDULER_KEY);
+        if (requestScheduler == null) {
+            requestScheduler = new LSRequestScheduler(serverContext);
+        }
+
+        return requestScheduler;
+    }
+
+    private LSRequestScheduler(LanguageServerContext serverContext) {
+        this(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        serverContext.put(REQUEST_SCHEDULER_KEY, this);
+    }
+
+    LSRequestScheduler(int poolSize) {
+        this.requestExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), new DaemonThreadFactory("ls-request-worker-"));
+        this.diagnosticsExecutor = Executors.newSingleThreadScheduledExecutor(
+                new DaemonThreadFactory("ls-diagnostics-worker-"));
+    }
+
+    /**
+     * Schedules a request on the given document.
+     *
+     * @param operation operation of the request
+     * @param fileUri   URI of the document
+     * @param priority  priority of the request
+     * @param supplier  computes the response of the request
+     * @param <T>       type of the response
+     * @return future of the response, which cancels the request when cancelled
+     */
+    public <T> CompletableFuture<T> schedule(LSContextOperation operation, String fileUri, Priority priority,
+                                             Supplier<T> supplier) {
+        ScheduledRequest<T> request = new ScheduledRequest<>(supplier, priority, requestSequence.getAndIncrement());
+        if (SUPERSEDABLE_OPERATIONS.contains(operation)) {
+            String requestKey = operation.getName() + ":" + fileUri;
+            ScheduledRequest<?> previousRequest = latestRequests.put(requestKey, request);
+            if (previousRequest != null) {
+                // The client is no longer interested in the response of the previous request
+                previousRequest.future.cancel(false);
+            }
+            request.future.whenComplete((response, throwable) -> latestRequests.remove(requestKey, request));
+        }
+
+        // A request cancelled by the client or by a newer request is removed from the queue, if not started yet
+        request.future.whenComplete((response, throwable) -> {
+            if (request.future.isCancelled()) {
+                requestExecutor.remove(request);
+            }
+        });
+        requestExecutor.execute(request);
+        return request.future;
+    }
+
+    /**
+     * Schedules publishing the diagnostics of a project. A diagnostics task scheduled earlier for the same project is
+     * cancelled, if not started yet.
+     *
+     * @param projectRoot root of the project
+     * @param debounce    whether to wait for further changes before publishing the diagnostics
+     * @param task        compiles the project and publishes the diagnostics
+     */
+    public void scheduleDiagnostics(Path projectRoot, boolean debounce, Runnable task) {
+        long delay = debounce ? DIAGNOSTICS_DELAY_MS : 0;
+        pendingDiagnostics.compute(projectRoot, (path, previousTask) -> {
+            if (previousTask != null) {
+                previousTask.cancel(false);
+            }
+            return diagnosticsExecutor.schedule(task, delay, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    /**
+     * Cancels the pending requests and stops the worker threads.
+     */
+    public void shutdown() {
+        requestExecutor.shutdownNow();
+        diagnosticsExecutor.shutdownNow();
+    }
+
+    /**
+     * A request waiting in the queue of the request executor.
+     *
+     * @param <T> type of the response
+     */
+    private static class ScheduledRequest<T> implements Runnable, Comparable<ScheduledRequest<?>> {
+
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final Supplier<T> supplier;
+        private final Priority priority;
+        private final long sequence;
+
+        ScheduledRequest(Supplier<T> supplier, Priority priority, long sequence) {
+            this.supplier = supplier;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public int compareTo(ScheduledRequest<?> other) {
+            int result = priority.compareTo(other.priority);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * Creates named daemon threads, so that the workers do not prevent the server from exiting.
+     */
+    private static class DaemonThreadFactory implements ThreadFactory {
+
+        private final String namePrefix;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        DaemonThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
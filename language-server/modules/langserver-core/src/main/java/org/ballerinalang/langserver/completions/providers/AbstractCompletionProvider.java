@@ -68,6 +68,7 @@ import org.ballerinalang.langserver.completions.builder.TypeCompletionItemBuilde
 import org.ballerinalang.langserver.completions.builder.VariableCompletionItemBuilder;
 import org.ballerinalang.langserver.completions.builder.WorkerCompletionItemBuilder;
 import org.ballerinalang.langserver.completions.builder.XMLNSCompletionItemBuilder;
+import org.ballerinalang.langserver.completions.util.CompletionItemCache;
 import org.ballerinalang.langserver.completions.util.ItemResolverConstants;
 import org.ballerinalang.langserver.completions.util.Snippet;
 import org.ballerinalang.langserver.completions.util.SortingUtil;
@@ -213,7 +214,8 @@ public abstract class AbstractCompletionProvider<T extends Node> implements Ball
             } else if (symbol.kind() == SymbolKind.TYPE_DEFINITION || symbol.kind() == SymbolKind.CLASS
                     || symbol.kind() == ENUM) {
                 // Here skip all the package symbols since the package is added separately
-                CompletionItem typeCItem = TypeCompletionItemBuilder.build(symbol, symbol.getName().get());
+                CompletionItem typeCItem = CompletionItemCache.getInstance(ctx.languageServercontext())
+                        .getTypeCompletionItem(ctx, symbol);
                 completionItems.add(new SymbolCompletionItem(ctx, symbol, typeCItem));
             } else if (symbol.kind() == SymbolKind.WORKER) {
                 CompletionItem workerItem = WorkerCompletionItemBuilder.build((WorkerSymbol) symbol);
@@ -245,10 +247,11 @@ public abstract class AbstractCompletionProvider<T extends Node> implements Ball
     private List<LSCompletionItem> getTypeItems(BallerinaCompletionContext context) {
         List<Symbol> visibleSymbols = context.visibleSymbols(context.getCursorPosition());
         List<LSCompletionItem> completionItems = new ArrayList<>();
+        CompletionItemCache completionItemCache = CompletionItemCache.getInstance(context.languageServercontext());
         visibleSymbols.stream()
                 .filter(CommonUtil.typesFilter())
                 .forEach(symbol -> {
-                    CompletionItem cItem = TypeCompletionItemBuilder.build(symbol, symbol.getName().get());
+                    CompletionItem cItem = completionItemCache.getTypeCompletionItem(context, symbol);
                     completionItems.add(new SymbolCompletionItem(context, symbol, cItem));
                 });
 
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ballerinalang.langserver.completions.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import io.ballerina.compiler.api.ModuleID;
+import io.ballerina.compiler.api.symbols.ModuleSymbol;
+import io.ballerina.compiler.api.symbols.Symbol;
+import io.ballerina.projects.Package;
+import io.ballerina.projects.Project;
+import org.ballerinalang.langserver.commons.BallerinaCompletionContext;
+import org.ballerinalang.langserver.commons.LanguageServerContext;
+import org.ballerinalang.langserver.completions.builder.TypeCompletionItemBuilder;
+import org.eclipse.lsp4j.CompletionItem;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Caches the completion items of the symbols in the distribution and dependency modules.
+ * <p>
+ * A version of such a module does not change, hence the items built for its symbols are reused across the completion
+ * requests and the projects. The cached items are keyed by the module version, so that a dependency resolved to
+ * another version gets its own items. Only the items which do not depend on the completion context are cached, and
+ * the symbols of the modules of the current package are never cached.
+ * <p>
+ * The same version of a package can still be pushed again to the local repository, which is picked up when a project
+ * is reloaded. Hence the cache is cleared once a project is reloaded. The number of cached items is bounded, and the
+ * least recently used items are evicted first.
+ *
+ * @since 2.0.0
+ */
+public class CompletionItemCache {
+
+    private static final LanguageServerContext.Key<CompletionItemCache> COMPLETION_ITEM_CACHE_KEY =
+            new LanguageServerContext.Key<>();
+
+    static final int MAX_CACHED_ITEMS = 10000;
+
+    private final Cache<String, CompletionItem> typeCompletionItems = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_ITEMS)
+            .recordStats()
+            .build();
+    // The latest instance of each project, by source root, to detect the projects which were reloaded
+    private final Map<Path, Project> projects = new ConcurrentHashMap<>();
+
+    public static CompletionItemCache getInstance(LanguageServerContext context) {
+        CompletionItemCache completionItemCache = context.get(COMPLETION_ITEM_CACHE_KEY);
+        if (completionItemCache == null) {
+            completionItemCache = new CompletionItemCache(context);
+        }
+
+        return completionItemCache;
+    }
+
+    private CompletionItemCache(LanguageServerContext context) {
+        context.put(COMPLETION_ITEM_CACHE_KEY, this);
+    }
+
+    CompletionItemCache() {
+    }
+
+    /**
+     * Get the completion item for a type symbol. The item is built once for the symbols of the distribution and
+     * dependency modules.
+     *
+     * @param context completion context
+     * @param symbol  type symbol
+     * @return {@link CompletionItem} a new completion item, which can be modified by the caller
+     */
+    public CompletionItem getTypeCompletionItem(BallerinaCompletionContext context, Symbol symbol) {
+        String label = symbol.getName().get();
+        Optional<Project> project = context.workspace().project(context.filePath());
+        Optional<String> cacheKey = project.flatMap(value -> getCacheKey(value, symbol));
+        if (cacheKey.isEmpty()) {
+            return TypeCompletionItemBuilder.build(symbol, label);
+        }
+
+        return getCompletionItem(project.get(), cacheKey.get(), () -> TypeCompletionItemBuilder.build(symbol, label));
+    }
+
+    /**
+     * Get the cached completion item with the given key, building the item if not cached.
+     *
+     * @param project     project of the completion request
+     * @param cacheKey    key of the item
+     * @param itemBuilder builds the item
+     * @return {@link CompletionItem} a copy of the cached item
+     */
+    CompletionItem getCompletionItem(Project project, String cacheKey, Supplier<CompletionItem> itemBuilder) {
+        Project previousProject = projects.put(project.sourceRoot(), project);
+        if (previousProject != null && previousProject != project) {
+            // The project was reloaded
+            typeCompletionItems.invalidateAll();
+        }
+
+        CompletionItem cachedItem = typeCompletionItems.getIfPresent(cacheKey);
+        if (cachedItem == null) {
+            cachedItem = itemBuilder.get();
+            typeCompletionItems.put(cacheKey, cachedItem);
+        }
+        // Completion items are sorted and modified per request, hence a copy is returned
+        return copy(cachedItem);
+    }
+
+    /**
+     * Get the hit and miss counts of the cache.
+     *
+     * @return {@link CacheStats} statistics of the cache
+     */
+    CacheStats stats() {
+        return typeCompletionItems.stats();
+    }
+
+    long size() {
+        return typeCompletionItems.size();
+    }
+
+    private static Optional<String> getCacheKey(Project project, Symbol symbol) {
+        Optional<ModuleSymbol> module = symbol.getModule();
+        if (module.isEmpty() || symbol.getName().isEmpty()) {
+            return Optional.empty();
+        }
+
+        ModuleID moduleID = module.get().id();
+        Package currentPackage = project.currentPackage();
+        if (moduleID.version().isEmpty() || (moduleID.orgName().equals(currentPackage.packageOrg().value())
+                && moduleID.packageName().equals(currentPackage.packageName().value()))) {
+            // Symbols of the current package change with the sources
+            return Optional.empty();
+        }
+
+        return Optional.of(moduleID.orgName() + "/" + moduleID.moduleName() + ":" + moduleID.version() + "#"
+                + symbol.kind().name() + "#" + symbol.getName().get());
+    }
+
+    private static CompletionItem copy(CompletionItem item) {
+        CompletionItem copy = new CompletionItem(item.getLabel());
+        copy.setKind(item.getKind());
+        copy.setDetail(item.getDetail());
+        copy.setDocumentation(item.getDocumentation());
+        copy.setInsertText(item.getInsertText());
+        return copy;
+    }
+}
@@ -42,6 +42,12 @@ import io.ballerina.projects.directory.ProjectLoader;
 import io.ballerina.projects.directory.SingleFileProject;
 import io.ballerina.projects.util.ProjectConstants;
 import io.ballerina.projects.util.ProjectPaths;
+import io.ballerina.tools.text.LinePosition;
+import io.ballerina.tools.text.TextDocument;
+import io.ballerina.tools.text.TextDocumentChange;
+import io.ballerina.tools.text.TextDocuments;
+import io.ballerina.tools.text.TextEdit;
+import io.ballerina.tools.text.TextRange;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.ballerinalang.langserver.LSClientLogger;
@@ -57,18 +63,23 @@ import org.eclipse.lsp4j.DidCloseTextDocumentParams;
 import org.eclipse.lsp4j.DidOpenTextDocumentParams;
 import org.eclipse.lsp4j.FileChangeType;
 import org.eclipse.lsp4j.FileEvent;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Contains a set of utility methods to manage projects.
@@ -213,8 +224,9 @@ public class BallerinaWorkspaceManager implements WorkspaceManager {
             return Optional.empty();
         }
 
-        // Lock Project Instance
-        Lock lock = projectPair.get().lockAndGet();
+        // Lock Project Instance. Compilations of the same project version can proceed concurrently, since a package
+        // is immutable and compiled only once.
+        Lock lock = projectPair.get().readLockAndGet();
         try {
             return Optional.of(projectPair.get().project().currentPackage().getCompilation());
         } finally {
@@ -265,21 +277,31 @@ public class BallerinaWorkspaceManager implements WorkspaceManager {
         ProjectPair projectPair = createOrGetProjectPair(filePath, LSContextOperation.TXT_DID_CHANGE.getName());
 
         Project project = projectPair.project();
+        Package currentPackage = project.currentPackage();
+        List<TextDocumentContentChangeEvent> changes = params.getContentChanges();
         if (filePath.equals(project.sourceRoot().resolve(ProjectConstants.BALLERINA_TOML))) {
             // Update Ballerina.toml
-            updateBallerinaToml(params.getContentChanges().get(0).getText(), projectPair, false);
+            TextDocument textDocument = currentPackage.ballerinaToml()
+                    .map(toml -> toml.tomlDocument().textDocument()).orElse(null);
+            updateBallerinaToml(applyContentChanges(textDocument, changes), projectPair, false);
         } else if (filePath.equals(project.sourceRoot().resolve(ProjectConstants.DEPENDENCIES_TOML))) {
             // create or update Dependencies.toml
-            updateDependenciesToml(params.getContentChanges().get(0).getText(), projectPair, false);
+            TextDocument textDocument = currentPackage.dependenciesToml()
+                    .map(toml -> toml.tomlDocument().textDocument()).orElse(null);
+            updateDependenciesToml(applyContentChanges(textDocument, changes), projectPair, false);
         } else if (filePath.equals(project.sourceRoot().resolve(ProjectConstants.CLOUD_TOML))) {
             // create or update Cloud.toml
-            updateCloudToml(params.getContentChanges().get(0).getText(), projectPair, false);
+            TextDocument textDocument = currentPackage.cloudToml()
+                    .map(toml -> toml.tomlDocument().textDocument()).orElse(null);
+            updateCloudToml(applyContentChanges(textDocument, changes), projectPair, false);
         } else if (filePath.equals(project.sourceRoot().resolve(ProjectConstants.COMPILER_PLUGIN_TOML))) {
             // create or update Compiler-plugin.toml
-            updateCompilerPluginToml(params.getContentChanges().get(0).getText(), projectPair, false);
+            TextDocument textDocument = currentPackage.compilerPluginToml()
+                    .map(toml -> toml.tomlDocument().textDocument()).orElse(null);
+            updateCompilerPluginToml(applyContentChanges(textDocument, changes), projectPair, false);
         } else if (ProjectPaths.isBalFile(filePath)) {
             // Update .bal document
-            updateBalDocument(filePath, params.getContentChanges().get(0).getText(), projectPair, false);
+            updateBalDocument(filePath, changes, projectPair);
         }
     }
 
@@ -786,6 +808,59 @@ public class BallerinaWorkspaceManager implements WorkspaceManager {
         }
     }
 
+    private void updateBalDocument(Path filePath, List<TextDocumentContentChangeEvent> changes,
+                                   ProjectPair projectPair) throws WorkspaceDocumentException {
+        // Lock Project Instance
+        Lock lock = projectPair.lockAndGet();
+        try {
+            // Get document
+            Optional<Document> document = document(filePath, projectPair.project());
+            if (document.isEmpty()) {
+                throw new WorkspaceDocumentException("Document does not exist in path: " + filePath.toString());
+            }
+
+            // Update file, applying ranged changes to the text incrementally. The whole document is reparsed.
+            Document.Modifier modifier = document.get().modify();
+            for (TextDocumentContentChangeEvent change : changes) {
+                Range range = change.getRange();
+                if (range == null) {
+                    modifier.withContent(change.getText());
+                } else {
+                    modifier.withTextEdit(toLinePosition(range.getStart()), toLinePosition(range.getEnd()),
+                            change.getText());
+                }
+            }
+            Document updatedDoc = modifier.apply();
+
+            // Update project instance
+            projectPair.setProject(updatedDoc.module().project());
+        } finally {
+            // Unlock Project Instance
+            lock.unlock();
+        }
+    }
+
+    private static String applyContentChanges(TextDocument textDocument,
+                                              List<TextDocumentContentChangeEvent> changes) {
+        TextDocument updatedDocument = textDocument != null ? textDocument : TextDocuments.from("");
+        for (TextDocumentContentChangeEvent change : changes) {
+            Range range = change.getRange();
+            if (range == null) {
+                updatedDocument = TextDocuments.from(change.getText());
+                continue;
+            }
+            int startOffset = updatedDocument.textPositionFrom(toLinePosition(range.getStart()));
+            int endOffset = updatedDocument.textPositionFrom(toLinePosition(range.getEnd()));
+            TextEdit textEdit = TextEdit.from(TextRange.from(startOffset, endOffset - startOffset), change.getText());
+            updatedDocument = updatedDocument.apply(TextDocumentChange.from(new TextEdit[]{textEdit}));
+        }
+        return updatedDocument.toString();
+    }
+
+    private static LinePosition toLinePosition(Position position) {
+        return LinePosition.from(position.getLine(), position.getCharacter());
+    }
+
     /**
      * The document close notification is sent from the client to the server when the document got closed in the
      * client.
@@ -917,42 +992,57 @@ public class BallerinaWorkspaceManager implements WorkspaceManager {
 
     /**
      * This class holds project and its lock.
+     * <p>
+     * The write lock guards updates to the project. The read lock guards compiling the current package of the
+     * project, so that queries on the same project version do not wait for each other.
      */
     public static class ProjectPair {
 
-        private final Lock lock;
+        private final ReadWriteLock lock;
         private Project project;
 
-        private ProjectPair(Project project, Lock lock) {
+        private ProjectPair(Project project, ReadWriteLock lock) {
             this.project = project;
             this.lock = lock;
         }
 
         public static ProjectPair from(Project project) {
-            return new ProjectPair(project, new ReentrantLock(true));
+            return new ProjectPair(project, new ReentrantReadWriteLock(true));
         }
 
-        public static ProjectPair from(Project project, Lock lock) {
+        public static ProjectPair from(Project project, ReadWriteLock lock) {
             return new ProjectPair(project, lock);
         }
 
         /**
-         * Returns the associated lock for the file.
+         * Returns the associated write lock for the file.
          *
          * @return {@link Lock}
          */
         public Lock locker() {
-            return this.lock;
+            return this.lock.writeLock();
         }
 
         /**
-         * Returns the associated lock for the file.
+         * Acquires and returns the associated write lock for the file.
          *
          * @return {@link Lock}
          */
         public Lock lockAndGet() {
-            this.lock.lock();
-            return this.lock;
+            Lock writeLock = this.lock.writeLock();
+            writeLock.lock();
+            return writeLock;
+        }
+
+        /**
+         * Acquires and returns the associated read lock for the file.
+         *
+         * @return {@link Lock}
+         */
+        public Lock readLockAndGet() {
+            Lock readLock = this.lock.readLock();
+            readLock.lock();
+            return readLock;
         }
 
         /**
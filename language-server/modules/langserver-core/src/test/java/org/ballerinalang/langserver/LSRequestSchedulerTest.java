@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ballerinalang.langserver;
+
+import org.ballerinalang.langserver.LSRequestScheduler.Priority;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tests the ordering and the cancellation of the requests scheduled by the {@link LSRequestScheduler}.
+ *
+ * @since 2.0.0
+ */
+public class LSRequestSchedulerTest {
+
+    private static final String FILE_URI = "file:///tmp/project/main.bal";
+    private static final String OTHER_FILE_URI = "file:///tmp/project/utils.bal";
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private LSRequestScheduler scheduler;
+    private CountDownLatch workerReleased;
+    private CompletableFuture<String> blockingRequest;
+    private List<String> executedRequests;
+
+    @BeforeMethod
+    public void init() throws InterruptedException {
+        // A single worker is kept busy, so that the requests scheduled by a test are queued until it is released
+        scheduler = new LSRequestScheduler(1);
+        workerReleased = new CountDownLatch(1);
+        executedRequests = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch workerStarted = new CountDownLatch(1);
+        blockingRequest = scheduler.schedule(LSContextOperation.TXT_DEFINITION, FILE_URI, Priority.HIGH, () -> {
+            workerStarted.countDown();
+            try {
+                workerReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "blocking";
+        });
+        Assert.assertTrue(workerStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @AfterMethod
+    public void shutdown() {
+        workerReleased.countDown();
+        scheduler.shutdown();
+    }
+
+    @Test(description = "Queued requests are executed by priority, and in the order of arrival within a priority")
+    public void testPriorityOrdering() throws Exception {
+        List<CompletableFuture<String>> futures = Arrays.asList(
+                schedule(LSContextOperation.TXT_CODE_LENS, FILE_URI, Priority.LOW, "codeLens"),
+                schedule(LSContextOperation.TXT_DEFINITION, FILE_URI, Priority.NORMAL, "definition"),
+                schedule(LSContextOperation.TXT_COMPLETION, FILE_URI, Priority.HIGH, "completion"),
+                schedule(LSContextOperation.TXT_REFERENCES, FILE_URI, Priority.NORMAL, "references"),
+                schedule(LSContextOperation.TXT_HOVER, FILE_URI, Priority.HIGH, "hover"));
+
+        workerReleased.countDown();
+        awaitAll(futures);
+        Assert.assertEquals(blockingRequest.get(TIMEOUT_SECONDS, TimeUnit.SECONDS), "blocking");
+        Assert.assertEquals(executedRequests,
+                Arrays.asList("completion", "hover", "definition", "references", "codeLens"));
+    }
+
+    @Test(description = "A request is cancelled by a newer request of the same operation on the same document")
+    public void testSupersededRequests() throws Exception {
+        CompletableFuture<String> firstCompletion = schedule(LSContextOperation.TXT_COMPLETION, FILE_URI,
+                Priority.HIGH, "completion1");
+        CompletableFuture<String> otherFileCompletion = schedule(LSContextOperation.TXT_COMPLETION, OTHER_FILE_URI,
+                Priority.HIGH, "completion2");
+        CompletableFuture<String> hover = schedule(LSContextOperation.TXT_HOVER, FILE_URI, Priority.HIGH, "hover");
+        CompletableFuture<String> secondCompletion = schedule(LSContextOperation.TXT_COMPLETION, FILE_URI,
+                Priority.HIGH, "completion3");
+
+        Assert.assertTrue(firstCompletion.isCancelled());
+        Assert.assertFalse(otherFileCompletion.isCancelled());
+        Assert.assertFalse(hover.isCancelled());
+
+        workerReleased.countDown();
+        awaitAll(Arrays.asList(otherFileCompletion, hover, secondCompletion));
+        Assert.assertEquals(executedRequests, Arrays.asList("completion2", "hover", "completion3"));
+    }
+
+    @Test(description = "Code actions for the same document are not cancelled by newer code actions")
+    public void testCodeActionsAreNotSuperseded() throws Exception {
+        // Clients request code actions of several ranges of a document at once, e.g. for each diagnostic
+        List<CompletableFuture<String>> futures = Arrays.asList(
+                schedule(LSContextOperation.TXT_CODE_ACTION, FILE_URI, Priority.NORMAL, "codeAction1"),
+                schedule(LSContextOperation.TXT_CODE_ACTION, FILE_URI, Priority.NORMAL, "codeAction2"),
+                schedule(LSContextOperation.TXT_CODE_ACTION, FILE_URI, Priority.NORMAL, "codeAction3"));
+        for (CompletableFuture<String> future : futures) {
+            Assert.assertFalse(future.isCancelled());
+        }
+
+        workerReleased.countDown();
+        awaitAll(futures);
+        Assert.assertEquals(executedRequests, Arrays.asList("codeAction1", "codeAction2", "codeAction3"));
+    }
+
+    @Test(description = "A request cancelled by the client before it starts is not executed")
+    public void testClientCancellation() throws Exception {
+        CompletableFuture<String> cancelledRequest = schedule(LSContextOperation.TXT_REFERENCES, FILE_URI,
+                Priority.NORMAL, "references");
+        CompletableFuture<String> request = schedule(LSContextOperation.TXT_DEFINITION, FILE_URI, Priority.NORMAL,
+                "definition");
+        Assert.assertTrue(cancelledRequest.cancel(true));
+
+        workerReleased.countDown();
+        awaitAll(Collections.singletonList(request));
+        Assert.assertTrue(cancelledRequest.isCancelled());
+        Assert.assertEquals(executedRequests, Collections.singletonList("definition"));
+    }
+
+    @Test(description = "A request that fails completes its future exceptionally without affecting other requests")
+    public void testFailedRequest() throws Exception {
+        CompletableFuture<String> failedRequest = scheduler.schedule(LSContextOperation.TXT_HOVER, FILE_URI,
+                Priority.HIGH, () -> {
+                    throw new IllegalStateException("hover failed");
+                });
+        CompletableFuture<String> request = schedule(LSContextOperation.TXT_HOVER, OTHER_FILE_URI, Priority.HIGH,
+                "hover");
+
+        workerReleased.countDown();
+        try {
+            failedRequest.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            Assert.fail("Expected the request to fail");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        Assert.assertEquals(request.get(TIMEOUT_SECONDS, TimeUnit.SECONDS), "hover");
+    }
+
+    @Test(description = "A pending diagnostics task of a project is replaced by a newer one")
+    public void testDebouncedDiagnostics() throws Exception {
+        List<String> publishedDiagnostics = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch published = new CountDownLatch(1);
+        scheduler.scheduleDiagnostics(Paths.get("project"), true, () -> publishedDiagnostics.add("first"));
+        scheduler.scheduleDiagnostics(Paths.get("project"), true, () -> {
+            publishedDiagnostics.add("second");
+            published.countDown();
+        });
+
+        Assert.assertTrue(published.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Assert.assertEquals(publishedDiagnostics, Collections.singletonList("second"));
+    }
+
+    private CompletableFuture<String> schedule(LSContextOperation operation, String fileUri, Priority priority,
+                                               String name) {
+        return scheduler.schedule(operation, fileUri, priority, () -> {
+            executedRequests.add(name);
+            return name;
+        });
+    }
+
+    private static void awaitAll(List<CompletableFuture<String>> futures)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        for (CompletableFuture<String> future : futures) {
+            future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ballerinalang.langserver.completions.util;
+
+import com.google.common.cache.CacheStats;
+import io.ballerina.projects.Project;
+import io.ballerina.projects.directory.BuildProject;
+import org.ballerinalang.langserver.util.FileUtils;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionItemKind;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Tests the {@link CompletionItemCache}.
+ *
+ * @since 2.0.0
+ */
+public class CompletionItemCacheTest {
+
+    private static final Path PROJECT_PATH = FileUtils.RES_DIR.resolve("project").resolve("myproject");
+    private static final Path OTHER_PROJECT_PATH = FileUtils.RES_DIR.resolve("project").resolve("myproject2");
+
+    private Project project;
+    private Project otherProject;
+
+    @BeforeClass
+    public void init() {
+        project = BuildProject.load(PROJECT_PATH);
+        otherProject = BuildProject.load(OTHER_PROJECT_PATH);
+    }
+
+    @Test
+    public void testItemsAreReused() {
+        CompletionItemCache cache = new CompletionItemCache();
+        AtomicInteger buildCount = new AtomicInteger();
+        Supplier<CompletionItem> itemBuilder = itemBuilder("Person", buildCount);
+
+        CompletionItem item = cache.getCompletionItem(project, "ballerina/foo:1.0.0#TYPE#Person", itemBuilder);
+        CompletionItem otherItem = cache.getCompletionItem(otherProject, "ballerina/foo:1.0.0#TYPE#Person",
+                itemBuilder);
+        Assert.assertEquals(buildCount.get(), 1);
+
+        // Each request gets a copy, which can be modified without affecting the cached item
+        Assert.assertNotSame(item, otherItem);
+        item.setSortText("A");
+        item.setDetail("modified");
+        CompletionItem cachedItem = cache.getCompletionItem(project, "ballerina/foo:1.0.0#TYPE#Person", itemBuilder);
+        Assert.assertEquals(cachedItem.getLabel(), "Person");
+        Assert.assertEquals(cachedItem.getDetail(), "Person detail");
+        Assert.assertNull(cachedItem.getSortText());
+        Assert.assertEquals(buildCount.get(), 1);
+
+        // Another version of the module gets its own item
+        cache.getCompletionItem(project, "ballerina/foo:1.0.1#TYPE#Person", itemBuilder);
+        Assert.assertEquals(buildCount.get(), 2);
+    }
+
+    @Test
+    public void testReloadedProjectClearsCache() {
+        CompletionItemCache cache = new CompletionItemCache();
+        AtomicInteger buildCount = new AtomicInteger();
+        Supplier<CompletionItem> itemBuilder = itemBuilder("Person", buildCount);
+
+        cache.getCompletionItem(project, "ballerina/foo:1.0.0#TYPE#Person", itemBuilder);
+        cache.getCompletionItem(otherProject, "ballerina/foo:1.0.0#TYPE#Person", itemBuilder);
+        Assert.assertEquals(buildCount.get(), 1);
+
+        // A reloaded project is a new instance with the same source root, which may resolve a dependency pushed
+        // again to the local repository with the same version
+        Project reloadedProject = BuildProject.load(PROJECT_PATH);
+        cache.getCompletionItem(reloadedProject, "ballerina/foo:1.0.0#TYPE#Person", itemBuilder);
+        Assert.assertEquals(buildCount.get(), 2);
+        cache.getCompletionItem(reloadedProject, "ballerina/foo:1.0.0#TYPE#Person", itemBuilder);
+        cache.getCompletionItem(otherProject, "ballerina/foo:1.0.0#TYPE#Person", itemBuilder);
+        Assert.assertEquals(buildCount.get(), 2);
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        CompletionItemCache cache = new CompletionItemCache();
+        AtomicInteger buildCount = new AtomicInteger();
+        int itemCount = CompletionItemCache.MAX_CACHED_ITEMS * 2;
+        for (int i = 0; i < itemCount; i++) {
+            cache.getCompletionItem(project, "ballerina/foo:1.0.0#TYPE#Type" + i, itemBuilder("Type" + i, buildCount));
+        }
+
+        Assert.assertEquals(buildCount.get(), itemCount);
+        Assert.assertTrue(cache.size() <= CompletionItemCache.MAX_CACHED_ITEMS, "cache size: " + cache.size());
+        Assert.assertTrue(cache.stats().evictionCount() >= CompletionItemCache.MAX_CACHED_ITEMS);
+    }
+
+    @Test
+    public void testHitRateOfRepeatedCompletions() {
+        // Measures the cache for a sequence of completion requests, each of which lists the types of the same modules
+        CompletionItemCache cache = new CompletionItemCache();
+        AtomicInteger buildCount = new AtomicInteger();
+        int typeCount = 500;
+        int requestCount = 20;
+        for (int request = 0; request < requestCount; request++) {
+            for (int i = 0; i < typeCount; i++) {
+                cache.getCompletionItem(project, "ballerina/lang.value:0.0.0#TYPE#Type" + i,
+                        itemBuilder("Type" + i, buildCount));
+            }
+        }
+
+        CacheStats stats = cache.stats();
+        Assert.assertEquals(buildCount.get(), typeCount);
+        Assert.assertEquals(stats.missCount(), typeCount);
+        Assert.assertEquals(stats.hitCount(), (long) typeCount * (requestCount - 1));
+        Assert.assertEquals(stats.hitRate(), (double) (requestCount - 1) / requestCount, 0.0001);
+    }
+
+    private static Supplier<CompletionItem> itemBuilder(String label, AtomicInteger buildCount) {
+        return () -> {
+            buildCount.incrementAndGet();
+            CompletionItem item = new CompletionItem(label);
+            item.setKind(CompletionItemKind.TypeParameter);
+            item.setDetail(label + " detail");
+            item.setInsertText(label);
+            return item;
+        };
+    }
+}
@@ -15,8 +15,6 @@
  */
 package org.ballerinalang.langserver.rangeformat;
 
-import com.google.gson.Gson;
-import com.google.gson.internal.LinkedTreeMap;
 import org.ballerinalang.langserver.util.FileUtils;
 import org.ballerinalang.langserver.util.TestUtil;
 import org.eclipse.lsp4j.DocumentRangeFormattingParams;
@@ -25,7 +23,6 @@ import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.eclipse.lsp4j.jsonrpc.Endpoint;
-import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -35,7 +32,6 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.List;
 
 /**
  * Test suit for range-formatting.
@@ -75,9 +71,8 @@ public class RangeFormattingTest {
         TestUtil.openDocument(this.serviceEndpoint, inputFilePath);
 
         String result = TestUtil.getRangeFormatResponse(params, this.serviceEndpoint);
-        Gson gson = new Gson();
-        ResponseMessage responseMessage = gson.fromJson(result, ResponseMessage.class);
-        String actual = (String) ((LinkedTreeMap) ((List) responseMessage.getResult()).get(0)).get("newText");
+        String source = new String(Files.readAllBytes(inputFilePath));
+        String actual = TestUtil.applyTextEdits(source, result);
         actual = actual.replaceAll("\\r\\n", "\n");
         TestUtil.closeDocument(this.serviceEndpoint, inputFilePath);
         Assert.assertEquals(actual, expected);
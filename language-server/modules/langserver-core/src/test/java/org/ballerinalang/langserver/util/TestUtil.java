@@ -23,6 +23,11 @@ import com.google.gson.JsonElement;
 import io.ballerina.projects.DiagnosticResult;
 import io.ballerina.projects.Project;
 import io.ballerina.tools.diagnostics.Diagnostic;
+import io.ballerina.tools.text.LinePosition;
+import io.ballerina.tools.text.TextDocument;
+import io.ballerina.tools.text.TextDocumentChange;
+import io.ballerina.tools.text.TextDocuments;
+import io.ballerina.tools.text.TextRange;
 import org.ballerinalang.langserver.BallerinaLanguageServer;
 import org.ballerinalang.langserver.LSContextOperation;
 import org.ballerinalang.langserver.commons.DocumentServiceContext;
@@ -68,6 +73,7 @@ import org.eclipse.lsp4j.TextDocumentClientCapabilities;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.TextDocumentPositionParams;
+import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.WorkspaceSymbolParams;
 import org.eclipse.lsp4j.jsonrpc.Endpoint;
 import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
@@ -333,6 +339,30 @@ public class TestUtil {
         return getResponseString(result);
     }
 
+    /**
+     * Apply the text edits of a formatting response to the given source.
+     *
+     * @param source   Source of the formatted document
+     * @param response Formatting response as String
+     * @return {@link String} Source with the text edits applied
+     */
+    public static String applyTextEdits(String source, String response) {
+        ResponseMessage responseMessage = GSON.fromJson(response, ResponseMessage.class);
+        TextEdit[] textEdits = GSON.fromJson(GSON.toJsonTree(responseMessage.getResult()), TextEdit[].class);
+        TextDocument textDocument = TextDocuments.from(source);
+        io.ballerina.tools.text.TextEdit[] edits = new io.ballerina.tools.text.TextEdit[textEdits.length];
+        for (int i = 0; i < textEdits.length; i++) {
+            Range range = textEdits[i].getRange();
+            int start = textDocument.textPositionFrom(LinePosition.from(range.getStart().getLine(),
+                    range.getStart().getCharacter()));
+            int end = textDocument.textPositionFrom(LinePosition.from(range.getEnd().getLine(),
+                    range.getEnd().getCharacter()));
+            edits[i] = io.ballerina.tools.text.TextEdit.from(TextRange.from(start, end - start),
+                    textEdits[i].getNewText());
+        }
+        return textDocument.apply(TextDocumentChange.from(edits)).toString();
+    }
+
     /**
      * Get the Goto implementation response.
      *
@@ -34,6 +34,7 @@ import org.ballerinalang.debugadapter.config.ClientLaunchConfigHolder;
 import org.ballerinalang.debugadapter.evaluation.EvaluationException;
 import org.ballerinalang.debugadapter.evaluation.EvaluationExceptionKind;
 import org.ballerinalang.debugadapter.evaluation.ExpressionEvaluator;
+import org.ballerinalang.debugadapter.evaluation.validator.SerialExpressionValidator;
 import org.ballerinalang.debugadapter.jdi.JdiProxyException;
 import org.ballerinalang.debugadapter.jdi.LocalVariableProxyImpl;
 import org.ballerinalang.debugadapter.jdi.StackFrameProxyImpl;
@@ -121,7 +122,7 @@ public class JBallerinaDebugServer implements IDebugProtocolServer {
     private ClientConfigHolder clientConfigHolder;
     private DebugExecutionManager executionManager;
     private JDIEventProcessor eventProcessor;
-    private ExpressionEvaluator evaluator;
+    private final SerialExpressionValidator expressionValidator = new SerialExpressionValidator();
     private final ExecutionContext context;
     private ThreadReferenceProxyImpl activeThread;
     private SuspendedContext suspendedContext;
@@ -133,6 +134,9 @@ public class JBallerinaDebugServer implements IDebugProtocolServer {
     private final Map<Integer, BCompoundVariable> loadedVariables = new ConcurrentHashMap<>();
     private final Map<Integer, Integer> variableToStackFrameMap = new ConcurrentHashMap<>();
     private final Map<Integer, Integer> scopeIdToFrameIdMap = new ConcurrentHashMap<>();
+    // Evaluators of the current suspend, by frame ID. These are reused by all the (watch) expressions evaluated on the
+    // same frame, so that the debug source, compilation and semantic model of the frame are only resolved once.
+    private final Map<Integer, ExpressionEvaluator> frameEvaluators = new ConcurrentHashMap<>();
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JBallerinaDebugServer.class);
     private static final String SCOPE_NAME_LOCAL = "Local";
@@ -435,8 +439,17 @@ public class JBallerinaDebugServer implements IDebugProtocolServer {
         }
         try {
             StackFrameProxyImpl frame = stackFramesMap.get(args.getFrameId());
-            SuspendedContext ctx = new SuspendedContext(context, activeThread, frame);
-            evaluator = Objects.requireNonNullElse(evaluator, new ExpressionEvaluator(ctx));
+            if (frame == null) {
+                // The frame does not belong to the current suspend, hence no evaluator is created (and cached) for it.
+                context.getOutputLogger().sendErrorOutput(EvaluationExceptionKind.PREFIX + "invalid stack frame");
+                return CompletableFuture.completedFuture(response);
+            }
+            // The context is created with the thread of the frame rather than the active thread, since the frames of
+            // all the suspended threads can be evaluated.
+            ExpressionEvaluator evaluator = frameEvaluators.computeIfAbsent(args.getFrameId(), frameId ->
+                    new ExpressionEvaluator(new SuspendedContext(context, frame.threadProxy(), frame),
+                            expressionValidator));
+            SuspendedContext ctx = evaluator.getContext();
 
             Value result = evaluator.evaluate(args.getExpression());
             BVariable variable = VariableFactory.getVariable(ctx, result);
@@ -949,9 +962,13 @@ public class JBallerinaDebugServer implements IDebugProtocolServer {
      */
     private void clearState() {
         suspendedContext = null;
-        evaluator = null;
+        frameEvaluators.clear();
         activeThread = null;
         stackFramesMap.clear();
+        // Releases the remote objects kept alive to load the child variables page by page.
+        loadedVariables.values().stream()
+                .filter(variable -> variable instanceof IndexedCompoundVariable)
+                .forEach(variable -> ((IndexedCompoundVariable) variable).releaseRetainedValues());
         loadedVariables.clear();
         variableToStackFrameMap.clear();
         scopeIdToFrameIdMap.clear();
@@ -37,6 +37,7 @@ import org.ballerinalang.debugadapter.config.ClientConfigHolder;
 import org.ballerinalang.debugadapter.config.ClientLaunchConfigHolder;
 import org.ballerinalang.debugadapter.evaluation.EvaluationException;
 import org.ballerinalang.debugadapter.evaluation.ExpressionEvaluator;
+import org.ballerinalang.debugadapter.evaluation.validator.SerialExpressionValidator;
 import org.ballerinalang.debugadapter.jdi.JdiProxyException;
 import org.ballerinalang.debugadapter.jdi.StackFrameProxyImpl;
 import org.ballerinalang.debugadapter.jdi.ThreadReferenceProxyImpl;
@@ -71,6 +72,8 @@ public class JDIEventProcessor {
     private boolean isRemoteVmAttached = false;
     private final Map<String, Map<Integer, BalBreakpoint>> breakpoints = new HashMap<>();
     private final List<EventRequest> stepEventRequests = new ArrayList<>();
+    // Breakpoint conditions are evaluated on each hit, hence the validator is shared to parse each condition once.
+    private final SerialExpressionValidator conditionValidator = new SerialExpressionValidator();
     private static final Logger LOGGER = LoggerFactory.getLogger(JBallerinaDebugServer.class);
     private static final String CONDITION_TRUE = "true";
 
@@ -367,7 +370,7 @@ public class JDIEventProcessor {
                 }
 
                 SuspendedContext ctx = new SuspendedContext(context, thread, validFrames.get(0).getJStackFrame());
-                ExpressionEvaluator evaluator = new ExpressionEvaluator(ctx);
+                ExpressionEvaluator evaluator = new ExpressionEvaluator(ctx, conditionValidator);
                 Value evaluatorResult = evaluator.evaluate(expression);
                 String condition = VariableFactory.getVariable(ctx, evaluatorResult).getDapVariable().getValue();
                 return condition.equalsIgnoreCase(CONDITION_TRUE);
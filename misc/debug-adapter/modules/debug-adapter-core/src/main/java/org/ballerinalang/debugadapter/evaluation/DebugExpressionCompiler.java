@@ -34,6 +34,7 @@ public class DebugExpressionCompiler {
 
     private final SuspendedContext context;
     private Document document;
+    private SemanticModel semanticModel;
 
     public DebugExpressionCompiler(SuspendedContext context) {
         this.context = context;
@@ -65,10 +66,15 @@ public class DebugExpressionCompiler {
     }
 
     public SemanticModel getSemanticInfo() {
+        if (semanticModel != null) {
+            return semanticModel;
+        }
         if (document == null) {
             document = context.getDocument();
         }
-        return document.module().packageInstance().getCompilation().getSemanticModel(document.module().moduleId());
+        semanticModel = document.module().packageInstance().getCompilation()
+                .getSemanticModel(document.module().moduleId());
+        return semanticModel;
     }
 
     /**
@@ -37,11 +37,26 @@ public class ExpressionEvaluator {
     private static final Logger LOGGER = LoggerFactory.getLogger(ExpressionEvaluator.class);
 
     public ExpressionEvaluator(SuspendedContext context) {
+        this(context, new SerialExpressionValidator());
+    }
+
+    /**
+     * Creates an evaluator which uses the given validator, so that the expressions parsed by the validator in
+     * previous evaluations are not parsed again.
+     *
+     * @param context             suspended context
+     * @param expressionValidator expression validator
+     */
+    public ExpressionEvaluator(SuspendedContext context, SerialExpressionValidator expressionValidator) {
         this.context = context;
-        this.expressionValidator = new SerialExpressionValidator();
+        this.expressionValidator = expressionValidator;
         this.evaluatorBuilder = new EvaluatorBuilder(context);
     }
 
+    public SuspendedContext getContext() {
+        return context;
+    }
+
     /**
      * Evaluates a given ballerina expression w.r.t. the debug context.
      */
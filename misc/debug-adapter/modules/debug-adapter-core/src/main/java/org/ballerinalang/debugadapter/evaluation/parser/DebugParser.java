@@ -20,7 +20,8 @@ import io.ballerina.compiler.syntax.tree.SyntaxTree;
 import io.ballerina.tools.text.TextDocument;
 import io.ballerina.tools.text.TextDocuments;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -30,10 +31,19 @@ import java.util.Map;
  */
 public class DebugParser {
 
+    // Maximum number of syntax trees to be cached. Least recently used trees are evicted first.
+    private static final int MAX_CACHE_SIZE = 256;
+
     protected Map<String, SyntaxTree> parserCache;
 
     public DebugParser() {
-        parserCache = new HashMap<>();
+        // Syntax trees are cached across evaluations, which can be run concurrently (i.e. breakpoint conditions).
+        parserCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SyntaxTree> eldest) {
+                return size() > MAX_CACHE_SIZE;
+            }
+        });
     }
 
     /**
@@ -43,10 +53,12 @@ public class DebugParser {
      * @return Parsed syntax tree.
      */
     public SyntaxTree getSyntaxTreeFor(String source) throws DebugParserException {
-        if (!parserCache.containsKey(source)) {
-            parseAndCache(source);
+        // The tree is not looked up again after parsing, as it could have been evicted in the meantime.
+        SyntaxTree syntaxTree = parserCache.get(source);
+        if (syntaxTree == null) {
+            syntaxTree = parseAndCache(source);
         }
-        return parserCache.get(source);
+        return syntaxTree;
     }
 
     /**
@@ -56,12 +68,13 @@ public class DebugParser {
         return source;
     }
 
-    private void parseAndCache(String source) throws DebugParserException {
+    private SyntaxTree parseAndCache(String source) throws DebugParserException {
         try {
             String parsableSource = preprocess(source);
             TextDocument document = TextDocuments.from(parsableSource);
             SyntaxTree syntaxTree = SyntaxTree.from(document);
             parserCache.put(source, syntaxTree);
+            return syntaxTree;
         } catch (Exception e) {
             throw new DebugParserException("Failed to parse the user input due to: " + e.getMessage());
         }
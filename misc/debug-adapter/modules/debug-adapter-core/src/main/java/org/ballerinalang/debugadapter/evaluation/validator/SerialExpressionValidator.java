@@ -42,13 +42,15 @@ import java.util.List;
  */
 public class SerialExpressionValidator extends Validator {
 
-    private ExpressionValidator expressionValidator;
-    private List<Validator> otherValidators;
+    private final ExpressionValidator expressionValidator;
+    private final List<Validator> otherValidators;
 
     public SerialExpressionValidator() {
         super(new DebugParser());
-        this.expressionValidator = null;
-        this.otherValidators = null;
+        // Validators are loaded once, so that their parsers reuse the syntax trees of previously evaluated inputs.
+        this.expressionValidator = new ExpressionValidator(new ExpressionParser());
+        this.otherValidators = new ArrayList<>();
+        loadOtherValidators();
     }
 
     /**
@@ -68,7 +70,6 @@ public class SerialExpressionValidator extends Validator {
 
     @Override
     public void validate(String source) throws Exception {
-        loadValidators();
         try {
             expressionValidator.validate(source);
         } catch (DebugParserException | ValidatorException e) {
@@ -108,12 +109,10 @@ public class SerialExpressionValidator extends Validator {
     }
 
     /**
-     * Loads all validator types, which are required to process the user input.
+     * Loads all other validator types, which are required to determine the exact error of the user input.
      * Note: validation order is important and should be preserved, to reduce the number of parser trials.
      */
-    private void loadValidators() {
-        expressionValidator = new ExpressionValidator(new ExpressionParser());
-        otherValidators = new ArrayList<>();
+    private void loadOtherValidators() {
         otherValidators.add(new InvalidInputValidator(debugParser));
         otherValidators.add(new TopLevelDeclarationValidator(debugParser));
         otherValidators.add(new StatementValidator());
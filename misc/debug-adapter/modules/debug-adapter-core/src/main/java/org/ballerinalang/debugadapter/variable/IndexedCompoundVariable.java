@@ -16,11 +16,13 @@
 
 package org.ballerinalang.debugadapter.variable;
 
+import com.sun.jdi.ObjectReference;
 import com.sun.jdi.Value;
 import org.ballerinalang.debugadapter.SuspendedContext;
 import org.eclipse.lsp4j.debug.Variable;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -32,6 +34,9 @@ import java.util.Map;
  */
 public abstract class IndexedCompoundVariable extends BCompoundVariable {
 
+    // Remote objects which are created to load the child variables page by page, and are not referenced by the program.
+    private final List<ObjectReference> retainedValues = new ArrayList<>();
+
     public IndexedCompoundVariable(SuspendedContext context, String varName, BVariableType bVarType, Value jvmValue) {
         super(context, varName, bVarType, jvmValue);
     }
@@ -47,7 +52,8 @@ public abstract class IndexedCompoundVariable extends BCompoundVariable {
      * values.
      *
      * @param start The index of the first variable to return; if omitted children start at 0.
-     * @param count The number of variables to return. If count is missing or 0, all variables are returned.
+     * @param count The number of variables to return. If count is missing or 0, all the variables from the start are
+     *              returned.
      */
     protected abstract Either<Map<String, Value>, List<Value>> computeChildVariables(int start, int count);
 
@@ -59,7 +65,8 @@ public abstract class IndexedCompoundVariable extends BCompoundVariable {
      * </ul>
      *
      * @param start The index of the first variable to return; if omitted children start at 0.
-     * @param count The number of variables to return. If count is missing or 0, all variables are returned.
+     * @param count The number of variables to return. If count is missing or 0, all the variables from the start are
+     *              returned.
      */
     public Either<Map<String, Value>, List<Value>> getIndexedChildVariables(int start, int count) {
         return computeChildVariables(start, count);
@@ -85,7 +92,7 @@ public abstract class IndexedCompoundVariable extends BCompoundVariable {
      * Returns the JDI value representation of the child variable for a given key. (i.e. map entry, json element, etc.)
      */
     public Value getChildByName(String key) throws DebugVariableException {
-        // Todo - Avoid fetching all children values, which may cause performance impacts.
+        // Fetches all the child values. Variable types which can look up a child by its key should override this.
         Either<Map<String, Value>, List<Value>> childVariables = computeChildVariables(0, getChildrenCount());
         if (childVariables.isRight()) {
             throw new DebugVariableException("Accessing list elements by key is not allowed.");
@@ -99,6 +106,53 @@ public abstract class IndexedCompoundVariable extends BCompoundVariable {
         return childVariables.getLeft().get(key);
     }
 
+    /**
+     * Returns the number of child variables in the page starting from the given index. The page ends with the last
+     * child variable if the count is 0, or exceeds the remaining child variables.
+     *
+     * @param start The index of the first variable of the page.
+     * @param count The number of variables requested.
+     */
+    protected int getPageSize(int start, int count) {
+        int remainingCount = Math.max(getChildrenCount() - start, 0);
+        return count > 0 ? Math.min(count, remainingCount) : remainingCount;
+    }
+
+    /**
+     * Prevents the remote VM from garbage collecting the given object, which is used to load the child variables
+     * across page requests, but is not referenced by the program.
+     */
+    protected synchronized void retain(ObjectReference value) {
+        value.disableCollection();
+        retainedValues.add(value);
+    }
+
+    /**
+     * Allows the remote VM to garbage collect the given object, once it is no longer used to load child variables.
+     */
+    protected synchronized void release(ObjectReference value) {
+        if (retainedValues.remove(value)) {
+            enableCollection(value);
+        }
+    }
+
+    /**
+     * Allows the remote VM to garbage collect all the objects retained by this variable. This is called when the
+     * debuggee is resumed, since the variables are recreated for each suspend.
+     */
+    public synchronized void releaseRetainedValues() {
+        retainedValues.forEach(IndexedCompoundVariable::enableCollection);
+        retainedValues.clear();
+    }
+
+    private static void enableCollection(ObjectReference value) {
+        try {
+            value.enableCollection();
+        } catch (Exception ignored) {
+            // The remote VM is disconnected, in which case the object does not need to be released.
+        }
+    }
+
     @Override
     public Variable getDapVariable() {
         if (dapVariable == null) {
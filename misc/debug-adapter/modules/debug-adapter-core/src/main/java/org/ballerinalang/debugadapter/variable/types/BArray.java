@@ -40,6 +40,8 @@ import static org.ballerinalang.debugadapter.variable.VariableUtils.getStringFro
 public class BArray extends IndexedCompoundVariable {
 
     int arraySize = -1;
+    // JDI reference to the backing java array, which is resolved once for all the page requests.
+    private ArrayReference arrayValues = null;
 
     public BArray(SuspendedContext context, String name, Value value) {
         super(context, name, BVariableType.ARRAY, value);
@@ -67,21 +69,22 @@ public class BArray extends IndexedCompoundVariable {
                 return Either.forRight(new ArrayList<>());
             }
             ObjectReference jvmValueRef = (ObjectReference) jvmValue;
-            List<Field> fields = jvmValueRef.referenceType().allFields();
-            Field arrayValueField = jvmValueRef.getValues(fields).entrySet().stream().filter(fieldValueEntry ->
-                    fieldValueEntry.getValue() != null && fieldValueEntry.getKey().toString().endsWith("Values"))
-                    .map(Map.Entry::getKey).collect(Collectors.toList()).get(0);
+            if (arrayValues == null) {
+                List<Field> fields = jvmValueRef.referenceType().allFields();
+                Field arrayValueField = jvmValueRef.getValues(fields).entrySet().stream().filter(fieldValueEntry ->
+                        fieldValueEntry.getValue() != null && fieldValueEntry.getKey().toString().endsWith("Values"))
+                        .map(Map.Entry::getKey).collect(Collectors.toList()).get(0);
+                arrayValues = (ArrayReference) jvmValueRef.getValue(arrayValueField);
+            }
 
             // If count > 0, returns a sublist of the child variables
-            // If count == 0, returns all child variables
-            List<Value> children;
-            if (count > 0) {
-                children = ((ArrayReference) jvmValueRef.getValue(arrayValueField)).getValues(start, count);
-            } else {
-                children = ((ArrayReference) jvmValueRef.getValue(arrayValueField)).getValues(0,
-                        getArraySize(jvmValueRef));
+            // If count == 0, returns all the remaining child variables
+            // The backing array can be larger than the ballerina array, hence the page is bounded by the array size.
+            int pageSize = getPageSize(start, count);
+            if (pageSize == 0) {
+                return Either.forRight(new ArrayList<>());
             }
-            return Either.forRight(children);
+            return Either.forRight(arrayValues.getValues(start, pageSize));
         } catch (Exception ignored) {
             return Either.forRight(new ArrayList<>());
         }
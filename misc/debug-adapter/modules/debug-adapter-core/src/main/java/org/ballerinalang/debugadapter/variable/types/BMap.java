@@ -24,6 +24,7 @@ import com.sun.jdi.Value;
 import org.ballerinalang.debugadapter.SuspendedContext;
 import org.ballerinalang.debugadapter.evaluation.engine.invokable.RuntimeStaticMethod;
 import org.ballerinalang.debugadapter.variable.BVariableType;
+import org.ballerinalang.debugadapter.variable.DebugVariableException;
 import org.ballerinalang.debugadapter.variable.IndexedCompoundVariable;
 import org.ballerinalang.debugadapter.variable.VariableFactory;
 import org.ballerinalang.debugadapter.variable.VariableUtils;
@@ -85,13 +86,8 @@ public class BMap extends IndexedCompoundVariable {
         Map<String, Value> childVarMap = new LinkedHashMap<>();
         try {
             // If count > 0, returns a sublist of the child variables
-            // If count == 0, returns all child variables
-            Map<Value, Value> mapEntries;
-            if (count > 0) {
-                mapEntries = getEntries(start, count);
-            } else {
-                mapEntries = getEntries(0, getChildrenCount());
-            }
+            // If count == 0, returns all the remaining child variables
+            Map<Value, Value> mapEntries = getEntries(start, getPageSize(start, count));
 
             for (Map.Entry<Value, Value> mapEntry : mapEntries.entrySet()) {
                 childVarMap.put(VariableUtils.getStringFrom(mapEntry.getKey()), mapEntry.getValue());
@@ -102,6 +98,23 @@ public class BMap extends IndexedCompoundVariable {
         }
     }
 
+    @Override
+    public Value getChildByName(String key) throws DebugVariableException {
+        // Only the keys are compared, so that the values of the other entries are not fetched from the remote VM.
+        if (loadedKeys == null) {
+            loadAllKeys();
+        }
+        if (loadedKeys != null) {
+            List<Value> keys = loadedKeys.getValues();
+            for (int i = 0; i < keys.size(); i++) {
+                if (key.equals(VariableUtils.getStringFrom(keys.get(i)))) {
+                    return getEntries(i, 1).get(keys.get(i));
+                }
+            }
+        }
+        throw new DebugVariableException("No child variables found with key: '" + key + "'");
+    }
+
     @Override
     public int getChildrenCount() {
         if (mapSize < 0) {
@@ -115,6 +128,9 @@ public class BMap extends IndexedCompoundVariable {
             loadAllKeys();
         }
         Map<Value, Value> entries = new LinkedHashMap<>();
+        if (loadedKeys == null || count <= 0) {
+            return entries;
+        }
         List<Value> keysRange = loadedKeys.getValues(startIndex, count);
         for (int i = startIndex; i < startIndex + count; i++) {
             Value key = keysRange.get(i - startIndex);
@@ -148,8 +164,11 @@ public class BMap extends IndexedCompoundVariable {
             Value keyArray = ((ObjectReference) jvmValue).invokeMethod(context.getOwningThread().getThreadReference(),
                     entrySetMethod.get(), Collections.emptyList(), ObjectReference.INVOKE_SINGLE_THREADED);
 
+            // The key array is not referenced by the program, hence it is kept alive in the remote VM until the
+            // debuggee is resumed.
+            retain((ObjectReference) keyArray);
             loadedKeys = (ArrayReference) keyArray;
-            loadedValues = new Value[getChildrenCount()];
+            loadedValues = new Value[loadedKeys.length()];
         } catch (Exception ignored) {
             loadedKeys = null;
             loadedValues = new Value[0];
@@ -47,6 +47,11 @@ public class BTable extends IndexedCompoundVariable {
 
     private int tableSize = -1;
     private final Map<String, Value> tableValues = new LinkedHashMap<>();
+    // Table entries can only be reached through an iterator. The iterator is kept between the page requests, so that
+    // loading the next page continues from where the previous page stopped. The iterator is not referenced by the
+    // program, hence it is kept alive in the remote VM until all the entries are loaded or the debuggee is resumed.
+    private Value tableIterator = null;
+    private int iteratorIndex = 0;
 
     private static final String FIELD_CONSTRAINT = "constraint";
     private static final String METHOD_SIZE = "size";
@@ -77,8 +82,15 @@ public class BTable extends IndexedCompoundVariable {
             if (!(jvmValue instanceof ObjectReference)) {
                 return Either.forRight(new ArrayList<>());
             }
-            populateTableValues(start, count);
-            return Either.forRight(getChildVariables(start, count));
+            // If count > 0, returns a sublist of the child variables
+            // If count == 0, returns all the remaining child variables
+            int remainingCount = getTableSize() - start;
+            int childCount = count > 0 && (getTableSize() < 0 || count < remainingCount) ? count : remainingCount;
+            if (childCount <= 0) {
+                return Either.forRight(new ArrayList<>());
+            }
+            populateTableValues(start, childCount);
+            return Either.forRight(getChildVariables(start, childCount));
         } catch (Exception ignored) {
             return Either.forRight(new ArrayList<>());
         }
@@ -137,23 +149,51 @@ public class BTable extends IndexedCompoundVariable {
     }
 
     private void populateTableValues(int start, int count) throws Exception {
-        int index = 0;
-        Value iterator = getIterator();
-        while (hasNext(iterator) && index < start + count) {
-            Value next = nextElement(iterator);
-            if (index >= start && index < start + count) {
-                if (tableValues.containsKey(String.valueOf(index))) {
-                    continue;
-                }
+        int end = start + count;
+        if (isLoaded(start, end)) {
+            return;
+        }
+        // Entries behind the iterator cannot be revisited, hence a new iterator is created for them.
+        if (tableIterator == null || iteratorIndex > start) {
+            releaseIterator();
+            tableIterator = getIterator();
+            iteratorIndex = 0;
+            if (tableIterator == null) {
+                return;
+            }
+            // The iterator is not referenced by the program, hence it is kept alive in the remote VM until the
+            // iteration ends, or the debuggee is resumed.
+            retain((ObjectReference) tableIterator);
+        }
+        while (iteratorIndex < end && hasNext(tableIterator)) {
+            Value next = nextElement(tableIterator);
+            if (iteratorIndex >= start && !tableValues.containsKey(String.valueOf(iteratorIndex))) {
                 Value values = getValues(next);
-                if (values == null) {
-                    continue;
+                if (values != null) {
+                    tableValues.put(String.valueOf(iteratorIndex), ((ArrayReference) values).getValue(1));
                 }
-                Value value = ((ArrayReference) values).getValue(1);
-                tableValues.put(String.valueOf(index), value);
             }
-            index++;
+            iteratorIndex++;
+        }
+        if (iteratorIndex >= getTableSize()) {
+            releaseIterator();
+        }
+    }
+
+    private void releaseIterator() {
+        if (tableIterator != null) {
+            release((ObjectReference) tableIterator);
+            tableIterator = null;
+        }
+    }
+
+    private boolean isLoaded(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!tableValues.containsKey(String.valueOf(i))) {
+                return false;
+            }
         }
+        return true;
     }
 
     private ArrayList<Value> getChildVariables(int start, int count) {
@@ -17,9 +17,11 @@
 package org.ballerinalang.debugadapter.variable.types;
 
 import com.sun.jdi.ArrayReference;
+import com.sun.jdi.IntegerValue;
 import com.sun.jdi.Value;
 import org.ballerinalang.debugadapter.SuspendedContext;
 import org.ballerinalang.debugadapter.variable.BVariableType;
+import org.ballerinalang.debugadapter.variable.DebugVariableException;
 import org.ballerinalang.debugadapter.variable.IndexedCompoundVariable;
 import org.ballerinalang.debugadapter.variable.VariableUtils;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
@@ -38,8 +40,11 @@ import static org.ballerinalang.debugadapter.variable.VariableUtils.getFieldValu
 public class BXmlSequence extends IndexedCompoundVariable {
 
     private int elementsCount = -1;
+    // JDI reference to the backing array of the child list, which is resolved once for all the page requests.
+    private ArrayReference childArray = null;
     private static final String FIELD_CHILDREN = "children";
     private static final String FIELD_ELEMENT_DATA = "elementData";
+    private static final String FIELD_SIZE = "size";
 
     public BXmlSequence(SuspendedContext context, String name, Value value) {
         super(context, name, BVariableType.XML, value);
@@ -58,21 +63,17 @@ public class BXmlSequence extends IndexedCompoundVariable {
     public Either<Map<String, Value>, List<Value>> computeChildVariables(int start, int count) {
         List<Value> childValues = new ArrayList<>();
         try {
-            Optional<Value> children = getFieldValue(jvmValue, FIELD_CHILDREN);
-            if (children.isEmpty()) {
-                return Either.forRight(childValues);
-            }
-            Optional<Value> childArray = VariableUtils.getFieldValue(children.get(), FIELD_ELEMENT_DATA);
+            Optional<ArrayReference> childArray = getChildArray();
             if (childArray.isEmpty()) {
                 return Either.forRight(childValues);
             }
 
             // If count > 0, returns a sublist of the child variables
-            // If count == 0, returns all child variables
-            if (count > 0) {
-                childValues = ((ArrayReference) childArray.get()).getValues(start, count);
-            } else {
-                childValues = ((ArrayReference) childArray.get()).getValues();
+            // If count == 0, returns all the remaining child variables
+            // The backing array can be larger than the child list, hence the page is bounded by the list size.
+            int pageSize = getPageSize(start, count);
+            if (pageSize > 0) {
+                childValues = childArray.get().getValues(start, pageSize);
             }
             return Either.forRight(childValues);
         } catch (Exception e) {
@@ -91,16 +92,31 @@ public class BXmlSequence extends IndexedCompoundVariable {
     private void populateElementCount() {
         try {
             Optional<Value> children = getFieldValue(jvmValue, FIELD_CHILDREN);
-            if (children.isEmpty()) {
-                elementsCount = 0;
-            }
-            Optional<Value> childArray = VariableUtils.getFieldValue(children.get(), FIELD_ELEMENT_DATA);
-            if (childArray.isEmpty()) {
-                elementsCount = 0;
+            Optional<Value> childListSize = children.isPresent() ? getFieldValue(children.get(), FIELD_SIZE) :
+                    Optional.empty();
+            if (childListSize.isPresent() && childListSize.get() instanceof IntegerValue) {
+                elementsCount = ((IntegerValue) childListSize.get()).value();
+                return;
             }
-            elementsCount = ((ArrayReference) childArray.get()).length();
+            Optional<ArrayReference> childArray = getChildArray();
+            elementsCount = childArray.isPresent() ? childArray.get().length() : 0;
         } catch (Exception e) {
             elementsCount = 0;
         }
     }
+
+    private Optional<ArrayReference> getChildArray() throws DebugVariableException {
+        if (childArray == null) {
+            Optional<Value> children = getFieldValue(jvmValue, FIELD_CHILDREN);
+            if (children.isEmpty()) {
+                return Optional.empty();
+            }
+            Optional<Value> childArrayValue = VariableUtils.getFieldValue(children.get(), FIELD_ELEMENT_DATA);
+            if (childArrayValue.isEmpty()) {
+                return Optional.empty();
+            }
+            childArray = (ArrayReference) childArrayValue.get();
+        }
+        return Optional.of(childArray);
+    }
 }
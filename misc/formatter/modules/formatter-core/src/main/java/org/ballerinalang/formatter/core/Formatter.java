@@ -20,6 +20,9 @@ import io.ballerina.compiler.syntax.tree.SyntaxTree;
 import io.ballerina.tools.text.LineRange;
 import io.ballerina.tools.text.TextDocument;
 import io.ballerina.tools.text.TextDocuments;
+import io.ballerina.tools.text.TextEdit;
+
+import java.util.List;
 
 /**
  * Class that exposes the formatting APIs.
@@ -102,6 +105,47 @@ public class Formatter {
         return modifyTree(syntaxTree, options, null);
     }
 
+    /**
+     * Formats the provided SyntaxTree and returns back the text edits which apply the formatting changes to the
+     * source of the SyntaxTree. Only the changed parts of the source are covered by the edits.
+     *
+     * @param syntaxTree The SyntaxTree which is to be formatted
+     * @return Text edits of the formatting changes, relative to the source of the provided SyntaxTree
+     * @throws FormatterException Exception caught while formatting
+     */
+    public static List<TextEdit> formatToEdits(SyntaxTree syntaxTree) throws FormatterException {
+        return formatToEdits(syntaxTree, null, new FormattingOptions());
+    }
+
+    /**
+     * Formats a line range of the provided SyntaxTree and returns back the text edits which apply the formatting
+     * changes to the source of the SyntaxTree.
+     *
+     * @param syntaxTree The complete SyntaxTree, of which a part is to be formatted
+     * @param range LineRange which needs to be formatted
+     * @return Text edits of the formatting changes, relative to the source of the provided SyntaxTree
+     * @throws FormatterException Exception caught while formatting
+     */
+    public static List<TextEdit> formatToEdits(SyntaxTree syntaxTree, LineRange range) throws FormatterException {
+        return formatToEdits(syntaxTree, range, new FormattingOptions());
+    }
+
+    /**
+     * Formats a line range of the provided SyntaxTree and returns back the text edits which apply the formatting
+     * changes to the source of the SyntaxTree. Only the changed parts of the source are covered by the edits.
+     *
+     * @param syntaxTree The complete SyntaxTree, of which a part is to be formatted
+     * @param range LineRange which needs to be formatted, or null to format the complete SyntaxTree
+     * @param options Formatting options that are to be used when formatting
+     * @return Text edits of the formatting changes, relative to the source of the provided SyntaxTree
+     * @throws FormatterException Exception caught while formatting
+     */
+    public static List<TextEdit> formatToEdits(SyntaxTree syntaxTree, LineRange range, FormattingOptions options)
+            throws FormatterException {
+        SyntaxTree formattedTree = modifyTree(syntaxTree, options, range);
+        return FormattingEditsGenerator.generate(syntaxTree, formattedTree);
+    }
+
     private static SyntaxTree modifyTree(SyntaxTree syntaxTree, FormattingOptions options, LineRange range)
             throws FormatterException {
         FormattingTreeModifier treeModifier = new FormattingTreeModifier(options, range);
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ballerinalang.formatter.core;
+
+import io.ballerina.compiler.syntax.tree.NodeVisitor;
+import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import io.ballerina.compiler.syntax.tree.Token;
+import io.ballerina.tools.text.TextEdit;
+import io.ballerina.tools.text.TextRange;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Generates the text edits which turn the source of a syntax tree into the source of its formatted tree.
+ * <p>
+ * Formatting only changes the minutiae between the tokens. Hence, the tokens of both the trees are aligned and an
+ * edit is generated only for the whitespace between two tokens that has changed. If the tokens do not align, a
+ * single edit covering the changed part of the source is generated instead.
+ *
+ * @since 2.0.0
+ */
+class FormattingEditsGenerator {
+
+    private FormattingEditsGenerator() {
+
+    }
+
+    static List<TextEdit> generate(SyntaxTree syntaxTree, SyntaxTree formattedTree) {
+        List<Token> tokens = TokenCollector.collect(syntaxTree);
+        List<Token> formattedTokens = TokenCollector.collect(formattedTree);
+        if (!isAligned(tokens, formattedTokens)) {
+            return generateSingleEdit(syntaxTree.toSourceCode(), formattedTree.toSourceCode());
+        }
+
+        List<TextEdit> textEdits = new ArrayList<>();
+        String previousTrailing = "";
+        String previousFormattedTrailing = "";
+        int gapStart = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            Token formattedToken = formattedTokens.get(i);
+            String gap = previousTrailing + token.leadingMinutiae().toString();
+            String formattedGap = previousFormattedTrailing + formattedToken.leadingMinutiae().toString();
+            int gapEnd = token.textRange().startOffset();
+            if (!gap.equals(formattedGap)) {
+                textEdits.add(TextEdit.from(TextRange.from(gapStart, gapEnd - gapStart), formattedGap));
+            }
+
+            previousTrailing = token.trailingMinutiae().toString();
+            previousFormattedTrailing = formattedToken.trailingMinutiae().toString();
+            gapStart = token.textRange().endOffset();
+        }
+
+        if (!previousTrailing.equals(previousFormattedTrailing)) {
+            textEdits.add(TextEdit.from(TextRange.from(gapStart, previousTrailing.length()),
+                    previousFormattedTrailing));
+        }
+        return textEdits;
+    }
+
+    private static boolean isAligned(List<Token> tokens, List<Token> formattedTokens) {
+        if (tokens.size() != formattedTokens.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            Token formattedToken = formattedTokens.get(i);
+            if (token.kind() != formattedToken.kind() || !token.text().equals(formattedToken.text())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<TextEdit> generateSingleEdit(String source, String formattedSource) {
+        int prefixLength = 0;
+        int maxLength = Math.min(source.length(), formattedSource.length());
+        while (prefixLength < maxLength && source.charAt(prefixLength) == formattedSource.charAt(prefixLength)) {
+            prefixLength++;
+        }
+
+        int suffixLength = 0;
+        while (suffixLength < maxLength - prefixLength && source.charAt(source.length() - suffixLength - 1) ==
+                formattedSource.charAt(formattedSource.length() - suffixLength - 1)) {
+            suffixLength++;
+        }
+
+        if (prefixLength == source.length() && prefixLength == formattedSource.length()) {
+            return Collections.emptyList();
+        }
+
+        TextRange range = TextRange.from(prefixLength, source.length() - suffixLength - prefixLength);
+        String text = formattedSource.substring(prefixLength, formattedSource.length() - suffixLength);
+        return Collections.singletonList(TextEdit.from(range, text));
+    }
+
+    /**
+     * Collects the tokens of a syntax tree in the order of the source.
+     */
+    private static class TokenCollector extends NodeVisitor {
+
+        private final List<Token> tokens = new ArrayList<>();
+
+        static List<Token> collect(SyntaxTree syntaxTree) {
+            TokenCollector collector = new TokenCollector();
+            syntaxTree.rootNode().accept(collector);
+            return collector.tokens;
+        }
+
+        @Override
+        public void visit(Token token) {
+            tokens.add(token);
+        }
+    }
+}
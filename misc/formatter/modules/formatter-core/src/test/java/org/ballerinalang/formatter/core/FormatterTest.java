@@ -19,7 +19,9 @@ package org.ballerinalang.formatter.core;
 
 import io.ballerina.compiler.syntax.tree.SyntaxTree;
 import io.ballerina.tools.text.TextDocument;
+import io.ballerina.tools.text.TextDocumentChange;
 import io.ballerina.tools.text.TextDocuments;
+import io.ballerina.tools.text.TextEdit;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -67,6 +69,29 @@ public abstract class FormatterTest {
         }
     }
 
+    /**
+     * Tests that applying the formatting edits to a valid source results in the formatted source.
+     *
+     * @param source     File name of the test scenario
+     * @param sourcePath Resources directory for the test type
+     */
+    @Test(dataProvider = "test-file-provider")
+    public void testEdits(String source, String sourcePath) throws IOException {
+        Path assertFilePath = Paths.get(resourceDirectory.toString(), sourcePath, ASSERT_DIR, source);
+        Path sourceFilePath = Paths.get(resourceDirectory.toString(), sourcePath, SOURCE_DIR, source);
+        String content = getSourceText(sourceFilePath);
+        TextDocument textDocument = TextDocuments.from(content);
+        SyntaxTree syntaxTree = SyntaxTree.from(textDocument);
+        try {
+            List<TextEdit> textEdits = Formatter.formatToEdits(syntaxTree);
+            TextDocument formattedDocument =
+                    textDocument.apply(TextDocumentChange.from(textEdits.toArray(new TextEdit[0])));
+            Assert.assertEquals(formattedDocument.toString(), getSourceText(assertFilePath));
+        } catch (FormatterException e) {
+            Assert.fail(e.getMessage(), e);
+        }
+    }
+
     /**
      * Test the formatting functionality for parser test cases.
      *
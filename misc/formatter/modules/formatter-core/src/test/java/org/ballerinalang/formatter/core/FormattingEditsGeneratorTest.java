@@ -0,0 +1,133 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.formatter.core;
+
+import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import io.ballerina.tools.text.TextDocument;
+import io.ballerina.tools.text.TextDocumentChange;
+import io.ballerina.tools.text.TextDocuments;
+import io.ballerina.tools.text.TextEdit;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Tests generating the text edits between a syntax tree and its formatted tree.
+ *
+ * @since 2.0.0
+ */
+public class FormattingEditsGeneratorTest {
+
+    @Test
+    public void testFormattedSourceHasNoEdits() throws FormatterException {
+        String source = "function foo(int a) returns int {\n    return a + 1;\n}\n";
+        SyntaxTree syntaxTree = parse(source);
+        Assert.assertEquals(Formatter.format(syntaxTree).toSourceCode(), source);
+        Assert.assertTrue(FormattingEditsGenerator.generate(syntaxTree, Formatter.format(syntaxTree)).isEmpty());
+    }
+
+    @Test
+    public void testEditsCoverOnlyChangedWhitespace() throws FormatterException {
+        String source = "import   ballerina/io;\nfunction foo(int a)returns int{\n        return a+1;\n}\n" +
+                "public function main() {\n    io:println(foo(1));\n}\n";
+        SyntaxTree syntaxTree = parse(source);
+        SyntaxTree formattedTree = Formatter.format(syntaxTree);
+        List<TextEdit> textEdits = FormattingEditsGenerator.generate(syntaxTree, formattedTree);
+
+        Assert.assertTrue(textEdits.size() > 1, "expected an edit per changed whitespace: " + textEdits);
+        int previousEnd = 0;
+        for (TextEdit textEdit : textEdits) {
+            // Edits are ordered, do not overlap and only replace whitespace
+            Assert.assertTrue(textEdit.range().startOffset() >= previousEnd, textEdits.toString());
+            String replaced = source.substring(textEdit.range().startOffset(), textEdit.range().endOffset());
+            Assert.assertTrue(replaced.isBlank(), "edit replaces '" + replaced + "'");
+            Assert.assertTrue(textEdit.text().isBlank(), "edit inserts '" + textEdit.text() + "'");
+            previousEnd = textEdit.range().endOffset();
+        }
+        Assert.assertEquals(apply(source, textEdits), formattedTree.toSourceCode());
+
+        // The whitespace of the main function is already formatted, hence not covered by an edit
+        int mainOffset = source.indexOf("public function main");
+        for (TextEdit textEdit : textEdits) {
+            Assert.assertTrue(textEdit.range().endOffset() <= mainOffset, textEdits.toString());
+        }
+    }
+
+    @Test
+    public void testEditOfTrailingWhitespace() throws FormatterException {
+        String source = "function foo() {\n}   \n\n\n";
+        SyntaxTree syntaxTree = parse(source);
+        SyntaxTree formattedTree = Formatter.format(syntaxTree);
+        List<TextEdit> textEdits = FormattingEditsGenerator.generate(syntaxTree, formattedTree);
+
+        Assert.assertEquals(textEdits.size(), 1);
+        Assert.assertEquals(textEdits.get(0).range().startOffset(), source.indexOf('}') + 1);
+        Assert.assertEquals(textEdits.get(0).range().endOffset(), source.length());
+        Assert.assertEquals(apply(source, textEdits), formattedTree.toSourceCode());
+    }
+
+    @Test
+    public void testSingleEditForRenamedToken() {
+        // Trees with different tokens are not aligned, hence a single edit covering the difference is generated
+        String source = "function foo() {\n}\n";
+        String otherSource = "function fooBar() {\n}\n";
+        List<TextEdit> textEdits = FormattingEditsGenerator.generate(parse(source), parse(otherSource));
+
+        Assert.assertEquals(textEdits.size(), 1);
+        TextEdit textEdit = textEdits.get(0);
+        Assert.assertEquals(textEdit.range().startOffset(), "function foo".length());
+        Assert.assertEquals(textEdit.range().length(), 0);
+        Assert.assertEquals(textEdit.text(), "Bar");
+        Assert.assertEquals(apply(source, textEdits), otherSource);
+    }
+
+    @Test
+    public void testSingleEditForAddedTokens() {
+        String source = "int a = 1;\n";
+        String otherSource = "int a = 1;\nint b = 2;\n";
+        List<TextEdit> textEdits = FormattingEditsGenerator.generate(parse(source), parse(otherSource));
+
+        Assert.assertEquals(textEdits.size(), 1);
+        Assert.assertEquals(apply(source, textEdits), otherSource);
+
+        textEdits = FormattingEditsGenerator.generate(parse(otherSource), parse(source));
+        Assert.assertEquals(textEdits.size(), 1);
+        Assert.assertEquals(apply(otherSource, textEdits), source);
+    }
+
+    @Test
+    public void testSingleEditForRepeatedText() {
+        // The common prefix and suffix of the sources overlap, which must not shrink the edit below empty
+        String source = "int a = 1;\nint a = 1;\n";
+        String otherSource = "int a = 1;\n";
+        List<TextEdit> textEdits = FormattingEditsGenerator.generate(parse(source), parse(otherSource));
+
+        Assert.assertEquals(textEdits.size(), 1);
+        Assert.assertEquals(apply(source, textEdits), otherSource);
+    }
+
+    private static SyntaxTree parse(String source) {
+        return SyntaxTree.from(TextDocuments.from(source));
+    }
+
+    private static String apply(String source, List<TextEdit> textEdits) {
+        TextDocument textDocument = TextDocuments.from(source);
+        return textDocument.apply(TextDocumentChange.from(textEdits.toArray(new TextEdit[0]))).toString();
+    }
+}
@@ -26,7 +26,9 @@ import io.ballerina.compiler.syntax.tree.SyntaxTree;
 import io.ballerina.tools.text.LinePosition;
 import io.ballerina.tools.text.LineRange;
 import io.ballerina.tools.text.TextDocument;
+import io.ballerina.tools.text.TextDocumentChange;
 import io.ballerina.tools.text.TextDocuments;
+import io.ballerina.tools.text.TextEdit;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -65,6 +67,20 @@ public abstract class RangeFormatterTest {
         Assert.assertEquals(syntaxTree.toSourceCode(), getFileContent(assertFilePath));
     }
 
+    @Test(dataProvider = "test-file-provider")
+    public void testEdits(Path sourceFilePath, Path assertFilePath, ArrayList<LineRange> lineRanges)
+            throws IOException, FormatterException {
+        String content = getFileContent(sourceFilePath);
+        TextDocument textDocument = TextDocuments.from(content);
+        SyntaxTree syntaxTree = SyntaxTree.from(textDocument);
+        for (LineRange lineRange : lineRanges) {
+            List<TextEdit> textEdits = Formatter.formatToEdits(syntaxTree, lineRange);
+            textDocument = textDocument.apply(TextDocumentChange.from(textEdits.toArray(new TextEdit[0])));
+            syntaxTree = SyntaxTree.from(textDocument);
+        }
+        Assert.assertEquals(textDocument.toString(), getFileContent(assertFilePath));
+    }
+
     /**
      * Defines the data provider object for test execution.
      *
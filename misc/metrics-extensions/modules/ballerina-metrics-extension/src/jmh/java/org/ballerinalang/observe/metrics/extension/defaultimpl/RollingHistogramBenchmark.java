@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.observe.metrics.extension.defaultimpl;
+
+import io.ballerina.runtime.observability.metrics.MetricId;
+import io.ballerina.runtime.observability.metrics.StatisticConfig;
+import io.ballerina.runtime.observability.metrics.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of recording samples into a {@link RollingHistogram} and a {@link DefaultGauge} with the
+ * statistic configurations of the response time metric, with 32 concurrent writers.
+ * <p>
+ * Run with {@code ./gradlew :metrics-extensions:ballerina-metrics-extension:jmh}.
+ *
+ * @since 2.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(32)
+public class RollingHistogramBenchmark {
+
+    private RollingHistogram rollingHistogram;
+    private DefaultGauge gauge;
+
+    @Setup
+    public void setup() {
+        StatisticConfig statisticConfig = StatisticConfig.builder()
+                .expiry(Duration.ofMinutes(1))
+                .percentiles(StatisticConfig.DEFAULT.getPercentiles())
+                .build();
+        rollingHistogram = new RollingHistogram(Clock.DEFAULT, statisticConfig);
+        gauge = new DefaultGauge(new MetricId("response_time_seconds", "Response time",
+                Collections.<Tag>emptySet()), statisticConfig);
+    }
+
+    @Benchmark
+    public void recordRollingHistogram() {
+        rollingHistogram.record(ThreadLocalRandom.current().nextDouble(0.001, 1.0));
+    }
+
+    @Benchmark
+    public void setGaugeValue() {
+        gauge.setValue(ThreadLocalRandom.current().nextDouble(0.001, 1.0));
+    }
+}
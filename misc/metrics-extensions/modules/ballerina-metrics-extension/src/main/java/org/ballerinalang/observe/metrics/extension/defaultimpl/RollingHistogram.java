@@ -23,14 +23,26 @@ import io.ballerina.runtime.observability.metrics.StatisticConfig;
 import org.HdrHistogram.DoubleHistogram;
 import org.HdrHistogram.DoubleRecorder;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * Using {@link DoubleHistogram} to maintain samples in a ring buffer to decay older samples and give greater weight
  * to recent samples. This implementation allows to get summary statistics for a rolling window over the last X minutes.
+ * <p>
+ * A sample is recorded only into the current age bucket, and the age buckets are aggregated when a snapshot is taken.
+ * An age bucket starts with a single recorder and is striped by the recording thread once concurrent writers contend
+ * on the same recorder, hence a histogram which is not recorded concurrently does not hold a recorder per processor.
  */
 public class RollingHistogram {
 
+    /**
+     * Maximum number of recorders in an age bucket, which is a power of two.
+     */
+    private static final int MAX_STRIPES = Integer.highestOneBit(Math.min(Runtime.getRuntime().availableProcessors(),
+            16));
+
     /**
      * Clock for measuring time.
      */
@@ -42,14 +54,14 @@ public class RollingHistogram {
     private final StatisticConfig statisticConfig;
 
     /**
-     * Recorder in a ring buffer.
+     * Age buckets in a ring buffer.
      */
-    private final DoubleRecorder[] ringBuffer;
+    private final Bucket[] ringBuffer;
 
     /**
      * Current bucket index.
      */
-    private int currentBucket;
+    private volatile int currentBucket;
 
     /**
      * Last time the {@link RollingHistogram} was rotated.
@@ -66,11 +78,6 @@ public class RollingHistogram {
      */
     private final DoubleHistogram intervalHistogram;
 
-    /**
-     * A histogram to keep accumulated stats.
-     */
-    private DoubleHistogram accumulatedHistogram;
-
     /**
      * Global atomic field updater to update volatile {@code rotating} integer.
      */
@@ -82,35 +89,23 @@ public class RollingHistogram {
      */
     private volatile int rotating; // 0 - not rotating, 1 - rotating
 
-    /**
-     * A flag to check whether accumulatedHistogram is stale or not.
-     */
-    private volatile boolean accumulatedHistogramStale;
-
     public RollingHistogram(Clock clock, StatisticConfig statisticConfig) {
         this.clock = clock;
         this.statisticConfig = statisticConfig;
         int ageBuckets = (int) statisticConfig.getBuckets();
-        ringBuffer = new DoubleRecorder[ageBuckets];
+        ringBuffer = new Bucket[ageBuckets];
         for (int i = 0; i < ageBuckets; i++) {
-            ringBuffer[i] = new DoubleRecorder(statisticConfig.getPercentilePrecision());
+            ringBuffer[i] = new Bucket(statisticConfig.getPercentilePrecision());
         }
         this.currentBucket = 0;
         this.lastRotateTimestampMillis = clock.getCurrentTime();
         this.durationBetweenRotatesMillis = statisticConfig.getTimeWindow().toMillis() / ageBuckets;
         intervalHistogram = new DoubleHistogram(statisticConfig.getPercentilePrecision());
-        accumulatedHistogram = new DoubleHistogram(statisticConfig.getPercentilePrecision());
     }
 
     public void record(double value) {
         rotate();
-        try {
-            for (DoubleRecorder recorder : ringBuffer) {
-                recorder.recordValue(value);
-            }
-        } finally {
-            accumulatedHistogramStale = true;
-        }
+        ringBuffer[currentBucket].record(value);
     }
 
     private void rotate() {
@@ -127,14 +122,17 @@ public class RollingHistogram {
         try {
             int iterations = 0;
             synchronized (this) {
+                int bucket = currentBucket;
                 do {
-                    currentHistogram().reset();
-                    if (++currentBucket >= ringBuffer.length) {
-                        currentBucket = 0;
+                    if (++bucket >= ringBuffer.length) {
+                        bucket = 0;
                     }
+                    // The oldest bucket becomes the current bucket
+                    ringBuffer[bucket].reset();
                     timeSinceLastRotateMillis -= durationBetweenRotatesMillis;
                     lastRotateTimestampMillis += durationBetweenRotatesMillis;
                 } while (timeSinceLastRotateMillis >= durationBetweenRotatesMillis && ++iterations < ringBuffer.length);
+                currentBucket = bucket;
 
                 if (iterations >= ringBuffer.length) {
                     // All buckets have been reset, therefore update lastRotateTimestampMillis
@@ -142,11 +140,6 @@ public class RollingHistogram {
                     lastRotateTimestampMillis += durationBetweenRotatesMillis *
                             (timeSinceLastRotateMillis / durationBetweenRotatesMillis);
                 }
-
-                accumulatedHistogram = new DoubleHistogram(statisticConfig.getPercentilePrecision());
-                //TODO: Use accumulatedHistogram.reset(); and make accumulatedHistogram as final
-                //Refer: https://github.com/HdrHistogram/HdrHistogram/issues/143
-                accumulatedHistogramStale = true;
             }
         } finally {
             rotating = 0;
@@ -160,7 +153,7 @@ public class RollingHistogram {
     public Snapshot getSnapshot() {
         rotate();
         synchronized (this) {
-            accumulateIfStale();
+            DoubleHistogram accumulatedHistogram = accumulate();
             PercentileValue[] percentileValues = null;
             final double[] monitoredPercentiles = statisticConfig.getPercentiles();
             if (monitoredPercentiles != null) {
@@ -179,19 +172,101 @@ public class RollingHistogram {
         }
     }
 
-    private void accumulateIfStale() {
-        if (accumulatedHistogramStale) {
-            accumulate();
-            accumulatedHistogramStale = false;
+    private DoubleHistogram accumulate() {
+        DoubleHistogram accumulatedHistogram = new DoubleHistogram(statisticConfig.getPercentilePrecision());
+        for (Bucket bucket : ringBuffer) {
+            for (Stripe stripe : bucket.stripes) {
+                stripe.recorder.getIntervalHistogramInto(intervalHistogram);
+                bucket.histogram.add(intervalHistogram);
+            }
+            accumulatedHistogram.add(bucket.histogram);
         }
+        return accumulatedHistogram;
     }
 
-    private void accumulate() {
-        currentHistogram().getIntervalHistogramInto(intervalHistogram);
-        accumulatedHistogram.add(intervalHistogram);
+    /**
+     * Returns the number of recorders in the current age bucket.
+     *
+     * @return number of recorders
+     */
+    int getStripeCount() {
+        return ringBuffer[currentBucket].stripes.length;
     }
 
-    private DoubleRecorder currentHistogram() {
-        return ringBuffer[currentBucket];
+    /**
+     * An age bucket, which holds the samples recorded within a rotation.
+     */
+    private static class Bucket {
+
+        /**
+         * Recorders of the recording threads. The recorders are replaced by twice as many recorders, which include
+         * the current recorders, when a thread finds the recorder of its stripe being recorded by another thread.
+         */
+        private volatile Stripe[] stripes;
+
+        /**
+         * Samples taken from the recorders so far.
+         */
+        private DoubleHistogram histogram;
+
+        private final int percentilePrecision;
+
+        Bucket(int percentilePrecision) {
+            this.percentilePrecision = percentilePrecision;
+            this.stripes = new Stripe[]{new Stripe(percentilePrecision)};
+            this.histogram = new DoubleHistogram(percentilePrecision);
+        }
+
+        void record(double value) {
+            Stripe[] currentStripes = stripes;
+            Stripe stripe = currentStripes[(int) Thread.currentThread().getId() & (currentStripes.length - 1)];
+            if (stripe.busy.compareAndSet(false, true)) {
+                try {
+                    stripe.recorder.recordValue(value);
+                } finally {
+                    stripe.busy.set(false);
+                }
+                return;
+            }
+            // The recorder is thread safe, hence the value is recorded while the other thread is recording as well
+            stripe.recorder.recordValue(value);
+            if (currentStripes.length < MAX_STRIPES) {
+                grow(currentStripes);
+            }
+        }
+
+        private synchronized void grow(Stripe[] currentStripes) {
+            if (stripes != currentStripes) {
+                // Grown by another thread already
+                return;
+            }
+            Stripe[] newStripes = Arrays.copyOf(currentStripes, currentStripes.length * 2);
+            for (int i = currentStripes.length; i < newStripes.length; i++) {
+                newStripes[i] = new Stripe(percentilePrecision);
+            }
+            stripes = newStripes;
+        }
+
+        void reset() {
+            for (Stripe stripe : stripes) {
+                stripe.recorder.reset();
+            }
+            histogram = new DoubleHistogram(percentilePrecision);
+            //TODO: Use histogram.reset(); and make histogram as final
+            //Refer: https://github.com/HdrHistogram/HdrHistogram/issues/143
+        }
+    }
+
+    /**
+     * A recorder of an age bucket, along with a flag which is set while a thread is recording into it.
+     */
+    private static class Stripe {
+
+        private final DoubleRecorder recorder;
+        private final AtomicBoolean busy = new AtomicBoolean();
+
+        Stripe(int percentilePrecision) {
+            this.recorder = new DoubleRecorder(percentilePrecision);
+        }
     }
 }
@@ -204,4 +204,63 @@ public class RollingHistogramTest {
         }
     }
 
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        double[] percentiles = new double[]{0.5};
+        RollingHistogram histogram = new RollingHistogram(Clock.DEFAULT, StatisticConfig.builder()
+                .percentiles(percentiles)
+                .percentilePrecision(5)
+                .expiry(Duration.ofDays(1)).buckets(3).build());
+
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            final double value = (i + 1) * 1_000.0;
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1_000; j++) {
+                    histogram.record(value);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Snapshot snapshot = histogram.getSnapshot();
+        Assert.assertEquals(snapshot.getMin(), 1_000.0, 0.5);
+        Assert.assertEquals(snapshot.getMax(), 8_000.0, 0.5);
+        Assert.assertEquals(snapshot.getMean(), 4_500.0, 0.5);
+        Assert.assertEquals(percentileValue(snapshot, 0.5), 4_000.0, 0.5);
+
+        // The recorders are only striped up to the number of processors
+        int stripeCount = histogram.getStripeCount();
+        Assert.assertEquals(Integer.bitCount(stripeCount), 1, "stripes: " + stripeCount);
+        Assert.assertTrue(stripeCount <= Math.min(Runtime.getRuntime().availableProcessors(), 16),
+                "stripes: " + stripeCount);
+    }
+
+    @Test
+    public void testRecordingWithoutContention() throws InterruptedException {
+        RollingHistogram histogram = new RollingHistogram(Clock.DEFAULT, StatisticConfig.builder()
+                .percentiles(new double[]{0.5})
+                .expiry(Duration.ofDays(1)).buckets(3).build());
+
+        // Threads which record one after the other do not stripe the recorders
+        for (int i = 1; i <= 4; i++) {
+            final double value = i * 1_000.0;
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 1_000; j++) {
+                    histogram.record(value);
+                }
+            });
+            thread.start();
+            thread.join();
+        }
+
+        Assert.assertEquals(histogram.getStripeCount(), 1);
+        Snapshot snapshot = histogram.getSnapshot();
+        Assert.assertEquals(snapshot.getMin(), 1_000.0, 1.0);
+        Assert.assertEquals(snapshot.getMax(), 4_000.0, 5.0);
+        Assert.assertEquals(snapshot.getMean(), 2_500.0, 5.0);
+    }
 }
@@ -23,6 +23,11 @@ configurable boolean metricsEnabled = false;
 configurable string metricsReporter = "choreo";
 configurable boolean tracingEnabled = false;
 configurable string tracingProvider = "choreo";
+configurable string tracingSamplerType = "always";
+configurable float tracingSamplerParam = 1.0;
+configurable boolean tracingTailSamplingEnabled = false;
+configurable int tracingTailSamplingLatencyThreshold = 1000;
+configurable int tracingTailSamplingBufferSize = 1000;
 
 function init() {
     externInitializeModule();
@@ -80,6 +80,23 @@ public isolated function getSpanContext() returns map<string> = @java:Method {
     name: "getSpanContext"
 } external;
 
+# Switch the observations of the instrumented code on or off, without restarting the program.
+# The observations which were started before switching are completed as usual.
+#
+# + active - True if the instrumented code should be observed
+public isolated function setObservationActive(boolean active) = @java:Method {
+    'class: "org.ballerinalang.observe.nativeimpl.SetObservationActive",
+    name: "setObservationActive"
+} external;
+
+# Check whether the observations of the instrumented code are switched on.
+#
+# + return - True if the instrumented code is observed
+public isolated function isObservationActive() returns boolean = @java:Method {
+    'class: "org.ballerinalang.observe.nativeimpl.IsObservationActive",
+    name: "isObservationActive"
+} external;
+
 # Retrieve all registered metrics including default metrics from the ballerina runtime, and user defined metrics.
 #
 # + return - Array of all registered metrics
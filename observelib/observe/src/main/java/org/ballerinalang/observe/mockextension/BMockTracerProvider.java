@@ -17,10 +17,12 @@
  */
 package org.ballerinalang.observe.mockextension;
 
+import io.ballerina.runtime.observability.tracer.PropagatedSpanIds;
 import io.ballerina.runtime.observability.tracer.spi.TracerProvider;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.propagation.ContextPropagators;
 import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.IdGenerator;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
 
@@ -56,6 +58,7 @@ public class BMockTracerProvider implements TracerProvider {
         out.println("Initialized Mock Tracer for " + serviceName);
         SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
                 .addSpanProcessor(SimpleSpanProcessor.create(inMemorySpanExporter))
+                .setIdGenerator(new PropagatedIdGenerator())
                 .build();
         return tracerProvider.get(serviceName);
     }
@@ -64,4 +67,24 @@ public class BMockTracerProvider implements TracerProvider {
     public ContextPropagators getPropagators() {
         return ContextPropagators.noop();
     }
+
+    /**
+     * Generates the IDs propagated for the spans of tail sampled traces, and random IDs for the other spans.
+     */
+    private static class PropagatedIdGenerator implements IdGenerator {
+
+        private final IdGenerator randomIdGenerator = IdGenerator.random();
+
+        @Override
+        public String generateSpanId() {
+            String spanId = PropagatedSpanIds.getSpanId();
+            return spanId != null ? spanId : randomIdGenerator.generateSpanId();
+        }
+
+        @Override
+        public String generateTraceId() {
+            String traceId = PropagatedSpanIds.getTraceId();
+            return traceId != null ? traceId : randomIdGenerator.generateTraceId();
+        }
+    }
 }
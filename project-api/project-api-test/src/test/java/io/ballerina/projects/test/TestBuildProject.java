@@ -60,6 +60,9 @@ import org.testng.SkipException;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -68,6 +71,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
 import java.util.stream.Collectors;
 
 import static io.ballerina.projects.test.TestUtils.isWindows;
@@ -293,6 +298,87 @@ public class TestBuildProject extends BaseTest {
         }
     }
 
+    @Test(description = "tests emitting a layered executable does not delete jars it did not write")
+    public void testLayeredExecutableKeepsForeignJars() throws IOException {
+        Path projectPath = RESOURCE_DIRECTORY.resolve("layered_exec_project");
+        BuildProject project = BuildProject.load(projectPath);
+        PackageCompilation compilation = project.currentPackage().getCompilation();
+        JBallerinaBackend jBallerinaBackend = JBallerinaBackend.from(compilation, JvmTarget.JAVA_11);
+        Assert.assertFalse(jBallerinaBackend.diagnosticResult().hasErrors(),
+                jBallerinaBackend.diagnosticResult().errors().toString());
+
+        Path outputDir = Files.createTempDirectory("b7a-layered-exec-test-" + System.nanoTime());
+        Path executablePath = outputDir.resolve("layered.jar");
+        Path dependencyLayerDir = Files.createDirectories(outputDir.resolve("layered-lib"));
+        Path foreignJar = Files.createFile(dependencyLayerDir.resolve("foreign.jar"));
+        Path userJar = Files.createFile(Files.createDirectories(outputDir.resolve("lib")).resolve("user.jar"));
+
+        // 1) Emit the executable to a directory containing jars which are not written by the build
+        EmitResult emitResult = jBallerinaBackend.emit(JBallerinaBackend.OutputType.LAYERED_EXEC, executablePath);
+        Assert.assertTrue(emitResult.successful());
+        Path indexPath = dependencyLayerDir.resolve("dependency-jars.txt");
+        List<String> dependencyJarNames = Files.readAllLines(indexPath);
+        Assert.assertFalse(dependencyJarNames.isEmpty());
+        Assert.assertFalse(dependencyJarNames.contains(foreignJar.getFileName().toString()));
+        for (String dependencyJarName : dependencyJarNames) {
+            Assert.assertTrue(Files.exists(dependencyLayerDir.resolve(dependencyJarName)), dependencyJarName);
+        }
+        try (JarFile executableJar = new JarFile(executablePath.toFile())) {
+            String classPath = executableJar.getManifest().getMainAttributes().getValue(Attributes.Name.CLASS_PATH);
+            for (String classPathEntry : classPath.split(" ")) {
+                Assert.assertTrue(classPathEntry.startsWith("layered-lib/"), classPathEntry);
+            }
+        }
+        Assert.assertTrue(Files.exists(foreignJar));
+        Assert.assertTrue(Files.exists(userJar));
+
+        // 2) A jar recorded by an earlier build which is no longer required is removed on a rebuild
+        Path staleJar = Files.createFile(dependencyLayerDir.resolve("stale-0123456789abcdef.jar"));
+        List<String> staleIndex = new ArrayList<>(dependencyJarNames);
+        staleIndex.add(staleJar.getFileName().toString());
+        Files.write(indexPath, staleIndex);
+
+        emitResult = jBallerinaBackend.emit(JBallerinaBackend.OutputType.LAYERED_EXEC, executablePath);
+        Assert.assertTrue(emitResult.successful());
+        Assert.assertFalse(Files.exists(staleJar));
+        Assert.assertEquals(Files.readAllLines(indexPath), dependencyJarNames);
+        Assert.assertTrue(Files.exists(foreignJar));
+        Assert.assertTrue(Files.exists(userJar));
+    }
+
+    @Test(description = "tests the class path of a layered executable with reserved characters in its name")
+    public void testLayeredExecutableClassPathIsEncoded() throws IOException {
+        Path projectPath = RESOURCE_DIRECTORY.resolve("layered_exec_project");
+        BuildProject project = BuildProject.load(projectPath);
+        PackageCompilation compilation = project.currentPackage().getCompilation();
+        JBallerinaBackend jBallerinaBackend = JBallerinaBackend.from(compilation, JvmTarget.JAVA_11);
+        Assert.assertFalse(jBallerinaBackend.diagnosticResult().hasErrors(),
+                jBallerinaBackend.diagnosticResult().errors().toString());
+
+        Path outputDir = Files.createTempDirectory("b7a-layered-exec-test-" + System.nanoTime());
+        Path executablePath = outputDir.resolve("layered app#1 %20.jar");
+        EmitResult emitResult = jBallerinaBackend.emit(JBallerinaBackend.OutputType.LAYERED_EXEC, executablePath);
+        Assert.assertTrue(emitResult.successful());
+
+        Path dependencyLayerDir = outputDir.resolve("layered app#1 %20-lib");
+        List<String> dependencyJarNames = Files.readAllLines(dependencyLayerDir.resolve("dependency-jars.txt"));
+        Assert.assertFalse(dependencyJarNames.isEmpty());
+        try (JarFile executableJar = new JarFile(executablePath.toFile())) {
+            String classPath = executableJar.getManifest().getMainAttributes().getValue(Attributes.Name.CLASS_PATH);
+            String[] classPathEntries = classPath.split(" ");
+            Assert.assertEquals(classPathEntries.length, dependencyJarNames.size());
+            for (String classPathEntry : classPathEntries) {
+                Assert.assertTrue(classPathEntry.startsWith("layered%20app%231%20%2520-lib/"), classPathEntry);
+                // The entries are resolved against the URL of the executable, as done by the class loader
+                Path dependencyJarPath = Paths.get(executablePath.toUri().resolve(URI.create(classPathEntry)));
+                Assert.assertEquals(dependencyJarPath.getParent(), dependencyLayerDir);
+                Assert.assertTrue(dependencyJarNames.contains(dependencyJarPath.getFileName().toString()),
+                        classPathEntry);
+                Assert.assertTrue(Files.exists(dependencyJarPath), classPathEntry);
+            }
+        }
+    }
+
     @Test(description = "tests codegen with native libraries")
     public void testJBallerinaBackend() {
         Path projectPath = RESOURCE_DIRECTORY.resolve("test_proj_pkg_compilation_simple");
@@ -1204,6 +1290,44 @@ public class TestBuildProject extends BaseTest {
                 .contains("missing required parameter 'c'"));
     }
 
+    @Test
+    public void testEditFunctionBodyOfDependantModuleDocument() {
+        Path projectPath = RESOURCE_DIRECTORY.resolve("projects_for_edit_api_tests/package_with_dependencies");
+        String updatedFunctionStr = "public function concatStrings(string a, string b) returns string {\n" +
+                "\treturn a + b + c;\n" +
+                "}\n";
+
+        // 1) Initialize the project instance
+        BuildProject project = null;
+        try {
+            project = BuildProject.load(projectPath);
+        } catch (Exception e) {
+            Assert.fail(e.getMessage());
+        }
+        // 2) Load current package
+        Package currentPackage = project.currentPackage();
+
+        // 3) Compile the package
+        PackageCompilation compilation = currentPackage.getCompilation();
+        Assert.assertEquals(compilation.diagnosticResult().diagnosticCount(), 0);
+
+        // 4) Edit only the function body of a module that is used by another module
+        Module module = currentPackage.module(ModuleName.from(PackageName.from("myproject"), "util"));
+        DocumentId documentId = module.documentIds().stream().findFirst().get();
+        module.document(documentId).modify().withContent(updatedFunctionStr).apply();
+
+        // 5) The dependant module is not recompiled
+        PackageCompilation compilation1 = project.currentPackage().getCompilation();
+        Assert.assertSame(compilation1.defaultModuleBLangPackage(), compilation.defaultModuleBLangPackage());
+
+        DiagnosticResult diagnosticResult = compilation1.diagnosticResult();
+        Assert.assertEquals(diagnosticResult.diagnosticCount(), 1);
+        Assert.assertEquals(diagnosticResult.diagnostics().stream().findAny().get().location().lineRange().filePath(),
+                Paths.get("modules").resolve("util").resolve("util.bal").toString());
+        Assert.assertTrue(diagnosticResult.diagnostics().stream().findAny().get().message()
+                .contains("undefined symbol 'c'"));
+    }
+
     @Test
     public void testRemoveDependantModuleDocument() {
         Path projectPath = RESOURCE_DIRECTORY.resolve("projects_for_edit_api_tests/package_with_dependencies");
@@ -17,6 +17,7 @@
  */
 package io.ballerina.projects.test;
 
+import io.ballerina.compiler.syntax.tree.SyntaxTree;
 import io.ballerina.projects.BuildOptions;
 import io.ballerina.projects.BuildOptionsBuilder;
 import io.ballerina.projects.Document;
@@ -29,6 +30,12 @@ import io.ballerina.projects.Package;
 import io.ballerina.projects.PackageCompilation;
 import io.ballerina.projects.ProjectException;
 import io.ballerina.projects.directory.SingleFileProject;
+import io.ballerina.tools.diagnostics.Diagnostic;
+import io.ballerina.tools.text.LinePosition;
+import io.ballerina.tools.text.TextDocumentChange;
+import io.ballerina.tools.text.TextDocuments;
+import io.ballerina.tools.text.TextEdit;
+import io.ballerina.tools.text.TextRange;
 import org.testng.Assert;
 import org.testng.SkipException;
 import org.testng.annotations.AfterClass;
@@ -37,6 +44,8 @@ import org.testng.annotations.Test;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static io.ballerina.projects.test.TestUtils.isWindows;
 import static io.ballerina.projects.test.TestUtils.resetPermissions;
@@ -192,6 +201,127 @@ public class TestSingleFileProject {
         Assert.assertEquals(updatedPackage, updatedDoc.module().packageInstance());
     }
 
+    @Test
+    public void testUpdateDocumentWithTextEdit() {
+        Path filePath = RESOURCE_DIRECTORY.resolve("single_file").resolve("main.bal");
+        String expectedContent = "import ballerina/io;\n\npublic function main() {\n" +
+                "    io:println(\"Hello World\");\n}\n";
+
+        SingleFileProject singleFileProject = SingleFileProject.load(filePath);
+        Module oldModule = singleFileProject.currentPackage().module(
+                singleFileProject.currentPackage().moduleIds().iterator().next());
+        DocumentId oldDocumentId = oldModule.documentIds().iterator().next();
+        Document oldDocument = oldModule.document(oldDocumentId);
+
+        // Replace the string literal with a ranged edit, as sent by the language server
+        Document updatedDoc = oldDocument.modify()
+                .withTextEdit(LinePosition.from(3, 16), LinePosition.from(3, 32), "Hello World")
+                .apply();
+
+        Assert.assertEquals(updatedDoc.textDocument().toString(), expectedContent);
+        Assert.assertEquals(updatedDoc.syntaxTree().toSourceCode(), expectedContent);
+        Assert.assertFalse(updatedDoc.syntaxTree().hasDiagnostics());
+        Assert.assertEquals(singleFileProject.currentPackage().module(oldModule.moduleId()).document(oldDocumentId),
+                updatedDoc);
+    }
+
+    @Test(description = "tests applying several text edits through a single document modifier")
+    public void testUpdateDocumentWithMultipleTextEdits() {
+        Document oldDocument = loadSingleFileDocument();
+
+        // Each edit is relative to the content after the previous edits of the same modifier
+        Document updatedDoc = oldDocument.modify()
+                .withTextEdit(LinePosition.from(3, 16), LinePosition.from(3, 32), "Hello")
+                .withTextEdit(LinePosition.from(3, 21), LinePosition.from(3, 21), " World")
+                .withTextEdit(LinePosition.from(4, 1), LinePosition.from(4, 1),
+                        "\n\nfunction foo() returns int {\n    return 1;\n}")
+                .withTextEdit(LinePosition.from(2, 0), LinePosition.from(2, 0), "// entry point\n")
+                .apply();
+
+        String expectedContent = "import ballerina/io;\n\n// entry point\npublic function main() {\n" +
+                "    io:println(\"Hello World\");\n}\n\nfunction foo() returns int {\n    return 1;\n}\n";
+        assertDocument(updatedDoc, expectedContent);
+        Assert.assertFalse(updatedDoc.syntaxTree().hasDiagnostics());
+    }
+
+    @Test(description = "tests applying a sequence of multi-edit changes, including edits with syntax errors")
+    public void testUpdateDocumentWithChangeSequence() {
+        Document document = loadSingleFileDocument();
+        String content = document.textDocument().toString();
+
+        // 1) Two edits in one change, given in the order of their offsets in the current content
+        int literalStart = content.indexOf("\"Sameera");
+        int bodyEnd = content.lastIndexOf('}');
+        TextDocumentChange change = TextDocumentChange.from(new TextEdit[]{
+                TextEdit.from(TextRange.from(literalStart, "\"Sameera Jayasoma\"".length()), "\"Hi\""),
+                TextEdit.from(TextRange.from(bodyEnd, 0), "    int x = 1;\n")
+        });
+        document = document.modify().withChange(change).apply();
+        content = "import ballerina/io;\n\npublic function main() {\n    io:println(\"Hi\");\n    int x = 1;\n}\n";
+        assertDocument(document, content);
+        Assert.assertFalse(document.syntaxTree().hasDiagnostics());
+
+        // 2) One character edits leaving the document with syntax errors, as sent while typing
+        String[] typedChars = {"i", "n", "t", " ", "y", " ", "=", " ", "x", "+"};
+        int offset = content.lastIndexOf('}');
+        for (String typedChar : typedChars) {
+            document = document.modify()
+                    .withChange(TextDocumentChange.from(new TextEdit[]{
+                            TextEdit.from(TextRange.from(offset, 0), typedChar)}))
+                    .apply();
+            content = content.substring(0, offset) + typedChar + content.substring(offset);
+            offset++;
+            assertDocument(document, content);
+        }
+        Assert.assertTrue(document.syntaxTree().hasDiagnostics());
+
+        // 3) Remove the closing brace of the function and add it back
+        int closingBrace = content.lastIndexOf('}');
+        document = document.modify()
+                .withChange(TextDocumentChange.from(new TextEdit[]{
+                        TextEdit.from(TextRange.from(closingBrace, 1), "")}))
+                .apply();
+        content = content.substring(0, closingBrace) + content.substring(closingBrace + 1);
+        assertDocument(document, content);
+
+        document = document.modify()
+                .withChange(TextDocumentChange.from(new TextEdit[]{
+                        TextEdit.from(TextRange.from(closingBrace - "x+".length(), "x+".length()), "x + 1;\n}")}))
+                .apply();
+        content = content.substring(0, closingBrace - 2) + "x + 1;\n}" + content.substring(closingBrace);
+        assertDocument(document, content);
+        Assert.assertFalse(document.syntaxTree().hasDiagnostics());
+    }
+
+    @Test(description = "tests applying a text edit after replacing the content in the same modifier")
+    public void testUpdateDocumentWithContentAndTextEdit() {
+        Document oldDocument = loadSingleFileDocument();
+        Document updatedDoc = oldDocument.modify()
+                .withContent("public function main() {\n}\n")
+                .withTextEdit(LinePosition.from(0, 24), LinePosition.from(0, 24), "\n    int a = 1;")
+                .apply();
+        assertDocument(updatedDoc, "public function main() {\n    int a = 1;\n}\n");
+    }
+
+    private Document loadSingleFileDocument() {
+        Path filePath = RESOURCE_DIRECTORY.resolve("single_file").resolve("main.bal");
+        SingleFileProject singleFileProject = SingleFileProject.load(filePath);
+        Module module = singleFileProject.currentPackage().module(
+                singleFileProject.currentPackage().moduleIds().iterator().next());
+        return module.document(module.documentIds().iterator().next());
+    }
+
+    private void assertDocument(Document document, String expectedContent) {
+        Assert.assertEquals(document.textDocument().toString(), expectedContent);
+        SyntaxTree syntaxTree = document.syntaxTree();
+        Assert.assertEquals(syntaxTree.toSourceCode(), expectedContent);
+
+        // The tree must match a tree parsed from scratch, including the diagnostics of incomplete code
+        SyntaxTree expectedTree = SyntaxTree.from(TextDocuments.from(expectedContent));
+        Assert.assertEquals(syntaxTree.rootNode().toString(), expectedTree.rootNode().toString());
+        Assert.assertEquals(syntaxTree.hasDiagnostics(), expectedTree.hasDiagnostics());
+    }
+
     @Test (description = "tests loading a single file with no read permission")
     public void testSingleFileWithNoReadPermission() {
         // Skip test in windows due to file permission setting issue
@@ -239,6 +369,25 @@ public class TestSingleFileProject {
                         .filePath(), "main_with_error.bal");
     }
 
+    @Test (description = "tests diagnostics of an invalid observability instrumentation build option")
+    public void testInvalidObservabilityInstrumentation() {
+        Path filePath = RESOURCE_DIRECTORY.resolve("single_file").resolve("main.bal");
+        BuildOptions buildOptions = new BuildOptionsBuilder()
+                .observabilityInstrumentation("ballerina/lang.int:foo, invalid, org/")
+                .build();
+        SingleFileProject project = SingleFileProject.load(filePath, buildOptions);
+        PackageCompilation compilation = project.currentPackage().getCompilation();
+        Assert.assertEquals(compilation.diagnosticResult().errorCount(), 0);
+
+        JBallerinaBackend jBallerinaBackend = JBallerinaBackend.from(compilation, JvmTarget.JAVA_11);
+        List<String> messages = jBallerinaBackend.diagnosticResult().errors().stream()
+                .map(Diagnostic::message)
+                .collect(Collectors.toList());
+        Assert.assertEquals(messages.size(), 2, messages.toString());
+        Assert.assertTrue(messages.get(0).startsWith("invalid observability instrumentation entry 'invalid'"));
+        Assert.assertTrue(messages.get(1).startsWith("invalid observability instrumentation entry 'org/'"));
+    }
+
     @AfterClass(alwaysRun = true)
     public void reset() {
         Path projectPath = RESOURCE_DIRECTORY.resolve("single_file_no_permission");
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.semantic.api.test.allreferences;
+
+import io.ballerina.compiler.api.SemanticModel;
+import io.ballerina.compiler.api.impl.ReferenceFinder;
+import io.ballerina.compiler.api.impl.symbols.BallerinaSymbol;
+import io.ballerina.compiler.api.symbols.Symbol;
+import io.ballerina.projects.Document;
+import io.ballerina.projects.DocumentId;
+import io.ballerina.projects.Module;
+import io.ballerina.projects.Project;
+import io.ballerina.tools.diagnostics.Location;
+import io.ballerina.tools.text.LinePosition;
+import io.ballerina.tools.text.LineRange;
+import io.ballerina.tools.text.TextDocument;
+import org.ballerinalang.test.BCompileUtil;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static io.ballerina.semantic.api.test.util.SemanticAPITestUtils.getDefaultModulesSemanticModel;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test cases to verify that the references looked up in the reference index of a semantic model are the same as the
+ * references found by traversing the whole module.
+ *
+ * @since 2.0.0
+ */
+public class ReferenceIndexTest {
+
+    private static final String PROJECT_PATH = "test-src/find-all-ref/reference_index_project";
+
+    @Test(dataProvider = "SourceProvider")
+    public void testIndexedReferencesMatchModuleTraversal(String sourcePath) {
+        Project project = BCompileUtil.loadProject(sourcePath);
+        SemanticModel model = getDefaultModulesSemanticModel(project);
+        BLangPackage bLangPackage = project.currentPackage().getCompilation().defaultModuleBLangPackage();
+
+        Module module = project.currentPackage().getDefaultModule();
+        Set<String> visitedSymbols = new HashSet<>();
+        for (DocumentId documentId : module.documentIds()) {
+            Document document = module.document(documentId);
+            TextDocument textDocument = document.textDocument();
+            String text = document.textDocument().toString();
+            for (int offset = 0; offset < text.length(); offset++) {
+                if (!Character.isJavaIdentifierPart(text.charAt(offset))) {
+                    continue;
+                }
+
+                LinePosition position = textDocument.linePositionFrom(offset);
+                Optional<Symbol> symbol = model.symbol(document, position);
+                if (symbol.isEmpty() || symbol.get().getLocation().isEmpty()) {
+                    continue;
+                }
+
+                BSymbol internalSymbol = ((BallerinaSymbol) symbol.get()).getInternalSymbol();
+                List<String> expectedWithDefinition =
+                        toStrings(new ReferenceFinder(true).findReferences(bLangPackage, internalSymbol));
+                List<String> expectedSansDefinition =
+                        toStrings(new ReferenceFinder(false).findReferences(bLangPackage, internalSymbol));
+                String message = symbol.get().getName().orElse("") + " at " + document.name() + ":" + position;
+
+                // Lookups by symbol are compared once per symbol, lookups by position at each of its references
+                if (visitedSymbols.add(toString(symbol.get().getLocation().get()))) {
+                    assertEquals(toStrings(model.references(symbol.get())), expectedWithDefinition, message);
+                    assertEquals(toStrings(model.references(symbol.get(), false)), expectedSansDefinition, message);
+                }
+                assertEquals(toStrings(model.references(document, position)), expectedWithDefinition, message);
+                assertEquals(toStrings(model.references(document, position, false)), expectedSansDefinition,
+                        message);
+            }
+        }
+        assertFalse(visitedSymbols.isEmpty());
+    }
+
+    @Test
+    public void testReferenceKinds() {
+        // The project contains local, module level and cross document references, all of which must be found
+        Project project = BCompileUtil.loadProject(PROJECT_PATH);
+        SemanticModel model = getDefaultModulesSemanticModel(project);
+        Module module = project.currentPackage().getDefaultModule();
+        Document main = getDocument(module, "main.bal");
+        Document utils = getDocument(module, "utils.bal");
+
+        // Local variable: `int total = 0;` in main.bal
+        assertReferences(model.references(main, LinePosition.from(20, 8)),
+                List.of("main.bal:20:8", "main.bal:23:8", "main.bal:26:57"));
+        // Module level variable, defined in utils.bal and referred in both documents
+        assertReferences(model.references(utils, LinePosition.from(19, 4)),
+                List.of("utils.bal:19:4", "utils.bal:28:4", "utils.bal:33:86", "main.bal:21:27",
+                        "main.bal:24:8", "main.bal:24:16"));
+        // Module level constant used within a lambda of another document
+        assertReferences(model.references(utils, LinePosition.from(16, 6)),
+                List.of("utils.bal:16:6", "utils.bal:33:75", "main.bal:28:15"));
+        // Function defined in utils.bal and called from main.bal
+        assertReferences(model.references(main, LinePosition.from(19, 20)),
+                List.of("utils.bal:26:9", "main.bal:19:20"));
+        // Type referred in both documents
+        assertReferences(model.references(utils, LinePosition.from(21, 5)),
+                List.of("utils.bal:21:5", "utils.bal:26:49", "utils.bal:27:4", "utils.bal:32:18",
+                        "main.bal:19:4"));
+    }
+
+    @DataProvider(name = "SourceProvider")
+    public Object[][] getSources() {
+        return new Object[][]{
+                {PROJECT_PATH},
+                {"test-src/find-all-ref/find_var_ref_in_exprs.bal"},
+                {"test-src/find-all-ref/find_var_ref_within_lambdas.bal"},
+                {"test-src/find-all-ref/find_var_ref_within_workers.bal"},
+                {"test-src/find-all-ref/find_ref_within_record_typedef.bal"},
+                {"test-src/find-all-ref/find_var_ref_in_module_prefix.bal"},
+                {"test-src/find-all-ref/find_ref_of_enums.bal"},
+        };
+    }
+
+    private static void assertReferences(List<Location> locations, List<String> expectedStartPositions) {
+        List<String> startPositions = new ArrayList<>();
+        for (Location location : locations) {
+            LineRange lineRange = location.lineRange();
+            startPositions.add(lineRange.filePath() + ":" + lineRange.startLine().line() + ":" +
+                    lineRange.startLine().offset());
+        }
+        assertEquals(startPositions.size(), expectedStartPositions.size(), startPositions.toString());
+        assertTrue(startPositions.containsAll(expectedStartPositions), startPositions.toString());
+    }
+
+    private static List<String> toStrings(List<Location> locations) {
+        return locations.stream().map(ReferenceIndexTest::toString).sorted().collect(Collectors.toList());
+    }
+
+    private static String toString(Location location) {
+        LineRange lineRange = location.lineRange();
+        return lineRange.filePath() + ":" + lineRange.startLine() + "-" + lineRange.endLine();
+    }
+
+    private static Document getDocument(Module module, String name) {
+        for (DocumentId id : module.documentIds()) {
+            Document document = module.document(id);
+            if (name.equals(document.name())) {
+                return document;
+            }
+        }
+        throw new IllegalArgumentException("Document not found: " + name);
+    }
+}
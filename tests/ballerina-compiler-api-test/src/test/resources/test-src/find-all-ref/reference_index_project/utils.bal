@@ -0,0 +1,35 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+const GREETING = "Hello ";
+const int MAX_AGE = 150;
+
+int count = 0;
+
+type Person record {|
+    string name;
+    int age;
+|};
+
+function newPerson(string name, int age) returns Person {
+    Person person = {name, age};
+    count += 1;
+    return person;
+}
+
+function describe(Person person) returns string {
+    return person.name + " is " + person.age.toString() + " years old, " + GREETING + count.toString();
+}
@@ -59,6 +59,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Timer;
@@ -531,6 +532,32 @@ public class DebugTestRunner {
         }
     }
 
+    /**
+     * Can be used to get a page of the child variables of an indexed parent variable (i.e. arrays, maps, tables etc.).
+     *
+     * @param parentVariable parent variable
+     * @param start          index of the first child variable of the page
+     * @param count          number of child variables requested
+     * @return variable map with child variables information, in the order of the child variables
+     * @throws BallerinaTestException if an error occurs when fetching debug hit child variables
+     */
+    public Map<String, Variable> fetchChildVariables(Variable parentVariable, int start, int count)
+            throws BallerinaTestException {
+        try {
+            Map<String, Variable> variables = new LinkedHashMap<>();
+            VariablesArguments childVarArgs = new VariablesArguments();
+            childVarArgs.setVariablesReference(parentVariable.getVariablesReference());
+            childVarArgs.setStart(start);
+            childVarArgs.setCount(count);
+            VariablesResponse response = hitListener.getConnector().getRequestManager().variables(childVarArgs);
+            Arrays.stream(response.getVariables()).forEach(variable -> variables.put(variable.getName(), variable));
+            return variables;
+        } catch (Exception e) {
+            LOGGER.warn("Error occurred when fetching debug hit child variables", e);
+            throw new BallerinaTestException("Error occurred when fetching debug hit child variables", e);
+        }
+    }
+
     /**
      * Can be used to assert variable name, value and type.
      *
@@ -564,7 +591,24 @@ public class DebugTestRunner {
      */
     public void assertExpression(StoppedEventArguments context, String expression, String resultValue,
                                  String resultType) throws BallerinaTestException {
-        Variable result = evaluateExpression(context, expression);
+        assertResult(evaluateExpression(context, expression), resultValue, resultType);
+    }
+
+    /**
+     * Can be used to assert any expression evaluation result, evaluated on the given stack frame.
+     *
+     * @param frame       stack frame of the suspended context.
+     * @param expression  expression.
+     * @param resultValue result value.
+     * @param resultType  result type.
+     * @throws BallerinaTestException if an error occurs when evaluating the expression.
+     */
+    public void assertExpression(StackFrame frame, String expression, String resultValue, String resultType)
+            throws BallerinaTestException {
+        assertResult(evaluateExpression(frame.getId(), expression), resultValue, resultType);
+    }
+
+    private void assertResult(Variable result, String resultValue, String resultType) {
         switch (assertionMode) {
             case HARD_ASSERT:
                 Assert.assertEquals(result.getValue(), resultValue);
@@ -664,9 +708,29 @@ public class DebugTestRunner {
                 throw new BallerinaTestException("Error occurred when trying to fetch stack frames from the suspended" +
                     " thread.");
             }
+            return evaluateExpression(stackFrames[0].getId(), expr);
+        } catch (Exception e) {
+            LOGGER.warn("Error occurred when fetching debug hit variables", e);
+            throw new BallerinaTestException("Error occurred when fetching debug hit variables", e);
+        }
+    }
 
+    /**
+     * Can be used to evaluate any given expression on the given stack frame, when a debug hit is occurred.
+     *
+     * @param frameId ID of the stack frame.
+     * @param expr    expression.
+     * @return the evaluation result as a variable.
+     * @throws BallerinaTestException if an error occurs when evaluating the expression.
+     */
+    private Variable evaluateExpression(int frameId, String expr) throws BallerinaTestException {
+        if (!hitListener.getConnector().isConnected()) {
+            throw new BallerinaTestException("Connection error occurred when trying to fetch information from the " +
+                "debug server");
+        }
+        try {
             EvaluateArguments evaluateArguments = new EvaluateArguments();
-            evaluateArguments.setFrameId(stackFrames[0].getId());
+            evaluateArguments.setFrameId(frameId);
             evaluateArguments.setExpression(expr);
             EvaluateResponse evaluateResp = hitListener.getConnector().getRequestManager().evaluate(evaluateArguments);
 
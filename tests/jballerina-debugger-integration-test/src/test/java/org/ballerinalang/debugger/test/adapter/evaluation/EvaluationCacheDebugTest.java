@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.debugger.test.adapter.evaluation;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.ballerinalang.debugger.test.BaseTestCase;
+import org.ballerinalang.debugger.test.utils.BallerinaTestDebugPoint;
+import org.ballerinalang.debugger.test.utils.DebugTestRunner;
+import org.ballerinalang.debugger.test.utils.DebugUtils;
+import org.ballerinalang.test.context.BallerinaTestException;
+import org.eclipse.lsp4j.debug.StackFrame;
+import org.eclipse.lsp4j.debug.StoppedEventArguments;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.ballerinalang.debugger.test.utils.DebugTestRunner.DebugResumeKind;
+
+/**
+ * Tests the reuse of the expression evaluators of the stack frames, which are cached until the debuggee is resumed.
+ * <p>
+ * The frame IDs are reassigned from the same sequence on each suspend, hence an evaluator which is not discarded on a
+ * resume or step would evaluate the expressions of a frame with a same ID against the earlier frame.
+ */
+public class EvaluationCacheDebugTest extends BaseTestCase {
+
+    private DebugTestRunner debugTestRunner;
+
+    @BeforeClass
+    public void setup() {
+        String testProjectName = "evaluation-cache-tests";
+        String testModuleFileName = "main.bal";
+        debugTestRunner = new DebugTestRunner(testProjectName, testModuleFileName, true);
+    }
+
+    @Test(description = "Tests the evaluation results of the stack frames across frame switches, steps and resumes")
+    public void evaluatorReuseTest() throws BallerinaTestException {
+        debugTestRunner.addBreakPoint(new BallerinaTestDebugPoint(debugTestRunner.testEntryFilePath, 28));
+        debugTestRunner.initDebugSession(DebugUtils.DebuggeeExecutionKind.RUN);
+        Pair<BallerinaTestDebugPoint, StoppedEventArguments> debugHitInfo = debugTestRunner.waitForDebugHit(25000);
+        StoppedEventArguments context = debugHitInfo.getRight();
+        StackFrame[] frames = debugTestRunner.fetchStackFrames(context);
+
+        // The evaluator of a frame is reused by the expressions evaluated on the same frame, and the frames of a suspend
+        // do not share an evaluator.
+        debugTestRunner.assertExpression(frames[0], "value", "105", "int");
+        debugTestRunner.assertExpression(frames[0], "value * 2 + i", "210", "int");
+        debugTestRunner.assertExpression(frames[1], "value", "5", "int");
+        debugTestRunner.assertExpression(frames[0], "value", "105", "int");
+        debugTestRunner.assertExpression(frames[1], "value + 1", "6", "int");
+        debugTestRunner.assertExpression(frames[0], "counter", "0", "int");
+
+        // A step discards the evaluators of the previous suspend.
+        debugTestRunner.resumeProgram(context, DebugResumeKind.STEP_OVER);
+        debugHitInfo = debugTestRunner.waitForDebugHit(10000);
+        Assert.assertEquals(debugHitInfo.getLeft(), new BallerinaTestDebugPoint(debugTestRunner.testEntryFilePath, 29));
+        context = debugHitInfo.getRight();
+        frames = debugTestRunner.fetchStackFrames(context);
+        debugTestRunner.assertExpression(frames[0], "result", "210", "int");
+        debugTestRunner.assertExpression(frames[0], "counter", "0", "int");
+
+        debugTestRunner.resumeProgram(context, DebugResumeKind.STEP_OVER);
+        debugHitInfo = debugTestRunner.waitForDebugHit(10000);
+        Assert.assertEquals(debugHitInfo.getLeft(), new BallerinaTestDebugPoint(debugTestRunner.testEntryFilePath, 30));
+        context = debugHitInfo.getRight();
+        frames = debugTestRunner.fetchStackFrames(context);
+        debugTestRunner.assertExpression(frames[0], "counter", "1", "int");
+        debugTestRunner.assertExpression(frames[1], "value", "5", "int");
+
+        // A resume discards the evaluators of the previous suspend.
+        debugTestRunner.resumeProgram(context, DebugResumeKind.NEXT_BREAKPOINT);
+        debugHitInfo = debugTestRunner.waitForDebugHit(10000);
+        context = debugHitInfo.getRight();
+        frames = debugTestRunner.fetchStackFrames(context);
+        debugTestRunner.assertExpression(frames[0], "value", "310", "int");
+        debugTestRunner.assertExpression(frames[0], "i", "1", "int");
+        debugTestRunner.assertExpression(frames[1], "value", "210", "int");
+        debugTestRunner.assertExpression(frames[0], "counter", "1", "int");
+
+        // The next hit is on the strand of the worker, whose frames are evaluated with the thread of the hit.
+        debugTestRunner.resumeProgram(context, DebugResumeKind.NEXT_BREAKPOINT);
+        debugHitInfo = debugTestRunner.waitForDebugHit(10000);
+        context = debugHitInfo.getRight();
+        frames = debugTestRunner.fetchStackFrames(context);
+        debugTestRunner.assertCallStack(frames[1], "w1", 36, "main.bal");
+        debugTestRunner.assertExpression(frames[0], "value", "8", "int");
+        debugTestRunner.assertExpression(frames[1], "value", "7", "int");
+        debugTestRunner.assertExpression(frames[0], "value", "8", "int");
+        debugTestRunner.assertExpression(frames[0], "counter", "2", "int");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanUp() {
+        debugTestRunner.terminateDebugSession();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.debugger.test.adapter.variables;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.ballerinalang.debugger.test.BaseTestCase;
+import org.ballerinalang.debugger.test.utils.BallerinaTestDebugPoint;
+import org.ballerinalang.debugger.test.utils.DebugTestRunner;
+import org.ballerinalang.debugger.test.utils.DebugUtils;
+import org.ballerinalang.test.context.BallerinaTestException;
+import org.eclipse.lsp4j.debug.StoppedEventArguments;
+import org.eclipse.lsp4j.debug.Variable;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.ballerinalang.debugger.test.utils.DebugTestRunner.VariableScope;
+
+/**
+ * Tests the paging of the child variables of large arrays, maps, tables and xml sequences.
+ */
+public class PagingDebugTest extends BaseTestCase {
+
+    private static final int SIZE = 250;
+    private static final int PAGE_SIZE = 100;
+
+    Map<String, Variable> localVariables;
+    DebugTestRunner debugTestRunner;
+
+    @BeforeClass
+    public void setup() throws BallerinaTestException {
+        String testProjectName = "paging-tests";
+        String testModuleFileName = "main.bal";
+        debugTestRunner = new DebugTestRunner(testProjectName, testModuleFileName, true);
+
+        debugTestRunner.addBreakPoint(new BallerinaTestDebugPoint(debugTestRunner.testEntryFilePath, 34));
+        debugTestRunner.initDebugSession(DebugUtils.DebuggeeExecutionKind.RUN);
+        Pair<BallerinaTestDebugPoint, StoppedEventArguments> debugHitInfo = debugTestRunner.waitForDebugHit(25000);
+        localVariables = debugTestRunner.fetchVariables(debugHitInfo.getRight(), VariableScope.LOCAL);
+    }
+
+    @Test(description = "Array paging test")
+    public void arrayPagingTest() throws BallerinaTestException {
+        Variable intArray = localVariables.get("intArray");
+        debugTestRunner.assertVariable(localVariables, "intArray", "int[250]", "array");
+
+        for (int start = 0; start < SIZE; start += PAGE_SIZE) {
+            Map<String, Variable> page = debugTestRunner.fetchChildVariables(intArray, start, PAGE_SIZE);
+            assertIndexedPage(page, start, Math.min(PAGE_SIZE, SIZE - start));
+            debugTestRunner.assertVariable(page, "[" + start + "]", String.valueOf(start * 2), "int");
+        }
+
+        // The backing array of the ballerina array is larger than the array, but the pages must not reach past the
+        // last element.
+        Map<String, Variable> lastPage = debugTestRunner.fetchChildVariables(intArray, 240, PAGE_SIZE);
+        assertIndexedPage(lastPage, 240, 10);
+        debugTestRunner.assertVariable(lastPage, "[249]", "498", "int");
+        assertIndexedPage(debugTestRunner.fetchChildVariables(intArray, 240, 0), 240, 10);
+        assertIndexedPage(debugTestRunner.fetchChildVariables(intArray, SIZE, PAGE_SIZE), SIZE, 0);
+    }
+
+    @Test(description = "Map paging test")
+    public void mapPagingTest() throws BallerinaTestException {
+        Variable intMap = localVariables.get("intMap");
+        debugTestRunner.assertVariable(localVariables, "intMap", "map<int> (size = 250)", "map");
+
+        for (int start = 0; start < SIZE; start += PAGE_SIZE) {
+            Map<String, Variable> page = debugTestRunner.fetchChildVariables(intMap, start, PAGE_SIZE);
+            List<String> expectedKeys = new ArrayList<>();
+            for (int i = start; i < Math.min(start + PAGE_SIZE, SIZE); i++) {
+                expectedKeys.add("key" + i);
+            }
+            Assert.assertEquals(new ArrayList<>(page.keySet()), expectedKeys);
+            debugTestRunner.assertVariable(page, "key" + start, String.valueOf(start * 3), "int");
+        }
+
+        Map<String, Variable> lastPage = debugTestRunner.fetchChildVariables(intMap, 240, PAGE_SIZE);
+        Assert.assertEquals(lastPage.size(), 10);
+        debugTestRunner.assertVariable(lastPage, "key249", "747", "int");
+        Map<String, Variable> remainingEntries = debugTestRunner.fetchChildVariables(intMap, 240, 0);
+        Assert.assertEquals(remainingEntries.keySet(), lastPage.keySet());
+        Assert.assertTrue(debugTestRunner.fetchChildVariables(intMap, SIZE, PAGE_SIZE).isEmpty());
+    }
+
+    @Test(description = "Table paging test")
+    public void tablePagingTest() throws BallerinaTestException {
+        Variable employeeTable = localVariables.get("employeeTable");
+        debugTestRunner.assertVariable(localVariables, "employeeTable", "table<Employee> (entries = 250)", "table");
+
+        for (int start = 0; start < SIZE; start += PAGE_SIZE) {
+            Map<String, Variable> page = debugTestRunner.fetchChildVariables(employeeTable, start, PAGE_SIZE);
+            int pageSize = Math.min(PAGE_SIZE, SIZE - start);
+            assertIndexedPage(page, start, pageSize);
+            assertEmployeeId(page.get("[" + start + "]"), start);
+            assertEmployeeId(page.get("[" + (start + pageSize - 1) + "]"), start + pageSize - 1);
+        }
+
+        // The iterator is released once it reaches the end of the table, hence the earlier pages are revisited with a
+        // new iterator.
+        Map<String, Variable> earlierPage = debugTestRunner.fetchChildVariables(employeeTable, 50, 10);
+        assertIndexedPage(earlierPage, 50, 10);
+        assertEmployeeId(earlierPage.get("[50]"), 50);
+        assertEmployeeId(earlierPage.get("[59]"), 59);
+
+        Map<String, Variable> lastPage = debugTestRunner.fetchChildVariables(employeeTable, 240, PAGE_SIZE);
+        assertIndexedPage(lastPage, 240, 10);
+        assertEmployeeId(lastPage.get("[249]"), 249);
+        assertIndexedPage(debugTestRunner.fetchChildVariables(employeeTable, SIZE, PAGE_SIZE), SIZE, 0);
+    }
+
+    @Test(description = "XML sequence paging test")
+    public void xmlSequencePagingTest() throws BallerinaTestException {
+        Variable xmlSequence = localVariables.get("xmlSequence");
+        debugTestRunner.assertVariable(localVariables, "xmlSequence", "XMLSequence (size = 250)", "xml");
+
+        for (int start = 0; start < SIZE; start += PAGE_SIZE) {
+            Map<String, Variable> page = debugTestRunner.fetchChildVariables(xmlSequence, start, PAGE_SIZE);
+            assertIndexedPage(page, start, Math.min(PAGE_SIZE, SIZE - start));
+            debugTestRunner.assertVariable(page, "[" + start + "]", "<item>" + start + "</item>", "xml");
+        }
+
+        // The backing array of the child list is larger than the sequence, but the pages must not reach past the
+        // last item.
+        Map<String, Variable> lastPage = debugTestRunner.fetchChildVariables(xmlSequence, 240, PAGE_SIZE);
+        assertIndexedPage(lastPage, 240, 10);
+        debugTestRunner.assertVariable(lastPage, "[249]", "<item>249</item>", "xml");
+        assertIndexedPage(debugTestRunner.fetchChildVariables(xmlSequence, SIZE, PAGE_SIZE), SIZE, 0);
+    }
+
+    private void assertIndexedPage(Map<String, Variable> page, int start, int size) {
+        List<String> expectedNames = new ArrayList<>();
+        for (int i = start; i < start + size; i++) {
+            expectedNames.add("[" + i + "]");
+        }
+        Assert.assertEquals(new ArrayList<>(page.keySet()), expectedNames);
+    }
+
+    private void assertEmployeeId(Variable employee, int id) throws BallerinaTestException {
+        Assert.assertNotNull(employee);
+        Map<String, Variable> fields = debugTestRunner.fetchChildVariables(employee);
+        debugTestRunner.assertVariable(fields, "id", String.valueOf(id), "int");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        debugTestRunner.terminateDebugSession();
+    }
+}
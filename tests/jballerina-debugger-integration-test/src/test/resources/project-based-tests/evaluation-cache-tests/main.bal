@@ -0,0 +1,38 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+int counter = 0;
+
+public function main() {
+    int value = 5;
+    foreach int i in 0 ..< 2 {
+        value = compute(value + 100, i);
+    }
+    runWorker();
+}
+
+function compute(int value, int i) returns int {
+    int result = value * 2 + i;
+    counter += 1;
+    return result;
+}
+
+function runWorker() {
+    worker w1 {
+        int value = 7;
+        int result = compute(value + 1, 10);
+    }
+}
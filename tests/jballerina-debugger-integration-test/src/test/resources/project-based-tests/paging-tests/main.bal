@@ -0,0 +1,35 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+type Employee record {
+    readonly int id;
+    string name;
+};
+
+public function main() {
+    int[] intArray = [];
+    map<int> intMap = {};
+    table<Employee> key(id) employeeTable = table [];
+    xml[] xmlItems = [];
+    foreach int i in 0 ..< 250 {
+        intArray.push(i * 2);
+        intMap["key" + i.toString()] = i * 3;
+        employeeTable.add({id: i, name: "employee" + i.toString()});
+        xmlItems.push(xml `<item>${i}</item>`);
+    }
+    xml xmlSequence = 'xml:concat(...xmlItems);
+    int total = intArray.length() + intMap.length() + employeeTable.length() + xmlSequence.length();
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.run;
+
+import org.ballerinalang.test.BaseTest;
+import org.ballerinalang.test.context.BMainInstance;
+import org.ballerinalang.test.context.LogLeecher;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import static org.ballerinalang.test.packaging.PackerinaTestUtils.deleteFiles;
+
+/**
+ * Tests the profiles written by the strand profiler, which is enabled through the BALLERINA_PROFILER_OUTPUT
+ * environment variable.
+ */
+public class StrandProfilerTestCase extends BaseTest {
+
+    private static final String MODULE = "testOrg.profiledPkg.0_1_0";
+    private static final Path SOURCE_ROOT = Paths.get("src", "test", "resources", "run", "profiler")
+            .toAbsolutePath();
+
+    private Path outputDir;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        outputDir = Files.createTempDirectory("bal-test-integration-profiler-");
+    }
+
+    @Test
+    public void testProfilerOutput() throws Exception {
+        Path outputPrefix = outputDir.resolve("profile");
+        Map<String, String> envProperties = new HashMap<>();
+        envProperties.put("BALLERINA_PROFILER_OUTPUT", outputPrefix.toString());
+        envProperties.put("BALLERINA_PROFILER_INTERVAL", "1");
+        BMainInstance bMainInstance = new BMainInstance(balServer);
+        LogLeecher outputLeecher = new LogLeecher("profiled sum: 3001000");
+        bMainInstance.runMain(SOURCE_ROOT.toString(), "profiledPkg", null, new String[]{}, envProperties, null,
+                new LogLeecher[]{outputLeecher});
+        outputLeecher.waitForText(10000);
+
+        // The profiles are written by a shutdown hook, before the program exits
+        List<String> cpuStacks = Files.readAllLines(Paths.get(outputPrefix + "-cpu.collapsed"),
+                StandardCharsets.UTF_8);
+        Pattern cpuStack = Pattern.compile("(.*;)?" + Pattern.quote(MODULE + ":main") + "(;" +
+                Pattern.quote(MODULE + ":fibonacci") + ")+ (\\d+)");
+        Assert.assertTrue(cpuStacks.stream().anyMatch(line -> cpuStack.matcher(line).matches()),
+                cpuStacks.toString());
+
+        List<String> waitStacks = Files.readAllLines(Paths.get(outputPrefix + "-wait.collapsed"),
+                StandardCharsets.UTF_8);
+        Pattern waitStack = Pattern.compile(Pattern.quote("[yielded];") + "(.*;)?" + Pattern.quote(MODULE + ":main;" +
+                MODULE + ":waitForResult") + " (\\d+)");
+        long waitMicros = 0;
+        for (String line : waitStacks) {
+            Matcher matcher = waitStack.matcher(line);
+            if (matcher.matches()) {
+                waitMicros += Long.parseLong(matcher.group(2));
+            }
+        }
+        // The program sleeps for half a second
+        Assert.assertTrue(waitMicros >= 400_000, waitStacks.toString());
+
+        // The pprof profile starts with the first sample type, {type: "samples", unit: "count"}
+        try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(Paths.get(outputPrefix +
+                ".pb.gz")))) {
+            byte[] profile = inputStream.readAllBytes();
+            Assert.assertTrue(profile.length > 6);
+            Assert.assertEquals(profile[0], 0x0a);
+            String strings = new String(profile, StandardCharsets.UTF_8);
+            Assert.assertTrue(strings.contains(MODULE + ":fibonacci"));
+            Assert.assertTrue(strings.contains(MODULE + ":waitForResult"));
+        }
+    }
+
+    @AfterClass
+    public void cleanup() throws IOException {
+        deleteFiles(outputDir);
+    }
+}
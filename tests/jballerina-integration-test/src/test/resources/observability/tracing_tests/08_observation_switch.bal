@@ -0,0 +1,39 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/testobserve;
+import ballerina/observe;
+
+@display { label: "testSvcEight" }
+service /testServiceEight on new testobserve:Listener(19098) {
+    # Resource function for testing switching on the observations within a function started without observations
+    resource function post resourceOne(testobserve:Caller caller) {
+        observe:setObservationActive(false);
+        var sum = calculateSumWithSwitch(10, 51);
+        if (sum != 61) {    // Check for validating if normal execution is intact from instrumentation
+            error err = error("failed to find the sum of 10 and 51. expected: 61 received: " + sum.toString());
+            panic err;
+        }
+        checkpanic caller->respond("Invocation Successful");
+    }
+}
+
+@observe:Observable
+function calculateSumWithSwitch(int a, int b) returns int {
+    // Started while the observations were switched off, hence the following call is traced as a child of the resource
+    observe:setObservationActive(true);
+    return calculateSumWithObservability(a, b);
+}
@@ -221,6 +221,11 @@ public class XMLAccessTest {
         BRunUtil.invoke(navigation, "testXMLNavigationDescendantsStepWithXMLSubtypeOnLHS");
     }
 
+    @Test
+    public void testRepeatedXMLNavigationDescendantsStep() {
+        BRunUtil.invoke(navigation, "testRepeatedXMLNavigationDescendantsStep");
+    }
+
     @Test
     public void testInvalidXMLAccessWithIndex() {
         int i = 0;
@@ -266,6 +266,11 @@ public class XMLAttributesTest {
         BRunUtil.invoke(xmlAttrProgFile, "testCharacterReferencesInXmlAttributeValue");
     }
 
+    @Test
+    public void testAttributesBeyondInlineLimit() {
+        BRunUtil.invoke(xmlAttrProgFile, "testAttributesBeyondInlineLimit");
+    }
+
     @Test
     public void testPrintAttribMap() {
         PrintStream original = System.out;
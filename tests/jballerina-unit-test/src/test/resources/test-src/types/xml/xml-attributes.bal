@@ -239,6 +239,23 @@ function testCharacterReferencesInXmlAttributeValue() {
     panic error("Assertion error, expected `" + expected + "`, found `" + att + "`");
 }
 
+function testAttributesBeyondInlineLimit() {
+    xml x = xml `<p a1="1" a2="2" a3="3" a4="4" a5="5" a6="6" a7="7" a8="8" a9="9" a10="10"/>`;
+    string a10 = checkpanic x.a10;
+    if (a10 != "10") {
+        panic error("Assertion error, expected `10`, found `" + a10 + "`");
+    }
+
+    var x1 = xml `<q a1="1"/>`;
+    var attrMap = let var x2 = <'xml:Element> x1 in x2.getAttributes();
+    attrMap["a2"] = "2";
+    string a2 = checkpanic x1.a2;
+    string expected = "<q xmlns=\"http://sample.com/wso2/c1\" a1=\"1\" a2=\"2\"></q>";
+    if (a2 != "2" || x1.toString() != expected) {
+        panic error("Assertion error, expected `" + expected + "`, found `" + x1.toString() + "`");
+    }
+}
+
 public function print(any|error... values) = @java:Method {
     'class: "org.ballerinalang.test.utils.interop.Utils"
 } external;
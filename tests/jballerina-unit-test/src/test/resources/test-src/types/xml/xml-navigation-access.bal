@@ -148,3 +148,28 @@ function testXMLNavigationDescendantsStepWithXMLSubtypeOnLHS() {
         }
         panic error("Assertion error, expected: `<baz>1</baz>`, found: " + s);
 }
+
+function testRepeatedXMLNavigationDescendantsStep() {
+        xml val = xml `<foo><bar>0</bar><baz><bar>1</bar></baz><bar>2</bar></foo>`;
+        foreach int i in 0 ..< 3 {
+            assertEquality((val/**/<bar>).toString(), "<bar>0</bar><bar>1</bar><bar>2</bar>");
+            assertEquality((val/**/<bar|baz>).toString(),
+                "<bar>0</bar><baz><bar>1</bar></baz><bar>1</bar><bar>2</bar>");
+        }
+
+        xml:Element baz = <xml:Element> (val/<baz>)[0];
+        baz.setChildren(xml `<bar>3</bar><bar>4</bar>`);
+        assertEquality((val/**/<bar>).toString(), "<bar>0</bar><bar>3</bar><bar>4</bar><bar>2</bar>");
+
+        xml:Element bar = <xml:Element> (baz/<bar>)[0];
+        bar.setName("qux");
+        assertEquality((val/**/<bar>).toString(), "<bar>0</bar><bar>4</bar><bar>2</bar>");
+        assertEquality((val/**/<qux>).toString(), "<qux>3</qux>");
+}
+
+function assertEquality(any|error actual, any|error expected) {
+    if expected is anydata && actual is anydata && expected == actual {
+        return;
+    }
+    panic error("Assertion error, expected: `" + expected.toString() + "`, found: `" + actual.toString() + "`");
+}